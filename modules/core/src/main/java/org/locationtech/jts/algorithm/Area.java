@@ -22,6 +22,11 @@ import org.locationtech.jts.geom.CoordinateSequence;
  */
 public class Area {
 
+  /**
+   * The number of coordinates copied from a sequence at a time
+   */
+  private static final int BLOCK_SIZE = 256;
+
   /**
    * Computes the area for a ring. 
    * 
@@ -92,22 +97,34 @@ public class Area {
     /**
      * Based on the Shoelace formula.
      * http://en.wikipedia.org/wiki/Shoelace_formula
+     * 
+     * The ring ordinates are copied in blocks, 
+     * which avoids per-coordinate access calls.
      */
-    Coordinate p0 = new Coordinate();
-    Coordinate p1 = new Coordinate();
-    Coordinate p2 = new Coordinate();
-    ring.getCoordinate(0, p1);
-    ring.getCoordinate(1, p2);
-    double x0 = p1.x;
-    p2.x -= x0;
+    double[] xy = new double[2 * Math.min(n, BLOCK_SIZE)];
+    int len = Math.min(n, BLOCK_SIZE);
+    ring.getXY(0, xy, 0, len);
+    double x0 = xy[0];
+    // previous two vertices, with x translated by x0
+    double y0 = xy[1];
+    double x1 = xy[2] - x0;
+    double y1 = xy[3];
     double sum = 0.0;
-    for (int i = 1; i < n - 1; i++) {
-      p0.y = p1.y;
-      p1.x = p2.x;
-      p1.y = p2.y;
-      ring.getCoordinate(i + 1, p2);
-      p2.x -= x0;
-      sum += p1.x * (p0.y - p2.y);
+    int k = 2;
+    int start = 0;
+    while (true) {
+      for (; k < len; k++) {
+        double y2 = xy[2 * k + 1];
+        sum += x1 * (y0 - y2);
+        y0 = y1;
+        x1 = xy[2 * k] - x0;
+        y1 = y2;
+      }
+      start += len;
+      if (start >= n) break;
+      len = Math.min(n - start, BLOCK_SIZE);
+      ring.getXY(start, xy, 0, len);
+      k = 0;
     }
     return sum / 2.0;
   }
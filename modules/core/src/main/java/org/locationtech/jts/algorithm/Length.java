@@ -11,7 +11,6 @@
  */
 package org.locationtech.jts.algorithm;
 
-import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.CoordinateSequence;
 
 /**
@@ -22,6 +21,11 @@ import org.locationtech.jts.geom.CoordinateSequence;
  */
 public class Length {
 
+  /**
+   * The number of coordinates copied from a sequence at a time
+   */
+  private static final int BLOCK_SIZE = 256;
+
   /**
    * Computes the length of a linestring specified by a sequence of points.
    * 
@@ -37,22 +41,31 @@ public class Length {
   
     double len = 0.0;
   
-    Coordinate p = new Coordinate();
-    pts.getCoordinate(0, p);
-    double x0 = p.x;
-    double y0 = p.y;
-  
-    for (int i = 1; i < n; i++) {
-      pts.getCoordinate(i, p);
-      double x1 = p.x;
-      double y1 = p.y;
-      double dx = x1 - x0;
-      double dy = y1 - y0;
-  
-      len += Math.sqrt(dx * dx + dy * dy);
-  
-      x0 = x1;
-      y0 = y1;
+    // copy ordinates in blocks to avoid per-coordinate access calls
+    double[] xy = new double[2 * Math.min(n, BLOCK_SIZE)];
+    int blockLen = Math.min(n, BLOCK_SIZE);
+    pts.getXY(0, xy, 0, blockLen);
+    double x0 = xy[0];
+    double y0 = xy[1];
+    int k = 1;
+    int start = 0;
+    while (true) {
+      for (; k < blockLen; k++) {
+        double x1 = xy[2 * k];
+        double y1 = xy[2 * k + 1];
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+    
+        len += Math.sqrt(dx * dx + dy * dy);
+    
+        x0 = x1;
+        y0 = y1;
+      }
+      start += blockLen;
+      if (start >= n) break;
+      blockLen = Math.min(n - start, BLOCK_SIZE);
+      pts.getXY(start, xy, 0, blockLen);
+      k = 0;
     }
     return len;
   }
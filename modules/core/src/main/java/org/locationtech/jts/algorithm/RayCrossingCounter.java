@@ -48,6 +48,11 @@ import org.locationtech.jts.geom.Polygonal;
  */
 public class RayCrossingCounter 
 {
+	/**
+	 * The number of coordinates copied from a sequence at a time
+	 */
+	private static final int BLOCK_SIZE = 256;
+	
 	/**
 	 * Determines the {@link Location} of a point in a ring.
 	 * This method is an exemplar of how to use this class.
@@ -82,18 +87,32 @@ public class RayCrossingCounter
   public static int locatePointInRing(Coordinate p, CoordinateSequence ring) {
     RayCrossingCounter counter = new RayCrossingCounter(p);
 
-    Coordinate p1 = new Coordinate();
-    Coordinate p2 = new Coordinate();
-    for (int i = 1; i < ring.size(); i++) {
-      //ring.getCoordinate(i, p1); // throws exception if ring contains M ordinate
-      p1.x = ring.getOrdinate(i, CoordinateSequence.X);
-      p1.y = ring.getOrdinate(i, CoordinateSequence.Y);
-      //ring.getCoordinate(i - 1, p2); // throws exception if ring contains M ordinate
-      p2.x = ring.getOrdinate(i - 1, CoordinateSequence.X);
-      p2.y = ring.getOrdinate(i - 1, CoordinateSequence.Y);
-      counter.countSegment(p1, p2);
-      if (counter.isOnSegment())
-        return counter.getLocation();
+    int n = ring.size();
+    if (n == 0)
+      return counter.getLocation();
+    // copy ordinates in blocks to avoid per-coordinate access calls
+    double[] xy = new double[2 * Math.min(n, BLOCK_SIZE)];
+    int len = Math.min(n, BLOCK_SIZE);
+    ring.getXY(0, xy, 0, len);
+    double prevX = xy[0];
+    double prevY = xy[1];
+    int k = 1;
+    int start = 0;
+    while (true) {
+      for (; k < len; k++) {
+        double x = xy[2 * k];
+        double y = xy[2 * k + 1];
+        counter.countSegment(x, y, prevX, prevY);
+        if (counter.isOnSegment())
+          return counter.getLocation();
+        prevX = x;
+        prevY = y;
+      }
+      start += len;
+      if (start >= n) break;
+      len = Math.min(n - start, BLOCK_SIZE);
+      ring.getXY(start, xy, 0, len);
+      k = 0;
     }
     return counter.getLocation();
   }
@@ -115,17 +134,29 @@ public class RayCrossingCounter
 	 * @param p2 another endpoint of the segment
 	 */
 	public void countSegment(Coordinate p1, Coordinate p2) {
+	  countSegment(p1.x, p1.y, p2.x, p2.y);
+	}
+	
+	/**
+	 * Counts a segment given by its endpoint ordinates.
+	 * 
+	 * @param p1x the X ordinate of an endpoint of the segment
+	 * @param p1y the Y ordinate of an endpoint of the segment
+	 * @param p2x the X ordinate of another endpoint of the segment
+	 * @param p2y the Y ordinate of another endpoint of the segment
+	 */
+	public void countSegment(double p1x, double p1y, double p2x, double p2y) {
 		/**
 		 * For each segment, check if it crosses 
 		 * a horizontal ray running from the test point in the positive x direction.
 		 */
 		
 		// check if the segment is strictly to the left of the test point
-		if (p1.x < p.x && p2.x < p.x)
+		if (p1x < p.x && p2x < p.x)
 			return;
 		
 		// check if the point is equal to the current ring vertex
-		if (p.x == p2.x && p.y == p2.y) {
+		if (p.x == p2x && p.y == p2y) {
 			isPointOnSegment = true;
 			return;
 		}
@@ -133,12 +164,12 @@ public class RayCrossingCounter
 		 * For horizontal segments, check if the point is on the segment.
 		 * Otherwise, horizontal segments are not counted.
 		 */
-		if (p1.y == p.y && p2.y == p.y) {
-			double minx = p1.x;
-			double maxx = p2.x;
+		if (p1y == p.y && p2y == p.y) {
+			double minx = p1x;
+			double maxx = p2x;
 			if (minx > maxx) {
-				minx = p2.x;
-				maxx = p1.x;
+				minx = p2x;
+				maxx = p1x;
 			}
 			if (p.x >= minx && p.x <= maxx) {
 				isPointOnSegment = true;
@@ -156,15 +187,15 @@ public class RayCrossingCounter
 		 * final endpoint
 		 * </ul>
 		 */
-		if (((p1.y > p.y) && (p2.y <= p.y)) 
-				|| ((p2.y > p.y) && (p1.y <= p.y))) {
-      int orient = Orientation.index(p1, p2, p);
+		if (((p1y > p.y) && (p2y <= p.y)) 
+				|| ((p2y > p.y) && (p1y <= p.y))) {
+      int orient = CGAlgorithmsDD.orientationIndex(p1x, p1y, p2x, p2y, p.x, p.y);
       if (orient == Orientation.COLLINEAR) {
         isPointOnSegment = true;
         return;
       }
       // Re-orient the result if needed to ensure effective segment direction is upwards
-      if (p2.y < p1.y) {
+      if (p2y < p1y) {
         orient = -orient;
       }
       // The upward segment crosses the ray if the test point lies to the left (CCW) of the segment.
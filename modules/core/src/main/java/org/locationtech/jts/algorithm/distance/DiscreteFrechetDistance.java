@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.algorithm.distance;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Computes the Discrete Fréchet Distance between two {@link Geometry}s
+ * using their vertices.
+ * The Fréchet distance is a measure of similarity between curves
+ * which takes into account the order of the points along them.
+ * It is often described as the shortest leash allowing a person
+ * and a dog to walk along their respective curves
+ * without either moving backwards.
+ * The discrete version only allows stopping at vertices,
+ * and is an upper bound for the continuous Fréchet distance.
+ * <p>
+ * The vertices are used in the order returned by {@link Geometry#getCoordinates()},
+ * so the distance is intended for {@link org.locationtech.jts.geom.LineString}s.
+ * <p>
+ * The distance is computed using the dynamic programming algorithm
+ * of Eiter and Mannila, which takes O(n*m) time.
+ * Only two rows of the table are kept, so it uses O(m) memory.
+ * {@link #isWithinDistance(double)} only visits the table cells
+ * which are reachable within a given distance.
+ * For similar curves this is a narrow band along the diagonal,
+ * so it is much faster than computing the distance.
+ * <p>
+ * The distance is 0 if either geometry is empty.
+ *
+ * @author Martin Davis
+ *
+ * @see DiscreteHausdorffDistance
+ */
+public class DiscreteFrechetDistance
+{
+  /**
+   * Computes the Discrete Fréchet Distance between two geometries.
+   *
+   * @param g0 a geometry
+   * @param g1 a geometry
+   * @return the discrete Fréchet distance
+   */
+  public static double distance(Geometry g0, Geometry g1)
+  {
+    DiscreteFrechetDistance dist = new DiscreteFrechetDistance(g0, g1);
+    return dist.distance();
+  }
+
+  /**
+   * Tests whether the Discrete Fréchet Distance between two geometries
+   * is less than or equal to a given distance.
+   *
+   * @param g0 a geometry
+   * @param g1 a geometry
+   * @param maxDistance the distance limit
+   * @return true if the discrete Fréchet distance is at most the limit
+   */
+  public static boolean isWithinDistance(Geometry g0, Geometry g1, double maxDistance)
+  {
+    DiscreteFrechetDistance dist = new DiscreteFrechetDistance(g0, g1);
+    return dist.isWithinDistance(maxDistance);
+  }
+
+  private Coordinate[] pts0;
+  private Coordinate[] pts1;
+  private PointPairDistance ptDist = new PointPairDistance();
+
+  /**
+   * Creates a new instance for two geometries.
+   *
+   * @param g0 a geometry
+   * @param g1 a geometry
+   */
+  public DiscreteFrechetDistance(Geometry g0, Geometry g1)
+  {
+    pts0 = g0.getCoordinates();
+    pts1 = g1.getCoordinates();
+  }
+
+  /**
+   * Computes the Discrete Fréchet Distance between the geometries.
+   *
+   * @return the discrete Fréchet distance
+   */
+  public double distance()
+  {
+    ptDist.initialize();
+    if (pts0.length == 0 || pts1.length == 0)
+      return 0.0;
+
+    int n = pts0.length;
+    int m = pts1.length;
+    /**
+     * The table holds squared distances,
+     * and the index of the point pair which determines each value
+     */
+    double[] prev = new double[m];
+    double[] curr = new double[m];
+    long[] prevPair = new long[m];
+    long[] currPair = new long[m];
+
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < m; j++) {
+        double d = distanceSq(pts0[i], pts1[j]);
+        double minPrev;
+        long minPair;
+        if (i == 0 && j == 0) {
+          minPrev = d;
+          minPair = pairIndex(i, j);
+        }
+        else if (i == 0) {
+          minPrev = curr[j - 1];
+          minPair = currPair[j - 1];
+        }
+        else if (j == 0) {
+          minPrev = prev[j];
+          minPair = prevPair[j];
+        }
+        else {
+          minPrev = prev[j - 1];
+          minPair = prevPair[j - 1];
+          if (prev[j] < minPrev) {
+            minPrev = prev[j];
+            minPair = prevPair[j];
+          }
+          if (curr[j - 1] < minPrev) {
+            minPrev = curr[j - 1];
+            minPair = currPair[j - 1];
+          }
+        }
+        if (d >= minPrev) {
+          curr[j] = d;
+          currPair[j] = pairIndex(i, j);
+        }
+        else {
+          curr[j] = minPrev;
+          currPair[j] = minPair;
+        }
+      }
+      double[] tmp = prev;
+      prev = curr;
+      curr = tmp;
+      long[] tmpPair = prevPair;
+      prevPair = currPair;
+      currPair = tmpPair;
+    }
+    long pair = prevPair[m - 1];
+    int i = (int) (pair / m);
+    int j = (int) (pair % m);
+    ptDist.initialize(pts0[i], pts1[j]);
+    return ptDist.getDistance();
+  }
+
+  private static double distanceSq(Coordinate p, Coordinate q)
+  {
+    double dx = p.x - q.x;
+    double dy = p.y - q.y;
+    return dx * dx + dy * dy;
+  }
+
+  private long pairIndex(int i, int j)
+  {
+    return (long) i * pts1.length + j;
+  }
+
+  /**
+   * Tests whether the Discrete Fréchet Distance between the geometries
+   * is less than or equal to a given distance.
+   * Only the table cells which are reachable
+   * (by a path whose point pairs are all within the distance)
+   * are computed, and the computation stops
+   * as soon as a row has no reachable cells.
+   *
+   * @param maxDistance the distance limit
+   * @return true if the discrete Fréchet distance is at most the limit
+   */
+  public boolean isWithinDistance(double maxDistance)
+  {
+    if (pts0.length == 0 || pts1.length == 0)
+      return true;
+
+    int n = pts0.length;
+    int m = pts1.length;
+    // the curves must start and end within the distance
+    if (pts0[0].distance(pts1[0]) > maxDistance) return false;
+    if (pts0[n - 1].distance(pts1[m - 1]) > maxDistance) return false;
+
+    boolean[] prev = new boolean[m];
+    boolean[] curr = new boolean[m];
+    // the range of columns which may be reachable in the previous row
+    int prevLo = 0;
+    int prevHi = -1;
+
+    for (int i = 0; i < n; i++) {
+      int lo = -1;
+      int hi = -1;
+      int jStart = i == 0 ? 0 : prevLo;
+      for (int j = jStart; j < m; j++) {
+        boolean isFromPrev = i > 0
+            && ((j <= prevHi && prev[j])
+                || (j > prevLo && j - 1 <= prevHi && prev[j - 1]));
+        boolean isFromLeft = j > jStart && curr[j - 1];
+        boolean isReachable = (i == 0 && j == 0) || isFromPrev || isFromLeft;
+        // no more cells in this row can be reached
+        if (! isReachable && j > prevHi + 1)
+          break;
+        isReachable = isReachable && pts0[i].distance(pts1[j]) <= maxDistance;
+        curr[j] = isReachable;
+        if (isReachable) {
+          if (lo < 0) lo = j;
+          hi = j;
+        }
+      }
+      if (lo < 0)
+        return false;
+      boolean[] tmp = prev;
+      prev = curr;
+      curr = tmp;
+      prevLo = lo;
+      prevHi = hi;
+    }
+    return prevHi == m - 1;
+  }
+
+  /**
+   * Gets the pair of vertices which determines the computed distance.
+   *
+   * @return the pair of points at the computed distance
+   */
+  public Coordinate[] getCoordinates() { return ptDist.getCoordinates(); }
+}
@@ -53,6 +53,8 @@ import org.locationtech.jts.geom.Geometry;
  *   DHD(A, B) = 22.360679774997898
  *   HD(A, B) ~= 47.8
  * </pre>
+ * For large geometries {@link IndexedHausdorffDistance} 
+ * computes the same distance much faster.
  */
 public class DiscreteHausdorffDistance
 {
@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.algorithm.distance;
+
+import java.util.List;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFilter;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineSegment;
+import org.locationtech.jts.index.strtree.AbstractNode;
+import org.locationtech.jts.index.strtree.Boundable;
+import org.locationtech.jts.index.strtree.ItemBoundable;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.locationtech.jts.operation.distance.FacetSequence;
+import org.locationtech.jts.operation.distance.FacetSequenceTreeBuilder;
+
+/**
+ * Computes the same discrete Hausdorff distance as {@link DiscreteHausdorffDistance},
+ * using spatial indexes on the facets (segments and points) of the geometries.
+ * <p>
+ * The facets of each geometry are indexed in an {@link STRtree}.
+ * The distance from each discrete point of one geometry to the other geometry
+ * is found by a branch-and-bound search of the index.
+ * The search for a point terminates as soon as a facet is found
+ * which is no further away than the current maximum distance,
+ * since the point cannot increase the maximum
+ * (the "early break" technique).
+ * This makes the computation close to linear in the number of points
+ * for geometries which are similar.
+ * <p>
+ * {@link #isWithinDistance(double)} determines whether the Hausdorff distance
+ * is at most a given value,
+ * and stops as soon as a point further away than the value is found.
+ * <p>
+ * The distance is 0 if either geometry is empty.
+ *
+ * @author Martin Davis
+ *
+ * @see DiscreteHausdorffDistance
+ */
+public class IndexedHausdorffDistance
+{
+  /**
+   * Computes the discrete Hausdorff distance between two geometries.
+   *
+   * @param g0 a geometry
+   * @param g1 a geometry
+   * @return the discrete Hausdorff distance
+   */
+  public static double distance(Geometry g0, Geometry g1)
+  {
+    IndexedHausdorffDistance dist = new IndexedHausdorffDistance(g0, g1);
+    return dist.distance();
+  }
+
+  /**
+   * Computes the discrete Hausdorff distance between two geometries,
+   * with each segment densified by a given fraction.
+   *
+   * @param g0 a geometry
+   * @param g1 a geometry
+   * @param densifyFrac the densify fraction
+   * @return the discrete Hausdorff distance
+   */
+  public static double distance(Geometry g0, Geometry g1, double densifyFrac)
+  {
+    IndexedHausdorffDistance dist = new IndexedHausdorffDistance(g0, g1);
+    dist.setDensifyFraction(densifyFrac);
+    return dist.distance();
+  }
+
+  /**
+   * Tests whether the discrete Hausdorff distance between two geometries
+   * is less than or equal to a given distance.
+   *
+   * @param g0 a geometry
+   * @param g1 a geometry
+   * @param maxDistance the distance limit
+   * @return true if the discrete Hausdorff distance is at most the limit
+   */
+  public static boolean isWithinDistance(Geometry g0, Geometry g1, double maxDistance)
+  {
+    IndexedHausdorffDistance dist = new IndexedHausdorffDistance(g0, g1);
+    return dist.isWithinDistance(maxDistance);
+  }
+
+  private Geometry g0;
+  private Geometry g1;
+  private STRtree tree0 = null;
+  private STRtree tree1 = null;
+  private PointPairDistance ptDist = new PointPairDistance();
+  private boolean hasDistance = false;
+
+  /**
+   * Value of 0.0 indicates that no densification should take place
+   */
+  private double densifyFrac = 0.0;
+
+  /**
+   * Creates a new instance for two geometries.
+   *
+   * @param g0 a geometry
+   * @param g1 a geometry
+   */
+  public IndexedHausdorffDistance(Geometry g0, Geometry g1)
+  {
+    this.g0 = g0;
+    this.g1 = g1;
+  }
+
+  /**
+   * Sets the fraction by which to densify each segment.
+   * Each segment will be (virtually) split into a number of equal-length
+   * subsegments, whose fraction of the total length is closest
+   * to the given fraction.
+   *
+   * @param densifyFrac the densify fraction
+   */
+  public void setDensifyFraction(double densifyFrac)
+  {
+    if (densifyFrac > 1.0
+        || densifyFrac <= 0.0)
+      throw new IllegalArgumentException("Fraction is not in range (0.0 - 1.0]");
+
+    this.densifyFrac = densifyFrac;
+  }
+
+  /**
+   * Computes the discrete Hausdorff distance between the geometries.
+   *
+   * @return the discrete Hausdorff distance
+   */
+  public double distance()
+  {
+    initialize();
+    if (g0.isEmpty() || g1.isEmpty())
+      return 0.0;
+    computeOrientedDistance(g0, getTree1(), Double.POSITIVE_INFINITY);
+    computeOrientedDistance(g1, getTree0(), Double.POSITIVE_INFINITY);
+    return ptDist.getDistance();
+  }
+
+  /**
+   * Computes the discrete Hausdorff distance from the first geometry
+   * to the second one.
+   *
+   * @return the oriented discrete Hausdorff distance
+   */
+  public double orientedDistance()
+  {
+    initialize();
+    if (g0.isEmpty() || g1.isEmpty())
+      return 0.0;
+    computeOrientedDistance(g0, getTree1(), Double.POSITIVE_INFINITY);
+    return ptDist.getDistance();
+  }
+
+  /**
+   * Tests whether the discrete Hausdorff distance between the geometries
+   * is less than or equal to a given distance.
+   * The computation stops as soon as a point is found
+   * which is further than the distance from the other geometry.
+   *
+   * @param maxDistance the distance limit
+   * @return true if the discrete Hausdorff distance is at most the limit
+   */
+  public boolean isWithinDistance(double maxDistance)
+  {
+    initialize();
+    if (g0.isEmpty() || g1.isEmpty())
+      return true;
+
+    // short-circuit check
+    Envelope env0 = g0.getEnvelopeInternal();
+    Envelope env1 = g1.getEnvelopeInternal();
+    if (env0.distance(env1) > maxDistance)
+      return false;
+
+    if (! computeOrientedDistance(g0, getTree1(), maxDistance))
+      return false;
+    return computeOrientedDistance(g1, getTree0(), maxDistance);
+  }
+
+  /**
+   * Gets the points at which the computed distance occurs.
+   *
+   * @return the pair of points at the computed distance
+   */
+  public Coordinate[] getCoordinates() { return ptDist.getCoordinates(); }
+
+  private void initialize()
+  {
+    ptDist.initialize();
+    hasDistance = false;
+  }
+
+  private STRtree getTree0()
+  {
+    if (tree0 == null)
+      tree0 = FacetSequenceTreeBuilder.build(g0);
+    return tree0;
+  }
+
+  private STRtree getTree1()
+  {
+    if (tree1 == null)
+      tree1 = FacetSequenceTreeBuilder.build(g1);
+    return tree1;
+  }
+
+  /**
+   * Computes the maximum distance from the discrete points of a geometry
+   * to the facets in an index,
+   * and includes it in the current maximum.
+   *
+   * @param discreteGeom the geometry providing the discrete points
+   * @param tree the index of the facets of the other geometry
+   * @param maxDistance the distance at which to stop, or infinity
+   * @return false if a point was found further than the maximum distance
+   */
+  private boolean computeOrientedDistance(Geometry discreteGeom, STRtree tree, double maxDistance)
+  {
+    double currentMax = hasDistance ? ptDist.getDistance() : -1.0;
+    /**
+     * When testing against a distance limit, 
+     * points within the limit do not need their exact distance computed.
+     */
+    if (! Double.isInfinite(maxDistance))
+      currentMax = maxDistance;
+    MaxPointDistanceFilter filter = new MaxPointDistanceFilter(tree, densifyFrac, currentMax, maxDistance);
+    discreteGeom.apply(filter);
+    if (filter.hasMaxPointDistance()) {
+      ptDist.setMaximum(filter.getMaxPointDistance());
+      hasDistance = true;
+    }
+    return ! filter.isDone();
+  }
+
+  /**
+   * Finds the points of a geometry which are furthest from
+   * the facets in an index.
+   * Densified points are computed on the fly.
+   */
+  private static class MaxPointDistanceFilter
+    implements CoordinateSequenceFilter
+  {
+    private final FacetNearestSearch search;
+    private final double maxDistance;
+    private final PointPairDistance maxPtDist = new PointPairDistance();
+    private double currentMax;
+    private boolean hasMaxPtDist = false;
+    private int numSubSegs = 0;
+    private boolean isDone = false;
+
+    MaxPointDistanceFilter(STRtree tree, double densifyFrac, double currentMax, double maxDistance)
+    {
+      this.search = new FacetNearestSearch(tree);
+      this.currentMax = currentMax;
+      this.maxDistance = maxDistance;
+      if (densifyFrac > 0)
+        numSubSegs = (int) Math.rint(1.0/densifyFrac);
+    }
+
+    public void filter(CoordinateSequence seq, int index)
+    {
+      Coordinate p1 = seq.getCoordinate(index);
+      if (index > 0 && numSubSegs > 1) {
+        Coordinate p0 = seq.getCoordinate(index - 1);
+        double delx = (p1.x - p0.x)/numSubSegs;
+        double dely = (p1.y - p0.y)/numSubSegs;
+        for (int i = 1; i < numSubSegs && ! isDone; i++) {
+          double x = p0.x + i*delx;
+          double y = p0.y + i*dely;
+          addPoint(new Coordinate(x, y));
+        }
+      }
+      if (! isDone)
+        addPoint(p1);
+    }
+
+    private void addPoint(Coordinate pt)
+    {
+      /**
+       * The point can only increase the maximum distance
+       * if it is further from the facets than the current maximum,
+       * so the search can stop at that distance.
+       */
+      PointPairDistance nearest = search.nearest(pt, currentMax);
+      if (nearest.getDistance() <= currentMax)
+        return;
+      maxPtDist.setMaximum(nearest);
+      hasMaxPtDist = true;
+      currentMax = maxPtDist.getDistance();
+      if (currentMax > maxDistance)
+        isDone = true;
+    }
+
+    boolean hasMaxPointDistance() { return hasMaxPtDist; }
+
+    PointPairDistance getMaxPointDistance() { return maxPtDist; }
+
+    public boolean isGeometryChanged() { return false; }
+
+    public boolean isDone() { return isDone; }
+  }
+
+  /**
+   * Finds the nearest facet in an index to a point,
+   * using a branch-and-bound traversal which visits
+   * the nearest nodes first.
+   */
+  private static class FacetNearestSearch
+  {
+    private final STRtree tree;
+    private final LineSegment seg = new LineSegment();
+    private PointPairDistance nearest;
+    private double nearestDist;
+    private Coordinate pt;
+    private double terminateDist;
+
+    FacetNearestSearch(STRtree tree)
+    {
+      this.tree = tree;
+    }
+
+    /**
+     * Finds the nearest facet to a point.
+     * The search stops as soon as a facet is found
+     * with distance at most a given value.
+     *
+     * @param pt the query point
+     * @param terminateDist the distance at which to stop
+     * @return the nearest points found
+     */
+    PointPairDistance nearest(Coordinate pt, double terminateDist)
+    {
+      this.pt = pt;
+      this.terminateDist = terminateDist;
+      nearest = new PointPairDistance();
+      nearestDist = Double.POSITIVE_INFINITY;
+      search(tree.getRoot());
+      return nearest;
+    }
+
+    private boolean isDone()
+    {
+      return nearestDist <= terminateDist;
+    }
+
+    private void search(AbstractNode node)
+    {
+      List children = node.getChildBoundables();
+      int n = children.size();
+      Boundable[] child = new Boundable[n];
+      double[] dist = new double[n];
+      for (int i = 0; i < n; i++) {
+        child[i] = (Boundable) children.get(i);
+        dist[i] = distance((Envelope) child[i].getBounds(), pt);
+      }
+      // visit the children in order of distance (small arrays, so use insertion sort)
+      for (int i = 1; i < n; i++) {
+        Boundable b = child[i];
+        double d = dist[i];
+        int j = i - 1;
+        while (j >= 0 && dist[j] > d) {
+          child[j + 1] = child[j];
+          dist[j + 1] = dist[j];
+          j--;
+        }
+        child[j + 1] = b;
+        dist[j + 1] = d;
+      }
+      for (int i = 0; i < n; i++) {
+        if (isDone()) return;
+        if (dist[i] >= nearestDist) return;
+        if (child[i] instanceof AbstractNode) {
+          search((AbstractNode) child[i]);
+        }
+        else {
+          FacetSequence facets = (FacetSequence) ((ItemBoundable) child[i]).getItem();
+          searchFacets(facets);
+        }
+      }
+    }
+
+    private void searchFacets(FacetSequence facets)
+    {
+      if (facets.isPoint()) {
+        updateNearest(facets.getCoordinate(0));
+        return;
+      }
+      for (int i = 0; i < facets.size() - 1; i++) {
+        seg.p0 = facets.getCoordinate(i);
+        seg.p1 = facets.getCoordinate(i + 1);
+        updateNearest(seg.closestPoint(pt));
+      }
+    }
+
+    private void updateNearest(Coordinate facetPt)
+    {
+      double d = facetPt.distance(pt);
+      if (d < nearestDist) {
+        nearest.initialize(facetPt, pt);
+        nearestDist = d;
+      }
+    }
+
+    private static double distance(Envelope env, Coordinate p)
+    {
+      double dx = 0.0;
+      if (p.x < env.getMinX()) dx = env.getMinX() - p.x;
+      else if (p.x > env.getMaxX()) dx = p.x - env.getMaxX();
+      double dy = 0.0;
+      if (p.y < env.getMinY()) dy = env.getMinY() - p.y;
+      else if (p.y > env.getMaxY()) dy = p.y - env.getMaxY();
+      return Math.sqrt(dx * dx + dy * dy);
+    }
+  }
+}
@@ -102,6 +102,8 @@ public class Densifier {
 	 */
   private boolean isValidated = true;
 
+  private int numThreads = 1;
+
 	/**
 	 * Creates a new densifier instance.
 	 * 
@@ -134,13 +136,28 @@ public class Densifier {
 	  this.isValidated  = isValidated;
 	}
 	
+  /**
+   * Sets the number of threads used to densify the elements of collections.
+   * The default is 1.
+   *
+   * @param numThreads the number of threads to use
+   * @throws IllegalArgumentException if the number of threads is less than 1
+   */
+  public void setNumThreads(int numThreads) {
+    if (numThreads < 1)
+      throw new IllegalArgumentException("Number of threads must be >= 1");
+    this.numThreads = numThreads;
+  }
+
 	/**
 	 * Gets the densified geometry.
 	 * 
 	 * @return the densified geometry
 	 */
 	public Geometry getResultGeometry() {
-		return (new DensifyTransformer(distanceTolerance, isValidated)).transform(inputGeom);
+		DensifyTransformer transformer = new DensifyTransformer(distanceTolerance, isValidated);
+		transformer.setNumThreads(numThreads);
+		return transformer.transform(inputGeom);
 	}
 
 	static class DensifyTransformer extends GeometryTransformer {
@@ -11,6 +11,8 @@
  */
 package org.locationtech.jts.geom;
 
+import java.nio.DoubleBuffer;
+
 import org.locationtech.jts.geom.impl.CoordinateArraySequenceFactory;
 import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
 
@@ -243,6 +245,96 @@ public interface CoordinateSequence
    */
   void setOrdinate(int index, int ordinateIndex, double value);
 
+  /**
+   * Copies the values of an ordinate for a range of coordinates
+   * into an array.
+   * Implementations should override this to provide
+   * efficient access to their storage.
+   *
+   * @param ordinateIndex the ordinate index in the coordinate (in range [0, dimension-1])
+   * @param index the index of the first coordinate to copy
+   * @param dest the array to receive the values
+   * @param destPos the position in the array of the first value
+   * @param length the number of coordinates to copy
+   */
+  default void getOrdinates(int ordinateIndex, int index, double[] dest, int destPos, int length)
+  {
+    for (int i = 0; i < length; i++) {
+      dest[destPos + i] = getOrdinate(index + i, ordinateIndex);
+    }
+  }
+
+  /**
+   * Copies the X and Y ordinates for a range of coordinates
+   * into an array, as interleaved (x, y) pairs.
+   * The array receives <code>2 * length</code> values.
+   * Implementations should override this to provide
+   * efficient access to their storage.
+   *
+   * @param index the index of the first coordinate to copy
+   * @param dest the array to receive the values
+   * @param destPos the position in the array of the first value
+   * @param length the number of coordinates to copy
+   */
+  default void getXY(int index, double[] dest, int destPos, int length)
+  {
+    int pos = destPos;
+    for (int i = index; i < index + length; i++) {
+      dest[pos++] = getX(i);
+      dest[pos++] = getY(i);
+    }
+  }
+
+  /**
+   * Sets the values of an ordinate for a range of coordinates
+   * from an array.
+   *
+   * @param ordinateIndex the ordinate index in the coordinate (in range [0, dimension-1])
+   * @param index the index of the first coordinate to set
+   * @param src the array containing the values
+   * @param srcPos the position in the array of the first value
+   * @param length the number of coordinates to set
+   */
+  default void setOrdinates(int ordinateIndex, int index, double[] src, int srcPos, int length)
+  {
+    for (int i = 0; i < length; i++) {
+      setOrdinate(index + i, ordinateIndex, src[srcPos + i]);
+    }
+  }
+
+  /**
+   * Sets the X and Y ordinates for a range of coordinates
+   * from an array of interleaved (x, y) pairs.
+   *
+   * @param index the index of the first coordinate to set
+   * @param src the array containing the values
+   * @param srcPos the position in the array of the first value
+   * @param length the number of coordinates to set
+   */
+  default void setXY(int index, double[] src, int srcPos, int length)
+  {
+    int pos = srcPos;
+    for (int i = index; i < index + length; i++) {
+      setOrdinate(i, X, src[pos++]);
+      setOrdinate(i, Y, src[pos++]);
+    }
+  }
+
+  /**
+   * Gets a read-only view of the ordinate values of this sequence,
+   * if they are stored in a single packed <code>double</code> array.
+   * The ordinates of coordinate <code>i</code> start at
+   * position <code>i * getDimension()</code> in the buffer.
+   * Changes to the sequence are visible in the view.
+   *
+   * @return a read-only buffer of the ordinate values,
+   * or null if the sequence does not use packed double storage
+   */
+  default DoubleBuffer getOrdinateBuffer()
+  {
+    return null;
+  }
+
   /**
    * Returns (possibly copies of) the Coordinates in this collection.
    * Whether or not the Coordinates returned are the actual underlying
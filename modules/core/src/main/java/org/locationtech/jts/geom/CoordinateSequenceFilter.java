@@ -29,6 +29,13 @@ import org.locationtech.jts.geom.util.GeometryTransformer;
  *  <p>
  *  For maximum efficiency, the execution of filters can be short-circuited by using the {@link #isDone} method.
  *  <p>
+ *  Geometries apply a filter to each sequence as a whole,
+ *  via {@link #filter(CoordinateSequence)}.
+ *  By default this calls {@link #filter(CoordinateSequence, int)} for each coordinate.
+ *  Filters which can process a sequence more efficiently in bulk
+ *  (e.g. using the bulk ordinate accessors of {@link CoordinateSequence})
+ *  can override it.
+ *  <p>
  *  <code>CoordinateSequenceFilter</code> is
  *  an example of the Gang-of-Four Visitor pattern.
  *  <p> 
@@ -56,6 +63,25 @@ public interface CoordinateSequenceFilter
    *@param i the index of the coordinate to apply the filter to
    */
   void filter(CoordinateSequence seq, int i);
+
+  /**
+   * Performs an operation on all coordinates in a {@link CoordinateSequence}.
+   * The default implementation calls {@link #filter(CoordinateSequence, int)}
+   * for each coordinate in turn, until {@link #isDone()} returns true.
+   * <p>
+   * Overriding implementations should produce the same result,
+   * and should check {@link #isDone()} if the filter can terminate early.
+   *
+   *@param seq  the <code>CoordinateSequence</code> to which the filter is applied
+   */
+  default void filter(CoordinateSequence seq)
+  {
+    for (int i = 0; i < seq.size(); i++) {
+      filter(seq, i);
+      if (isDone())
+        break;
+    }
+  }
   
   /**
    * Reports whether the application of this filter can be terminated.
@@ -0,0 +1,391 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geom;
+
+/**
+ * Functions for computing with envelopes
+ * represented by primitive <code>double</code> values,
+ * without allocating {@link Envelope} objects.
+ * These are intended for use in performance-critical loops,
+ * such as spatial index queries.
+ * <p>
+ * Envelopes can be supplied as separate ordinate values,
+ * or stored in packed arrays.
+ * A packed array holds envelopes in consecutive slots of {@link #SIZE} values,
+ * in the order [minX, minY, maxX, maxY].
+ * The <code>index</code> argument of methods on packed arrays
+ * is the array index of the first value of a slot
+ * (i.e. <code>SIZE * i</code> for the i'th envelope).
+ * <p>
+ * A slot represents the <b>null</b> (empty) envelope if
+ * its minimum values are greater than its maximum values.
+ * Slots are set to null by {@link #setNull(double[], int)},
+ * and can be expanded to include points or other envelopes.
+ * Unlike the methods of {@link Envelope},
+ * the predicates in this class do not check for null envelopes.
+ *
+ * @author Martin Davis
+ */
+public class Envelopes
+{
+  /**
+   * The number of values in an envelope slot of a packed array
+   */
+  public static final int SIZE = 4;
+
+  /**
+   * The offset of the minimum X value in a slot
+   */
+  public static final int MIN_X = 0;
+
+  /**
+   * The offset of the minimum Y value in a slot
+   */
+  public static final int MIN_Y = 1;
+
+  /**
+   * The offset of the maximum X value in a slot
+   */
+  public static final int MAX_X = 2;
+
+  /**
+   * The offset of the maximum Y value in a slot
+   */
+  public static final int MAX_Y = 3;
+
+  /**
+   * Creates a packed array of null envelopes.
+   *
+   * @param numEnvelopes the number of envelope slots
+   * @return a new packed envelope array
+   */
+  public static double[] createArray(int numEnvelopes)
+  {
+    double[] bounds = new double[SIZE * numEnvelopes];
+    for (int i = 0; i < bounds.length; i += SIZE) {
+      setNull(bounds, i);
+    }
+    return bounds;
+  }
+
+  /**
+   * Sets an envelope slot to the null envelope.
+   * The values used allow the slot to be expanded directly.
+   *
+   * @param bounds a packed envelope array
+   * @param index the index of the slot
+   */
+  public static void setNull(double[] bounds, int index)
+  {
+    bounds[index + MIN_X] = Double.MAX_VALUE;
+    bounds[index + MIN_Y] = Double.MAX_VALUE;
+    bounds[index + MAX_X] = -Double.MAX_VALUE;
+    bounds[index + MAX_Y] = -Double.MAX_VALUE;
+  }
+
+  /**
+   * Tests whether an envelope slot is null.
+   *
+   * @param bounds a packed envelope array
+   * @param index the index of the slot
+   * @return true if the slot contains the null envelope
+   */
+  public static boolean isNull(double[] bounds, int index)
+  {
+    return bounds[index + MAX_X] < bounds[index + MIN_X];
+  }
+
+  /**
+   * Sets an envelope slot to the given values.
+   *
+   * @param bounds a packed envelope array
+   * @param index the index of the slot
+   * @param minX the minimum X value
+   * @param minY the minimum Y value
+   * @param maxX the maximum X value
+   * @param maxY the maximum Y value
+   */
+  public static void set(double[] bounds, int index,
+      double minX, double minY, double maxX, double maxY)
+  {
+    bounds[index + MIN_X] = minX;
+    bounds[index + MIN_Y] = minY;
+    bounds[index + MAX_X] = maxX;
+    bounds[index + MAX_Y] = maxY;
+  }
+
+  /**
+   * Sets an envelope slot to the extent of an {@link Envelope}.
+   *
+   * @param bounds a packed envelope array
+   * @param index the index of the slot
+   * @param env the envelope to copy
+   */
+  public static void set(double[] bounds, int index, Envelope env)
+  {
+    if (env.isNull()) {
+      setNull(bounds, index);
+      return;
+    }
+    set(bounds, index, env.getMinX(), env.getMinY(), env.getMaxX(), env.getMaxY());
+  }
+
+  /**
+   * Initializes an existing {@link Envelope} to the extent of an envelope slot.
+   *
+   * @param env the envelope to initialize
+   * @param bounds a packed envelope array
+   * @param index the index of the slot
+   * @return the initialized envelope
+   */
+  public static Envelope init(Envelope env, double[] bounds, int index)
+  {
+    if (isNull(bounds, index)) {
+      env.setToNull();
+    }
+    else {
+      env.init(bounds[index + MIN_X], bounds[index + MAX_X], bounds[index + MIN_Y], bounds[index + MAX_Y]);
+    }
+    return env;
+  }
+
+  /**
+   * Expands an envelope slot to include a point.
+   *
+   * @param bounds a packed envelope array
+   * @param index the index of the slot
+   * @param x the X value of the point
+   * @param y the Y value of the point
+   */
+  public static void expandToInclude(double[] bounds, int index, double x, double y)
+  {
+    if (x < bounds[index + MIN_X]) bounds[index + MIN_X] = x;
+    if (y < bounds[index + MIN_Y]) bounds[index + MIN_Y] = y;
+    if (x > bounds[index + MAX_X]) bounds[index + MAX_X] = x;
+    if (y > bounds[index + MAX_Y]) bounds[index + MAX_Y] = y;
+  }
+
+  /**
+   * Expands an envelope slot to include an envelope.
+   *
+   * @param bounds a packed envelope array
+   * @param index the index of the slot
+   * @param minX the minimum X value of the envelope to include
+   * @param minY the minimum Y value of the envelope to include
+   * @param maxX the maximum X value of the envelope to include
+   * @param maxY the maximum Y value of the envelope to include
+   */
+  public static void expandToInclude(double[] bounds, int index,
+      double minX, double minY, double maxX, double maxY)
+  {
+    if (minX < bounds[index + MIN_X]) bounds[index + MIN_X] = minX;
+    if (minY < bounds[index + MIN_Y]) bounds[index + MIN_Y] = minY;
+    if (maxX > bounds[index + MAX_X]) bounds[index + MAX_X] = maxX;
+    if (maxY > bounds[index + MAX_Y]) bounds[index + MAX_Y] = maxY;
+  }
+
+  /**
+   * Expands an envelope slot to include another slot.
+   *
+   * @param bounds a packed envelope array
+   * @param index the index of the slot to expand
+   * @param src a packed envelope array
+   * @param srcIndex the index of the slot to include
+   */
+  public static void expandToInclude(double[] bounds, int index, double[] src, int srcIndex)
+  {
+    expandToInclude(bounds, index, src[srcIndex + MIN_X], src[srcIndex + MIN_Y],
+        src[srcIndex + MAX_X], src[srcIndex + MAX_Y]);
+  }
+
+  /**
+   * Tests whether two envelopes intersect.
+   *
+   * @return true if the envelopes intersect
+   */
+  public static boolean intersects(double minX1, double minY1, double maxX1, double maxY1,
+      double minX2, double minY2, double maxX2, double maxY2)
+  {
+    return ! (minX2 > maxX1 || maxX2 < minX1 || minY2 > maxY1 || maxY2 < minY1);
+  }
+
+  /**
+   * Tests whether two non-null {@link Envelope}s intersect.
+   * This avoids the null checks in {@link Envelope#intersects(Envelope)}.
+   *
+   * @param env1 a non-null envelope
+   * @param env2 a non-null envelope
+   * @return true if the envelopes intersect
+   */
+  public static boolean intersects(Envelope env1, Envelope env2)
+  {
+    return ! (env2.getMinX() > env1.getMaxX() || env2.getMaxX() < env1.getMinX()
+        || env2.getMinY() > env1.getMaxY() || env2.getMaxY() < env1.getMinY());
+  }
+
+  /**
+   * Tests whether an envelope slot intersects a non-null {@link Envelope}.
+   *
+   * @param bounds a packed envelope array
+   * @param index the index of the slot
+   * @param env a non-null envelope
+   * @return true if the envelopes intersect
+   */
+  public static boolean intersects(double[] bounds, int index, Envelope env)
+  {
+    return ! (env.getMinX() > bounds[index + MAX_X] || env.getMaxX() < bounds[index + MIN_X]
+        || env.getMinY() > bounds[index + MAX_Y] || env.getMaxY() < bounds[index + MIN_Y]);
+  }
+
+  /**
+   * Tests whether two envelope slots intersect.
+   *
+   * @param bounds1 a packed envelope array
+   * @param index1 the index of a slot in the first array
+   * @param bounds2 a packed envelope array
+   * @param index2 the index of a slot in the second array
+   * @return true if the envelopes intersect
+   */
+  public static boolean intersects(double[] bounds1, int index1, double[] bounds2, int index2)
+  {
+    return intersects(bounds1[index1 + MIN_X], bounds1[index1 + MIN_Y],
+        bounds1[index1 + MAX_X], bounds1[index1 + MAX_Y],
+        bounds2[index2 + MIN_X], bounds2[index2 + MIN_Y],
+        bounds2[index2 + MAX_X], bounds2[index2 + MAX_Y]);
+  }
+
+  /**
+   * Tests whether an envelope covers (contains) a point.
+   *
+   * @return true if the point lies in the envelope or on its boundary
+   */
+  public static boolean covers(double minX, double minY, double maxX, double maxY,
+      double x, double y)
+  {
+    return x >= minX && x <= maxX && y >= minY && y <= maxY;
+  }
+
+  /**
+   * Tests whether an envelope covers another envelope.
+   *
+   * @return true if the first envelope covers the second
+   */
+  public static boolean covers(double minX1, double minY1, double maxX1, double maxY1,
+      double minX2, double minY2, double maxX2, double maxY2)
+  {
+    return minX2 >= minX1 && maxX2 <= maxX1 && minY2 >= minY1 && maxY2 <= maxY1;
+  }
+
+  /**
+   * Tests whether an envelope slot covers a point.
+   *
+   * @param bounds a packed envelope array
+   * @param index the index of the slot
+   * @param x the X value of the point
+   * @param y the Y value of the point
+   * @return true if the point lies in the envelope or on its boundary
+   */
+  public static boolean covers(double[] bounds, int index, double x, double y)
+  {
+    return covers(bounds[index + MIN_X], bounds[index + MIN_Y],
+        bounds[index + MAX_X], bounds[index + MAX_Y], x, y);
+  }
+
+  /**
+   * Computes the intersection of two envelope slots,
+   * and stores it in a destination slot
+   * (which may be one of the input slots).
+   * If the envelopes do not intersect the destination is set to null.
+   *
+   * @param bounds1 a packed envelope array
+   * @param index1 the index of a slot in the first array
+   * @param bounds2 a packed envelope array
+   * @param index2 the index of a slot in the second array
+   * @param dest the packed envelope array to receive the intersection
+   * @param destIndex the index of the destination slot
+   * @return true if the envelopes intersect
+   */
+  public static boolean intersection(double[] bounds1, int index1, double[] bounds2, int index2,
+      double[] dest, int destIndex)
+  {
+    if (! intersects(bounds1, index1, bounds2, index2)) {
+      setNull(dest, destIndex);
+      return false;
+    }
+    double minX = Math.max(bounds1[index1 + MIN_X], bounds2[index2 + MIN_X]);
+    double minY = Math.max(bounds1[index1 + MIN_Y], bounds2[index2 + MIN_Y]);
+    double maxX = Math.min(bounds1[index1 + MAX_X], bounds2[index2 + MAX_X]);
+    double maxY = Math.min(bounds1[index1 + MAX_Y], bounds2[index2 + MAX_Y]);
+    set(dest, destIndex, minX, minY, maxX, maxY);
+    return true;
+  }
+
+  /**
+   * Computes the area of an envelope slot.
+   * The area of a null envelope is 0.
+   *
+   * @param bounds a packed envelope array
+   * @param index the index of the slot
+   * @return the area of the envelope
+   */
+  public static double area(double[] bounds, int index)
+  {
+    if (isNull(bounds, index)) return 0;
+    return (bounds[index + MAX_X] - bounds[index + MIN_X])
+        * (bounds[index + MAX_Y] - bounds[index + MIN_Y]);
+  }
+
+  /**
+   * Computes the distance between two envelopes.
+   * The distance is 0 if the envelopes intersect.
+   *
+   * @return the distance between the envelopes
+   */
+  public static double distance(double minX1, double minY1, double maxX1, double maxY1,
+      double minX2, double minY2, double maxX2, double maxY2)
+  {
+    double dx = 0.0;
+    if (maxX1 < minX2)
+      dx = minX2 - maxX1;
+    else if (minX1 > maxX2)
+      dx = minX1 - maxX2;
+
+    double dy = 0.0;
+    if (maxY1 < minY2)
+      dy = minY2 - maxY1;
+    else if (minY1 > maxY2)
+      dy = minY1 - maxY2;
+
+    // if either is zero, the envelopes overlap either vertically or horizontally
+    if (dx == 0.0) return dy;
+    if (dy == 0.0) return dx;
+    return Math.sqrt(dx * dx + dy * dy);
+  }
+
+  /**
+   * Computes the distance between an envelope slot and an {@link Envelope}.
+   *
+   * @param bounds a packed envelope array
+   * @param index the index of the slot
+   * @param env a non-null envelope
+   * @return the distance between the envelopes
+   */
+  public static double distance(double[] bounds, int index, Envelope env)
+  {
+    return distance(bounds[index + MIN_X], bounds[index + MIN_Y],
+        bounds[index + MAX_X], bounds[index + MAX_Y],
+        env.getMinX(), env.getMinY(), env.getMaxX(), env.getMaxY());
+  }
+
+  private Envelopes() {
+  }
+}
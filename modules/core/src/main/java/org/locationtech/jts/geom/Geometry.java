@@ -198,6 +198,13 @@ public abstract class Geometry
    */
   private Object userData = null;
 
+  /**
+   * The cached derived properties of this <code>Geometry</code>,
+   * if property caching is enabled in the factory.
+   * Allocated on first use.
+   */
+  private transient volatile DerivedProperties derivedProperties;
+
   /**
    * Creates a new <code>Geometry</code> via the specified GeometryFactory.
    *
@@ -410,6 +417,16 @@ public abstract class Geometry
    * @see #isValid
    */
   public boolean isSimple()
+  {
+    DerivedProperties props = getDerivedProperties();
+    if (props == null)
+      return computeIsSimple();
+    if (props.isSimple == null)
+      props.isSimple = computeIsSimple();
+    return props.isSimple;
+  }
+
+  private boolean computeIsSimple()
   {
     IsSimpleOp op = new IsSimpleOp(this);
     return op.isSimple();
@@ -427,7 +444,12 @@ public abstract class Geometry
    */
   public boolean isValid()
   {
-  	return IsValidOp.isValid(this);
+    DerivedProperties props = getDerivedProperties();
+    if (props == null)
+      return IsValidOp.isValid(this);
+    if (props.isValid == null)
+      props.isValid = IsValidOp.isValid(this);
+    return props.isValid;
   }
 
   /**
@@ -523,7 +545,17 @@ public abstract class Geometry
   {
     if (isEmpty())
       return factory.createPoint();
-    Coordinate centPt = Centroid.getCentroid(this);
+    Coordinate centPt;
+    DerivedProperties props = getDerivedProperties();
+    if (props == null) {
+      centPt = Centroid.getCentroid(this);
+    }
+    else {
+      if (props.centroid == null)
+        props.centroid = Centroid.getCentroid(this);
+      // copy, since the point may be modified by the caller
+      centPt = props.centroid.copy();
+    }
     return createPointFromInternalCoord(centPt, this);
   }
 
@@ -645,6 +677,38 @@ public abstract class Geometry
    */
   protected void geometryChangedAction() {
     envelope = null;
+    derivedProperties = null;
+  }
+
+  /**
+   * Gets the cache of derived properties for this geometry,
+   * creating it if necessary.
+   *
+   * @return the property cache, or null if caching is not enabled
+   */
+  DerivedProperties getDerivedProperties() {
+    if (! factory.isPropertyCacheEnabled())
+      return null;
+    DerivedProperties props = derivedProperties;
+    if (props == null) {
+      props = new DerivedProperties();
+      derivedProperties = props;
+    }
+    return props;
+  }
+
+  /**
+   * Holds the cached values of derived properties.
+   * Values are computed only when first requested.
+   * Since the values are deterministic,
+   * a race between threads at worst causes a value to be computed more than once.
+   */
+  static class DerivedProperties {
+    volatile double area = Double.NaN;
+    volatile double length = Double.NaN;
+    volatile Boolean isValid = null;
+    volatile Boolean isSimple = null;
+    volatile Coordinate centroid = null;
   }
 
   /**
@@ -1582,6 +1646,7 @@ public abstract class Geometry
     try {
       Geometry clone = (Geometry) super.clone();
       if (clone.envelope != null) { clone.envelope = new Envelope(clone.envelope); }
+      clone.derivedProperties = null;
       return clone;
     }
     catch (CloneNotSupportedException e) {
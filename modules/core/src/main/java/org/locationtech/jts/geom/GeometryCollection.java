@@ -143,19 +143,29 @@ public class GeometryCollection extends Geometry {
    */
   public double getArea()
   {
+    DerivedProperties props = getDerivedProperties();
+    if (props != null && ! Double.isNaN(props.area))
+      return props.area;
     double area = 0.0;
     for (int i = 0; i < geometries.length; i++) {
       area += geometries[i].getArea();
     }
+    if (props != null)
+      props.area = area;
     return area;
   }
 
   public double getLength()
   {
+    DerivedProperties props = getDerivedProperties();
+    if (props != null && ! Double.isNaN(props.length))
+      return props.length;
     double sum = 0.0;
     for (int i = 0; i < geometries.length; i++) {
       sum += (geometries[i]).getLength();
     }
+    if (props != null)
+      props.length = sum;
     return sum;
   }
 
@@ -41,6 +41,7 @@ public class GeometryFactory
 
   private CoordinateSequenceFactory coordinateSequenceFactory;
 
+  private final boolean isPropertyCacheEnabled;
 
   public static Point createPointFromInternalCoord(Coordinate coord, Geometry exemplar)
   {
@@ -54,9 +55,38 @@ public class GeometryFactory
    */
   public GeometryFactory(PrecisionModel precisionModel, int SRID,
                          CoordinateSequenceFactory coordinateSequenceFactory) {
+    this(precisionModel, SRID, coordinateSequenceFactory, false);
+  }
+
+  /**
+   * Constructs a GeometryFactory that generates Geometries having the given
+   * PrecisionModel, spatial-reference ID, and CoordinateSequence implementation,
+   * and which optionally cache the values of derived properties
+   * which are expensive to compute
+   * (area, length, centroid, validity and simplicity).
+   * Cached values are computed when first requested,
+   * and are discarded when {@link Geometry#geometryChanged()} is called.
+   * <p>
+   * Caching improves performance when the same properties
+   * are requested repeatedly,
+   * at the cost of a small amount of memory for each geometry
+   * (and each component) whose properties are requested.
+   * The setting is carried over to the factories which
+   * library operations derive from this one
+   * (for instance when reducing precision).
+   *
+   * @param precisionModel the PrecisionModel to use
+   * @param SRID the SRID to use
+   * @param coordinateSequenceFactory the CoordinateSequenceFactory to use
+   * @param isPropertyCacheEnabled true if derived properties should be cached
+   */
+  public GeometryFactory(PrecisionModel precisionModel, int SRID,
+                         CoordinateSequenceFactory coordinateSequenceFactory,
+                         boolean isPropertyCacheEnabled) {
       this.precisionModel = precisionModel;
       this.coordinateSequenceFactory = coordinateSequenceFactory;
       this.SRID = SRID;
+      this.isPropertyCacheEnabled = isPropertyCacheEnabled;
   }
 
   /**
@@ -685,6 +715,18 @@ public class GeometryFactory
 
   private int SRID;
 
+  /**
+   * Tests whether geometries created by this factory cache
+   * the values of derived properties.
+   *
+   * @return true if derived properties are cached
+   *
+   * @see #GeometryFactory(PrecisionModel, int, CoordinateSequenceFactory, boolean)
+   */
+  public boolean isPropertyCacheEnabled() {
+    return isPropertyCacheEnabled;
+  }
+
   public CoordinateSequenceFactory getCoordinateSequenceFactory() {
     return coordinateSequenceFactory;
   }
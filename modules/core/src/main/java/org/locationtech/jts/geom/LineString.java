@@ -160,7 +160,13 @@ public class LineString
    */
   public double getLength()
   {
-   return Length.ofLine(points);
+    DerivedProperties props = getDerivedProperties();
+    if (props != null && ! Double.isNaN(props.length))
+      return props.length;
+    double len = Length.ofLine(points);
+    if (props != null)
+      props.length = len;
+    return len;
   }
 
   /**
@@ -240,11 +246,7 @@ public class LineString
   {
     if (points.size() == 0)
       return;
-    for (int i = 0; i < points.size(); i++) {
-      filter.filter(points, i);
-      if (filter.isDone())
-        break;
-    }
+    filter.filter(points);
     if (filter.isGeometryChanged())
       geometryChanged();
   }
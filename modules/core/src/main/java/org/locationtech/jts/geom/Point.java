@@ -162,7 +162,7 @@ public class Point
   {
 	    if (isEmpty())
         return;
-	    filter.filter(coordinates, 0);
+	    filter.filter(coordinates);
       if (filter.isGeometryChanged())
         geometryChanged();
 	  }
@@ -231,11 +231,16 @@ public class Polygon
    */
   public double getArea()
   {
+    DerivedProperties props = getDerivedProperties();
+    if (props != null && ! Double.isNaN(props.area))
+      return props.area;
     double area = 0.0;
     area += Area.ofRing(shell.getCoordinateSequence());
     for (int i = 0; i < holes.length; i++) {
       area -= Area.ofRing(holes[i].getCoordinateSequence());
     }
+    if (props != null)
+      props.area = area;
     return area;
   }
 
@@ -246,11 +251,16 @@ public class Polygon
    */
   public double getLength()
   {
+    DerivedProperties props = getDerivedProperties();
+    if (props != null && ! Double.isNaN(props.length))
+      return props.length;
     double len = 0.0;
     len += shell.getLength();
     for (int i = 0; i < holes.length; i++) {
       len += holes[i].getLength();
     }
+    if (props != null)
+      props.length = len;
     return len;
   }
 
@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geom.impl;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequences;
+import org.locationtech.jts.geom.CoordinateXY;
+import org.locationtech.jts.geom.CoordinateXYM;
+import org.locationtech.jts.geom.CoordinateXYZM;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * A {@link CoordinateSequence} which stores each ordinate in a separate array
+ * (i.e. a "structure of arrays" layout).
+ * The X values of all coordinates are held in one <code>double</code> array,
+ * the Y values in another, and so on for Z and M if present.
+ * <p>
+ * This layout allows algorithms which scan a single ordinate
+ * (such as envelope computation)
+ * to access contiguous memory,
+ * and allows bulk access to an ordinate via
+ * {@link #getOrdinates(int, int, double[], int, int)} to be a simple array copy.
+ * The ordinate arrays can be accessed directly via {@link #getOrdinateArray(int)}.
+ * <p>
+ * As in {@link PackedCoordinateSequence},
+ * {@link Coordinate}s returned by {@link #getCoordinate(int)} and {@link #toCoordinateArray()}
+ * are copies of the internal values.
+ * To change the actual values, use the provided setters.
+ *
+ * @author Martin Davis
+ *
+ * @see ColumnarCoordinateSequenceFactory
+ */
+public class ColumnarCoordinateSequence
+    implements CoordinateSequence, Serializable
+{
+  private static final long serialVersionUID = 2471736475301844537L;
+
+  /**
+   * The ordinate arrays, one for each dimension
+   */
+  private double[][] ordinates;
+  private int dimension;
+  private int measures;
+
+  /**
+   * Creates a sequence of the given size and dimension,
+   * with all ordinates initialized to 0.
+   *
+   * @param size the number of coordinates in the sequence
+   * @param dimension the total number of ordinates that make up a {@link Coordinate} in this sequence.
+   * @param measures the number of measure-ordinates each {@link Coordinate} in this sequence has.
+   */
+  public ColumnarCoordinateSequence(int size, int dimension, int measures) {
+    this(new double[dimension][size], measures);
+  }
+
+  /**
+   * Creates a 2-dimensional sequence from arrays of X and Y values.
+   * The arrays are not copied.
+   *
+   * @param x the X ordinate values
+   * @param y the Y ordinate values
+   */
+  public ColumnarCoordinateSequence(double[] x, double[] y) {
+    this(new double[][] { x, y }, 0);
+  }
+
+  /**
+   * Creates a sequence from an array of ordinate arrays.
+   * The number of ordinate arrays determines the dimension of the sequence.
+   * The arrays are not copied.
+   *
+   * @param ordinates the ordinate arrays, in the order X, Y, [Z], [M]
+   * @param measures the number of measure-ordinates each {@link Coordinate} in this sequence has.
+   */
+  public ColumnarCoordinateSequence(double[][] ordinates, int measures) {
+    if (ordinates.length - measures < 2) {
+      throw new IllegalArgumentException("Must have at least 2 spatial dimensions");
+    }
+    int size = ordinates[0].length;
+    for (int i = 1; i < ordinates.length; i++) {
+      if (ordinates[i].length != size) {
+        throw new IllegalArgumentException("Ordinate arrays must have the same length");
+      }
+    }
+    this.ordinates = ordinates;
+    this.dimension = ordinates.length;
+    this.measures = measures;
+  }
+
+  /**
+   * Creates a sequence containing the values of a coordinate array.
+   *
+   * @param coordinates an array of {@link Coordinate}s
+   * @param dimension the total number of ordinates that make up a {@link Coordinate} in this sequence.
+   * @param measures the number of measure-ordinates each {@link Coordinate} in this sequence has.
+   */
+  public ColumnarCoordinateSequence(Coordinate[] coordinates, int dimension, int measures) {
+    this(coordinates == null ? 0 : coordinates.length, dimension, measures);
+    if (coordinates == null) return;
+    for (int i = 0; i < coordinates.length; i++) {
+      ordinates[0][i] = coordinates[i].x;
+      ordinates[1][i] = coordinates[i].y;
+      if (dimension >= 3)
+        ordinates[2][i] = coordinates[i].getOrdinate(2); // Z or M
+      if (dimension >= 4)
+        ordinates[3][i] = coordinates[i].getOrdinate(3); // M
+    }
+  }
+
+  /**
+   * Creates a sequence containing the values of another sequence.
+   *
+   * @param seq the sequence to copy
+   */
+  public ColumnarCoordinateSequence(CoordinateSequence seq) {
+    this(seq.size(), seq.getDimension(), seq.getMeasures());
+    for (int i = 0; i < dimension; i++) {
+      seq.getOrdinates(i, 0, ordinates[i], 0, ordinates[i].length);
+    }
+  }
+
+  /**
+   * Gets the underlying array containing the values of an ordinate.
+   * Changes to the array are reflected in the sequence.
+   *
+   * @param ordinateIndex the ordinate index (in range [0, dimension-1])
+   * @return the array of ordinate values
+   */
+  public double[] getOrdinateArray(int ordinateIndex) {
+    return ordinates[ordinateIndex];
+  }
+
+  /**
+   * @see CoordinateSequence#getDimension()
+   */
+  public int getDimension() {
+    return dimension;
+  }
+
+  /**
+   * @see CoordinateSequence#getMeasures()
+   */
+  public int getMeasures() {
+    return measures;
+  }
+
+  /**
+   * @see CoordinateSequence#size()
+   */
+  public int size() {
+    return ordinates[0].length;
+  }
+
+  /**
+   * @see CoordinateSequence#getCoordinate(int)
+   */
+  public Coordinate getCoordinate(int i) {
+    return getCoordinateCopy(i);
+  }
+
+  /**
+   * @see CoordinateSequence#getCoordinateCopy(int)
+   */
+  public Coordinate getCoordinateCopy(int i) {
+    double x = ordinates[0][i];
+    double y = ordinates[1][i];
+    if (dimension == 2 && measures == 0) {
+      return new CoordinateXY(x, y);
+    }
+    else if (dimension == 3 && measures == 0) {
+      return new Coordinate(x, y, ordinates[2][i]);
+    }
+    else if (dimension == 3 && measures == 1) {
+      return new CoordinateXYM(x, y, ordinates[2][i]);
+    }
+    else if (dimension == 4) {
+      return new CoordinateXYZM(x, y, ordinates[2][i], ordinates[3][i]);
+    }
+    return new Coordinate(x, y);
+  }
+
+  /**
+   * @see CoordinateSequence#getCoordinate(int, Coordinate)
+   */
+  public void getCoordinate(int i, Coordinate coord) {
+    coord.x = ordinates[0][i];
+    coord.y = ordinates[1][i];
+    if (hasZ()) {
+      coord.setZ(getZ(i));
+    }
+    if (hasM()) {
+      coord.setM(getM(i));
+    }
+  }
+
+  /**
+   * @see CoordinateSequence#getX(int)
+   */
+  public double getX(int index) {
+    return ordinates[0][index];
+  }
+
+  /**
+   * @see CoordinateSequence#getY(int)
+   */
+  public double getY(int index) {
+    return ordinates[1][index];
+  }
+
+  /**
+   * @see CoordinateSequence#getOrdinate(int, int)
+   */
+  public double getOrdinate(int index, int ordinateIndex) {
+    return ordinates[ordinateIndex][index];
+  }
+
+  /**
+   * @see CoordinateSequence#setOrdinate(int, int, double)
+   */
+  public void setOrdinate(int index, int ordinateIndex, double value) {
+    ordinates[ordinateIndex][index] = value;
+  }
+
+  public void getOrdinates(int ordinateIndex, int index, double[] dest, int destPos, int length) {
+    System.arraycopy(ordinates[ordinateIndex], index, dest, destPos, length);
+  }
+
+  public void getXY(int index, double[] dest, int destPos, int length) {
+    double[] x = ordinates[0];
+    double[] y = ordinates[1];
+    int pos = destPos;
+    int end = index + length;
+    for (int i = index; i < end; i++) {
+      dest[pos++] = x[i];
+      dest[pos++] = y[i];
+    }
+  }
+
+  public void setOrdinates(int ordinateIndex, int index, double[] src, int srcPos, int length) {
+    System.arraycopy(src, srcPos, ordinates[ordinateIndex], index, length);
+  }
+
+  public void setXY(int index, double[] src, int srcPos, int length) {
+    double[] x = ordinates[0];
+    double[] y = ordinates[1];
+    int pos = srcPos;
+    int end = index + length;
+    for (int i = index; i < end; i++) {
+      x[i] = src[pos++];
+      y[i] = src[pos++];
+    }
+  }
+
+  /**
+   * @see CoordinateSequence#toCoordinateArray()
+   */
+  public Coordinate[] toCoordinateArray() {
+    Coordinate[] coords = new Coordinate[size()];
+    for (int i = 0; i < coords.length; i++) {
+      coords[i] = getCoordinateCopy(i);
+    }
+    return coords;
+  }
+
+  /**
+   * @see CoordinateSequence#expandEnvelope(Envelope)
+   */
+  public Envelope expandEnvelope(Envelope env) {
+    double[] x = ordinates[0];
+    double[] y = ordinates[1];
+    if (x.length == 0) return env;
+    // seed from the envelope, or from the first vertex if it is null.
+    // Each ordinate array can then be scanned separately
+    // with the same result (including NaN handling)
+    // as expanding by each vertex in turn
+    int start = 0;
+    double minx, maxx, miny, maxy;
+    if (env.isNull()) {
+      minx = maxx = x[0];
+      miny = maxy = y[0];
+      start = 1;
+    }
+    else {
+      minx = env.getMinX();
+      maxx = env.getMaxX();
+      miny = env.getMinY();
+      maxy = env.getMaxY();
+    }
+    for (int i = start; i < x.length; i++) {
+      double v = x[i];
+      if (v < minx) minx = v;
+      if (v > maxx) maxx = v;
+    }
+    for (int i = start; i < y.length; i++) {
+      double v = y[i];
+      if (v < miny) miny = v;
+      if (v > maxy) maxy = v;
+    }
+    env.init(minx, maxx, miny, maxy);
+    return env;
+  }
+
+  /**
+   * @see java.lang.Object#clone()
+   * @see CoordinateSequence#clone()
+   * @deprecated
+   */
+  @Deprecated
+  public Object clone() {
+    return copy();
+  }
+
+  /**
+   * @see CoordinateSequence#copy()
+   */
+  public ColumnarCoordinateSequence copy() {
+    double[][] clone = new double[dimension][];
+    for (int i = 0; i < dimension; i++) {
+      clone[i] = Arrays.copyOf(ordinates[i], ordinates[i].length);
+    }
+    return new ColumnarCoordinateSequence(clone, measures);
+  }
+
+  public String toString() {
+    return CoordinateSequences.toString(this);
+  }
+}
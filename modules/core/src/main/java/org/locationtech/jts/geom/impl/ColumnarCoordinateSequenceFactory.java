@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geom.impl;
+
+import java.io.Serializable;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFactory;
+import org.locationtech.jts.geom.Coordinates;
+
+/**
+ * Creates {@link ColumnarCoordinateSequence}s,
+ * which store each ordinate in a separate array.
+ * <p>
+ * To have all geometries created by a
+ * {@link org.locationtech.jts.geom.GeometryFactory}
+ * (and the operations which use it) use this representation,
+ * supply the factory instance when creating the geometry factory:
+ * <pre>
+ * new GeometryFactory(ColumnarCoordinateSequenceFactory.instance())
+ * </pre>
+ *
+ * @author Martin Davis
+ */
+public final class ColumnarCoordinateSequenceFactory
+    implements CoordinateSequenceFactory, Serializable
+{
+  private static final long serialVersionUID = -6139574238720557542L;
+  private static final ColumnarCoordinateSequenceFactory instanceObject = new ColumnarCoordinateSequenceFactory();
+
+  private static final int DEFAULT_DIMENSION = 3;
+
+  private ColumnarCoordinateSequenceFactory() {
+  }
+
+  private Object readResolve() {
+    return ColumnarCoordinateSequenceFactory.instance();
+  }
+
+  /**
+   * Returns the singleton instance of {@link ColumnarCoordinateSequenceFactory}
+   */
+  public static ColumnarCoordinateSequenceFactory instance() {
+    return instanceObject;
+  }
+
+  /**
+   * @see CoordinateSequenceFactory#create(Coordinate[])
+   */
+  public CoordinateSequence create(Coordinate[] coordinates) {
+    int dimension = DEFAULT_DIMENSION;
+    int measures = 0;
+    if (coordinates != null && coordinates.length > 0 && coordinates[0] != null) {
+      Coordinate first = coordinates[0];
+      dimension = Coordinates.dimension(first);
+      measures = Coordinates.measures(first);
+    }
+    return new ColumnarCoordinateSequence(coordinates, dimension, measures);
+  }
+
+  /**
+   * @see CoordinateSequenceFactory#create(CoordinateSequence)
+   */
+  public CoordinateSequence create(CoordinateSequence coordSeq) {
+    return new ColumnarCoordinateSequence(coordSeq);
+  }
+
+  /**
+   * Creates a 2-dimensional sequence from arrays of X and Y values.
+   * The arrays are not copied.
+   *
+   * @param x the X ordinate values
+   * @param y the Y ordinate values
+   * @return a coordinate sequence
+   */
+  public CoordinateSequence create(double[] x, double[] y) {
+    return new ColumnarCoordinateSequence(x, y);
+  }
+
+  /**
+   * @see CoordinateSequenceFactory#create(int, int)
+   */
+  public CoordinateSequence create(int size, int dimension) {
+    return new ColumnarCoordinateSequence(size, dimension, Math.max(0, dimension - 3));
+  }
+
+  /**
+   * @see CoordinateSequenceFactory#create(int, int, int)
+   */
+  public CoordinateSequence create(int size, int dimension, int measures) {
+    return new ColumnarCoordinateSequence(size, dimension, measures);
+  }
+}
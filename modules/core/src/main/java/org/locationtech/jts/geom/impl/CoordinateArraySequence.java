@@ -306,6 +306,46 @@ public class CoordinateArraySequence
     }
   }
 
+  public void getOrdinates(int ordinateIndex, int index, double[] dest, int destPos, int length)
+  {
+    switch (ordinateIndex) {
+      case CoordinateSequence.X:
+        for (int i = 0; i < length; i++) {
+          dest[destPos + i] = coordinates[index + i].x;
+        }
+        break;
+      case CoordinateSequence.Y:
+        for (int i = 0; i < length; i++) {
+          dest[destPos + i] = coordinates[index + i].y;
+        }
+        break;
+      default:
+        for (int i = 0; i < length; i++) {
+          dest[destPos + i] = coordinates[index + i].getOrdinate(ordinateIndex);
+        }
+    }
+  }
+
+  public void getXY(int index, double[] dest, int destPos, int length)
+  {
+    int pos = destPos;
+    for (int i = index; i < index + length; i++) {
+      Coordinate c = coordinates[i];
+      dest[pos++] = c.x;
+      dest[pos++] = c.y;
+    }
+  }
+
+  public void setXY(int index, double[] src, int srcPos, int length)
+  {
+    int pos = srcPos;
+    for (int i = index; i < index + length; i++) {
+      Coordinate c = coordinates[i];
+      c.x = src[pos++];
+      c.y = src[pos++];
+    }
+  }
+
   /**
    * This method exposes the internal Array of Coordinate Objects
    *
@@ -317,9 +357,31 @@ public class CoordinateArraySequence
 
   public Envelope expandEnvelope(Envelope env)
   {
-    for (int i = 0; i < coordinates.length; i++ ) {
-      env.expandToInclude(coordinates[i]);
+    // accumulate bounds locally, and only update the envelope once.
+    // The result matches expanding by each vertex in turn,
+    // including the handling of NaN ordinates
+    if (coordinates.length == 0) return env;
+    int start = 0;
+    double minx, maxx, miny, maxy;
+    if (env.isNull()) {
+      minx = maxx = coordinates[0].x;
+      miny = maxy = coordinates[0].y;
+      start = 1;
+    }
+    else {
+      minx = env.getMinX();
+      maxx = env.getMaxX();
+      miny = env.getMinY();
+      maxy = env.getMaxY();
+    }
+    for (int i = start; i < coordinates.length; i++ ) {
+      Coordinate c = coordinates[i];
+      if (c.x < minx) minx = c.x;
+      if (c.x > maxx) maxx = c.x;
+      if (c.y < miny) miny = c.y;
+      if (c.y > maxy) maxy = c.y;
     }
+    env.init(minx, maxx, miny, maxy);
     return env;
   }
 
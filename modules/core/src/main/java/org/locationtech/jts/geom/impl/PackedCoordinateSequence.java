@@ -15,6 +15,7 @@ package org.locationtech.jts.geom.impl;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.lang.ref.SoftReference;
+import java.nio.DoubleBuffer;
 import java.util.Arrays;
 
 import org.locationtech.jts.geom.Coordinate;
@@ -272,6 +273,10 @@ public abstract class PackedCoordinateSequence
      */
     public Double(float[] coords, int dimension, int measures) {
       super(dimension,measures);
+      if (coords.length % dimension != 0) {
+        throw new IllegalArgumentException("Packed array does not contain "
+            + "an integral number of coordinates");
+      }
       this.coords = new double[coords.length];
       for (int i = 0; i < coords.length; i++) {
         this.coords[i] = coords[i];
@@ -408,14 +413,90 @@ public abstract class PackedCoordinateSequence
       coords[index * dimension + ordinate] = value;
     }
 
+    public void getOrdinates(int ordinateIndex, int index, double[] dest, int destPos, int length) {
+      int j = index * dimension + ordinateIndex;
+      for (int i = 0; i < length; i++) {
+        dest[destPos + i] = coords[j];
+        j += dimension;
+      }
+    }
+
+    public void getXY(int index, double[] dest, int destPos, int length) {
+      if (dimension == 2) {
+        System.arraycopy(coords, 2 * index, dest, destPos, 2 * length);
+        return;
+      }
+      int j = index * dimension;
+      int pos = destPos;
+      for (int i = 0; i < length; i++) {
+        dest[pos++] = coords[j];
+        dest[pos++] = coords[j + 1];
+        j += dimension;
+      }
+    }
+
+    public void setOrdinates(int ordinateIndex, int index, double[] src, int srcPos, int length) {
+      coordRef = null;
+      int j = index * dimension + ordinateIndex;
+      for (int i = 0; i < length; i++) {
+        coords[j] = src[srcPos + i];
+        j += dimension;
+      }
+    }
+
+    public void setXY(int index, double[] src, int srcPos, int length) {
+      coordRef = null;
+      if (dimension == 2) {
+        System.arraycopy(src, srcPos, coords, 2 * index, 2 * length);
+        return;
+      }
+      int j = index * dimension;
+      int pos = srcPos;
+      for (int i = 0; i < length; i++) {
+        coords[j] = src[pos++];
+        coords[j + 1] = src[pos++];
+        j += dimension;
+      }
+    }
+
+    /**
+     * @see CoordinateSequence#getOrdinateBuffer()
+     */
+    public DoubleBuffer getOrdinateBuffer() {
+      return DoubleBuffer.wrap(coords).asReadOnlyBuffer();
+    }
+
     /**
      * @see CoordinateSequence#expandEnvelope(Envelope)
      */
     public Envelope expandEnvelope(Envelope env)
     {
-      for (int i = 0; i < coords.length; i += dimension ) {
-        env.expandToInclude(coords[i], coords[i + 1]);
+      // accumulate bounds locally, and only update the envelope once.
+      // The result matches expanding by each vertex in turn,
+      // including the handling of NaN ordinates
+      if (coords.length == 0) return env;
+      int start = 0;
+      double minx, maxx, miny, maxy;
+      if (env.isNull()) {
+        minx = maxx = coords[0];
+        miny = maxy = coords[1];
+        start = dimension;
       }
+      else {
+        minx = env.getMinX();
+        maxx = env.getMaxX();
+        miny = env.getMinY();
+        maxy = env.getMaxY();
+      }
+      for (int i = start; i < coords.length; i += dimension ) {
+        double x = coords[i];
+        double y = coords[i + 1];
+        if (x < minx) minx = x;
+        if (x > maxx) maxx = x;
+        if (y < miny) miny = y;
+        if (y > maxy) maxy = y;
+      }
+      env.init(minx, maxx, miny, maxy);
       return env;
     }
   }
@@ -455,6 +536,10 @@ public abstract class PackedCoordinateSequence
      */
     public Float(double[] coords, int dimension, int measures) {
       super(dimension,measures);
+      if (coords.length % dimension != 0) {
+        throw new IllegalArgumentException("Packed array does not contain "
+            + "an integral number of coordinates");
+      }
       this.coords = new float[coords.length];
       
       for (int i = 0; i < coords.length; i++) {
@@ -585,14 +670,374 @@ public abstract class PackedCoordinateSequence
       coords[index * dimension + ordinate] = (float) value;
     }
 
+    public void getOrdinates(int ordinateIndex, int index, double[] dest, int destPos, int length) {
+      int j = index * dimension + ordinateIndex;
+      for (int i = 0; i < length; i++) {
+        dest[destPos + i] = coords[j];
+        j += dimension;
+      }
+    }
+
+    public void getXY(int index, double[] dest, int destPos, int length) {
+      int j = index * dimension;
+      int pos = destPos;
+      for (int i = 0; i < length; i++) {
+        dest[pos++] = coords[j];
+        dest[pos++] = coords[j + 1];
+        j += dimension;
+      }
+    }
+
+    public void setOrdinates(int ordinateIndex, int index, double[] src, int srcPos, int length) {
+      coordRef = null;
+      int j = index * dimension + ordinateIndex;
+      for (int i = 0; i < length; i++) {
+        coords[j] = (float) src[srcPos + i];
+        j += dimension;
+      }
+    }
+
+    public void setXY(int index, double[] src, int srcPos, int length) {
+      coordRef = null;
+      int j = index * dimension;
+      int pos = srcPos;
+      for (int i = 0; i < length; i++) {
+        coords[j] = (float) src[pos++];
+        coords[j + 1] = (float) src[pos++];
+        j += dimension;
+      }
+    }
+
+    /**
+     * @see CoordinateSequence#expandEnvelope(Envelope)
+     */
+    public Envelope expandEnvelope(Envelope env)
+    {
+      // accumulate bounds locally, and only update the envelope once.
+      // The result matches expanding by each vertex in turn,
+      // including the handling of NaN ordinates
+      if (coords.length == 0) return env;
+      int start = 0;
+      double minx, maxx, miny, maxy;
+      if (env.isNull()) {
+        minx = maxx = coords[0];
+        miny = maxy = coords[1];
+        start = dimension;
+      }
+      else {
+        minx = env.getMinX();
+        maxx = env.getMaxX();
+        miny = env.getMinY();
+        maxy = env.getMaxY();
+      }
+      for (int i = start; i < coords.length; i += dimension ) {
+        double x = coords[i];
+        double y = coords[i + 1];
+        if (x < minx) minx = x;
+        if (x > maxx) maxx = x;
+        if (y < miny) miny = y;
+        if (y > maxy) maxy = y;
+      }
+      env.init(minx, maxx, miny, maxy);
+      return env;
+    }
+  }
+
+  /**
+   * Packed coordinate sequence implementation based on fixed-point integers.
+   * Ordinate values are stored as <code>int</code>s,
+   * representing the value multiplied by a scale factor
+   * (as defined by a fixed {@link org.locationtech.jts.geom.PrecisionModel}).
+   * Values are rounded to the precision grid when they are set,
+   * in the same way as {@link org.locationtech.jts.geom.PrecisionModel#makePrecise(double)},
+   * and are returned as <code>double</code>s.
+   * All ordinates (including Z and M) use the same scale factor.
+   * <p>
+   * <code>NaN</code> ordinate values are supported.
+   * Values whose scaled magnitude is too large to be represented
+   * cause an {@link IllegalArgumentException}.
+   */
+  public static class Fixed extends PackedCoordinateSequence {
+    private static final long serialVersionUID = 3702846512046236711L;
+
+    /**
+     * The value used to represent NaN ordinates
+     */
+    private static final int NAN_VALUE = Integer.MIN_VALUE;
+
+    /**
+     * The packed coordinate array
+     */
+    int[] coords;
+
+    /**
+     * The scale factor of the precision grid
+     */
+    private double scale;
+
+    /**
+     * Constructs a packed coordinate sequence from an array of scaled <code>int</code> values.
+     * The array is not copied.
+     *
+     * @param coords  an array of <code>int</code> values that contains the scaled ordinate values of the sequence
+     * @param scale the scale factor of the precision grid
+     * @param dimension the total number of ordinates that make up a {@link Coordinate} in this sequence.
+     * @param measures the number of measure-ordinates each {@link Coordinate} in this sequence has.
+     */
+    public Fixed(int[] coords, double scale, int dimension, int measures) {
+      super(dimension,measures);
+      if (coords.length % dimension != 0) {
+        throw new IllegalArgumentException("Packed array does not contain "
+            + "an integral number of coordinates");
+      }
+      this.coords = coords;
+      this.scale = checkScale(scale);
+    }
+
+    /**
+     * Constructs a packed coordinate sequence from an array of <code>double</code>s,
+     * rounding the values to the precision grid.
+     *
+     * @param coords  an array of <code>double</code> values that contains the ordinate values of the sequence
+     * @param scale the scale factor of the precision grid
+     * @param dimension the total number of ordinates that make up a {@link Coordinate} in this sequence.
+     * @param measures the number of measure-ordinates each {@link Coordinate} in this sequence has.
+     */
+    public Fixed(double[] coords, double scale, int dimension, int measures) {
+      super(dimension,measures);
+      if (coords.length % dimension != 0) {
+        throw new IllegalArgumentException("Packed array does not contain "
+            + "an integral number of coordinates");
+      }
+      this.scale = checkScale(scale);
+      this.coords = new int[coords.length];
+      for (int i = 0; i < coords.length; i++) {
+        this.coords[i] = toFixed(coords[i]);
+      }
+    }
+
+    /**
+     * Constructs a packed coordinate sequence out of a coordinate array,
+     * rounding the values to the precision grid.
+     *
+     * @param coordinates an array of {@link Coordinate}s
+     * @param scale the scale factor of the precision grid
+     * @param dimension the total number of ordinates that make up a {@link Coordinate} in this sequence.
+     * @param measures the number of measure-ordinates each {@link Coordinate} in this sequence has.
+     */
+    public Fixed(Coordinate[] coordinates, double scale, int dimension, int measures) {
+      super(dimension,measures);
+      this.scale = checkScale(scale);
+      if (coordinates == null)
+        coordinates = new Coordinate[0];
+
+      coords = new int[coordinates.length * dimension];
+      for (int i = 0; i < coordinates.length; i++) {
+        int offset = i * dimension;
+        coords[offset] = toFixed(coordinates[i].x);
+        coords[offset + 1] = toFixed(coordinates[i].y);
+        if (dimension >= 3)
+          coords[offset + 2] = toFixed(coordinates[i].getOrdinate(2)); // Z or M
+        if (dimension >= 4)
+          coords[offset + 3] = toFixed(coordinates[i].getOrdinate(3)); // M
+      }
+    }
+
+    /**
+     * Constructs an empty packed coordinate sequence of a given size and dimension
+     *
+     * @param size the number of coordinates in this sequence
+     * @param scale the scale factor of the precision grid
+     * @param dimension the total number of ordinates that make up a {@link Coordinate} in this sequence.
+     * @param measures the number of measure-ordinates each {@link Coordinate} in this sequence has.
+     */
+    public Fixed(int size, double scale, int dimension, int measures) {
+      super(dimension,measures);
+      this.scale = checkScale(scale);
+      coords = new int[size * this.dimension];
+    }
+
+    private static double checkScale(double scale) {
+      if (! (scale > 0) || java.lang.Double.isInfinite(scale)) {
+        throw new IllegalArgumentException("Invalid scale factor: " + scale);
+      }
+      return scale;
+    }
+
+    private int toFixed(double value) {
+      if (java.lang.Double.isNaN(value))
+        return NAN_VALUE;
+      long scaled = Math.round(value * scale);
+      if (scaled <= NAN_VALUE || scaled > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Ordinate value is out of range for fixed precision: " + value);
+      }
+      return (int) scaled;
+    }
+
+    private double toDouble(int value) {
+      if (value == NAN_VALUE)
+        return java.lang.Double.NaN;
+      return value / scale;
+    }
+
+    /**
+     * Gets the scale factor of the precision grid used by this sequence.
+     *
+     * @return the scale factor
+     */
+    public double getScale() {
+      return scale;
+    }
+
+    /**
+     * @see PackedCoordinateSequence#getCoordinate(int)
+     */
+    public Coordinate getCoordinateInternal(int i) {
+      double x = toDouble(coords[i * dimension]);
+      double y = toDouble(coords[i * dimension + 1]);
+      if( dimension == 2 && measures == 0 ) {
+        return new CoordinateXY(x,y);
+      }
+      else if (dimension == 3 && measures == 0) {
+        double z = toDouble(coords[i * dimension + 2]);
+        return new Coordinate(x,y,z);
+      }
+      else if (dimension == 3 && measures == 1) {
+        double m = toDouble(coords[i * dimension + 2]);
+        return new CoordinateXYM(x,y,m);
+      }
+      else if (dimension == 4) {
+        double z = toDouble(coords[i * dimension + 2]);
+        double m = toDouble(coords[i * dimension + 3]);
+        return new CoordinateXYZM(x,y,z,m);
+      }
+      return new Coordinate(x, y);
+    }
+
+    /**
+     * Gets the underlying array containing the scaled coordinate values.
+     *
+     * @return the array of scaled coordinate values
+     */
+    public int[] getRawCoordinates()
+    {
+      return coords;
+    }
+
+    /**
+     * @see CoordinateSequence#size()
+     */
+    public int size() {
+      return coords.length / dimension;
+    }
+
+    /**
+     * @see java.lang.Object#clone()
+     * @see PackedCoordinateSequence#clone()
+     * @deprecated
+     */
+    @Deprecated
+    public Object clone() {
+      return copy();
+    }
+
+    /**
+     * @see PackedCoordinateSequence#copy()
+     */
+    public Fixed copy() {
+      int[] clone = Arrays.copyOf(coords, coords.length);
+      return new Fixed(clone, scale, dimension, measures);
+    }
+
+    /**
+     * @see PackedCoordinateSequence#getOrdinate(int, int)
+     *      For performance reasons the ordinate index is not checked.
+     *      If it is larger than the dimension a meaningless
+     *      value may be returned.
+     */
+    public double getOrdinate(int index, int ordinate) {
+      return toDouble(coords[index * dimension + ordinate]);
+    }
+
+    /**
+     * Sets an ordinate value, rounding it to the precision grid.
+     *
+     * @see PackedCoordinateSequence#setOrdinate(int, int, double)
+     */
+    public void setOrdinate(int index, int ordinate, double value) {
+      coordRef = null;
+      coords[index * dimension + ordinate] = toFixed(value);
+    }
+
+    public void getOrdinates(int ordinateIndex, int index, double[] dest, int destPos, int length) {
+      int j = index * dimension + ordinateIndex;
+      for (int i = 0; i < length; i++) {
+        dest[destPos + i] = toDouble(coords[j]);
+        j += dimension;
+      }
+    }
+
+    public void getXY(int index, double[] dest, int destPos, int length) {
+      int j = index * dimension;
+      int pos = destPos;
+      for (int i = 0; i < length; i++) {
+        dest[pos++] = toDouble(coords[j]);
+        dest[pos++] = toDouble(coords[j + 1]);
+        j += dimension;
+      }
+    }
+
+    public void setOrdinates(int ordinateIndex, int index, double[] src, int srcPos, int length) {
+      coordRef = null;
+      int j = index * dimension + ordinateIndex;
+      for (int i = 0; i < length; i++) {
+        coords[j] = toFixed(src[srcPos + i]);
+        j += dimension;
+      }
+    }
+
+    public void setXY(int index, double[] src, int srcPos, int length) {
+      coordRef = null;
+      int j = index * dimension;
+      int pos = srcPos;
+      for (int i = 0; i < length; i++) {
+        coords[j] = toFixed(src[pos++]);
+        coords[j + 1] = toFixed(src[pos++]);
+        j += dimension;
+      }
+    }
+
     /**
      * @see CoordinateSequence#expandEnvelope(Envelope)
      */
     public Envelope expandEnvelope(Envelope env)
     {
-      for (int i = 0; i < coords.length; i += dimension ) {
-        env.expandToInclude(coords[i], coords[i + 1]);
+      // accumulate bounds locally, and only update the envelope once.
+      // The result matches expanding by each vertex in turn,
+      // including the handling of NaN ordinates
+      if (coords.length == 0) return env;
+      int start = 0;
+      double minx, maxx, miny, maxy;
+      if (env.isNull()) {
+        minx = maxx = toDouble(coords[0]);
+        miny = maxy = toDouble(coords[1]);
+        start = dimension;
+      }
+      else {
+        minx = env.getMinX();
+        maxx = env.getMaxX();
+        miny = env.getMinY();
+        maxy = env.getMaxY();
+      }
+      for (int i = start; i < coords.length; i += dimension ) {
+        double x = toDouble(coords[i]);
+        double y = toDouble(coords[i + 1]);
+        if (x < minx) minx = x;
+        if (x > maxx) maxx = x;
+        if (y < miny) miny = y;
+        if (y > maxy) maxy = y;
       }
+      env.init(minx, maxx, miny, maxy);
       return env;
     }
   }
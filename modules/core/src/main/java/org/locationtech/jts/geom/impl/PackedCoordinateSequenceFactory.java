@@ -17,12 +17,20 @@ import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.CoordinateSequenceFactory;
 import org.locationtech.jts.geom.Coordinates;
+import org.locationtech.jts.geom.PrecisionModel;
 
 /**
  * Builds packed array coordinate sequences. 
  * The array data type can be either
- * <code>double</code> or <code>float</code>, 
+ * <code>double</code>, <code>float</code>
+ * or fixed-point <code>int</code>,
  * and defaults to <code>double</code>.
+ * <p>
+ * A factory matching a {@link PrecisionModel} can be created with
+ * {@link #PackedCoordinateSequenceFactory(PrecisionModel)}.
+ * Using it in a {@link org.locationtech.jts.geom.GeometryFactory}
+ * with the same precision model
+ * stores geometries in the most compact form which represents them exactly.
  */
 public class PackedCoordinateSequenceFactory implements
     CoordinateSequenceFactory, Serializable
@@ -39,6 +47,12 @@ public class PackedCoordinateSequenceFactory implements
    */
   public static final int FLOAT = 1;
 
+  /**
+   * Type code for arrays of type <code>int</code>,
+   * holding ordinates scaled by a fixed precision scale factor.
+   */
+  public static final int FIXED = 2;
+
   /**
    * A factory using array type {@link #DOUBLE}
    */
@@ -57,6 +71,14 @@ public class PackedCoordinateSequenceFactory implements
 
   private int type = DOUBLE;
 
+  private double scale = 1.0;
+
+  /**
+   * Fixed-point sequences are only built by factories
+   * created from a fixed precision model
+   */
+  private boolean isFixed = false;
+
   /**
    * Creates a new PackedCoordinateSequenceFactory
    * of type DOUBLE.
@@ -70,16 +92,46 @@ public class PackedCoordinateSequenceFactory implements
    * of the given type.
    * Acceptable type values are
    * {@linkplain PackedCoordinateSequenceFactory#FLOAT}or
-   * {@linkplain PackedCoordinateSequenceFactory#DOUBLE}
+   * {@linkplain PackedCoordinateSequenceFactory#DOUBLE}.
+   * Other values produce sequences of type <code>float</code>.
+   * {@linkplain PackedCoordinateSequenceFactory#FIXED} factories
+   * must be created with {@link #PackedCoordinateSequenceFactory(PrecisionModel)}.
    */
   public PackedCoordinateSequenceFactory(int type){
     this.type = type;
   }
 
+  /**
+   * Creates a new PackedCoordinateSequenceFactory
+   * whose type is determined by a precision model:
+   * <ul>
+   * <li>{@link PrecisionModel#FIXED} models produce sequences of type {@link #FIXED},
+   * using the scale factor of the model
+   * <li>{@link PrecisionModel#FLOATING_SINGLE} models produce sequences of type {@link #FLOAT}
+   * <li>{@link PrecisionModel#FLOATING} models produce sequences of type {@link #DOUBLE}
+   * </ul>
+   * 
+   * @param precisionModel the precision model of the coordinates to be stored
+   */
+  public PackedCoordinateSequenceFactory(PrecisionModel precisionModel){
+    if (precisionModel.getType() == PrecisionModel.FIXED) {
+      this.type = FIXED;
+      this.scale = precisionModel.getScale();
+      this.isFixed = true;
+    }
+    else if (precisionModel.getType() == PrecisionModel.FLOATING_SINGLE) {
+      this.type = FLOAT;
+    }
+    else {
+      this.type = DOUBLE;
+    }
+  }
+
   /**
    * Gets the type of packed coordinate sequence this factory builds, either
-   * {@linkplain PackedCoordinateSequenceFactory#FLOAT} or
-   * {@linkplain PackedCoordinateSequenceFactory#DOUBLE}
+   * {@linkplain PackedCoordinateSequenceFactory#FLOAT},
+   * {@linkplain PackedCoordinateSequenceFactory#DOUBLE} or
+   * {@linkplain PackedCoordinateSequenceFactory#FIXED}
    * 
    * @return the type of packed array built
    */
@@ -87,6 +139,15 @@ public class PackedCoordinateSequenceFactory implements
     return type;
   }
 
+  /**
+   * Gets the scale factor used by sequences of type {@link #FIXED}.
+   * 
+   * @return the fixed precision scale factor
+   */
+  public double getScale() {
+    return scale;
+  }
+
   /**
    * @see CoordinateSequenceFactory#create(Coordinate[])
    */
@@ -98,7 +159,9 @@ public class PackedCoordinateSequenceFactory implements
       dimension = Coordinates.dimension(first);
       measures = Coordinates.measures(first);
     }
-    if (type == DOUBLE) {
+    if (isFixed) {
+      return new PackedCoordinateSequence.Fixed(coordinates, scale, dimension, measures);
+    } else if (type == DOUBLE) {
       return new PackedCoordinateSequence.Double(coordinates, dimension, measures);
     } else {
       return new PackedCoordinateSequence.Float(coordinates,  dimension, measures);
@@ -109,13 +172,16 @@ public class PackedCoordinateSequenceFactory implements
    * @see CoordinateSequenceFactory#create(CoordinateSequence)
    */
   public CoordinateSequence create(CoordinateSequence coordSeq) {
+    int size = coordSeq.size();
     int dimension = coordSeq.getDimension();
-    int measures = coordSeq.getMeasures();
-    if (type == DOUBLE) {
-      return new PackedCoordinateSequence.Double(coordSeq.toCoordinateArray(), dimension, measures);
-    } else {
-      return new PackedCoordinateSequence.Float(coordSeq.toCoordinateArray(), dimension, measures);
+    CoordinateSequence seq = create(size, dimension, coordSeq.getMeasures());
+    // copy ordinates in bulk, without creating Coordinates
+    double[] ords = new double[size];
+    for (int i = 0; i < dimension; i++) {
+      coordSeq.getOrdinates(i, 0, ords, 0, size);
+      seq.setOrdinates(i, 0, ords, 0, size);
     }
+    return seq;
   }
 
   /**
@@ -142,7 +208,9 @@ public class PackedCoordinateSequenceFactory implements
    * @return a packed coordinate sequence of type {@link #DOUBLE}
    */
   public CoordinateSequence create(double[] packedCoordinates, int dimension, int measures) {
-    if (type == DOUBLE) {
+    if (isFixed) {
+      return new PackedCoordinateSequence.Fixed(packedCoordinates, scale, dimension, measures);
+    } else if (type == DOUBLE) {
       return new PackedCoordinateSequence.Double(packedCoordinates, dimension, measures);
     } else {
       return new PackedCoordinateSequence.Float(packedCoordinates, dimension, measures);
@@ -170,7 +238,13 @@ public class PackedCoordinateSequenceFactory implements
    * @return a packed coordinate sequence of type {@link #FLOAT}
    */
   public CoordinateSequence create(float[] packedCoordinates, int dimension, int measures) {
-    if (type == DOUBLE) {
+    if (isFixed) {
+      double[] coords = new double[packedCoordinates.length];
+      for (int i = 0; i < coords.length; i++) {
+        coords[i] = packedCoordinates[i];
+      }
+      return new PackedCoordinateSequence.Fixed(coords, scale, dimension, measures);
+    } else if (type == DOUBLE) {
       return new PackedCoordinateSequence.Double(packedCoordinates, dimension, measures);
     } else {
       return new PackedCoordinateSequence.Float(packedCoordinates, dimension, measures);
@@ -181,20 +255,16 @@ public class PackedCoordinateSequenceFactory implements
    * @see org.locationtech.jts.geom.CoordinateSequenceFactory#create(int, int)
    */
   public CoordinateSequence create(int size, int dimension) {
-    if (type == DOUBLE) {
-      return new PackedCoordinateSequence.Double(
-              size, dimension, Math.max(DEFAULT_MEASURES, dimension-3));
-    } else {
-      return new PackedCoordinateSequence.Float(
-              size, dimension, Math.max(DEFAULT_MEASURES, dimension-3));
-    }
+    return create(size, dimension, Math.max(DEFAULT_MEASURES, dimension-3));
   }
   
   /**
    * @see org.locationtech.jts.geom.CoordinateSequenceFactory#create(int, int, int)
    */
   public CoordinateSequence create(int size, int dimension, int measures) {
-    if (type == DOUBLE) {
+    if (isFixed) {
+      return new PackedCoordinateSequence.Fixed(size, scale, dimension, measures);
+    } else if (type == DOUBLE) {
       return new PackedCoordinateSequence.Double(size, dimension, measures);
     } else {
       return new PackedCoordinateSequence.Float(size, dimension, measures);
@@ -11,14 +11,27 @@
  */
 package org.locationtech.jts.geom.prep;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
 import org.locationtech.jts.algorithm.PointLocator;
+import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
+import org.locationtech.jts.algorithm.locate.PointOnGeometryLocator;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Dimension;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.Lineal;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.Polygonal;
+import org.locationtech.jts.geom.Puntal;
 import org.locationtech.jts.geom.util.ComponentCoordinateExtracter;
+import org.locationtech.jts.geom.util.PolygonExtracter;
+import org.locationtech.jts.operation.distance.IndexedFacetDistance;
+import org.locationtech.jts.operation.relate.PredicateRelateOp;
+import org.locationtech.jts.operation.relate.RelatePredicate;
 
 
 /**
@@ -27,6 +40,19 @@ import org.locationtech.jts.geom.util.ComponentCoordinateExtracter;
  * to the equivalent {@link Geometry} methods.
  * This class may be used as a "no-op" class for Geometry types
  * which do not have a corresponding {@link PreparedGeometry} implementation.
+ * <p>
+ * The predicates which do not have specialized implementations 
+ * (<code>touches</code>, <code>crosses</code>, <code>overlaps</code>,
+ * <code>within</code> and <code>coveredBy</code>)
+ * are evaluated by a cached {@link PredicateRelateOp},
+ * which stops as soon as the predicate value is determined.
+ * GeometryCollections and lineal geometries which are not simple
+ * are evaluated by the {@link Geometry} methods.
+ * <p>
+ * <code>distance</code> and <code>isWithinDistance</code>
+ * use a cached {@link IndexedFacetDistance} index,
+ * after checking whether the geometries intersect
+ * because one lies inside an area of the other.
  * 
  * @author Martin Davis
  *
@@ -34,8 +60,20 @@ import org.locationtech.jts.geom.util.ComponentCoordinateExtracter;
 class BasicPreparedGeometry 
   implements PreparedGeometry
 {
+  private static final RelatePredicate TOUCHES = RelatePredicate.touches();
+  private static final RelatePredicate CROSSES = RelatePredicate.crosses();
+  private static final RelatePredicate OVERLAPS = RelatePredicate.overlaps();
+  private static final RelatePredicate WITHIN = RelatePredicate.within();
+  private static final RelatePredicate COVERED_BY = RelatePredicate.coveredBy();
+
   private final Geometry baseGeom;
   private final List representativePts;  // List<Coordinate>
+  // create lazily, since it is only needed for some predicates
+  private PredicateRelateOp relateOp = null;
+  private Boolean isBaseSupported = null;
+  // create lazily, since they are only needed for distance
+  private IndexedFacetDistance facetDistance = null;
+  private List areaLocators = null;  // List<PointOnGeometryLocator>
 
   public BasicPreparedGeometry(Geometry geom) 
   {
@@ -108,6 +146,53 @@ class BasicPreparedGeometry
     return true;
   }
   
+  /**
+   * Creates the relate evaluator for this geometry.
+   * Subclasses may override this to provide 
+   * the point locator and segment intersector they have cached.
+   * 
+   * @return a relate evaluator for this geometry
+   */
+  protected PredicateRelateOp createRelateOp()
+  {
+    return new PredicateRelateOp(baseGeom);
+  }
+  
+  private synchronized PredicateRelateOp getRelateOp()
+  {
+    if (relateOp == null)
+      relateOp = createRelateOp();
+    return relateOp;
+  }
+  
+  /**
+   * Tests whether a predicate can be evaluated by the relate evaluator.
+   * GeometryCollections and non-simple lineal geometries
+   * are evaluated by the {@link Geometry} methods,
+   * since the evaluator does not support them.
+   * 
+   * @param g a Geometry
+   * @return true if the relate evaluator can be used
+   */
+  private boolean isRelateOpSupported(Geometry g)
+  {
+    return isBaseRelateOpSupported() && isSupported(g);
+  }
+  
+  private synchronized boolean isBaseRelateOpSupported()
+  {
+    if (isBaseSupported == null)
+      isBaseSupported = isSupported(baseGeom);
+    return isBaseSupported;
+  }
+  
+  private static boolean isSupported(Geometry g)
+  {
+    if (g instanceof Lineal)
+      return g.isSimple();
+    return g instanceof Puntal || g instanceof Polygonal;
+  }
+  
   /**
    * Default implementation.
    */
@@ -132,11 +217,15 @@ class BasicPreparedGeometry
   }
 
   /**
-   * Default implementation.
+   * Evaluated using the relate evaluator.
    */
   public boolean coveredBy(Geometry g)
   {
-    return baseGeom.coveredBy(g);
+    if (! isRelateOpSupported(g))
+      return baseGeom.coveredBy(g);
+    if (! g.getEnvelopeInternal().covers(baseGeom.getEnvelopeInternal()))
+      return false;
+    return getRelateOp().evaluate(g, COVERED_BY);
   }
 
   /**
@@ -148,11 +237,15 @@ class BasicPreparedGeometry
   }
 
   /**
-   * Default implementation.
+   * Evaluated using the relate evaluator.
    */
   public boolean crosses(Geometry g)
   {
-    return baseGeom.crosses(g);
+    if (! isRelateOpSupported(g))
+      return baseGeom.crosses(g);
+    if (! envelopesIntersect(g))
+      return false;
+    return getRelateOp().evaluate(g, CROSSES);
   }
   
   /**
@@ -164,6 +257,19 @@ class BasicPreparedGeometry
     return ! intersects(g);
   }
   
+  /**
+   * Computes the distance using the cached facet index.
+   * Supports {@link GeometryCollection}s as input.
+   */
+  public double distance(Geometry g)
+  {
+    if (baseGeom.isEmpty() || g.isEmpty())
+      return baseGeom.distance(g);
+    if (isInAreaOfOther(g))
+      return 0.0;
+    return getFacetDistance().distance(g);
+  }
+  
   /**
    * Default implementation.
    */
@@ -173,27 +279,129 @@ class BasicPreparedGeometry
   }
   
   /**
-   * Default implementation.
+   * Tests the distance using the cached facet index.
+   * Supports {@link GeometryCollection}s as input.
+   */
+  public boolean isWithinDistance(Geometry g, double distance)
+  {
+    if (baseGeom.isEmpty() || g.isEmpty())
+      return baseGeom.isWithinDistance(g, distance);
+    
+    // short-circuit test
+    double envDist = baseGeom.getEnvelopeInternal().distance(g.getEnvelopeInternal());
+    if (envDist > distance)
+      return false;
+    
+    if (isInAreaOfOther(g))
+      return true;
+    return getFacetDistance().isWithinDistance(g, distance);
+  }
+  
+  private synchronized IndexedFacetDistance getFacetDistance()
+  {
+    if (facetDistance == null)
+      facetDistance = new IndexedFacetDistance(baseGeom);
+    return facetDistance;
+  }
+  
+  /**
+   * Tests whether a component of either geometry
+   * lies in the other geometry.
+   * In this case the distance is zero,
+   * even if the facets of the geometries do not intersect
+   * (e.g. a line inside a polygon).
+   * 
+   * @param g a Geometry
+   * @return true if a component of one geometry lies in the other
+   */
+  private boolean isInAreaOfOther(Geometry g)
+  {
+    if (baseGeom.getDimension() == Dimension.A) {
+      List testPts = ComponentCoordinateExtracter.getCoordinates(g);
+      for (Iterator i = testPts.iterator(); i.hasNext(); ) {
+        Coordinate p = (Coordinate) i.next();
+        if (isInArea(p))
+          return true;
+      }
+    }
+    if (g.getDimension() == Dimension.A) {
+      return isAnyTargetComponentInTest(g);
+    }
+    return false;
+  }
+  
+  /**
+   * Tests whether a point lies in the interior or boundary 
+   * of an area of this geometry.
+   * Subclasses may override this to use a locator they have cached.
+   * 
+   * @param p the point to test
+   * @return true if the point lies in an area of this geometry
+   */
+  protected boolean isInArea(Coordinate p)
+  {
+    for (Iterator i = getAreaLocators().iterator(); i.hasNext(); ) {
+      PointOnGeometryLocator locator = (PointOnGeometryLocator) i.next();
+      if (locator.locate(p) != Location.EXTERIOR)
+        return true;
+    }
+    return false;
+  }
+  
+  /**
+   * Gets locators for the polygons of this geometry.
+   * A locator is created for each polygon, 
+   * since the polygons of a GeometryCollection may overlap.
+   * 
+   * @return a List of PointOnGeometryLocator
+   */
+  private synchronized List getAreaLocators()
+  {
+    if (areaLocators == null) {
+      areaLocators = new ArrayList();
+      List polys = PolygonExtracter.getPolygons(baseGeom);
+      for (Iterator i = polys.iterator(); i.hasNext(); ) {
+        Polygon poly = (Polygon) i.next();
+        areaLocators.add(new IndexedPointInAreaLocator(poly));
+      }
+    }
+    return areaLocators;
+  }
+  
+  /**
+   * Evaluated using the relate evaluator.
    */
   public boolean overlaps(Geometry g)
   {
-    return baseGeom.overlaps(g);
+    if (! isRelateOpSupported(g))
+      return baseGeom.overlaps(g);
+    if (! envelopesIntersect(g))
+      return false;
+    return getRelateOp().evaluate(g, OVERLAPS);
   }
   
   /**
-   * Default implementation.
+   * Evaluated using the relate evaluator.
    */
   public boolean touches(Geometry g)
   {
-    return baseGeom.touches(g);
+    if (! isRelateOpSupported(g))
+      return baseGeom.touches(g);
+    if (! envelopesIntersect(g))
+      return false;
+    return getRelateOp().evaluate(g, TOUCHES);
   }
   
   /**
-   * Default implementation.
+   * Evaluated using the relate evaluator.
    */
   public boolean within(Geometry g)
   {
-    return baseGeom.within(g);
+    if (! isRelateOpSupported(g))
+      return baseGeom.within(g);
+    if (! g.getEnvelopeInternal().covers(baseGeom.getEnvelopeInternal()))
+      return false;
+    return getRelateOp().evaluate(g, WITHIN);
   }
   
   public String toString()
@@ -128,6 +128,22 @@ public interface PreparedGeometry
 	 */
 	boolean disjoint(Geometry geom);
 
+	/**
+	 * Computes the distance between the base {@link Geometry} and a given geometry.
+	 * This method supports {@link GeometryCollection}s as input.
+	 * The default implementation uses {@link Geometry#distance(Geometry)}.
+	 * 
+	 * @param geom the Geometry to compute the distance to
+	 * @return the distance between the geometries, 
+	 * or 0 if either geometry is empty
+	 * 
+	 * @see Geometry#distance(Geometry)
+	 */
+	default double distance(Geometry geom)
+	{
+	  return getGeometry().distance(geom);
+	}
+
 	/**
 	 * Tests whether the base {@link Geometry} intersects a given geometry.
 	 * This method supports {@link GeometryCollection}s as input
@@ -139,6 +155,23 @@ public interface PreparedGeometry
 	 */
 	boolean intersects(Geometry geom);
 
+	/**
+	 * Tests whether the base {@link Geometry} lies within 
+	 * a specified distance of a given geometry.
+	 * This method supports {@link GeometryCollection}s as input.
+	 * The default implementation uses {@link Geometry#isWithinDistance(Geometry, double)}.
+	 * 
+	 * @param geom the Geometry to test
+	 * @param distance the distance limit
+	 * @return true if the geometries are less than or equal to the distance apart
+	 * 
+	 * @see Geometry#isWithinDistance(Geometry, double)
+	 */
+	default boolean isWithinDistance(Geometry geom, double distance)
+	{
+	  return getGeometry().isWithinDistance(geom, distance);
+	}
+
 	/**
 	 * Tests whether the base {@link Geometry} overlaps a given geometry.
 	 * 
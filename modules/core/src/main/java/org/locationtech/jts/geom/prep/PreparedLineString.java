@@ -15,6 +15,7 @@ import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.Lineal;
 import org.locationtech.jts.noding.FastSegmentSetIntersectionFinder;
 import org.locationtech.jts.noding.SegmentStringUtil;
+import org.locationtech.jts.operation.relate.PredicateRelateOp;
 
 /**
  * A prepared version for {@link Lineal} geometries.
@@ -46,6 +47,16 @@ public class PreparedLineString
     return segIntFinder;
   }
   
+  /**
+   * Creates a relate evaluator which uses the cached 
+   * segment intersection finder.
+   */
+  protected PredicateRelateOp createRelateOp()
+  {
+    return new PredicateRelateOp(getGeometry(), null,
+        getIntersectionFinder().getSegmentSetIntersector());
+  }
+  
   public boolean intersects(Geometry g)
   {
   	if (! envelopesIntersect(g)) return false;
@@ -14,7 +14,9 @@ package org.locationtech.jts.geom.prep;
 
 import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
 import org.locationtech.jts.algorithm.locate.PointOnGeometryLocator;
+import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Location;
 import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.geom.Polygonal;
@@ -22,6 +24,7 @@ import org.locationtech.jts.noding.FastSegmentSetIntersectionFinder;
 import org.locationtech.jts.noding.SegmentStringUtil;
 import org.locationtech.jts.operation.predicate.RectangleContains;
 import org.locationtech.jts.operation.predicate.RectangleIntersects;
+import org.locationtech.jts.operation.relate.PredicateRelateOp;
 
 /**
  * A prepared version for {@link Polygonal} geometries.
@@ -48,6 +51,16 @@ public class PreparedPolygon
     isRectangle = getGeometry().isRectangle();
   }
 
+  /**
+   * Creates a relate evaluator which uses the cached 
+   * point locator and segment intersection finder.
+   */
+  protected PredicateRelateOp createRelateOp()
+  {
+    return new PredicateRelateOp(getGeometry(), getPointLocator(),
+        getIntersectionFinder().getSegmentSetIntersector());
+  }
+  
   /**
    * Gets the indexed intersection finder for this geometry.
    * 
@@ -74,6 +87,14 @@ public class PreparedPolygon
     return pia;
   }
   
+  /**
+   * Locates points using the cached point locator.
+   */
+  protected boolean isInArea(Coordinate p)
+  {
+    return getPointLocator().locate(p) != Location.EXTERIOR;
+  }
+  
   public boolean intersects(Geometry g)
   {
   	// envelope test
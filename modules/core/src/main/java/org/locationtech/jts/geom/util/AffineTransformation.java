@@ -12,11 +12,17 @@
 
 package org.locationtech.jts.geom.util;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.CoordinateSequenceFilter;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.util.Assert;
+import org.locationtech.jts.util.ParallelMap;
 /**
  * Represents an affine transformation on the 2D Cartesian plane. 
  * It can be used to transform a {@link Coordinate} or {@link Geometry}.
@@ -75,6 +81,10 @@ import org.locationtech.jts.util.Assert;
 public class AffineTransformation
 	implements Cloneable, CoordinateSequenceFilter
 {
+  /**
+   * The number of coordinates transformed from a sequence at a time
+   */
+  private static final int BLOCK_SIZE = 256;
   
   /**
    * Creates a transformation for a reflection about the 
@@ -985,6 +995,75 @@ public class AffineTransformation
     g2.apply(this);
     return g2;    
   }
+
+  /**
+   * Creates new {@link Geometry}s which are the result
+   * of this transformation applied to each of a collection of geometries,
+   * using multiple threads.
+   * The input geometries are not modified.
+   * This transformation must not be modified while the method is executing.
+   * 
+   * @param geoms the geometries to transform
+   * @param numThreads the number of threads to use
+   * @return a list of the transformed geometries, in the order of the input
+   */
+  public List<Geometry> transform(Collection<? extends Geometry> geoms, int numThreads)
+  {
+    return ParallelMap.map(geoms, new Function<Geometry, Geometry>() {
+      public Geometry apply(Geometry geom) {
+        return transform(geom);
+      }
+    }, numThreads);
+  }
+
+  /**
+   * Applies this transformation in place to all the coordinates
+   * in a {@link CoordinateSequence}.
+   * Coordinates are transformed in blocks using the bulk
+   * {@link CoordinateSequence#getXY(int, double[], int, int)} and
+   * {@link CoordinateSequence#setXY(int, double[], int, int)} methods,
+   * which is much faster than transforming them individually.
+   * 
+   * @param seq the sequence to transform
+   */
+  public void transform(CoordinateSequence seq)
+  {
+    int size = seq.size();
+    double[] block = new double[2 * Math.min(size, BLOCK_SIZE)];
+    for (int start = 0; start < size; start += BLOCK_SIZE) {
+      int n = Math.min(BLOCK_SIZE, size - start);
+      seq.getXY(start, block, 0, n);
+      transform(block, 0, block, 0, n);
+      seq.setXY(start, block, 0, n);
+    }
+  }
+
+  /**
+   * Applies this transformation to an array of points
+   * stored as interleaved X and Y values,
+   * placing the results in a destination array
+   * (which may be the same as the source array).
+   * 
+   * @param src the array containing the source point values
+   * @param srcPos the index of the first X value in the source array
+   * @param dest the array to receive the transformed point values
+   * @param destPos the index of the first X value in the destination array
+   * @param numPts the number of points to transform
+   */
+  public void transform(double[] src, int srcPos, double[] dest, int destPos, int numPts)
+  {
+    if (src == dest && srcPos < destPos && destPos < srcPos + 2 * numPts) {
+      // overlapping ranges - copy the source values first
+      src = Arrays.copyOfRange(src, srcPos, srcPos + 2 * numPts);
+      srcPos = 0;
+    }
+    for (int i = 0; i < numPts; i++) {
+      double x = src[srcPos++];
+      double y = src[srcPos++];
+      dest[destPos++] = m00 * x + m01 * y + m02;
+      dest[destPos++] = m10 * x + m11 * y + m12;
+    }
+  }
   
   /**
    * Applies this transformation to the i'th coordinate
@@ -1011,6 +1090,17 @@ public class AffineTransformation
   {
     transform(seq, i);
   }
+
+  /**
+   * Transforms all coordinates in a {@link CoordinateSequence}
+   * in bulk.
+   *
+   *@param seq  a <code>CoordinateSequence</code>
+   */
+  public void filter(CoordinateSequence seq)
+  {
+    transform(seq);
+  }
   
   public boolean isGeometryChanged()
   {
@@ -14,6 +14,8 @@ package org.locationtech.jts.geom.util;
 
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
 
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.CoordinateSequence;
@@ -28,6 +30,7 @@ import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.util.Assert;
+import org.locationtech.jts.util.ParallelMap;
 
 
 /**
@@ -70,6 +73,9 @@ import org.locationtech.jts.util.Assert;
  * If validity needs to be enforced, the new Geometry's 
  * {@link Geometry#isValid} method should be called.
  * <li>By default the UserData of the input geometry is not copied to the result.
+ * <li>The elements of collections can be edited in parallel
+ * by setting the number of threads to use via {@link #setNumThreads(int)}.
+ * In this case the edit operation must be safe to call concurrently.
  * </ul>
  * 
  * @see GeometryTransformer
@@ -85,6 +91,8 @@ public class GeometryEditor
    */
   private GeometryFactory factory = null;
   private boolean isUserDataCopied = false;
+  private int numThreads = 1;
+  private boolean isRunningParallel = false;
 
   /**
    * Creates a new GeometryEditor object which will create
@@ -116,6 +124,23 @@ public class GeometryEditor
     this.isUserDataCopied = isUserDataCopied;
   }
   
+  /**
+   * Sets the number of threads used to edit the elements of collections.
+   * The elements of the outermost collection containing more than one element
+   * are divided between the threads,
+   * and the results are assembled in the original order.
+   * The default is 1 (i.e. elements are edited in the calling thread).
+   *
+   * @param numThreads the number of threads to use
+   * @throws IllegalArgumentException if the number of threads is less than 1
+   */
+  public void setNumThreads(int numThreads)
+  {
+    if (numThreads < 1)
+      throw new IllegalArgumentException("Number of threads must be >= 1");
+    this.numThreads = numThreads;
+  }
+
   /**
    * Edit the input {@link Geometry} with the given edit operation.
    * Clients can create subclasses of {@link GeometryEditorOperation} or
@@ -202,9 +227,10 @@ public class GeometryEditor
         factory);
     
     // edit the component geometries
+    List edited = editElements(collectionForType, operation);
     ArrayList geometries = new ArrayList();
-    for (int i = 0; i < collectionForType.getNumGeometries(); i++) {
-      Geometry geometry = edit(collectionForType.getGeometryN(i), operation);
+    for (int i = 0; i < edited.size(); i++) {
+      Geometry geometry = (Geometry) edited.get(i);
       if (geometry == null || geometry.isEmpty()) {
         continue;
       }
@@ -227,6 +253,37 @@ public class GeometryEditor
           new Geometry[] {  }));
   }
 
+  /**
+   * Edits the elements of a collection,
+   * in parallel if required.
+   *
+   * @return a list of the edited elements (which may be null), in order
+   */
+  private List editElements(GeometryCollection collection,
+      final GeometryEditorOperation operation)
+  {
+    int numElems = collection.getNumGeometries();
+    List<Geometry> elems = new ArrayList<Geometry>(numElems);
+    for (int i = 0; i < numElems; i++) {
+      elems.add(collection.getGeometryN(i));
+    }
+    Function<Geometry, Geometry> editFn = new Function<Geometry, Geometry>() {
+      public Geometry apply(Geometry elem) {
+        return edit(elem, operation);
+      }
+    };
+    if (numThreads <= 1 || isRunningParallel || numElems < 2) {
+      return ParallelMap.map(elems, editFn, 1);
+    }
+    isRunningParallel = true;
+    try {
+      return ParallelMap.map(elems, editFn, numThreads);
+    }
+    finally {
+      isRunningParallel = false;
+    }
+  }
+
   /**
    * A interface which specifies an edit operation for Geometries.
    *
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geom.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceComparator;
+import org.locationtech.jts.geom.CoordinateSequenceFilter;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Maintains pools of canonical instances of {@link CoordinateSequence}s
+ * and {@link Geometry}s, allowing identical values to share a single object
+ * (i.e. "interning" or "hash-consing").
+ * This can greatly reduce the memory used by datasets
+ * containing many duplicate values
+ * (such as repeated points, or rings shared between adjacent features).
+ * <p>
+ * The <code>intern</code> methods return the canonical instance
+ * equal to the argument if one is present in the pool,
+ * or else add the argument to the pool and return it.
+ * Values are equal if they have the same class and
+ * their ordinates are identical in all dimensions
+ * (as determined by {@link CoordinateSequenceComparator}).
+ * Geometries must also have the same {@link org.locationtech.jts.geom.GeometryFactory}
+ * and SRID.
+ * Geometries with user data are never interned,
+ * since sharing them would lose the user data.
+ * <p>
+ * Pooled values are weakly referenced,
+ * so they are discarded from the pool once they are no longer
+ * in use elsewhere.
+ * <p>
+ * <b>Note:</b> Interned values are shared,
+ * so they must not be modified in place
+ * (e.g. by {@link Geometry#apply(CoordinateSequenceFilter)} or {@link Geometry#normalize()}).
+ * To modify an interned geometry, modify a copy of it.
+ * <p>
+ * Instances of this class are thread-safe.
+ *
+ * @author Martin Davis
+ *
+ * @see InterningCoordinateSequenceFactory
+ */
+public class GeometryInterner
+{
+  private static final CoordinateSequenceComparator SEQ_COMPARATOR = new CoordinateSequenceComparator();
+
+  private final WeakPool<CoordinateSequence> sequencePool = new WeakPool<CoordinateSequence>() {
+    protected int hash(CoordinateSequence seq) {
+      return GeometryInterner.hashCode(seq);
+    }
+    protected boolean isEqual(CoordinateSequence seq1, CoordinateSequence seq2) {
+      return isEqualSequence(seq1, seq2);
+    }
+  };
+
+  private final WeakPool<Geometry> geometryPool = new WeakPool<Geometry>() {
+    protected int hash(Geometry geom) {
+      return GeometryInterner.hashCode(geom);
+    }
+    protected boolean isEqual(Geometry g1, Geometry g2) {
+      return isEqualGeometry(g1, g2);
+    }
+  };
+
+  /**
+   * Creates a new interner with empty pools.
+   */
+  public GeometryInterner() {
+  }
+
+  /**
+   * Gets the canonical instance of a coordinate sequence.
+   *
+   * @param seq a coordinate sequence
+   * @return the pooled sequence equal to the argument, or the argument itself
+   */
+  public CoordinateSequence intern(CoordinateSequence seq) {
+    if (seq == null) return null;
+    return sequencePool.intern(seq);
+  }
+
+  /**
+   * Gets the canonical instance of a geometry.
+   * Geometries with user data are returned unchanged.
+   *
+   * @param geom a geometry
+   * @return the pooled geometry equal to the argument, or the argument itself
+   */
+  public Geometry intern(Geometry geom) {
+    if (geom == null || geom.getUserData() != null)
+      return geom;
+    return geometryPool.intern(geom);
+  }
+
+  /**
+   * Creates a geometry equal to a given one
+   * whose coordinate sequences are replaced by their canonical instances.
+   * This allows geometries which are not themselves identical
+   * (such as adjacent polygons) to share duplicate components.
+   *
+   * @param geom a geometry
+   * @return a geometry with interned coordinate sequences
+   */
+  public Geometry internSequences(Geometry geom) {
+    GeometryEditor editor = new GeometryEditor(geom.getFactory());
+    editor.setCopyUserData(true);
+    return editor.edit(geom, new GeometryEditor.CoordinateSequenceOperation() {
+      public CoordinateSequence edit(CoordinateSequence seq, Geometry geometry) {
+        return intern(seq);
+      }
+    });
+  }
+
+  /**
+   * Gets the number of coordinate sequences in the pool
+   * which are still in use.
+   *
+   * @return the number of pooled sequences
+   */
+  public int getNumSequences() {
+    return sequencePool.size();
+  }
+
+  /**
+   * Gets the number of geometries in the pool
+   * which are still in use.
+   *
+   * @return the number of pooled geometries
+   */
+  public int getNumGeometries() {
+    return geometryPool.size();
+  }
+
+  /**
+   * Computes a hash code for the contents of a coordinate sequence.
+   *
+   * @param seq a coordinate sequence
+   * @return a hash code
+   */
+  public static int hashCode(CoordinateSequence seq) {
+    int dim = seq.getDimension();
+    int hash = 31 * seq.size() + dim;
+    for (int i = 0; i < seq.size(); i++) {
+      hash = hashCoordinate(hash, seq, i, dim);
+    }
+    return hash;
+  }
+
+  /**
+   * Computes a hash code for the contents of a geometry.
+   *
+   * @param geom a geometry
+   * @return a hash code
+   */
+  public static int hashCode(Geometry geom) {
+    final int[] hash = new int[] { 31 * geom.getGeometryType().hashCode() + geom.getSRID() };
+    geom.apply(new CoordinateSequenceFilter() {
+      public void filter(CoordinateSequence seq, int i) {
+        hash[0] = hashCoordinate(hash[0], seq, i, seq.getDimension());
+      }
+      public boolean isDone() {
+        return false;
+      }
+      public boolean isGeometryChanged() {
+        return false;
+      }
+    });
+    return hash[0];
+  }
+
+  private static int hashCoordinate(int hash, CoordinateSequence seq, int i, int dim) {
+    for (int d = 0; d < dim; d++) {
+      long bits = Double.doubleToLongBits(seq.getOrdinate(i, d));
+      hash = 31 * hash + (int) (bits ^ (bits >>> 32));
+    }
+    return hash;
+  }
+
+  private static boolean isEqualSequence(CoordinateSequence seq1, CoordinateSequence seq2) {
+    return seq1.getClass() == seq2.getClass()
+        && seq1.getDimension() == seq2.getDimension()
+        && seq1.getMeasures() == seq2.getMeasures()
+        && SEQ_COMPARATOR.compare(seq1, seq2) == 0;
+  }
+
+  private static boolean isEqualGeometry(Geometry g1, Geometry g2) {
+    return g1.getClass() == g2.getClass()
+        && g1.getFactory() == g2.getFactory()
+        && g1.getSRID() == g2.getSRID()
+        && g2.getUserData() == null
+        && g1.compareTo(g2, SEQ_COMPARATOR) == 0;
+  }
+
+  /**
+   * A pool of weakly-referenced values,
+   * with equality determined by a content hash and equality test.
+   */
+  private static abstract class WeakPool<T> {
+
+    private final Map<Integer, List<Entry<T>>> entries = new HashMap<Integer, List<Entry<T>>>();
+    private final ReferenceQueue<T> queue = new ReferenceQueue<T>();
+
+    protected abstract int hash(T value);
+
+    protected abstract boolean isEqual(T value1, T value2);
+
+    public synchronized T intern(T value) {
+      expungeStale();
+      int hash = hash(value);
+      List<Entry<T>> bucket = entries.get(hash);
+      if (bucket == null) {
+        bucket = new ArrayList<Entry<T>>(1);
+        entries.put(hash, bucket);
+      }
+      for (Entry<T> entry : bucket) {
+        T pooled = entry.get();
+        if (pooled != null && isEqual(pooled, value))
+          return pooled;
+      }
+      bucket.add(new Entry<T>(value, hash, queue));
+      return value;
+    }
+
+    public synchronized int size() {
+      expungeStale();
+      int size = 0;
+      for (List<Entry<T>> bucket : entries.values()) {
+        size += bucket.size();
+      }
+      return size;
+    }
+
+    /**
+     * Removes entries whose values have been garbage-collected.
+     */
+    private void expungeStale() {
+      Reference<? extends T> ref;
+      while ((ref = queue.poll()) != null) {
+        Entry<?> entry = (Entry<?>) ref;
+        List<Entry<T>> bucket = entries.get(entry.hash);
+        if (bucket == null) continue;
+        bucket.remove(entry);
+        if (bucket.isEmpty())
+          entries.remove(entry.hash);
+      }
+    }
+  }
+
+  private static class Entry<T> extends WeakReference<T> {
+    final int hash;
+
+    Entry(T value, int hash, ReferenceQueue<T> queue) {
+      super(value, queue);
+      this.hash = hash;
+    }
+  }
+}
@@ -14,6 +14,7 @@ package org.locationtech.jts.geom.util;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.CoordinateSequence;
@@ -27,6 +28,7 @@ import org.locationtech.jts.geom.MultiPoint;
 import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.util.ParallelMap;
 
 /**
  * A framework for processes which transform an input {@link Geometry} into
@@ -60,6 +62,15 @@ import org.locationtech.jts.geom.Polygon;
  * to return at least two points - in this case, it should return <code>null</code>).
  * The {@link #transform(Geometry)} method itself will always
  * return a non-null Geometry object (but this may be empty).
+ * <p>
+ * The elements of collections can be transformed in parallel
+ * by setting the number of threads to use via {@link #setNumThreads(int)}.
+ * The elements of the outermost collection containing more than one element
+ * are divided between the threads,
+ * and the results are assembled in the original order.
+ * In this case the <code>transformX</code> methods of a subclass
+ * must be safe to call concurrently
+ * (i.e. must not modify the state of the transformer).
  *
  * @version 1.7
  *
@@ -100,11 +111,48 @@ public class GeometryTransformer
    */
   private boolean preserveType = false;
 
+  /**
+   * The number of threads to use to transform collection elements
+   */
+  private int numThreads = 1;
+
+  /**
+   * <code>true</code> if collection elements are currently being transformed in parallel
+   */
+  private boolean isRunningParallel = false;
+
   public GeometryTransformer() {
   }
 
   /**
-   * Utility function to make input geometry available
+   * Sets the number of threads used to transform the elements of collections.
+   * The default is 1 (i.e. elements are transformed in the calling thread).
+   * <p>
+   * If more than one thread is used, the <code>transformX</code> methods
+   * of a subclass are called concurrently from the worker threads,
+   * so they must not modify fields of the transformer
+   * or other shared state without synchronization.
+   * Fields set before {@link #transform(Geometry)} is called
+   * (such as tolerances) may be read freely.
+   * The input geometry and factory are not set for each element
+   * of a general {@link GeometryCollection}
+   * (see {@link #getInputGeometry()}).
+   *
+   * @param numThreads the number of threads to use
+   * @throws IllegalArgumentException if the number of threads is less than 1
+   */
+  public void setNumThreads(int numThreads) {
+    if (numThreads < 1)
+      throw new IllegalArgumentException("Number of threads must be >= 1");
+    this.numThreads = numThreads;
+  }
+
+  /**
+   * Utility function to make input geometry available.
+   * While the elements of a general {@link GeometryCollection} are transformed
+   * this is the element being transformed,
+   * unless elements are being transformed in parallel,
+   * in which case it is the geometry passed to {@link #transform(Geometry)}.
    *
    * @return the input geometry
    */
@@ -114,25 +162,78 @@ public class GeometryTransformer
   {
     this.inputGeom = inputGeom;
     this.factory = inputGeom.getFactory();
+    return transformGeometry(inputGeom);
+  }
+
+  private Geometry transformGeometry(Geometry geom)
+  {
+    if (geom instanceof Point)
+      return transformPoint((Point) geom, null);
+    if (geom instanceof MultiPoint)
+      return transformMultiPoint((MultiPoint) geom, null);
+    if (geom instanceof LinearRing)
+      return transformLinearRing((LinearRing) geom, null);
+    if (geom instanceof LineString)
+      return transformLineString((LineString) geom, null);
+    if (geom instanceof MultiLineString)
+      return transformMultiLineString((MultiLineString) geom, null);
+    if (geom instanceof Polygon)
+      return transformPolygon((Polygon) geom, null);
+    if (geom instanceof MultiPolygon)
+      return transformMultiPolygon((MultiPolygon) geom, null);
+    if (geom instanceof GeometryCollection)
+      return transformGeometryCollection((GeometryCollection) geom, null);
+
+    throw new IllegalArgumentException("Unknown Geometry subtype: " + geom.getClass().getName());
+  }
+
+  /**
+   * Transforms the elements of a collection,
+   * in parallel if required.
+   *
+   * @param geom the collection to transform
+   * @return a list of the transformed elements (which may be null), in order
+   */
+  private List transformElements(final GeometryCollection geom)
+  {
+    int numElems = geom.getNumGeometries();
+    if (numThreads <= 1 || isRunningParallel || numElems < 2) {
+      List transGeomList = new ArrayList(numElems);
+      for (int i = 0; i < numElems; i++) {
+        transGeomList.add(transformElement(geom.getGeometryN(i), geom));
+      }
+      return transGeomList;
+    }
+    List<Geometry> elems = new ArrayList<Geometry>(numElems);
+    for (int i = 0; i < numElems; i++) {
+      elems.add(geom.getGeometryN(i));
+    }
+    isRunningParallel = true;
+    try {
+      return ParallelMap.map(elems, new Function<Geometry, Geometry>() {
+        public Geometry apply(Geometry elem) {
+          return transformElement(elem, geom);
+        }
+      }, numThreads);
+    }
+    finally {
+      isRunningParallel = false;
+    }
+  }
 
-    if (inputGeom instanceof Point)
-      return transformPoint((Point) inputGeom, null);
-    if (inputGeom instanceof MultiPoint)
-      return transformMultiPoint((MultiPoint) inputGeom, null);
-    if (inputGeom instanceof LinearRing)
-      return transformLinearRing((LinearRing) inputGeom, null);
-    if (inputGeom instanceof LineString)
-      return transformLineString((LineString) inputGeom, null);
-    if (inputGeom instanceof MultiLineString)
-      return transformMultiLineString((MultiLineString) inputGeom, null);
-    if (inputGeom instanceof Polygon)
-      return transformPolygon((Polygon) inputGeom, null);
-    if (inputGeom instanceof MultiPolygon)
-      return transformMultiPolygon((MultiPolygon) inputGeom, null);
-    if (inputGeom instanceof GeometryCollection)
-      return transformGeometryCollection((GeometryCollection) inputGeom, null);
-
-    throw new IllegalArgumentException("Unknown Geometry subtype: " + inputGeom.getClass().getName());
+  private Geometry transformElement(Geometry elem, GeometryCollection parent)
+  {
+    if (parent instanceof MultiPoint)
+      return transformPoint((Point) elem, parent);
+    if (parent instanceof MultiLineString)
+      return transformLineString((LineString) elem, parent);
+    if (parent instanceof MultiPolygon)
+      return transformPolygon((Polygon) elem, parent);
+    // when running in parallel, transform elements of a general collection
+    // without changing the transformer state
+    if (isRunningParallel)
+      return transformGeometry(elem);
+    return transform(elem);
   }
 
   /**
@@ -180,9 +281,10 @@ public class GeometryTransformer
   }
 
   protected Geometry transformMultiPoint(MultiPoint geom, Geometry parent) {
+    List transformed = transformElements(geom);
     List transGeomList = new ArrayList();
-    for (int i = 0; i < geom.getNumGeometries(); i++) {
-      Geometry transformGeom = transformPoint((Point) geom.getGeometryN(i), geom);
+    for (int i = 0; i < transformed.size(); i++) {
+      Geometry transformGeom = (Geometry) transformed.get(i);
       if (transformGeom == null) continue;
       if (transformGeom.isEmpty()) continue;
       transGeomList.add(transformGeom);
@@ -231,9 +333,10 @@ public class GeometryTransformer
   }
 
   protected Geometry transformMultiLineString(MultiLineString geom, Geometry parent) {
+    List transformed = transformElements(geom);
     List transGeomList = new ArrayList();
-    for (int i = 0; i < geom.getNumGeometries(); i++) {  
-      Geometry transformGeom = transformLineString((LineString) geom.getGeometryN(i), geom);
+    for (int i = 0; i < transformed.size(); i++) {
+      Geometry transformGeom = (Geometry) transformed.get(i);
       if (transformGeom == null) continue;
       if (transformGeom.isEmpty()) continue;
       transGeomList.add(transformGeom);
@@ -281,9 +384,10 @@ public class GeometryTransformer
   }
 
   protected Geometry transformMultiPolygon(MultiPolygon geom, Geometry parent) {
+    List transformed = transformElements(geom);
     List transGeomList = new ArrayList();
-    for (int i = 0; i < geom.getNumGeometries(); i++) {
-      Geometry transformGeom = transformPolygon((Polygon) geom.getGeometryN(i), geom);
+    for (int i = 0; i < transformed.size(); i++) {
+      Geometry transformGeom = (Geometry) transformed.get(i);
       if (transformGeom == null) continue;
       if (transformGeom.isEmpty()) continue;
       transGeomList.add(transformGeom);
@@ -295,9 +399,10 @@ public class GeometryTransformer
   }
 
   protected Geometry transformGeometryCollection(GeometryCollection geom, Geometry parent) {
+    List transformed = transformElements(geom);
     List transGeomList = new ArrayList();
-    for (int i = 0; i < geom.getNumGeometries(); i++) {
-      Geometry transformGeom = transform(geom.getGeometryN(i));
+    for (int i = 0; i < transformed.size(); i++) {
+      Geometry transformGeom = (Geometry) transformed.get(i);
       if (transformGeom == null) continue;
       if (pruneEmptyGeometry && transformGeom.isEmpty()) continue;
       transGeomList.add(transformGeom);
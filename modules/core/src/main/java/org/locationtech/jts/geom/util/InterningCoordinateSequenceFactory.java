@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geom.util;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateArrays;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFactory;
+
+/**
+ * A {@link CoordinateSequenceFactory} which returns shared instances
+ * of sequences with identical contents,
+ * using a {@link GeometryInterner}.
+ * Sequences are created by a base factory, and then interned.
+ * <p>
+ * Using this factory in a {@link org.locationtech.jts.geom.GeometryFactory}
+ * causes geometries created from coordinates
+ * (e.g. by {@link org.locationtech.jts.geom.GeometryFactory#createPolygon(Coordinate[])})
+ * to share duplicate coordinate sequences.
+ * Sequences created empty with a given size
+ * (which are intended to be filled in by the caller)
+ * are not interned.
+ * Nor are sequences copied from another sequence,
+ * so that {@link org.locationtech.jts.geom.GeometryFactory#createGeometry(org.locationtech.jts.geom.Geometry)}
+ * still returns a deep copy.
+ * Geometries created from such sequences
+ * can have their sequences interned by {@link GeometryInterner#internSequences(org.locationtech.jts.geom.Geometry)}.
+ * <p>
+ * <b>Note:</b> Since sequences are shared,
+ * geometries created with this factory must not be modified in place.
+ *
+ * @author Martin Davis
+ */
+public class InterningCoordinateSequenceFactory
+    implements CoordinateSequenceFactory
+{
+  private final CoordinateSequenceFactory baseFactory;
+  private final GeometryInterner interner;
+
+  /**
+   * Creates a new factory which interns the sequences created by a base factory.
+   *
+   * @param baseFactory the factory to create sequences
+   */
+  public InterningCoordinateSequenceFactory(CoordinateSequenceFactory baseFactory) {
+    this(baseFactory, new GeometryInterner());
+  }
+
+  /**
+   * Creates a new factory which interns the sequences created by a base factory
+   * into a given interner.
+   *
+   * @param baseFactory the factory to create sequences
+   * @param interner the interner to use
+   */
+  public InterningCoordinateSequenceFactory(CoordinateSequenceFactory baseFactory, GeometryInterner interner) {
+    this.baseFactory = baseFactory;
+    this.interner = interner;
+  }
+
+  /**
+   * Gets the interner used by this factory.
+   *
+   * @return the interner
+   */
+  public GeometryInterner getInterner() {
+    return interner;
+  }
+
+  /**
+   * Creates a sequence from a copy of the coordinates, and interns it.
+   * The coordinates are copied because base factories
+   * may use the array directly,
+   * and a pooled sequence must not change if the caller later modifies the array.
+   */
+  public CoordinateSequence create(Coordinate[] coordinates) {
+    Coordinate[] pts = coordinates == null ? null : CoordinateArrays.copyDeep(coordinates);
+    return interner.intern(baseFactory.create(pts));
+  }
+
+  /**
+   * Creates a copy of a sequence using the base factory.
+   * The copy is not interned, since callers rely on it
+   * being independent of other sequences.
+   */
+  public CoordinateSequence create(CoordinateSequence coordSeq) {
+    return baseFactory.create(coordSeq);
+  }
+
+  public CoordinateSequence create(int size, int dimension) {
+    return baseFactory.create(size, dimension);
+  }
+
+  public CoordinateSequence create(int size, int dimension, int measures) {
+    return baseFactory.create(size, dimension, measures);
+  }
+}
@@ -17,6 +17,7 @@ import java.util.Comparator;
 import java.util.List;
 
 import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Envelopes;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.index.ArrayListVisitor;
 import org.locationtech.jts.index.ItemVisitor;
@@ -78,6 +79,11 @@ public class HPRtree
 
   private double[] nodeBounds;
 
+  /**
+   * The item envelopes, in packed form
+   */
+  private double[] itemBounds;
+
   private boolean isBuilt = false;
 
   //public int nodeIntersectsCount;
@@ -166,11 +172,7 @@ public class HPRtree
 
   private boolean intersects(int nodeIndex, Envelope env) {
     //nodeIntersectsCount++;
-    boolean isBeyond = (env.getMaxX() < nodeBounds[nodeIndex]) 
-    || (env.getMaxY() < nodeBounds[nodeIndex+1]) 
-    || (env.getMinX() > nodeBounds[nodeIndex+2]) 
-    || (env.getMinY() > nodeBounds[nodeIndex+3]);
-    return ! isBeyond;
+    return Envelopes.intersects(nodeBounds, nodeIndex, env);
   }
   
   private void queryNodeChildren(int layerIndex, int blockOffset, Envelope searchEnv, ItemVisitor visitor) {
@@ -186,35 +188,15 @@ public class HPRtree
   }
 
   private void queryItems(int blockStart, Envelope searchEnv, ItemVisitor visitor) {
-    for (int i = 0; i < nodeCapacity; i++) {
-      int itemIndex = blockStart + i; 
-      // don't query past end of items
-      if (itemIndex >= items.size()) break;
-      
+    int blockEnd = Math.min(blockStart + nodeCapacity, items.size());
+    for (int itemIndex = blockStart; itemIndex < blockEnd; itemIndex++) {
       // visit the item if its envelope intersects search env
-      Item item = items.get(itemIndex);
       //nodeIntersectsCount++;
-      if (intersects( item.getEnvelope(), searchEnv) ) {
-      //if (item.getEnvelope().intersects(searchEnv)) {
-        visitor.visitItem(item.getItem());
+      if (Envelopes.intersects(itemBounds, ENV_SIZE * itemIndex, searchEnv)) {
+        visitor.visitItem(items.get(itemIndex).getItem());
       }
     }    
   }
-
-  /**
-   * Tests whether two envelopes intersect.
-   * Avoids the null check in {@link Envelope#intersects(Envelope)}.
-   * 
-   * @param env1 an envelope
-   * @param env2 an envelope
-   * @return true if the envelopes intersect
-   */
-  private static boolean intersects(Envelope env1, Envelope env2) {
-    return !(env2.getMinX() > env1.getMaxX() ||
-        env2.getMaxX() < env1.getMinX() ||
-        env2.getMinY() > env1.getMaxY() ||
-        env2.getMaxY() < env1.getMinY());
-  }
   
   private int layerSize(int layerIndex) {
     int layerStart = layerStartIndex[layerIndex];
@@ -236,9 +218,13 @@ public class HPRtree
     if (isBuilt) return;
     isBuilt  = true;
     // don't need to build an empty or very small tree
-    if (items.size() <= nodeCapacity) return;
+    if (items.size() <= nodeCapacity) {
+      itemBounds = computeItemBounds(items);
+      return;
+    }
 
     sortItems();
+    itemBounds = computeItemBounds(items);
     //dumpItems(items);
     
     layerStartIndex = computeLayerIndices(items.size(), nodeCapacity);
@@ -273,15 +259,15 @@ public class HPRtree
   }
 
   private static double[] createBoundsArray(int size) {
-    double[] a = new double[4*size];
-    for (int i = 0; i < size; i++) {
-      int index = 4*i;
-      a[index] = Double.MAX_VALUE;
-      a[index+1] = Double.MAX_VALUE;
-      a[index+2] = -Double.MAX_VALUE;
-      a[index+3] = -Double.MAX_VALUE;
+    return Envelopes.createArray(size);
+  }
+
+  private static double[] computeItemBounds(List<Item> items) {
+    double[] bounds = new double[ENV_SIZE * items.size()];
+    for (int i = 0; i < items.size(); i++) {
+      Envelopes.set(bounds, ENV_SIZE * i, items.get(i).getEnvelope());
     }
-    return a;
+    return bounds;
   }
 
   private void computeLayerNodes(int layerIndex) {
@@ -314,16 +300,12 @@ public class HPRtree
     for (int i = 0; i <= nodeCapacity; i++ ) {
       int itemIndex = blockStart + i;
       if (itemIndex >= items.size()) break;
-      Envelope env = items.get(itemIndex).getEnvelope();
-      updateNodeBounds(nodeIndex, env.getMinX(), env.getMinY(), env.getMaxX(), env.getMaxY());
+      Envelopes.expandToInclude(nodeBounds, nodeIndex, itemBounds, ENV_SIZE * itemIndex);
     }
   }
 
   private void updateNodeBounds(int nodeIndex, double minX, double minY, double maxX, double maxY) {
-    if (minX < nodeBounds[nodeIndex]) nodeBounds[nodeIndex] = minX;
-    if (minY < nodeBounds[nodeIndex+1]) nodeBounds[nodeIndex+1] = minY;
-    if (maxX > nodeBounds[nodeIndex+2]) nodeBounds[nodeIndex+2] = maxX;
-    if (maxY > nodeBounds[nodeIndex+3]) nodeBounds[nodeIndex+3] = maxY;
+    Envelopes.expandToInclude(nodeBounds, nodeIndex, minX, minY, maxX, maxY);
   }
 
   private Envelope getNodeEnvelope(int i) {
@@ -14,7 +14,6 @@ package org.locationtech.jts.index.quadtree;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 import org.locationtech.jts.geom.Envelope;
@@ -191,8 +190,9 @@ public abstract class NodeBase implements Serializable {
   private void visitItems(Envelope searchEnv, ItemVisitor visitor)
   {
     // would be nice to filter items based on search envelope, but can't until they contain an envelope
-    for (Iterator i = items.iterator(); i.hasNext(); ) {
-      visitor.visitItem(i.next());
+    // use an indexed loop to avoid allocating an iterator
+    for (int i = 0; i < items.size(); i++) {
+      visitor.visitItem(items.get(i));
     }
   }
 
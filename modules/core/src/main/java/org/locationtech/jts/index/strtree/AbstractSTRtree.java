@@ -305,10 +305,11 @@ public abstract class AbstractSTRtree implements Serializable {
   protected abstract IntersectsOp getIntersectsOp();
 
   private void queryInternal(Object searchBounds, AbstractNode node, List matches) {
+    IntersectsOp intersectsOp = getIntersectsOp();
     List childBoundables = node.getChildBoundables();
     for (int i = 0; i < childBoundables.size(); i++) {
       Boundable childBoundable = (Boundable) childBoundables.get(i);
-      if (! getIntersectsOp().intersects(childBoundable.getBounds(), searchBounds)) {
+      if (! intersectsOp.intersects(childBoundable.getBounds(), searchBounds)) {
         continue;
       }
       if (childBoundable instanceof AbstractNode) {
@@ -324,10 +325,11 @@ public abstract class AbstractSTRtree implements Serializable {
   }
 
   private void queryInternal(Object searchBounds, AbstractNode node, ItemVisitor visitor) {
+    IntersectsOp intersectsOp = getIntersectsOp();
     List childBoundables = node.getChildBoundables();
     for (int i = 0; i < childBoundables.size(); i++) {
       Boundable childBoundable = (Boundable) childBoundables.get(i);
-      if (! getIntersectsOp().intersects(childBoundable.getBounds(), searchBounds)) {
+      if (! intersectsOp.intersects(childBoundable.getBounds(), searchBounds)) {
         continue;
       }
       if (childBoundable instanceof AbstractNode) {
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.PriorityQueue;
 
 import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Envelopes;
 import org.locationtech.jts.index.ItemVisitor;
 import org.locationtech.jts.index.SpatialIndex;
 import org.locationtech.jts.util.Assert;
@@ -109,9 +110,14 @@ implements SpatialIndex, Serializable
 
   private static double avg(double a, double b) { return (a + b) / 2d; }
 
+  /**
+   * Tests envelopes for intersection without checking for null envelopes.
+   * Tree bounds are never null, since null item envelopes are not inserted,
+   * and queries with a null search envelope are handled separately.
+   */
   private static IntersectsOp intersectsOp = new IntersectsOp() {
     public boolean intersects(Object aBounds, Object bBounds) {
-      return ((Envelope)aBounds).intersects((Envelope)bBounds);
+      return Envelopes.intersects((Envelope)aBounds, (Envelope)bBounds);
     }
   };
 
@@ -228,6 +234,10 @@ implements SpatialIndex, Serializable
    * Returns items whose bounds intersect the given envelope.
    */
   public List query(Envelope searchEnv) {
+    if (searchEnv.isNull()) {
+      build();
+      return new ArrayList();
+    }
     //Yes this method does something. It specifies that the bounds is an
     //Envelope. super.query takes an Object, not an Envelope. [Jon Aquino 10/24/2003]
     return super.query(searchEnv);
@@ -237,6 +247,10 @@ implements SpatialIndex, Serializable
    * Returns items whose bounds intersect the given envelope.
    */
   public void query(Envelope searchEnv, ItemVisitor visitor) {
+    if (searchEnv.isNull()) {
+      build();
+      return;
+    }
     //Yes this method does something. It specifies that the bounds is an
     //Envelope. super.query takes an Object, not an Envelope. [Jon Aquino 10/24/2003]
     super.query(searchEnv, visitor);
@@ -250,6 +264,7 @@ implements SpatialIndex, Serializable
    * @return <code>true</code> if the item was found
    */
   public boolean remove(Envelope itemEnv, Object item) {
+    if (itemEnv.isNull()) return false;
     return super.remove(itemEnv, item);
   }
 
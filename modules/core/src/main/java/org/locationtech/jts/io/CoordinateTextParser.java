@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+
+/**
+ * Parses text containing a list of coordinate tuples
+ * (such as the content of a GML or KML <code>coordinates</code> element)
+ * directly into a {@link CoordinateSequence}.
+ * <p>
+ * Text is supplied incrementally as character array ranges
+ * via {@link #parse(char[], int, int)},
+ * so it can be fed straight from the character events of a streaming XML parser.
+ * Ordinate values are accumulated in a primitive buffer,
+ * without creating intermediate strings or {@link org.locationtech.jts.geom.Coordinate}s.
+ * Most decimal numbers are converted directly from their digits;
+ * numbers which cannot be converted exactly that way
+ * fall back to {@link Double#parseDouble(String)}.
+ * <p>
+ * Ordinates within a tuple are separated by the coordinate separator
+ * (by default a comma), which may be surrounded by whitespace.
+ * Tuples are separated by the tuple separator (by default whitespace).
+ * The dimension of the sequence is determined by the first tuple
+ * (up to a maximum of 3).
+ * Tuples with fewer ordinates are padded with <code>NaN</code>,
+ * and extra ordinates are ignored.
+ * <p>
+ * A parser can be reused for many coordinate lists via {@link #reset()};
+ * its buffers are retained, so that memory use is bounded by the largest list parsed.
+ * This class is not thread-safe.
+ *
+ * @author Martin Davis
+ */
+public class CoordinateTextParser
+{
+  private static final int MAX_DIM = 3;
+
+  /**
+   * Maximum number of significant digits which can be converted exactly
+   */
+  private static final int MAX_EXACT_DIGITS = 15;
+
+  private static final double[] POW10 = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+    1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  private char coordSeparator = ',';
+  private char tupleSeparator = ' ';
+  private char decimal = '.';
+  private boolean isTupleSeparatorWhitespace = true;
+
+  private char[] token = new char[32];
+  private int tokenLen = 0;
+  private double[] tuple = new double[MAX_DIM];
+  private int tupleLen = 0;
+  private boolean isAfterCoordSeparator = false;
+  private boolean isTupleEndPending = false;
+
+  private double[] ords = new double[64];
+  private int numTuples = 0;
+  private int dim = 0;
+
+  /**
+   * Creates a parser using comma as the coordinate separator,
+   * whitespace as the tuple separator, and period as the decimal separator.
+   */
+  public CoordinateTextParser() {
+  }
+
+  /**
+   * Sets the separators used in the text.
+   * The separators apply until they are changed;
+   * they are not affected by {@link #reset()}.
+   *
+   * @param coordSeparator the separator between ordinates in a tuple
+   * @param tupleSeparator the separator between tuples (whitespace means any whitespace)
+   * @param decimal the decimal separator
+   */
+  public void setSeparators(char coordSeparator, char tupleSeparator, char decimal) {
+    this.coordSeparator = coordSeparator;
+    this.tupleSeparator = tupleSeparator;
+    this.decimal = decimal;
+    isTupleSeparatorWhitespace = Character.isWhitespace(tupleSeparator);
+  }
+
+  /**
+   * Resets the parser to start a new coordinate list.
+   */
+  public void reset() {
+    tokenLen = 0;
+    tupleLen = 0;
+    isAfterCoordSeparator = false;
+    isTupleEndPending = false;
+    numTuples = 0;
+    dim = 0;
+  }
+
+  /**
+   * Parses a range of characters of coordinate text.
+   * The text of a coordinate list may be supplied in any number of ranges.
+   *
+   * @param ch the characters
+   * @param start the start of the range
+   * @param length the length of the range
+   * @throws ParseException if a number cannot be parsed
+   */
+  public void parse(char[] ch, int start, int length) throws ParseException {
+    int end = start + length;
+    for (int i = start; i < end; i++) {
+      char c = ch[i];
+      if (c == coordSeparator) {
+        endToken();
+        isTupleEndPending = false;
+        isAfterCoordSeparator = true;
+      }
+      else if (Character.isWhitespace(c)) {
+        endToken();
+        if (isTupleSeparatorWhitespace && tupleLen > 0 && ! isAfterCoordSeparator) {
+          // tuple ends unless the next non-whitespace is a coordinate separator
+          isTupleEndPending = true;
+        }
+      }
+      else if (c == tupleSeparator) {
+        endToken();
+        endTuple();
+      }
+      else {
+        if (isTupleEndPending) {
+          endTuple();
+        }
+        isAfterCoordSeparator = false;
+        appendToken(c == decimal ? '.' : c);
+      }
+    }
+  }
+
+  /**
+   * Parses a string of coordinate text.
+   *
+   * @param text the text to parse
+   * @throws ParseException if a number cannot be parsed
+   */
+  public void parse(String text) throws ParseException {
+    char[] ch = text.toCharArray();
+    parse(ch, 0, ch.length);
+  }
+
+  /**
+   * Adds a tuple of ordinate values directly.
+   *
+   * @param values the ordinate values
+   * @param length the number of ordinate values
+   */
+  public void addTuple(double[] values, int length) {
+    tupleLen = 0;
+    for (int i = 0; i < length && i < MAX_DIM; i++) {
+      tuple[tupleLen++] = values[i];
+    }
+    endTuple();
+  }
+
+  /**
+   * Gets the number of tuples parsed.
+   * Any unterminated final tuple is included.
+   *
+   * @return the number of tuples
+   * @throws ParseException if a number cannot be parsed
+   */
+  public int size() throws ParseException {
+    finish();
+    return numTuples;
+  }
+
+  /**
+   * Creates a {@link CoordinateSequence} containing the parsed tuples.
+   *
+   * @param csFactory the factory to create the sequence
+   * @param precisionModel the precision model to apply to X and Y, or null
+   * @return the coordinate sequence
+   * @throws ParseException if a number cannot be parsed
+   */
+  public CoordinateSequence getCoordinateSequence(CoordinateSequenceFactory csFactory,
+      PrecisionModel precisionModel) throws ParseException {
+    finish();
+    int seqDim = dim == 0 ? 2 : dim;
+    CoordinateSequence seq = csFactory.create(numTuples, seqDim);
+    int targetDim = Math.min(seqDim, seq.getDimension());
+    for (int i = 0; i < numTuples; i++) {
+      int base = i * seqDim;
+      for (int j = 0; j < targetDim; j++) {
+        double v = ords[base + j];
+        if (j < 2 && precisionModel != null) {
+          v = precisionModel.makePrecise(v);
+        }
+        seq.setOrdinate(i, j, v);
+      }
+    }
+    return seq;
+  }
+
+  private void finish() throws ParseException {
+    endToken();
+    endTuple();
+  }
+
+  private void appendToken(char c) {
+    if (tokenLen >= token.length) {
+      char[] newToken = new char[2 * token.length];
+      System.arraycopy(token, 0, newToken, 0, tokenLen);
+      token = newToken;
+    }
+    token[tokenLen++] = c;
+  }
+
+  private void endToken() throws ParseException {
+    if (tokenLen == 0) return;
+    double v = parseNumber(token, tokenLen);
+    if (tupleLen < MAX_DIM) {
+      tuple[tupleLen++] = v;
+    }
+    tokenLen = 0;
+  }
+
+  private void endTuple() {
+    isTupleEndPending = false;
+    isAfterCoordSeparator = false;
+    if (tupleLen == 0) return;
+    if (dim == 0) {
+      dim = Math.max(2, tupleLen);
+    }
+    int base = numTuples * dim;
+    if (base + dim > ords.length) {
+      double[] newOrds = new double[Math.max(2 * ords.length, base + dim)];
+      System.arraycopy(ords, 0, newOrds, 0, base);
+      ords = newOrds;
+    }
+    for (int i = 0; i < dim; i++) {
+      ords[base + i] = i < tupleLen ? tuple[i] : Double.NaN;
+    }
+    numTuples++;
+    tupleLen = 0;
+  }
+
+  /**
+   * Parses a decimal number.
+   * Numbers with at most 15 significant digits and a small decimal exponent
+   * are computed exactly from their digits,
+   * since the result of a single multiplication or division
+   * of two exactly-representable values is correctly rounded.
+   * Other numbers are parsed by {@link Double#parseDouble(String)}.
+   *
+   * @param s the characters of the number
+   * @param len the number of characters
+   * @return the value of the number
+   * @throws ParseException if the characters are not a valid number
+   */
+  static double parseNumber(char[] s, int len) throws ParseException {
+    int i = 0;
+    boolean isNegative = false;
+    if (s[0] == '-' || s[0] == '+') {
+      isNegative = s[0] == '-';
+      i++;
+    }
+    long mantissa = 0;
+    int numDigits = 0;
+    int exp = 0;
+    boolean hasDigit = false;
+    boolean isAfterPoint = false;
+    boolean isExact = true;
+    for (; i < len; i++) {
+      char c = s[i];
+      if (c >= '0' && c <= '9') {
+        hasDigit = true;
+        if (numDigits < MAX_EXACT_DIGITS) {
+          mantissa = 10 * mantissa + (c - '0');
+          if (mantissa != 0) numDigits++;
+          if (isAfterPoint) exp--;
+        }
+        else {
+          isExact = false;
+          break;
+        }
+      }
+      else if (c == '.' && ! isAfterPoint) {
+        isAfterPoint = true;
+      }
+      else {
+        break;
+      }
+    }
+    if (i < len && isExact && hasDigit && (s[i] == 'e' || s[i] == 'E')) {
+      i++;
+      boolean isExpNegative = false;
+      if (i < len && (s[i] == '-' || s[i] == '+')) {
+        isExpNegative = s[i] == '-';
+        i++;
+      }
+      int expValue = 0;
+      int expStart = i;
+      for (; i < len && s[i] >= '0' && s[i] <= '9' && expValue < 1000; i++) {
+        expValue = 10 * expValue + (s[i] - '0');
+      }
+      if (i == expStart) isExact = false;
+      exp += isExpNegative ? -expValue : expValue;
+    }
+    if (isExact && hasDigit && i == len && exp >= -22 && exp <= 22) {
+      double v = exp >= 0 ? mantissa * POW10[exp] : mantissa / POW10[-exp];
+      return isNegative ? -v : v;
+    }
+    try {
+      return Double.parseDouble(new String(s, 0, len));
+    }
+    catch (NumberFormatException ex) {
+      throw new ParseException("Invalid number: " + new String(s, 0, len));
+    }
+  }
+}
@@ -0,0 +1,483 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+/**
+ * Reads a sequence of {@link Geometry}s from a file in WKT or WKB hex format,
+ * parsing the geometries concurrently.
+ * <p>
+ * The input is split into chunks of whole records,
+ * which are parsed on a pool of worker threads,
+ * each using its own {@link WKTReader} or {@link WKBReader}.
+ * The input formats are the same as those of
+ * {@link WKTFileReader} and {@link WKBHexFileReader}.
+ * WKT geometries may be separated by any amount of whitespace,
+ * but a chunk is only ended at the end of a line which completes a geometry.
+ * WKB hex geometries must be one per line.
+ * <p>
+ * The geometries read are passed to a {@link Consumer} on the calling thread.
+ * By default they are delivered in file order.
+ * If order is not required, {@link #setOrdered(boolean)} allows each chunk
+ * to be delivered as soon as it is parsed.
+ * A limit may be set, as for the sequential readers;
+ * it applies to the geometries in delivery order.
+ * An offset may also be set, but only when reading in file order.
+ * The number of chunks in progress is bounded,
+ * so memory use does not depend on the size of the file.
+ * <p>
+ * Parsing is strict: the first parse error encountered is thrown,
+ * and reading stops.
+ *
+ * @author Martin Davis
+ *
+ * @see WKTFileReader
+ * @see WKBHexFileReader
+ */
+public class ParallelGeometryFileReader
+{
+  /**
+   * Format code for files of WKT geometries
+   */
+  public static final int FORMAT_WKT = 1;
+
+  /**
+   * Format code for files of WKB geometries in hex, one per line
+   */
+  public static final int FORMAT_WKB_HEX = 2;
+
+  private static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+  private File file = null;
+  private Reader reader;
+  private final int format;
+  private final GeometryFactory geomFactory;
+  private int numThreads = Runtime.getRuntime().availableProcessors();
+  private int chunkSize = DEFAULT_CHUNK_SIZE;
+  private boolean isOrdered = true;
+  private int limit = -1;
+  private int offset = 0;
+
+  private char[] buf;
+  private int bufLen;
+  private boolean isEOF;
+
+  /**
+   * Creates a reader for a file.
+   *
+   * @param file the file to read from
+   * @param format the file format ({@link #FORMAT_WKT} or {@link #FORMAT_WKB_HEX})
+   * @param geomFactory the factory to create geometries with
+   */
+  public ParallelGeometryFileReader(File file, int format, GeometryFactory geomFactory)
+  {
+    this(format, geomFactory);
+    this.file = file;
+  }
+
+  /**
+   * Creates a reader for a file, given the name of the file.
+   *
+   * @param filename the name of the file to read from
+   * @param format the file format ({@link #FORMAT_WKT} or {@link #FORMAT_WKB_HEX})
+   * @param geomFactory the factory to create geometries with
+   */
+  public ParallelGeometryFileReader(String filename, int format, GeometryFactory geomFactory)
+  {
+    this(new File(filename), format, geomFactory);
+  }
+
+  /**
+   * Creates a reader for a {@link Reader}.
+   *
+   * @param reader the reader to read from
+   * @param format the file format ({@link #FORMAT_WKT} or {@link #FORMAT_WKB_HEX})
+   * @param geomFactory the factory to create geometries with
+   */
+  public ParallelGeometryFileReader(Reader reader, int format, GeometryFactory geomFactory)
+  {
+    this(format, geomFactory);
+    this.reader = reader;
+  }
+
+  private ParallelGeometryFileReader(int format, GeometryFactory geomFactory)
+  {
+    if (format != FORMAT_WKT && format != FORMAT_WKB_HEX)
+      throw new IllegalArgumentException("Unknown format: " + format);
+    this.format = format;
+    this.geomFactory = geomFactory;
+  }
+
+  /**
+   * Sets the number of threads used to parse geometries.
+   * The default is the number of available processors.
+   *
+   * @param numThreads the number of parsing threads
+   */
+  public void setNumThreads(int numThreads)
+  {
+    if (numThreads < 1)
+      throw new IllegalArgumentException("Number of threads must be >= 1");
+    this.numThreads = numThreads;
+  }
+
+  /**
+   * Sets the approximate number of characters in each chunk of input.
+   * Chunks are extended as needed to contain at least one complete record.
+   *
+   * @param chunkSize the chunk size in characters
+   */
+  public void setChunkSize(int chunkSize)
+  {
+    if (chunkSize < 1)
+      throw new IllegalArgumentException("Chunk size must be >= 1");
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Sets whether geometries are delivered in file order.
+   * The default is <code>true</code>.
+   *
+   * @param isOrdered whether to deliver geometries in file order
+   */
+  public void setOrdered(boolean isOrdered)
+  {
+    this.isOrdered = isOrdered;
+  }
+
+  /**
+   * Sets the maximum number of geometries to read.
+   *
+   * @param limit the maximum number of geometries to read
+   */
+  public void setLimit(int limit)
+  {
+    this.limit = limit;
+  }
+
+  /**
+   * Sets the number of geometries to skip before storing.
+   * An offset can only be used when geometries are delivered in file order,
+   * since otherwise the geometries skipped would be an arbitrary set.
+   *
+   * @param offset the number of geometries to skip
+   * 
+   * @see #setOrdered(boolean)
+   */
+  public void setOffset(int offset)
+  {
+    this.offset = offset;
+  }
+
+  /**
+   * Reads the geometries into a list.
+   *
+   * @return the list of geometries read
+   * @throws IOException if an I/O exception was encountered
+   * @throws ParseException if an error occurred reading a geometry
+   */
+  public List<Geometry> read()
+      throws IOException, ParseException
+  {
+    final List<Geometry> geoms = new ArrayList<Geometry>();
+    read(new Consumer<Geometry>() {
+      public void accept(Geometry geom) {
+        geoms.add(geom);
+      }
+    });
+    return geoms;
+  }
+
+  /**
+   * Reads the geometries, passing each one to a consumer.
+   * The consumer is called on the calling thread.
+   * If an offset is specified, geometries read up to the offset count are skipped.
+   * If a limit is specified, no more than <tt>limit</tt> geometries are delivered.
+   *
+   * @param consumer the consumer of the geometries read
+   * @throws IOException if an I/O exception was encountered
+   * @throws ParseException if an error occurred reading a geometry
+   * @throws IllegalStateException if an offset is set and the geometries are not delivered in file order
+   */
+  public void read(Consumer<Geometry> consumer)
+      throws IOException, ParseException
+  {
+    if (! isOrdered && offset > 0)
+      throw new IllegalStateException("An offset cannot be used when reading unordered");
+
+    // do this here so that constructors don't throw exceptions
+    if (file != null)
+      reader = new FileReader(file);
+
+    buf = new char[chunkSize];
+    bufLen = 0;
+    isEOF = false;
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    try {
+      read(executor, new Delivery(consumer));
+    }
+    finally {
+      executor.shutdownNow();
+      reader.close();
+      buf = null;
+    }
+  }
+
+  private void read(ExecutorService executor, Delivery delivery)
+      throws IOException, ParseException
+  {
+    // enough chunks in progress to keep all threads busy
+    int maxInProgress = 2 * numThreads;
+    ThreadLocal<Object> parsers = createParsers();
+    CompletionService<List<Geometry>> completion = new ExecutorCompletionService<List<Geometry>>(executor);
+    Deque<Future<List<Geometry>>> inProgress = new ArrayDeque<Future<List<Geometry>>>();
+
+    String chunk;
+    while (! delivery.isDone() && (chunk = nextChunk()) != null) {
+      if (inProgress.size() >= maxInProgress) {
+        deliverNext(completion, inProgress, delivery);
+      }
+      ChunkParser task = new ChunkParser(chunk, parsers);
+      // only unordered results are collected by completion order
+      inProgress.add(isOrdered ? executor.submit(task) : completion.submit(task));
+    }
+    while (! delivery.isDone() && ! inProgress.isEmpty()) {
+      deliverNext(completion, inProgress, delivery);
+    }
+  }
+
+  private void deliverNext(CompletionService<List<Geometry>> completion,
+      Deque<Future<List<Geometry>>> inProgress, Delivery delivery)
+          throws IOException, ParseException
+  {
+    Future<List<Geometry>> future;
+    if (isOrdered) {
+      future = inProgress.removeFirst();
+    }
+    else {
+      future = take(completion);
+      inProgress.remove(future);
+    }
+    delivery.deliver(getResult(future));
+  }
+
+  private static Future<List<Geometry>> take(CompletionService<List<Geometry>> completion)
+      throws ParseException
+  {
+    try {
+      return completion.take();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ParseException(e);
+    }
+  }
+
+  private static List<Geometry> getResult(Future<List<Geometry>> future)
+      throws IOException, ParseException
+  {
+    try {
+      return future.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ParseException(e);
+    }
+    catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof ParseException)
+        throw (ParseException) cause;
+      if (cause instanceof IOException)
+        throw (IOException) cause;
+      throw new ParseException(cause.toString(), cause);
+    }
+  }
+
+  private ThreadLocal<Object> createParsers()
+  {
+    return new ThreadLocal<Object>() {
+      protected Object initialValue() {
+        if (format == FORMAT_WKT)
+          return new WKTReader(geomFactory);
+        return new WKBReader(geomFactory);
+      }
+    };
+  }
+
+  /**
+   * Reads the next chunk of complete records.
+   *
+   * @return the text of the chunk, or null if the input is exhausted
+   * @throws IOException if an I/O error occurs
+   */
+  private String nextChunk() throws IOException
+  {
+    while (true) {
+      while (! isEOF && bufLen < buf.length) {
+        int n = reader.read(buf, bufLen, buf.length - bufLen);
+        if (n < 0)
+          isEOF = true;
+        else
+          bufLen += n;
+      }
+      int end = isEOF ? bufLen : chunkEnd();
+      if (end > 0) {
+        String chunk = new String(buf, 0, end);
+        System.arraycopy(buf, end, buf, 0, bufLen - end);
+        bufLen -= end;
+        return chunk;
+      }
+      if (isEOF)
+        return null;
+      // no complete record in buffer - grow it
+      char[] newBuf = new char[2 * buf.length];
+      System.arraycopy(buf, 0, newBuf, 0, bufLen);
+      buf = newBuf;
+    }
+  }
+
+  /**
+   * Finds the end of the last complete record in the buffer.
+   *
+   * @return the index after the end of the last record, or 0 if none
+   */
+  private int chunkEnd()
+  {
+    if (format == FORMAT_WKB_HEX) {
+      for (int i = bufLen - 1; i >= 0; i--) {
+        if (buf[i] == '\n')
+          return i + 1;
+      }
+      return 0;
+    }
+    return wktChunkEnd();
+  }
+
+  /**
+   * Finds the end of the last line which ends a WKT geometry.
+   * A line ends a geometry if it is outside any parentheses
+   * and the last token is either a closing parenthesis or EMPTY.
+   */
+  private int wktChunkEnd()
+  {
+    int end = 0;
+    int depth = 0;
+    int lastNonSpace = -1;
+    for (int i = 0; i < bufLen; i++) {
+      char c = buf[i];
+      if (c == '(') {
+        depth++;
+      }
+      else if (c == ')') {
+        depth--;
+      }
+      else if (c == '\n') {
+        if (depth == 0 && lastNonSpace >= 0 && isEndOfGeometry(lastNonSpace))
+          end = i + 1;
+        continue;
+      }
+      if (! Character.isWhitespace(c))
+        lastNonSpace = i;
+    }
+    return end;
+  }
+
+  private static final String EMPTY = "EMPTY";
+
+  private boolean isEndOfGeometry(int index)
+  {
+    if (buf[index] == ')')
+      return true;
+    int start = index - EMPTY.length() + 1;
+    if (start < 0)
+      return false;
+    for (int i = 0; i < EMPTY.length(); i++) {
+      if (Character.toUpperCase(buf[start + i]) != EMPTY.charAt(i))
+        return false;
+    }
+    return start == 0 || ! Character.isLetterOrDigit(buf[start - 1]);
+  }
+
+  /**
+   * Parses the records in a chunk,
+   * using the parser for the current thread.
+   */
+  private class ChunkParser implements Callable<List<Geometry>>
+  {
+    private final String chunk;
+    private final ThreadLocal<Object> parsers;
+
+    ChunkParser(String chunk, ThreadLocal<Object> parsers) {
+      this.chunk = chunk;
+      this.parsers = parsers;
+    }
+
+    public List<Geometry> call() throws IOException, ParseException {
+      Object parser = parsers.get();
+      if (parser instanceof WKTReader) {
+        return new WKTFileReader(new StringReader(chunk), (WKTReader) parser).read();
+      }
+      return new WKBHexFileReader(new StringReader(chunk), (WKBReader) parser).read();
+    }
+  }
+
+  /**
+   * Delivers geometries to the consumer,
+   * applying the offset and limit.
+   */
+  private class Delivery
+  {
+    private final Consumer<Geometry> consumer;
+    private int count = 0;
+    private int numDelivered = 0;
+
+    Delivery(Consumer<Geometry> consumer) {
+      this.consumer = consumer;
+    }
+
+    boolean isDone() {
+      return limit >= 0 && numDelivered >= limit;
+    }
+
+    void deliver(List<Geometry> geoms) {
+      for (Geometry geom : geoms) {
+        if (isDone())
+          return;
+        if (count >= offset) {
+          consumer.accept(geom);
+          numDelivered++;
+        }
+        count++;
+      }
+    }
+  }
+}
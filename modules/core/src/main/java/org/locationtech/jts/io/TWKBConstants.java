@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io;
+
+/**
+ * Constant values used by the TWKB format.
+ *
+ * @see TWKBWriter
+ */
+public interface TWKBConstants {
+  int twkbPoint = 1;
+  int twkbLineString = 2;
+  int twkbPolygon = 3;
+  int twkbMultiPoint = 4;
+  int twkbMultiLineString = 5;
+  int twkbMultiPolygon = 6;
+  int twkbGeometryCollection = 7;
+
+  /**
+   * Metadata header flags
+   */
+  int twkbHasBBox = 0x01;
+  int twkbHasSize = 0x02;
+  int twkbHasIdList = 0x04;
+  int twkbHasExtendedDims = 0x08;
+  int twkbIsEmpty = 0x10;
+
+  /**
+   * Extended dimensions flags
+   */
+  int twkbHasZ = 0x01;
+  int twkbHasM = 0x02;
+}
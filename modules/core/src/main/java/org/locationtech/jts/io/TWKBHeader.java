@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io;
+
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * The header of a geometry in TWKB format.
+ * The header describes the geometry type, the coordinate precision
+ * and dimension, and the optional size and bounding box fields.
+ * <p>
+ * A header can be read without decoding the geometry coordinates
+ * via {@link TWKBReader#readHeader(byte[])}.
+ * This allows filtering on geometry type or bounding box
+ * before fully decoding a geometry.
+ *
+ * @see TWKBReader
+ * @see TWKBWriter
+ */
+public class TWKBHeader
+{
+  int geometryType;
+  int xyPrecision;
+  int zPrecision;
+  int mPrecision;
+  boolean hasZ;
+  boolean hasM;
+  boolean hasBBox;
+  boolean hasSize;
+  boolean hasIdList;
+  boolean isEmpty;
+  int size = -1;
+  /**
+   * The bounding box, stored as min,max pairs for each dimension
+   */
+  double[] bbox;
+
+  TWKBHeader() {
+  }
+
+  /**
+   * Gets the geometry type code, as defined in {@link TWKBConstants}.
+   *
+   * @return the geometry type code
+   */
+  public int getGeometryType() {
+    return geometryType;
+  }
+
+  /**
+   * Gets the number of decimal digits of precision of the X and Y ordinates.
+   * This may be negative, indicating rounding to a power of 10.
+   *
+   * @return the XY precision
+   */
+  public int getXYPrecision() {
+    return xyPrecision;
+  }
+
+  /**
+   * Gets the number of decimal digits of precision of the Z ordinate.
+   *
+   * @return the Z precision
+   */
+  public int getZPrecision() {
+    return zPrecision;
+  }
+
+  /**
+   * Gets the number of decimal digits of precision of the M ordinate.
+   *
+   * @return the M precision
+   */
+  public int getMPrecision() {
+    return mPrecision;
+  }
+
+  /**
+   * Tests whether the coordinates have a Z ordinate.
+   *
+   * @return true if the coordinates have Z
+   */
+  public boolean hasZ() {
+    return hasZ;
+  }
+
+  /**
+   * Tests whether the coordinates have an M ordinate.
+   *
+   * @return true if the coordinates have M
+   */
+  public boolean hasM() {
+    return hasM;
+  }
+
+  /**
+   * Gets the coordinate dimension (including measures).
+   *
+   * @return the coordinate dimension
+   */
+  public int getDimension() {
+    return 2 + (hasZ ? 1 : 0) + (hasM ? 1 : 0);
+  }
+
+  /**
+   * Tests whether the geometry is empty.
+   *
+   * @return true if the geometry is empty
+   */
+  public boolean isEmpty() {
+    return isEmpty;
+  }
+
+  /**
+   * Tests whether the encoding contains a bounding box.
+   *
+   * @return true if a bounding box is present
+   */
+  public boolean hasBBox() {
+    return hasBBox;
+  }
+
+  /**
+   * Tests whether the encoding contains the size field.
+   *
+   * @return true if the size is present
+   */
+  public boolean hasSize() {
+    return hasSize;
+  }
+
+  /**
+   * Tests whether the encoding contains an id list.
+   *
+   * @return true if an id list is present
+   */
+  public boolean hasIdList() {
+    return hasIdList;
+  }
+
+  /**
+   * Gets the size in bytes of the encoding following the size field,
+   * if present.
+   *
+   * @return the size in bytes, or -1 if the size is not present
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Gets the XY bounding box of the geometry, if present.
+   *
+   * @return the bounding box envelope, or null if not present
+   */
+  public Envelope getEnvelope() {
+    if (bbox == null) return null;
+    return new Envelope(bbox[0], bbox[1], bbox[2], bbox[3]);
+  }
+
+  /**
+   * Gets the minimum value of an ordinate in the bounding box.
+   * The ordinate index follows the coordinate layout,
+   * so that if Z is not present M has index 2.
+   *
+   * @param ordinateIndex the ordinate index
+   * @return the minimum ordinate value, or NaN if the bounding box is not present
+   */
+  public double getBBoxMin(int ordinateIndex) {
+    if (bbox == null) return Double.NaN;
+    return bbox[2 * ordinateIndex];
+  }
+
+  /**
+   * Gets the maximum value of an ordinate in the bounding box.
+   * The ordinate index follows the coordinate layout,
+   * so that if Z is not present M has index 2.
+   *
+   * @param ordinateIndex the ordinate index
+   * @return the maximum ordinate value, or NaN if the bounding box is not present
+   */
+  public double getBBoxMax(int ordinateIndex) {
+    if (bbox == null) return Double.NaN;
+    return bbox[2 * ordinateIndex + 1];
+  }
+
+  int getPrecision(int ordinateIndex) {
+    if (ordinateIndex < 2) return xyPrecision;
+    if (ordinateIndex == 2 && hasZ) return zPrecision;
+    return mPrecision;
+  }
+}
@@ -0,0 +1,442 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io;
+
+import java.io.IOException;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFactory;
+import org.locationtech.jts.geom.CoordinateSequences;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+
+/**
+ * Reads a {@link Geometry} from a byte stream in Tiny Well-Known Binary (TWKB) format.
+ * Supports use of an {@link InStream}, which allows easy use
+ * with arbitrary byte stream sources.
+ * <p>
+ * This class reads the format described in {@link TWKBWriter}.
+ * Id lists are read but not retained.
+ * <p>
+ * The header of a TWKB geometry can be read without decoding
+ * the coordinates via {@link #readHeader(byte[])}.
+ * If the encoding contains a bounding box this allows
+ * cheap spatial filtering of encoded geometries.
+ * <p>
+ * As with {@link WKBReader}, the reader repairs structurally-invalid input
+ * (LineStrings with too few points have vertices added,
+ * and non-closed rings are closed).
+ * It checks that count fields do not exceed the size of the input,
+ * and that the reader does not read beyond the end of the data supplied.
+ * A {@link ParseException} is thrown if this situation is detected.
+ * <p>
+ * This class is designed to support reuse of a single instance to read multiple
+ * geometries. This class is not thread-safe; each thread should create its own
+ * instance.
+ *
+ * @see TWKBWriter
+ */
+public class TWKBReader
+{
+  private static final String INVALID_GEOM_TYPE_MSG
+  = "Invalid geometry type encountered in ";
+
+  private GeometryFactory factory;
+  private CoordinateSequenceFactory csFactory;
+  private PrecisionModel precisionModel;
+
+  // input source: either a byte array or an InStream
+  private byte[] bytes;
+  private int pos;
+  private InStream stream;
+  private byte[] buf1 = new byte[1];
+  private int maxNumFieldValue;
+
+  public TWKBReader() {
+    this(new GeometryFactory());
+  }
+
+  public TWKBReader(GeometryFactory geometryFactory) {
+    this.factory = geometryFactory;
+    precisionModel = factory.getPrecisionModel();
+    csFactory = factory.getCoordinateSequenceFactory();
+  }
+
+  /**
+   * Reads a single {@link Geometry} in TWKB format from a byte array.
+   *
+   * @param bytes the byte array to read from
+   * @return the geometry read
+   * @throws ParseException if the TWKB is ill-formed
+   */
+  public Geometry read(byte[] bytes) throws ParseException
+  {
+    setInput(bytes);
+    try {
+      return readGeometry();
+    }
+    catch (IOException ex) {
+      throw new RuntimeException("Unexpected IOException caught: " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Reads a {@link Geometry} in TWKB format from an {@link InStream}.
+   *
+   * @param is the stream to read from
+   * @return the Geometry read
+   * @throws IOException if the underlying stream creates an error
+   * @throws ParseException if the TWKB is ill-formed
+   */
+  public Geometry read(InStream is)
+  throws IOException, ParseException
+  {
+    setInput(is);
+    return readGeometry();
+  }
+
+  /**
+   * Reads the header of a geometry in TWKB format from a byte array,
+   * without decoding the coordinates.
+   *
+   * @param bytes the byte array to read from
+   * @return the header read
+   * @throws ParseException if the TWKB header is ill-formed
+   */
+  public TWKBHeader readHeader(byte[] bytes) throws ParseException
+  {
+    setInput(bytes);
+    try {
+      return readHeader();
+    }
+    catch (IOException ex) {
+      throw new RuntimeException("Unexpected IOException caught: " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Reads the header of a geometry in TWKB format from an {@link InStream}.
+   * The stream is left positioned after the header.
+   *
+   * @param is the stream to read from
+   * @return the header read
+   * @throws IOException if the underlying stream creates an error
+   * @throws ParseException if the TWKB header is ill-formed
+   */
+  public TWKBHeader readHeader(InStream is)
+  throws IOException, ParseException
+  {
+    setInput(is);
+    return readHeader();
+  }
+
+  private void setInput(byte[] bytes) {
+    this.bytes = bytes;
+    this.pos = 0;
+    this.stream = null;
+    // each count element takes at least one byte
+    this.maxNumFieldValue = bytes.length;
+  }
+
+  private void setInput(InStream is) {
+    this.bytes = null;
+    this.stream = is;
+    // can't tell size of InStream, but MAX_VALUE should be safe
+    this.maxNumFieldValue = Integer.MAX_VALUE;
+  }
+
+  private TWKBHeader readHeader() throws IOException, ParseException
+  {
+    TWKBHeader header = new TWKBHeader();
+    int typeAndPrecision = readByte();
+    header.geometryType = typeAndPrecision & 0x0F;
+    header.xyPrecision = unZigZag(typeAndPrecision >> 4);
+    if (header.geometryType < TWKBConstants.twkbPoint
+        || header.geometryType > TWKBConstants.twkbGeometryCollection)
+      throw new ParseException("Unknown TWKB type " + header.geometryType);
+
+    int metadata = readByte();
+    header.hasBBox = (metadata & TWKBConstants.twkbHasBBox) != 0;
+    header.hasSize = (metadata & TWKBConstants.twkbHasSize) != 0;
+    header.hasIdList = (metadata & TWKBConstants.twkbHasIdList) != 0;
+    header.isEmpty = (metadata & TWKBConstants.twkbIsEmpty) != 0;
+    if ((metadata & TWKBConstants.twkbHasExtendedDims) != 0) {
+      int ext = readByte();
+      header.hasZ = (ext & TWKBConstants.twkbHasZ) != 0;
+      header.hasM = (ext & TWKBConstants.twkbHasM) != 0;
+      header.zPrecision = (ext >> 2) & 0x07;
+      header.mPrecision = (ext >> 5) & 0x07;
+    }
+    if (header.hasSize) {
+      header.size = readNumField("size");
+    }
+    if (header.hasBBox && ! header.isEmpty) {
+      int dim = header.getDimension();
+      header.bbox = new double[2 * dim];
+      for (int i = 0; i < dim; i++) {
+        long min = readSigned();
+        long delta = readSigned();
+        header.bbox[2 * i] = unscale(min, header.getPrecision(i));
+        header.bbox[2 * i + 1] = unscale(min + delta, header.getPrecision(i));
+      }
+    }
+    return header;
+  }
+
+  private Geometry readGeometry() throws IOException, ParseException
+  {
+    TWKBHeader header = readHeader();
+    int dim = header.getDimension();
+    double[] scale = new double[dim];
+    for (int i = 0; i < dim; i++) {
+      scale[i] = Math.pow(10, header.getPrecision(i));
+    }
+    CoordinateReader coordReader = new CoordinateReader(header, scale);
+
+    if (header.isEmpty) {
+      return createEmpty(header.geometryType, dim, header.hasM ? 1 : 0);
+    }
+
+    switch (header.geometryType) {
+    case TWKBConstants.twkbPoint:
+      return factory.createPoint(coordReader.read(1));
+    case TWKBConstants.twkbLineString:
+      return readLineString(coordReader);
+    case TWKBConstants.twkbPolygon:
+      return readPolygon(coordReader);
+    case TWKBConstants.twkbMultiPoint: {
+      int numGeom = readNumField("numPoints");
+      skipIdList(header, numGeom);
+      Point[] geoms = new Point[numGeom];
+      for (int i = 0; i < numGeom; i++) {
+        geoms[i] = factory.createPoint(coordReader.read(1));
+      }
+      return factory.createMultiPoint(geoms);
+    }
+    case TWKBConstants.twkbMultiLineString: {
+      int numGeom = readNumField("numLines");
+      skipIdList(header, numGeom);
+      LineString[] geoms = new LineString[numGeom];
+      for (int i = 0; i < numGeom; i++) {
+        geoms[i] = readLineString(coordReader);
+      }
+      return factory.createMultiLineString(geoms);
+    }
+    case TWKBConstants.twkbMultiPolygon: {
+      int numGeom = readNumField("numPolygons");
+      skipIdList(header, numGeom);
+      Polygon[] geoms = new Polygon[numGeom];
+      for (int i = 0; i < numGeom; i++) {
+        geoms[i] = readPolygon(coordReader);
+      }
+      return factory.createMultiPolygon(geoms);
+    }
+    default: {
+      int numGeom = readNumField("numGeoms");
+      skipIdList(header, numGeom);
+      Geometry[] geoms = new Geometry[numGeom];
+      for (int i = 0; i < numGeom; i++) {
+        geoms[i] = readGeometry();
+      }
+      return factory.createGeometryCollection(geoms);
+    }
+    }
+  }
+
+  private Geometry createEmpty(int geometryType, int dimension, int measures) throws ParseException
+  {
+    switch (geometryType) {
+    case TWKBConstants.twkbPoint:
+      return factory.createPoint(csFactory.create(0, dimension, measures));
+    case TWKBConstants.twkbLineString:
+      return factory.createLineString(csFactory.create(0, dimension, measures));
+    case TWKBConstants.twkbPolygon:
+      return factory.createPolygon();
+    case TWKBConstants.twkbMultiPoint:
+      return factory.createMultiPoint();
+    case TWKBConstants.twkbMultiLineString:
+      return factory.createMultiLineString();
+    case TWKBConstants.twkbMultiPolygon:
+      return factory.createMultiPolygon();
+    default:
+      return factory.createGeometryCollection();
+    }
+  }
+
+  private LineString readLineString(CoordinateReader coordReader) throws IOException, ParseException
+  {
+    int size = readNumField("numPoints");
+    CoordinateSequence seq = coordReader.read(size);
+    if (seq.size() == 1) {
+      seq = CoordinateSequences.extend(csFactory, seq, 2);
+    }
+    return factory.createLineString(seq);
+  }
+
+  private Polygon readPolygon(CoordinateReader coordReader) throws IOException, ParseException
+  {
+    int numRings = readNumField("numRings");
+    if (numRings == 0)
+      return factory.createPolygon();
+
+    LinearRing shell = readLinearRing(coordReader);
+    LinearRing[] holes = new LinearRing[numRings - 1];
+    for (int i = 0; i < numRings - 1; i++) {
+      holes[i] = readLinearRing(coordReader);
+    }
+    return factory.createPolygon(shell, holes);
+  }
+
+  private LinearRing readLinearRing(CoordinateReader coordReader) throws IOException, ParseException
+  {
+    int size = readNumField("numPoints");
+    CoordinateSequence seq = coordReader.read(size);
+    if (! CoordinateSequences.isRing(seq)) {
+      seq = CoordinateSequences.ensureValidRing(csFactory, seq);
+    }
+    return factory.createLinearRing(seq);
+  }
+
+  private void skipIdList(TWKBHeader header, int numGeom) throws IOException, ParseException
+  {
+    if (! header.hasIdList) return;
+    for (int i = 0; i < numGeom; i++) {
+      readSigned();
+    }
+  }
+
+  private static double unscale(long value, int precision)
+  {
+    if (precision >= 0)
+      return value / Math.pow(10, precision);
+    return value * Math.pow(10, -precision);
+  }
+
+  private static int unZigZag(int n)
+  {
+    return (n >>> 1) ^ -(n & 1);
+  }
+
+  private int readNumField(String fieldName) throws IOException, ParseException
+  {
+    long num = readUnsigned();
+    if (num > maxNumFieldValue) {
+      throw new ParseException(fieldName + " value is too large");
+    }
+    return (int) num;
+  }
+
+  private int readByte() throws IOException, ParseException
+  {
+    if (bytes != null) {
+      if (pos >= bytes.length)
+        throw new ParseException("Unexpected EOF parsing TWKB");
+      return bytes[pos++] & 0xFF;
+    }
+    if (stream.read(buf1) <= 0)
+      throw new ParseException("Unexpected EOF parsing TWKB");
+    return buf1[0] & 0xFF;
+  }
+
+  private long readUnsigned() throws IOException, ParseException
+  {
+    long result = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = readByte();
+      result |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0)
+        return result;
+    }
+    throw new ParseException("Malformed varint in TWKB");
+  }
+
+  private long readSigned() throws IOException, ParseException
+  {
+    long n = readUnsigned();
+    return (n >>> 1) ^ -(n & 1);
+  }
+
+  /**
+   * Reads delta-encoded coordinates.
+   * The previous coordinate is carried across all the parts
+   * of a single geometry.
+   */
+  private class CoordinateReader
+  {
+    private final int dim;
+    private final int measures;
+    private final double[] scale;
+    private final long[] prev;
+
+    CoordinateReader(TWKBHeader header, double[] scale)
+    {
+      this.dim = header.getDimension();
+      this.measures = header.hasM ? 1 : 0;
+      this.scale = scale;
+      this.prev = new long[dim];
+    }
+
+    CoordinateSequence read(int size) throws IOException, ParseException
+    {
+      CoordinateSequence seq = csFactory.create(size, dim, measures);
+      int targetDim = seq.getDimension();
+      int targetMeasures = seq.getMeasures();
+      for (int i = 0; i < size; i++) {
+        for (int j = 0; j < dim; j++) {
+          prev[j] += readSigned();
+          double value = unscaleOrdinate(prev[j], j);
+          if (j <= 1) {
+            seq.setOrdinate(i, j, precisionModel.makePrecise(value));
+          }
+          else {
+            int targetIndex = targetOrdinateIndex(j, targetDim, targetMeasures);
+            if (targetIndex >= 0) {
+              seq.setOrdinate(i, targetIndex, value);
+            }
+          }
+        }
+      }
+      return seq;
+    }
+
+    private double unscaleOrdinate(long value, int ordIndex)
+    {
+      // scale is exact for non-negative precision, so division is more accurate
+      double s = scale[ordIndex];
+      if (s >= 1) return value / s;
+      return value * (1 / s);
+    }
+
+    /**
+     * Maps an input ordinate index to the index in the target sequence,
+     * which may have a different dimension.
+     *
+     * @return the target ordinate index, or -1 if the target cannot store it
+     */
+    private int targetOrdinateIndex(int ordIndex, int targetDim, int targetMeasures)
+    {
+      boolean isM = measures > 0 && ordIndex == dim - 1;
+      if (isM) {
+        if (targetMeasures == 0) return -1;
+        return targetDim - 1;
+      }
+      // Z
+      if (targetDim - targetMeasures < 3) return -1;
+      return 2;
+    }
+  }
+}
@@ -0,0 +1,452 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io;
+
+import java.io.IOException;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.util.Assert;
+
+/**
+ * Writes a {@link Geometry} into Tiny Well-Known Binary (TWKB) format.
+ * Supports use of an {@link OutStream}, which allows easy use
+ * with arbitrary byte stream sinks.
+ * <p>
+ * TWKB is a compact binary encoding.
+ * Ordinates are scaled by a power of 10 given by the precision,
+ * rounded to integers, and written as the difference from the
+ * previous coordinate using zig-zag encoded variable-length integers.
+ * For typical data this is 3-5 times smaller than WKB.
+ * The format is specified at
+ * <a href="https://github.com/TWKB/Specification">https://github.com/TWKB/Specification</a>.
+ * <p>
+ * The writer can optionally include a bounding box
+ * and the size of the encoding in the header.
+ * These allow a reader to filter geometries or skip over them
+ * without decoding the coordinates
+ * (see {@link TWKBReader#readHeader(byte[])}).
+ * <p>
+ * Z and M ordinates are written only if requested.
+ * Missing or <code>NaN</code> ordinate values are written as 0.
+ * Id lists are not written.
+ * <p>
+ * This class supports reuse of a single instance to write multiple
+ * geometries. This class is not thread-safe; each thread should create its own
+ * instance.
+ *
+ * <h3>Syntax</h3>
+ * <blockquote><pre>
+ *
+ * <b>byte</b> = 1 byte
+ * <b>uvarint</b> = unsigned variable-length integer (LEB128)
+ * <b>varint</b> = zig-zag encoded signed variable-length integer
+ *
+ * TWKBHeader {
+ *   <b>byte</b> typeAndPrecision;   // type : 4 (low bits), zig-zag xy precision : 4
+ *   <b>byte</b> metadata;           // bbox : 1, size : 1, idlist : 1, extended : 1, empty : 1
+ *   [ <b>byte</b> extendedDims; ]   // hasZ : 1, hasM : 1, z precision : 3, m precision : 3
+ *   [ <b>uvarint</b> size; ]        // size in bytes of the remainder of the geometry
+ *   [ <b>varint</b> bbox[2 * dim]; ] // min, max - min for each dimension
+ * }
+ *
+ * Coordinate {
+ *   <b>varint</b> delta[dim];       // difference from the previous coordinate
+ * }
+ *
+ * TWKBPoint : Coordinate
+ * TWKBLineString : <b>uvarint</b> numPoints; Coordinate coords[numPoints];
+ * TWKBPolygon : <b>uvarint</b> numRings; { <b>uvarint</b> numPoints; Coordinate coords[numPoints]; } [numRings]
+ * TWKBMultiPoint : <b>uvarint</b> numPoints; Coordinate coords[numPoints];
+ * TWKBMultiLineString : <b>uvarint</b> numLines; TWKBLineString lines[numLines]; (without headers)
+ * TWKBMultiPolygon : <b>uvarint</b> numPolygons; TWKBPolygon polygons[numPolygons]; (without headers)
+ * TWKBGeometryCollection : <b>uvarint</b> numGeoms; TWKBGeometry geoms[numGeoms]; (with headers)
+ * </pre></blockquote>
+ *
+ * @see TWKBReader
+ */
+public class TWKBWriter
+{
+  private static final int MAX_XY_PRECISION = 7;
+  private static final int MIN_XY_PRECISION = -7;
+  private static final int MAX_ZM_PRECISION = 7;
+
+  private int xyPrecision;
+  private int zPrecision = 0;
+  private int mPrecision = 0;
+  private boolean includeZ = false;
+  private boolean includeM = false;
+  private boolean includeBBox = false;
+  private boolean includeSize = false;
+
+  private ByteBuf outBuf = new ByteBuf();
+  private byte[] varintBuf = new byte[10];
+
+  // state for the geometry currently being written
+  private int outputDimension;
+  private double[] scale = new double[4];
+  private long[] prev = new long[4];
+
+  /**
+   * Creates a writer which writes {@link Geometry}s
+   * in XY with ordinates rounded to integers.
+   */
+  public TWKBWriter() {
+    this(0);
+  }
+
+  /**
+   * Creates a writer which writes {@link Geometry}s
+   * in XY with ordinates rounded to the given number of decimal places.
+   * A negative precision rounds to a power of 10 (e.g. -2 rounds to hundreds).
+   *
+   * @param xyPrecision the number of decimal places for X and Y (in [-7, 7])
+   */
+  public TWKBWriter(int xyPrecision) {
+    if (xyPrecision < MIN_XY_PRECISION || xyPrecision > MAX_XY_PRECISION)
+      throw new IllegalArgumentException("XY precision must be in the range [-7, 7]");
+    this.xyPrecision = xyPrecision;
+  }
+
+  /**
+   * Sets whether the Z ordinate is written, and its precision.
+   *
+   * @param includeZ true if Z is written
+   * @param zPrecision the number of decimal places for Z (in [0, 7])
+   */
+  public void setIncludeZ(boolean includeZ, int zPrecision) {
+    checkZMPrecision(zPrecision);
+    this.includeZ = includeZ;
+    this.zPrecision = zPrecision;
+  }
+
+  /**
+   * Sets whether the M ordinate is written, and its precision.
+   *
+   * @param includeM true if M is written
+   * @param mPrecision the number of decimal places for M (in [0, 7])
+   */
+  public void setIncludeM(boolean includeM, int mPrecision) {
+    checkZMPrecision(mPrecision);
+    this.includeM = includeM;
+    this.mPrecision = mPrecision;
+  }
+
+  private static void checkZMPrecision(int precision) {
+    if (precision < 0 || precision > MAX_ZM_PRECISION)
+      throw new IllegalArgumentException("Z and M precision must be in the range [0, 7]");
+  }
+
+  /**
+   * Sets whether a bounding box is included in geometry headers.
+   *
+   * @param includeBBox true if the bounding box is written
+   */
+  public void setIncludeBBox(boolean includeBBox) {
+    this.includeBBox = includeBBox;
+  }
+
+  /**
+   * Sets whether the encoding size is included in geometry headers.
+   *
+   * @param includeSize true if the size is written
+   */
+  public void setIncludeSize(boolean includeSize) {
+    this.includeSize = includeSize;
+  }
+
+  /**
+   * Writes a {@link Geometry} into a byte array.
+   *
+   * @param geom the geometry to write
+   * @return the byte array containing the TWKB
+   */
+  public byte[] write(Geometry geom)
+  {
+    outBuf.reset();
+    writeGeometry(geom, outBuf);
+    return outBuf.toByteArray();
+  }
+
+  /**
+   * Writes a {@link Geometry} to an {@link OutStream}.
+   *
+   * @param geom the geometry to write
+   * @param os the out stream to write to
+   * @throws IOException if an I/O error occurs
+   */
+  public void write(Geometry geom, OutStream os) throws IOException
+  {
+    outBuf.reset();
+    writeGeometry(geom, outBuf);
+    os.write(outBuf.buf, outBuf.len);
+  }
+
+  /**
+   * Writes a geometry including its header.
+   *
+   * @return the bounding box of the scaled ordinates, or null if the geometry is empty
+   */
+  private long[] writeGeometry(Geometry geom, ByteBuf dest)
+  {
+    int geomType = geometryType(geom);
+    outputDimension = 2 + (includeZ ? 1 : 0) + (includeM ? 1 : 0);
+    initScale();
+
+    int metadata = 0;
+    if (includeSize) metadata |= TWKBConstants.twkbHasSize;
+    if (includeZ || includeM) metadata |= TWKBConstants.twkbHasExtendedDims;
+
+    dest.write(geomType | (zigZag(xyPrecision) << 4));
+    if (geom.isEmpty()) {
+      dest.write(metadata | TWKBConstants.twkbIsEmpty);
+      writeExtendedDims(dest);
+      if (includeSize) writeUnsigned(0, dest);
+      return null;
+    }
+
+    if (includeBBox) metadata |= TWKBConstants.twkbHasBBox;
+    dest.write(metadata);
+    writeExtendedDims(dest);
+
+    ByteBuf body = new ByteBuf();
+    long[] bbox = newBBox(outputDimension);
+    for (int i = 0; i < outputDimension; i++) {
+      prev[i] = 0;
+    }
+    writeBody(geom, body, bbox);
+
+    ByteBuf bboxBuf = null;
+    if (includeBBox) {
+      bboxBuf = new ByteBuf();
+      for (int i = 0; i < outputDimension; i++) {
+        writeSigned(bbox[2 * i], bboxBuf);
+        writeSigned(bbox[2 * i + 1] - bbox[2 * i], bboxBuf);
+      }
+    }
+    if (includeSize) {
+      int size = body.len + (bboxBuf != null ? bboxBuf.len : 0);
+      writeUnsigned(size, dest);
+    }
+    if (bboxBuf != null) dest.write(bboxBuf);
+    dest.write(body);
+    return bbox;
+  }
+
+  private void writeExtendedDims(ByteBuf dest)
+  {
+    if (! (includeZ || includeM)) return;
+    int ext = 0;
+    if (includeZ) ext |= TWKBConstants.twkbHasZ | (zPrecision << 2);
+    if (includeM) ext |= TWKBConstants.twkbHasM | (mPrecision << 5);
+    dest.write(ext);
+  }
+
+  private void initScale()
+  {
+    scale[0] = Math.pow(10, xyPrecision);
+    scale[1] = scale[0];
+    int i = 2;
+    if (includeZ) scale[i++] = Math.pow(10, zPrecision);
+    if (includeM) scale[i] = Math.pow(10, mPrecision);
+  }
+
+  private static int geometryType(Geometry geom)
+  {
+    if (geom instanceof Point) return TWKBConstants.twkbPoint;
+    if (geom instanceof LineString) return TWKBConstants.twkbLineString;
+    if (geom instanceof Polygon) return TWKBConstants.twkbPolygon;
+    if (geom instanceof MultiPoint) return TWKBConstants.twkbMultiPoint;
+    if (geom instanceof MultiLineString) return TWKBConstants.twkbMultiLineString;
+    if (geom instanceof MultiPolygon) return TWKBConstants.twkbMultiPolygon;
+    if (geom instanceof GeometryCollection) return TWKBConstants.twkbGeometryCollection;
+    Assert.shouldNeverReachHere("Unknown Geometry type");
+    return 0;
+  }
+
+  private void writeBody(Geometry geom, ByteBuf dest, long[] bbox)
+  {
+    if (geom instanceof Point) {
+      writeCoordinate(((Point) geom).getCoordinateSequence(), 0, dest, bbox);
+    }
+    else if (geom instanceof LineString) {
+      writeCoordinateSequence(((LineString) geom).getCoordinateSequence(), dest, bbox);
+    }
+    else if (geom instanceof Polygon) {
+      writePolygon((Polygon) geom, dest, bbox);
+    }
+    else if (geom instanceof MultiPoint) {
+      writeUnsigned(geom.getNumGeometries(), dest);
+      for (int i = 0; i < geom.getNumGeometries(); i++) {
+        CoordinateSequence seq = ((Point) geom.getGeometryN(i)).getCoordinateSequence();
+        if (seq.size() == 0)
+          throw new IllegalArgumentException("Empty MultiPoint elements cannot be written in TWKB");
+        writeCoordinate(seq, 0, dest, bbox);
+      }
+    }
+    else if (geom instanceof MultiLineString) {
+      writeUnsigned(geom.getNumGeometries(), dest);
+      for (int i = 0; i < geom.getNumGeometries(); i++) {
+        writeCoordinateSequence(((LineString) geom.getGeometryN(i)).getCoordinateSequence(), dest, bbox);
+      }
+    }
+    else if (geom instanceof MultiPolygon) {
+      writeUnsigned(geom.getNumGeometries(), dest);
+      for (int i = 0; i < geom.getNumGeometries(); i++) {
+        writePolygon((Polygon) geom.getGeometryN(i), dest, bbox);
+      }
+    }
+    else {
+      writeUnsigned(geom.getNumGeometries(), dest);
+      for (int i = 0; i < geom.getNumGeometries(); i++) {
+        long[] elemBBox = writeGeometry(geom.getGeometryN(i), dest);
+        expandBBox(bbox, elemBBox);
+      }
+    }
+  }
+
+  private void writePolygon(Polygon poly, ByteBuf dest, long[] bbox)
+  {
+    if (poly.isEmpty()) {
+      writeUnsigned(0, dest);
+      return;
+    }
+    writeUnsigned(poly.getNumInteriorRing() + 1, dest);
+    writeCoordinateSequence(poly.getExteriorRing().getCoordinateSequence(), dest, bbox);
+    for (int i = 0; i < poly.getNumInteriorRing(); i++) {
+      writeCoordinateSequence(poly.getInteriorRingN(i).getCoordinateSequence(), dest, bbox);
+    }
+  }
+
+  private void writeCoordinateSequence(CoordinateSequence seq, ByteBuf dest, long[] bbox)
+  {
+    int size = seq.size();
+    writeUnsigned(size, dest);
+    for (int i = 0; i < size; i++) {
+      writeCoordinate(seq, i, dest, bbox);
+    }
+  }
+
+  private void writeCoordinate(CoordinateSequence seq, int index, ByteBuf dest, long[] bbox)
+  {
+    writeOrdinate(0, seq.getX(index), dest, bbox);
+    writeOrdinate(1, seq.getY(index), dest, bbox);
+    int i = 2;
+    if (includeZ) {
+      writeOrdinate(i++, seq.hasZ() ? seq.getZ(index) : 0, dest, bbox);
+    }
+    if (includeM) {
+      writeOrdinate(i, seq.hasM() ? seq.getM(index) : 0, dest, bbox);
+    }
+  }
+
+  private void writeOrdinate(int ordIndex, double value, ByteBuf dest, long[] bbox)
+  {
+    // NaN rounds to 0
+    long v = Math.round(value * scale[ordIndex]);
+    writeSigned(v - prev[ordIndex], dest);
+    prev[ordIndex] = v;
+
+    int iMin = 2 * ordIndex;
+    if (v < bbox[iMin]) bbox[iMin] = v;
+    if (v > bbox[iMin + 1]) bbox[iMin + 1] = v;
+  }
+
+  private static long[] newBBox(int dim)
+  {
+    long[] bbox = new long[2 * dim];
+    for (int i = 0; i < dim; i++) {
+      bbox[2 * i] = Long.MAX_VALUE;
+      bbox[2 * i + 1] = Long.MIN_VALUE;
+    }
+    return bbox;
+  }
+
+  private static void expandBBox(long[] bbox, long[] other)
+  {
+    if (other == null) return;
+    for (int i = 0; i < bbox.length; i += 2) {
+      if (other[i] < bbox[i]) bbox[i] = other[i];
+      if (other[i + 1] > bbox[i + 1]) bbox[i + 1] = other[i + 1];
+    }
+  }
+
+  private static int zigZag(int n)
+  {
+    return (n << 1) ^ (n >> 31);
+  }
+
+  private void writeSigned(long n, ByteBuf dest)
+  {
+    writeUnsigned((n << 1) ^ (n >> 63), dest);
+  }
+
+  private void writeUnsigned(long n, ByteBuf dest)
+  {
+    int len = 0;
+    while ((n & ~0x7FL) != 0) {
+      varintBuf[len++] = (byte) ((n & 0x7F) | 0x80);
+      n >>>= 7;
+    }
+    varintBuf[len++] = (byte) n;
+    dest.write(varintBuf, len);
+  }
+
+  /**
+   * A growable byte array.
+   * Avoids the synchronization overhead of {@link java.io.ByteArrayOutputStream}.
+   */
+  private static class ByteBuf
+  {
+    byte[] buf = new byte[64];
+    int len = 0;
+
+    void reset() {
+      len = 0;
+    }
+
+    private void ensureCapacity(int n) {
+      if (len + n <= buf.length) return;
+      byte[] newBuf = new byte[Math.max(2 * buf.length, len + n)];
+      System.arraycopy(buf, 0, newBuf, 0, len);
+      buf = newBuf;
+    }
+
+    void write(int b) {
+      ensureCapacity(1);
+      buf[len++] = (byte) b;
+    }
+
+    void write(byte[] b, int n) {
+      ensureCapacity(n);
+      System.arraycopy(b, 0, buf, len, n);
+      len += n;
+    }
+
+    void write(ByteBuf other) {
+      write(other.buf, other.len);
+    }
+
+    byte[] toByteArray() {
+      byte[] result = new byte[len];
+      System.arraycopy(buf, 0, result, 0, len);
+      return result;
+    }
+  }
+}
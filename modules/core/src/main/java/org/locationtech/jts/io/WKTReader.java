@@ -805,7 +805,8 @@ S  */
     } catch (Exception e)
     {
       geometryFactory = new GeometryFactory(geometryFactory.getPrecisionModel(),
-              geometryFactory.getSRID(), csFactoryXYZM);
+              geometryFactory.getSRID(), csFactoryXYZM,
+              geometryFactory.isPropertyCacheEnabled());
     }
 
     if (type.startsWith(WKTConstants.POINT)) {
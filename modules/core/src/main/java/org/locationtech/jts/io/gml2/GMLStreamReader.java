@@ -0,0 +1,369 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io.gml2;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.CoordinateTextParser;
+import org.locationtech.jts.io.ParseException;
+
+/**
+ * Reads the GML2 geometries in a document one at a time,
+ * using a streaming {@link XMLStreamReader}.
+ * <p>
+ * Each call to {@link #read()} returns the next top-level geometry element
+ * in document order, wherever it occurs in the document
+ * (for instance, inside feature members).
+ * Only the geometry currently being read is held in memory,
+ * so arbitrarily large documents can be processed in constant memory.
+ * Coordinate text is parsed directly into {@link CoordinateSequence}s
+ * by a {@link CoordinateTextParser}.
+ * <p>
+ * The geometry elements supported are the same as for {@link GMLReader}:
+ * <code>Point</code>, <code>LineString</code>, <code>LinearRing</code>, <code>Polygon</code>,
+ * <code>MultiPoint</code>, <code>MultiLineString</code>, <code>MultiPolygon</code>
+ * and <code>MultiGeometry</code>, with coordinates given by
+ * <code>coordinates</code> or <code>coord</code> elements.
+ * <code>Box</code> elements (which represent feature bounds, not geometries) are ignored.
+ * Element namespaces are ignored.
+ * SRIDs are taken from <code>srsName</code> attributes,
+ * or are inherited from the parent geometry or the geometry factory.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @see GMLReader
+ */
+public class GMLStreamReader
+{
+  private final XMLStreamReader xsr;
+  private final GeometryFactory geometryFactory;
+  private final CoordinateTextParser coordParser = new CoordinateTextParser();
+  private final double[] coordValues = new double[3];
+
+  /**
+   * Creates a reader for a GML document in an {@link InputStream}.
+   *
+   * @param is the stream to read from
+   * @param geometryFactory the factory to create geometries with (if null a default is used)
+   * @throws ParseException if the XML stream cannot be created
+   */
+  public GMLStreamReader(InputStream is, GeometryFactory geometryFactory) throws ParseException {
+    this.geometryFactory = geometryFactory != null ? geometryFactory : new GeometryFactory();
+    try {
+      xsr = createInputFactory().createXMLStreamReader(is);
+    }
+    catch (XMLStreamException e) {
+      throw new ParseException(e);
+    }
+  }
+
+  /**
+   * Creates a reader for a GML document in a {@link Reader}.
+   *
+   * @param reader the reader to read from
+   * @param geometryFactory the factory to create geometries with (if null a default is used)
+   * @throws ParseException if the XML stream cannot be created
+   */
+  public GMLStreamReader(Reader reader, GeometryFactory geometryFactory) throws ParseException {
+    this.geometryFactory = geometryFactory != null ? geometryFactory : new GeometryFactory();
+    try {
+      xsr = createInputFactory().createXMLStreamReader(reader);
+    }
+    catch (XMLStreamException e) {
+      throw new ParseException(e);
+    }
+  }
+
+  private static XMLInputFactory createInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    // like GMLReader, allow undeclared namespace prefixes
+    factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+    return factory;
+  }
+
+  /**
+   * Reads the next geometry in the document.
+   *
+   * @return the next geometry, or null if there are no more geometries
+   * @throws ParseException if a parsing problem occurs
+   */
+  public Geometry read() throws ParseException {
+    try {
+      while (xsr.hasNext()) {
+        if (xsr.next() == XMLStreamConstants.START_ELEMENT
+            && isGeometryElement(localName())) {
+          return readGeometry(geometryFactory.getSRID());
+        }
+      }
+      return null;
+    }
+    catch (XMLStreamException e) {
+      throw new ParseException(e);
+    }
+    catch (IllegalArgumentException e) {
+      throw new ParseException(e);
+    }
+  }
+
+  /**
+   * Reads all remaining geometries in the document.
+   *
+   * @return a list of the geometries read
+   * @throws ParseException if a parsing problem occurs
+   */
+  public List<Geometry> readAll() throws ParseException {
+    List<Geometry> geoms = new ArrayList<Geometry>();
+    Geometry geom;
+    while ((geom = read()) != null) {
+      geoms.add(geom);
+    }
+    return geoms;
+  }
+
+  /**
+   * Closes the underlying XML stream reader.
+   * The underlying input source is not closed.
+   *
+   * @throws ParseException if an error occurs
+   */
+  public void close() throws ParseException {
+    try {
+      xsr.close();
+    }
+    catch (XMLStreamException e) {
+      throw new ParseException(e);
+    }
+  }
+
+  private static boolean isGeometryElement(String name) {
+    switch (name) {
+    case GMLConstants.GML_POINT:
+    case GMLConstants.GML_LINESTRING:
+    case GMLConstants.GML_LINEARRING:
+    case GMLConstants.GML_POLYGON:
+    case GMLConstants.GML_MULTI_POINT:
+    case GMLConstants.GML_MULTI_LINESTRING:
+    case GMLConstants.GML_MULTI_POLYGON:
+    case GMLConstants.GML_MULTI_GEOMETRY:
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Reads a geometry element.
+   * On entry the reader is positioned at the start element;
+   * on exit it is positioned at the matching end element.
+   */
+  private Geometry readGeometry(int parentSrid) throws XMLStreamException, ParseException {
+    String name = localName();
+    int srid = GeometryStrategies.getSrid(attributeValue(GMLConstants.GML_ATTR_SRSNAME), parentSrid);
+
+    Geometry geom;
+    switch (name) {
+    case GMLConstants.GML_POINT: {
+      CoordinateSequence seq = readCoordinates(name);
+      if (seq.size() != 1)
+        throw new ParseException("Cannot create a point without exactly one coordinate");
+      geom = geometryFactory.createPoint(seq);
+      break;
+    }
+    case GMLConstants.GML_LINESTRING:
+      geom = geometryFactory.createLineString(readCoordinates(name));
+      break;
+    case GMLConstants.GML_LINEARRING:
+      geom = geometryFactory.createLinearRing(readCoordinates(name));
+      break;
+    case GMLConstants.GML_POLYGON:
+      geom = readPolygon(srid);
+      break;
+    default:
+      geom = readCollection(name, srid);
+    }
+
+    if (geom.getSRID() != srid)
+      geom.setSRID(srid);
+    return geom;
+  }
+
+  private Polygon readPolygon(int srid) throws XMLStreamException, ParseException {
+    LinearRing shell = null;
+    List<LinearRing> holes = new ArrayList<LinearRing>();
+    boolean isInner = false;
+    while (nextUntilEnd(GMLConstants.GML_POLYGON)) {
+      if (! xsr.isStartElement()) continue;
+      String name = localName();
+      if (GMLConstants.GML_OUTER_BOUNDARY_IS.equals(name)) {
+        isInner = false;
+      }
+      else if (GMLConstants.GML_INNER_BOUNDARY_IS.equals(name)) {
+        isInner = true;
+      }
+      else if (GMLConstants.GML_LINEARRING.equals(name)) {
+        LinearRing ring = (LinearRing) readGeometry(srid);
+        if (isInner) {
+          holes.add(ring);
+        }
+        else {
+          if (shell != null)
+            throw new ParseException("Polygon has more than one outer boundary");
+          shell = ring;
+        }
+      }
+    }
+    if (shell == null)
+      throw new ParseException("Cannot create a polygon without atleast one linear ring");
+    return geometryFactory.createPolygon(shell, GeometryFactory.toLinearRingArray(holes));
+  }
+
+  private Geometry readCollection(String collName, int srid) throws XMLStreamException, ParseException {
+    List<Geometry> geoms = new ArrayList<Geometry>();
+    while (nextUntilEnd(collName)) {
+      if (xsr.isStartElement() && isGeometryElement(localName())) {
+        geoms.add(readGeometry(srid));
+      }
+    }
+    try {
+      switch (collName) {
+      case GMLConstants.GML_MULTI_POINT:
+        return geometryFactory.createMultiPoint(geoms.toArray(new Point[geoms.size()]));
+      case GMLConstants.GML_MULTI_LINESTRING:
+        return geometryFactory.createMultiLineString(geoms.toArray(new LineString[geoms.size()]));
+      case GMLConstants.GML_MULTI_POLYGON:
+        return geometryFactory.createMultiPolygon(geoms.toArray(new Polygon[geoms.size()]));
+      default:
+        return geometryFactory.createGeometryCollection(GeometryFactory.toGeometryArray(geoms));
+      }
+    }
+    catch (ArrayStoreException e) {
+      throw new ParseException("Invalid geometry type encountered in " + collName);
+    }
+  }
+
+  /**
+   * Reads the coordinates of a primitive geometry element,
+   * given as either a <code>coordinates</code> element
+   * or a list of <code>coord</code> elements.
+   */
+  private CoordinateSequence readCoordinates(String geomName) throws XMLStreamException, ParseException {
+    coordParser.reset();
+    boolean hasCoordinates = false;
+    while (nextUntilEnd(geomName)) {
+      if (! xsr.isStartElement()) continue;
+      String name = localName();
+      if (GMLConstants.GML_COORDINATES.equals(name)) {
+        readCoordinatesText();
+        hasCoordinates = true;
+      }
+      else if (GMLConstants.GML_COORD.equals(name)) {
+        readCoord();
+        hasCoordinates = true;
+      }
+    }
+    if (! hasCoordinates)
+      throw new ParseException("No coordinates found in " + geomName);
+    return coordParser.getCoordinateSequence(geometryFactory.getCoordinateSequenceFactory(), null);
+  }
+
+  private void readCoordinatesText() throws XMLStreamException, ParseException {
+    coordParser.setSeparators(
+        separator("cs", ','),
+        separator("ts", ' '),
+        separator("decimal", '.'));
+    while (nextUntilEnd(GMLConstants.GML_COORDINATES)) {
+      int event = xsr.getEventType();
+      if (event == XMLStreamConstants.CHARACTERS
+          || event == XMLStreamConstants.CDATA
+          || event == XMLStreamConstants.SPACE) {
+        coordParser.parse(xsr.getTextCharacters(), xsr.getTextStart(), xsr.getTextLength());
+      }
+    }
+  }
+
+  private void readCoord() throws XMLStreamException, ParseException {
+    int n = 0;
+    while (nextUntilEnd(GMLConstants.GML_COORD)) {
+      if (! xsr.isStartElement()) continue;
+      String name = localName();
+      int index;
+      if (GMLConstants.GML_COORD_X.equals(name)) index = 0;
+      else if (GMLConstants.GML_COORD_Y.equals(name)) index = 1;
+      else if (GMLConstants.GML_COORD_Z.equals(name)) index = 2;
+      else continue;
+      String text = xsr.getElementText().trim();
+      try {
+        coordValues[index] = Double.parseDouble(text);
+      }
+      catch (NumberFormatException e) {
+        throw new ParseException("Invalid number: " + text);
+      }
+      n = Math.max(n, index + 1);
+    }
+    if (n == 0)
+      throw new ParseException("Cannot create a coordinate without atleast one axis");
+    coordParser.addTuple(coordValues, n);
+  }
+
+  /**
+   * Advances to the next event,
+   * unless the end of the given element has been reached.
+   *
+   * @return false if the end element with the given name has been reached
+   */
+  private boolean nextUntilEnd(String elementName) throws XMLStreamException, ParseException {
+    if (! xsr.hasNext())
+      throw new ParseException("Unexpected end of GML document in " + elementName);
+    int event = xsr.next();
+    return ! (event == XMLStreamConstants.END_ELEMENT && elementName.equals(localName()));
+  }
+
+  private String localName() {
+    return stripPrefix(xsr.getLocalName());
+  }
+
+  private String attributeValue(String name) {
+    for (int i = 0; i < xsr.getAttributeCount(); i++) {
+      if (name.equals(stripPrefix(xsr.getAttributeLocalName(i))))
+        return xsr.getAttributeValue(i);
+    }
+    return null;
+  }
+
+  private char separator(String attrName, char defaultValue) {
+    String value = attributeValue(attrName);
+    if (value == null || value.length() == 0)
+      return defaultValue;
+    return value.charAt(0);
+  }
+
+  private static String stripPrefix(String name) {
+    int i = name.indexOf(':');
+    return i < 0 ? name : name.substring(i + 1);
+  }
+}
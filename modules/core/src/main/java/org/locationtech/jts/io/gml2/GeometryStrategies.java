@@ -498,7 +498,10 @@ public class GeometryStrategies{
 			srs = attrs.getValue(GMLConstants.GML_ATTR_SRSNAME);
 		else if(attrs.getIndex(GMLConstants.GML_NAMESPACE,GMLConstants.GML_ATTR_SRSNAME)>=0)
 			srs = attrs.getValue(GMLConstants.GML_NAMESPACE,GMLConstants.GML_ATTR_SRSNAME);
-		
+		return getSrid(srs, defaultValue);
+	}
+	
+	static int getSrid(String srs, int defaultValue){
 		if(srs != null){
 			srs = srs.trim();
 			if(srs != null && !"".equals(srs)){
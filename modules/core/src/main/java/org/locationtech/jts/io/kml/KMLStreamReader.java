@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io.kml;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.CoordinateTextParser;
+import org.locationtech.jts.io.ParseException;
+
+/**
+ * Reads the KML geometries in a document one at a time,
+ * using a streaming {@link XMLStreamReader}.
+ * <p>
+ * Each call to {@link #read()} returns the next top-level geometry element
+ * in document order, wherever it occurs in the document
+ * (typically inside <code>Placemark</code>s).
+ * Only the geometry currently being read is held in memory,
+ * so arbitrarily large documents can be processed in constant memory.
+ * Coordinate text is parsed directly into {@link CoordinateSequence}s
+ * by a {@link CoordinateTextParser}.
+ * <p>
+ * Geometries are constructed in the same way as by {@link KMLReader}.
+ * If any attribute names are specified,
+ * the values of those child elements of a geometry element
+ * are stored as a {@link Map} in {@link Geometry#setUserData(Object)}.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @see KMLReader
+ */
+public class KMLStreamReader {
+    private static final String POINT = "Point";
+    private static final String LINESTRING = "LineString";
+    private static final String LINEARRING = "LinearRing";
+    private static final String POLYGON = "Polygon";
+    private static final String MULTIGEOMETRY = "MultiGeometry";
+
+    private static final String COORDINATES = "coordinates";
+    private static final String OUTER_BOUNDARY_IS = "outerBoundaryIs";
+    private static final String INNER_BOUNDARY_IS = "innerBoundaryIs";
+
+    private final XMLStreamReader xsr;
+    private final GeometryFactory geometryFactory;
+    private final Set<String> attributeNames;
+    private final CoordinateTextParser coordParser = new CoordinateTextParser();
+
+    /**
+     * Creates a reader for a KML document in an {@link InputStream}
+     * that creates objects using the default {@link GeometryFactory}.
+     *
+     * @param is the stream to read from
+     * @throws ParseException if the XML stream cannot be created
+     */
+    public KMLStreamReader(InputStream is) throws ParseException {
+        this(is, new GeometryFactory(), null);
+    }
+
+    /**
+     * Creates a reader for a KML document in an {@link InputStream}.
+     *
+     * @param is the stream to read from
+     * @param geometryFactory the factory used to create <code>Geometry</code>s.
+     * @param attributeNames names of attributes that should be parsed (i.e. extrude, altitudeMode, tesselate, etc).
+     * @throws ParseException if the XML stream cannot be created
+     */
+    public KMLStreamReader(InputStream is, GeometryFactory geometryFactory, Collection<String> attributeNames) throws ParseException {
+        this.geometryFactory = geometryFactory;
+        this.attributeNames = toSet(attributeNames);
+        try {
+            xsr = createInputFactory().createXMLStreamReader(is);
+        } catch (XMLStreamException e) {
+            throw new ParseException(e);
+        }
+    }
+
+    /**
+     * Creates a reader for a KML document in a {@link Reader}.
+     *
+     * @param reader the reader to read from
+     * @param geometryFactory the factory used to create <code>Geometry</code>s.
+     * @param attributeNames names of attributes that should be parsed (i.e. extrude, altitudeMode, tesselate, etc).
+     * @throws ParseException if the XML stream cannot be created
+     */
+    public KMLStreamReader(Reader reader, GeometryFactory geometryFactory, Collection<String> attributeNames) throws ParseException {
+        this.geometryFactory = geometryFactory;
+        this.attributeNames = toSet(attributeNames);
+        try {
+            xsr = createInputFactory().createXMLStreamReader(reader);
+        } catch (XMLStreamException e) {
+            throw new ParseException(e);
+        }
+    }
+
+    private static Set<String> toSet(Collection<String> attributeNames) {
+        return attributeNames == null
+                ? Collections.<String>emptySet()
+                : new HashSet<>(attributeNames);
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        return factory;
+    }
+
+    /**
+     * Reads the next geometry in the document.
+     *
+     * @return the next geometry, or null if there are no more geometries
+     * @throws ParseException if a parsing problem occurs
+     */
+    public Geometry read() throws ParseException {
+        try {
+            while (xsr.hasNext()) {
+                if (xsr.next() == XMLStreamConstants.START_ELEMENT && isGeometryElement(localName())) {
+                    return readGeometry();
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new ParseException(e);
+        } catch (IllegalArgumentException e) {
+            throw new ParseException(e);
+        }
+    }
+
+    /**
+     * Reads all remaining geometries in the document.
+     *
+     * @return a list of the geometries read
+     * @throws ParseException if a parsing problem occurs
+     */
+    public List<Geometry> readAll() throws ParseException {
+        List<Geometry> geoms = new ArrayList<>();
+        Geometry geom;
+        while ((geom = read()) != null) {
+            geoms.add(geom);
+        }
+        return geoms;
+    }
+
+    /**
+     * Closes the underlying XML stream reader.
+     * The underlying input source is not closed.
+     *
+     * @throws ParseException if an error occurs
+     */
+    public void close() throws ParseException {
+        try {
+            xsr.close();
+        } catch (XMLStreamException e) {
+            throw new ParseException(e);
+        }
+    }
+
+    private static boolean isGeometryElement(String name) {
+        switch (name) {
+            case POINT:
+            case LINESTRING:
+            case LINEARRING:
+            case POLYGON:
+            case MULTIGEOMETRY:
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reads a geometry element.
+     * On entry the reader is positioned at the start element;
+     * on exit it is positioned at the matching end element.
+     */
+    private Geometry readGeometry() throws XMLStreamException, ParseException {
+        String name = localName();
+        switch (name) {
+            case POLYGON:
+                return readPolygon();
+            case MULTIGEOMETRY:
+                return readMultiGeometry();
+        }
+
+        Map<String, String> attributes = null;
+        CoordinateSequence seq = null;
+        while (nextUntilEnd(name)) {
+            if (!xsr.isStartElement()) continue;
+            String elementName = localName();
+            if (elementName.equals(COORDINATES)) {
+                seq = readCoordinates();
+            } else if (attributeNames.contains(elementName)) {
+                attributes = addAttribute(attributes, elementName);
+            }
+        }
+        if (seq == null) {
+            throw new ParseException(String.format("No element %s found in %s", COORDINATES, name));
+        }
+
+        Geometry geom;
+        switch (name) {
+            case POINT:
+                if (seq.size() == 0) {
+                    throw new ParseException("Empty coordinates");
+                }
+                geom = geometryFactory.createPoint(seq.size() == 1 ? seq : firstCoordinate(seq));
+                break;
+            case LINESTRING:
+                geom = geometryFactory.createLineString(seq);
+                break;
+            default:
+                geom = geometryFactory.createLinearRing(seq);
+        }
+        geom.setUserData(attributes);
+        return geom;
+    }
+
+    private CoordinateSequence firstCoordinate(CoordinateSequence seq) {
+        CoordinateSequence pt = geometryFactory.getCoordinateSequenceFactory().create(1, seq.getDimension());
+        for (int i = 0; i < pt.getDimension(); i++) {
+            pt.setOrdinate(0, i, seq.getOrdinate(0, i));
+        }
+        return pt;
+    }
+
+    private Polygon readPolygon() throws XMLStreamException, ParseException {
+        LinearRing shell = null;
+        List<LinearRing> holes = new ArrayList<>();
+        Map<String, String> attributes = null;
+        boolean isInner = false;
+
+        while (nextUntilEnd(POLYGON)) {
+            if (!xsr.isStartElement()) continue;
+            String elementName = localName();
+            if (elementName.equals(OUTER_BOUNDARY_IS)) {
+                isInner = false;
+            } else if (elementName.equals(INNER_BOUNDARY_IS)) {
+                isInner = true;
+            } else if (elementName.equals(LINEARRING)) {
+                LinearRing ring = (LinearRing) readGeometry();
+                if (isInner) {
+                    holes.add(ring);
+                } else {
+                    shell = ring;
+                }
+            } else if (attributeNames.contains(elementName)) {
+                attributes = addAttribute(attributes, elementName);
+            }
+        }
+
+        if (shell == null) {
+            throw new ParseException("No outer boundary for Polygon");
+        }
+
+        Polygon polygon = geometryFactory.createPolygon(shell,
+                holes.isEmpty() ? null : GeometryFactory.toLinearRingArray(holes));
+        polygon.setUserData(attributes);
+        return polygon;
+    }
+
+    private Geometry readMultiGeometry() throws XMLStreamException, ParseException {
+        List<Geometry> geometries = new ArrayList<>();
+        String firstParsedType = null;
+        boolean allTypesAreSame = true;
+
+        while (nextUntilEnd(MULTIGEOMETRY)) {
+            if (xsr.isStartElement() && isGeometryElement(localName())) {
+                Geometry geometry = readGeometry();
+                if (firstParsedType == null) {
+                    firstParsedType = geometry.getGeometryType();
+                } else if (!firstParsedType.equals(geometry.getGeometryType())) {
+                    allTypesAreSame = false;
+                }
+                geometries.add(geometry);
+            }
+        }
+
+        if (geometries.isEmpty()) {
+            return geometryFactory.createGeometryCollection();
+        }
+        if (geometries.size() == 1) {
+            return geometries.get(0);
+        }
+        if (allTypesAreSame) {
+            switch (firstParsedType) {
+                case POINT:
+                    return geometryFactory.createMultiPoint(GeometryFactory.toPointArray(geometries));
+                case LINESTRING:
+                    return geometryFactory.createMultiLineString(GeometryFactory.toLineStringArray(geometries));
+                case POLYGON:
+                    return geometryFactory.createMultiPolygon(GeometryFactory.toPolygonArray(geometries));
+            }
+        }
+        return geometryFactory.createGeometryCollection(GeometryFactory.toGeometryArray(geometries));
+    }
+
+    private CoordinateSequence readCoordinates() throws XMLStreamException, ParseException {
+        coordParser.reset();
+        while (nextUntilEnd(COORDINATES)) {
+            int event = xsr.getEventType();
+            if (event == XMLStreamConstants.CHARACTERS
+                    || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE) {
+                coordParser.parse(xsr.getTextCharacters(), xsr.getTextStart(), xsr.getTextLength());
+            }
+        }
+        CoordinateSequence seq = coordParser.getCoordinateSequence(geometryFactory.getCoordinateSequenceFactory(),
+                geometryFactory.getPrecisionModel());
+        for (int i = 0; i < seq.size(); i++) {
+            if (Double.isNaN(seq.getX(i)) || Double.isNaN(seq.getY(i))) {
+                throw new ParseException("Invalid coordinate format");
+            }
+        }
+        return seq;
+    }
+
+    private Map<String, String> addAttribute(Map<String, String> attributes, String elementName) throws XMLStreamException {
+        if (attributes == null) {
+            attributes = new HashMap<>();
+        }
+        attributes.put(elementName, xsr.getElementText());
+        return attributes;
+    }
+
+    /**
+     * Advances to the next event,
+     * unless the end of the given element has been reached.
+     *
+     * @return false if the end element with the given name has been reached
+     */
+    private boolean nextUntilEnd(String elementName) throws XMLStreamException, ParseException {
+        if (!xsr.hasNext()) {
+            throw new ParseException("Unexpected end of KML document in " + elementName);
+        }
+        int event = xsr.next();
+        return !(event == XMLStreamConstants.END_ELEMENT && elementName.equals(localName()));
+    }
+
+    private String localName() {
+        String name = xsr.getLocalName();
+        int i = name.indexOf(':');
+        return i < 0 ? name : name.substring(i + 1);
+    }
+}
@@ -14,6 +14,8 @@ package org.locationtech.jts.linearref;
 
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.CoordinateList;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequences;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.LineString;
 import org.locationtech.jts.geom.Lineal;
@@ -59,11 +61,59 @@ class ExtractLineByLocation
   public Geometry extract(LinearLocation start, LinearLocation end)
   {
     if (end.compareTo(start) < 0) {
-      return reverse(computeLinear(end, start));
+      return reverse(computeSubline(end, start));
     }
+    return computeSubline(start, end);
+  }
+
+  private Geometry computeSubline(LinearLocation start, LinearLocation end)
+  {
+    Geometry subline = computeVertexLine(start, end);
+    if (subline != null)
+      return subline;
     return computeLinear(start, end);
   }
 
+  /**
+   * Computes the subline between two locations which are vertices of a LineString,
+   * by copying the range of the line coordinates
+   * into a sequence created by the line's factory.
+   * This avoids building the subline a coordinate at a time.
+   * Assumes input is valid (e.g. start <= end)
+   *
+   * @param start
+   * @param end
+   * @return the subline, or null if the locations are not suitable
+   */
+  private LineString computeVertexLine(LinearLocation start, LinearLocation end)
+  {
+    if (! (line instanceof LineString))
+      return null;
+    if (! start.isVertex() || ! end.isVertex())
+      return null;
+    CoordinateSequence seq = ((LineString) line).getCoordinateSequence();
+    int startIndex = vertexIndex(start, seq.size());
+    int endIndex = vertexIndex(end, seq.size());
+    // lines with a single point are built by the general case
+    if (endIndex <= startIndex)
+      return null;
+    int size = endIndex - startIndex + 1;
+    CoordinateSequence subSeq = line.getFactory().getCoordinateSequenceFactory()
+        .create(size, seq.getDimension(), seq.getMeasures());
+    CoordinateSequences.copy(seq, startIndex, subSeq, 0, size);
+    return line.getFactory().createLineString(subSeq);
+  }
+
+  private static int vertexIndex(LinearLocation loc, int numPts)
+  {
+    int index = loc.getSegmentIndex();
+    if (loc.getSegmentFraction() >= 1.0)
+      index += 1;
+    if (index >= numPts)
+      index = numPts - 1;
+    return index;
+  }
+
   private Geometry reverse(Geometry linear)
   {
     if (linear instanceof Lineal)
@@ -14,7 +14,6 @@ package org.locationtech.jts.operation.buffer;
 import org.locationtech.jts.algorithm.Distance;
 import org.locationtech.jts.algorithm.Orientation;
 import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.CoordinateList;
 
 /**
  * Simplifies a buffer input line to 
@@ -163,13 +162,18 @@ public class BufferInputLineSimplifier
   
   private Coordinate[] collapseLine()
   {
-    CoordinateList coordList = new CoordinateList();
+    int size = 0;
     for (int i = 0; i < inputLine.length; i++) {
       if (isDeleted[i] != DELETE)
-        coordList.add(inputLine[i]);
+        size++;
     }
-//    if (coordList.size() < inputLine.length)      System.out.println("Simplified " + (inputLine.length - coordList.size()) + " pts");
-    return coordList.toCoordinateArray();
+    Coordinate[] pts = new Coordinate[size];
+    int index = 0;
+    for (int i = 0; i < inputLine.length; i++) {
+      if (isDeleted[i] != DELETE)
+        pts[index++] = inputLine[i];
+    }
+    return pts;
   }
   
   private boolean isDeletable(int i0, int i1, int i2, double distanceTol)
@@ -13,16 +13,21 @@ package org.locationtech.jts.operation.buffer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
+
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.geom.PrecisionModel;
 import org.locationtech.jts.geom.TopologyException;
+import org.locationtech.jts.index.strtree.STRtree;
 import org.locationtech.jts.math.MathUtil;
 import org.locationtech.jts.noding.Noder;
 import org.locationtech.jts.noding.ScaledNoder;
 import org.locationtech.jts.noding.snapround.SnapRoundingNoder;
+import org.locationtech.jts.operation.union.CascadedPolygonUnion;
+import org.locationtech.jts.util.ParallelMap;
 
 //import debug.*;
 
@@ -75,6 +80,15 @@ import org.locationtech.jts.noding.snapround.SnapRoundingNoder;
  * an effective way to "validify" the geometry.
  * Note however that in the case of self-intersecting "bow-tie" geometries,
  * only the largest enclosed area will be retained.
+ * <p>
+ * The positive buffer of a geometry with many components
+ * can be computed using multiple threads (see {@link #setNumThreads(int)}).
+ * The components are divided into groups of spatially close components,
+ * the groups are buffered concurrently,
+ * and the group buffers are combined using {@link CascadedPolygonUnion}.
+ * Since the buffer of a union is the union of the buffers,
+ * the result is equivalent to the single-threaded buffer
+ * (although the vertices may differ slightly due to noding).
  *
  * @version 1.7
  */
@@ -109,6 +123,11 @@ public class BufferOp
    * This value should be less than the decimal precision of double-precision values (16).
    */
   private static int MAX_PRECISION_DIGITS = 12;
+  
+  /**
+   * The number of component groups created per thread for parallel buffering.
+   */
+  private static final int GROUPS_PER_THREAD = 4;
 
   /**
    * Compute a scale factor to limit the precision of
@@ -309,6 +328,7 @@ public class BufferOp
   private Geometry resultGeometry = null;
   private RuntimeException saveException;   // debugging only
   private boolean isInvertOrientation = false;
+  private int numThreads = 1;
 
   /**
    * Initializes a buffer computation for the given geometry
@@ -353,6 +373,21 @@ public class BufferOp
     bufParams.setQuadrantSegments(quadrantSegments);
   }
   
+  /**
+   * Sets the number of threads used to buffer a geometry with multiple components.
+   * Multiple threads are only used for positive buffer distances.
+   * The default is 1, which computes the buffer in the calling thread.
+   *
+   * @param numThreads the number of threads to use
+   * @throws IllegalArgumentException if the number of threads is less than 1
+   */
+  public void setNumThreads(int numThreads)
+  {
+    if (numThreads < 1)
+      throw new IllegalArgumentException("Number of threads must be >= 1");
+    this.numThreads = numThreads;
+  }
+  
   /**
    * Returns the buffer computed for a geometry for a given buffer distance.
    *
@@ -362,9 +397,100 @@ public class BufferOp
   public Geometry getResultGeometry(double distance)
   {
     this.distance = distance;
-    computeGeometry();
+    if (isParallel()) {
+      resultGeometry = bufferParallel();
+    }
+    else {
+      computeGeometry();
+    }
     return resultGeometry;
   }
+  
+  /**
+   * Tests whether the buffer can be computed using multiple threads.
+   * Negative and zero buffers are not the union of the component buffers
+   * (for instance if components overlap), so they are computed serially.
+   */
+  private boolean isParallel()
+  {
+    return numThreads > 1 
+        && distance > 0.0
+        && ! isInvertOrientation
+        && argGeom.getNumGeometries() > 1;
+  }
+  
+  /**
+   * Computes the buffer by buffering groups of spatially close components
+   * concurrently, and unioning the group buffers.
+   * 
+   * @return the buffer of the input geometry
+   */
+  private Geometry bufferParallel()
+  {
+    final GeometryFactory geomFact = argGeom.getFactory();
+    List<List<Geometry>> groups = groupComponents(argGeom, numThreads * GROUPS_PER_THREAD);
+    List<Geometry> groupBuffers = ParallelMap.map(groups, new Function<List<Geometry>, Geometry>() {
+      public Geometry apply(List<Geometry> group) {
+        Geometry groupGeom = geomFact.buildGeometry(group);
+        BufferOp op = new BufferOp(groupGeom, bufParams);
+        return op.getResultGeometry(distance);
+      }
+    }, numThreads);
+    
+    List<Geometry> polys = new ArrayList<Geometry>();
+    for (Geometry buf : groupBuffers) {
+      if (! buf.isEmpty()) 
+        polys.add(buf);
+    }
+    if (polys.isEmpty())
+      return geomFact.createPolygon();
+    if (polys.size() == 1)
+      return polys.get(0);
+    return CascadedPolygonUnion.union(polys);
+  }
+
+  /**
+   * Divides the non-empty components of a geometry 
+   * into groups of spatially close components.
+   * The groups are the leaves of an STR-packed tree
+   * with a node capacity chosen to produce the required number of groups.
+   * 
+   * @param geom the geometry to divide
+   * @param numGroups the approximate number of groups to create
+   * @return a list of component groups
+   */
+  private static List<List<Geometry>> groupComponents(Geometry geom, int numGroups)
+  {
+    List<Geometry> comps = new ArrayList<Geometry>();
+    for (int i = 0; i < geom.getNumGeometries(); i++) {
+      Geometry comp = geom.getGeometryN(i);
+      if (! comp.isEmpty())
+        comps.add(comp);
+    }
+    int nodeCapacity = Math.max(2, (int) Math.ceil(comps.size() / (double) numGroups));
+    STRtree tree = new STRtree(nodeCapacity);
+    for (Geometry comp : comps) {
+      tree.insert(comp.getEnvelopeInternal(), comp);
+    }
+    List<List<Geometry>> groups = new ArrayList<List<Geometry>>();
+    addLeafGroups(tree.itemsTree(), groups);
+    return groups;
+  }
+
+  private static void addLeafGroups(List itemsTree, List<List<Geometry>> groups)
+  {
+    List<Geometry> items = new ArrayList<Geometry>();
+    for (Object child : itemsTree) {
+      if (child instanceof List) {
+        addLeafGroups((List) child, groups);
+      }
+      else {
+        items.add((Geometry) child);
+      }
+    }
+    if (! items.isEmpty())
+      groups.add(items);
+  }
 
   private void computeGeometry()
   {
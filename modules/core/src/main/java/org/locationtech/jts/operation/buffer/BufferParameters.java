@@ -135,6 +135,23 @@ public class BufferParameters
     setMitreLimit(mitreLimit);
   }
 
+  /**
+   * Creates a copy of this set of parameters.
+   * 
+   * @return a copy of the parameters
+   */
+  public BufferParameters copy()
+  {
+    BufferParameters bp = new BufferParameters();
+    bp.quadrantSegments = quadrantSegments;
+    bp.endCapStyle = endCapStyle;
+    bp.joinStyle = joinStyle;
+    bp.mitreLimit = mitreLimit;
+    bp.isSingleSided = isSingleSided;
+    bp.simplifyFactor = simplifyFactor;
+    return bp;
+  }
+
   /**
    * Gets the number of quadrant segments which will be used
    * 
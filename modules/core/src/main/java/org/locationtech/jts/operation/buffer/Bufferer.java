@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.buffer;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateArrays;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+
+/**
+ * Computes buffers of many geometries using the same {@link BufferParameters}.
+ * This is more efficient than using {@link BufferOp} for each geometry
+ * when buffering large numbers of small geometries,
+ * since state derived from the parameters is computed once
+ * and the offset curve generator is reused for each geometry.
+ * <p>
+ * Points and two-point lines are buffered by a fast path
+ * which creates the result polygon directly from the offset curve,
+ * without noding or building a topology graph.
+ * (The buffer curve of these inputs is always simple,
+ * so the result is the same as computed by {@link BufferOp}).
+ * The fast path is used only for inputs with floating precision
+ * and a distance which is not very small relative to the
+ * magnitude of the coordinates.
+ * Other geometries are buffered using {@link BufferOp}.
+ * <p>
+ * The buffer parameters are copied when the Bufferer is created,
+ * so subsequent changes to them do not affect it.
+ * <p>
+ * Instances of this class are not thread-safe.
+ *
+ * <pre>
+ * Bufferer bufferer = new Bufferer(bufParams);
+ * for (Geometry geom : geoms) {
+ *   Geometry buf = bufferer.buffer(geom, distance);
+ *   ...
+ * }
+ * </pre>
+ *
+ * @author Martin Davis
+ *
+ * @see BufferOp
+ */
+public class Bufferer {
+
+  /**
+   * The smallest buffer distance (and line length)
+   * for which the fast path is used,
+   * as a fraction of the magnitude of the input coordinates.
+   * Below this, round-off in the curve vertices
+   * may cause the curve to not be simple.
+   */
+  private static final double MIN_RELATIVE_SIZE = 1.0E-10;
+
+  /**
+   * The smallest distance between adjacent circle vertices
+   * for which the circle template can be used,
+   * as a fraction of the radius.
+   * This matches the vertex snap distance of the offset curve generator.
+   */
+  private static final double MIN_CIRCLE_VERTEX_SEPARATION = 1.0E-6;
+
+  private BufferParameters bufParams;
+
+  /**
+   * The unit-circle vertex offsets for a point buffer,
+   * or null if the point buffer is not round
+   */
+  private double[] circleX = null;
+  private double[] circleY = null;
+
+  private OffsetCurveBuilder curveBuilder;
+
+  /**
+   * Creates a Bufferer which uses the default buffer parameters.
+   */
+  public Bufferer() {
+    this(new BufferParameters());
+  }
+
+  /**
+   * Creates a Bufferer which uses the given buffer parameters.
+   *
+   * @param bufParams the buffer parameters to use
+   */
+  public Bufferer(BufferParameters bufParams) {
+    this.bufParams = bufParams.copy();
+    curveBuilder = new OffsetCurveBuilder(new PrecisionModel(), this.bufParams);
+    if (this.bufParams.getEndCapStyle() == BufferParameters.CAP_ROUND) {
+      createCircleTemplate(this.bufParams.getQuadrantSegments());
+    }
+  }
+
+  /**
+   * Computes the buffer of a geometry for a given distance.
+   *
+   * @param geom the geometry to buffer
+   * @param distance the buffer distance
+   * @return the buffer of the geometry
+   */
+  public Geometry buffer(Geometry geom, double distance) {
+    Geometry result = null;
+    if (isFastPath(geom)) {
+      if (geom instanceof Point) {
+        result = bufferPoint((Point) geom, distance);
+      }
+      else if (geom instanceof LineString) {
+        result = bufferLine((LineString) geom, distance);
+      }
+    }
+    if (result != null)
+      return result;
+    return BufferOp.bufferOp(geom, distance, bufParams);
+  }
+
+  private boolean isFastPath(Geometry geom) {
+    if (geom.isEmpty()) return false;
+    if (bufParams.isSingleSided()) return false;
+    return geom.getPrecisionModel().getType() == PrecisionModel.FLOATING;
+  }
+
+  /**
+   * Computes the buffer of a point directly.
+   *
+   * @param point the point to buffer
+   * @param distance the buffer distance
+   * @return the buffer polygon, or null if the fast path does not apply
+   */
+  private Geometry bufferPoint(Point point, double distance) {
+    GeometryFactory geomFact = point.getFactory();
+    // a zero or negative width buffer of a point is empty
+    if (distance <= 0.0)
+      return geomFact.createPolygon();
+
+    Coordinate p = point.getCoordinate();
+    if (! p.isValid())
+      return null;
+    if (! isWellConditioned(distance, magnitude(p)))
+      return null;
+
+    switch (bufParams.getEndCapStyle()) {
+    case BufferParameters.CAP_ROUND:
+      if (circleX == null) return null;
+      return geomFact.createPolygon(createCircle(p, distance));
+    case BufferParameters.CAP_SQUARE:
+      return geomFact.createPolygon(createSquare(p, distance));
+    }
+    // the buffer of a point with a flat end cap is empty
+    return geomFact.createPolygon();
+  }
+
+  /**
+   * Computes the buffer of a two-point line directly.
+   *
+   * @param line the line to buffer
+   * @param distance the buffer distance
+   * @return the buffer polygon, or null if the fast path does not apply
+   */
+  private Geometry bufferLine(LineString line, double distance) {
+    if (line.getNumPoints() > 2) return null;
+
+    GeometryFactory geomFact = line.getFactory();
+    if (curveBuilder.isLineOffsetEmpty(distance))
+      return geomFact.createPolygon();
+
+    Coordinate[] pts = CoordinateArrays.removeRepeatedOrInvalidPoints(line.getCoordinates());
+    if (pts.length != 2) return null;
+
+    double scale = Math.max(magnitude(pts[0]), magnitude(pts[1]));
+    if (! isWellConditioned(distance, scale)
+        || ! isWellConditioned(pts[0].distance(pts[1]), scale))
+      return null;
+
+    Coordinate[] curve = curveBuilder.getLineCurve(pts, distance);
+    return geomFact.createPolygon(curve);
+  }
+
+  private static double magnitude(Coordinate p) {
+    return Math.max(Math.abs(p.x), Math.abs(p.y));
+  }
+
+  private static boolean isWellConditioned(double size, double scale) {
+    return size >= MIN_RELATIVE_SIZE * scale;
+  }
+
+  /**
+   * Computes the vertex offsets of a unit circle,
+   * using the same vertices as the offset curve generator.
+   * The circle starts at angle 0 and is oriented clockwise.
+   *
+   * @param quadrantSegments the number of segments in a quarter-circle
+   */
+  private void createCircleTemplate(int quadrantSegments) {
+    double filletAngleQuantum = Math.PI / 2.0 / quadrantSegments;
+    double totalAngle = 2.0 * Math.PI;
+    int nSegs = (int) (totalAngle / filletAngleQuantum + 0.5);
+    double angleInc = totalAngle / nSegs;
+
+    /**
+     * The template cannot be used if the generator would remove
+     * vertices as being too close (allowing a margin for round-off)
+     */
+    double chordLen = 2 * Math.sin(angleInc / 2);
+    if (chordLen < 2 * MIN_CIRCLE_VERTEX_SEPARATION)
+      return;
+
+    circleX = new double[nSegs];
+    circleY = new double[nSegs];
+    for (int i = 0; i < nSegs; i++) {
+      double angle = -i * angleInc;
+      circleX[i] = Math.cos(angle);
+      circleY[i] = Math.sin(angle);
+    }
+  }
+
+  private Coordinate[] createCircle(Coordinate p, double radius) {
+    int n = circleX.length;
+    Coordinate[] pts = new Coordinate[n + 1];
+    pts[0] = new Coordinate(p.x + radius, p.y);
+    for (int i = 1; i < n; i++) {
+      pts[i] = new Coordinate(p.x + radius * circleX[i], p.y + radius * circleY[i]);
+    }
+    pts[n] = pts[0].copy();
+    return pts;
+  }
+
+  private static Coordinate[] createSquare(Coordinate p, double distance) {
+    Coordinate[] pts = new Coordinate[5];
+    pts[0] = new Coordinate(p.x + distance, p.y + distance);
+    pts[1] = new Coordinate(p.x + distance, p.y - distance);
+    pts[2] = new Coordinate(p.x - distance, p.y - distance);
+    pts[3] = new Coordinate(p.x - distance, p.y + distance);
+    pts[4] = pts[0].copy();
+    return pts;
+  }
+}
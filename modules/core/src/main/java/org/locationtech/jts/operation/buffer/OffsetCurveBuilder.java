@@ -34,6 +34,11 @@ public class OffsetCurveBuilder
   private double distance = 0.0;
   private PrecisionModel precisionModel;
   private BufferParameters bufParams;
+  /**
+   * The segment generator is reused for each curve,
+   * to avoid reallocating its working storage.
+   */
+  private OffsetSegmentGenerator segGen = null;
   
   public OffsetCurveBuilder(
                 PrecisionModel precisionModel,
@@ -169,7 +174,13 @@ public class OffsetCurveBuilder
     
   private OffsetSegmentGenerator getSegGen(double distance)
   {
-    return new OffsetSegmentGenerator(precisionModel, bufParams, distance);
+    if (segGen == null) {
+      segGen = new OffsetSegmentGenerator(precisionModel, bufParams, distance);
+    }
+    else {
+      segGen.init(distance);
+    }
+    return segGen;
   }
   
   /**
@@ -85,7 +85,7 @@ class OffsetSegmentGenerator
    */
   private int closingSegLengthFactor = 1;
 
-  private OffsetSegmentString segList;
+  private OffsetSegmentString segList = new OffsetSegmentString();
   private double distance = 0.0;
   private PrecisionModel precisionModel;
   private BufferParameters bufParams;
@@ -96,6 +96,9 @@ class OffsetSegmentGenerator
   private LineSegment seg1 = new LineSegment();
   private LineSegment offset0 = new LineSegment();
   private LineSegment offset1 = new LineSegment();
+  private LineSegment capSeg = new LineSegment();
+  private LineSegment offsetL = new LineSegment();
+  private LineSegment offsetR = new LineSegment();
   private int side = 0;
   private boolean hasNarrowConcaveAngle = false;
 
@@ -103,6 +106,7 @@ class OffsetSegmentGenerator
       BufferParameters bufParams, double distance) {
     this.precisionModel = precisionModel;
     this.bufParams = bufParams;
+    segList.setPrecisionModel(precisionModel);
 
     // compute intersections in full precision, to provide accuracy
     // the points are rounded as they are inserted into the curve line
@@ -137,12 +141,20 @@ class OffsetSegmentGenerator
     return hasNarrowConcaveAngle;
   }
   
-  private void init(double distance)
+  /**
+   * Initializes the generator to create a new curve
+   * at the given offset distance.
+   * Any previously generated curve is discarded,
+   * but its storage is retained to be reused for the new curve.
+   * 
+   * @param distance the offset distance
+   */
+  void init(double distance)
   {
     this.distance = distance;
     maxCurveSegmentError = distance * (1 - Math.cos(filletAngleQuantum / 2.0));
-    segList = new OffsetSegmentString();
-    segList.setPrecisionModel(precisionModel);
+    hasNarrowConcaveAngle = false;
+    segList.reset();
     /**
      * Choose the min vertex separation as a small fraction of the offset distance.
      */
@@ -346,12 +358,10 @@ class OffsetSegmentGenerator
          * Add "closing segment" of required length.
          */
         if (closingSegLengthFactor > 0) {
-          Coordinate mid0 = new Coordinate((closingSegLengthFactor * offset0.p1.x + s1.x)/(closingSegLengthFactor + 1), 
+          segList.addPt((closingSegLengthFactor * offset0.p1.x + s1.x)/(closingSegLengthFactor + 1), 
               (closingSegLengthFactor*offset0.p1.y + s1.y)/(closingSegLengthFactor + 1));
-          segList.addPt(mid0);
-          Coordinate mid1 = new Coordinate((closingSegLengthFactor*offset1.p0.x + s1.x)/(closingSegLengthFactor + 1), 
+          segList.addPt((closingSegLengthFactor*offset1.p0.x + s1.x)/(closingSegLengthFactor + 1), 
              (closingSegLengthFactor*offset1.p0.y + s1.y)/(closingSegLengthFactor + 1));
-          segList.addPt(mid1);
         }
         else {
           /**
@@ -399,12 +409,9 @@ class OffsetSegmentGenerator
    */
   public void addLineEndCap(Coordinate p0, Coordinate p1)
   {
-    LineSegment seg = new LineSegment(p0, p1);
-
-    LineSegment offsetL = new LineSegment();
-    computeOffsetSegment(seg, Position.LEFT, distance, offsetL);
-    LineSegment offsetR = new LineSegment();
-    computeOffsetSegment(seg, Position.RIGHT, distance, offsetR);
+    capSeg.setCoordinates(p0, p1);
+    computeOffsetSegment(capSeg, Position.LEFT, distance, offsetL);
+    computeOffsetSegment(capSeg, Position.RIGHT, distance, offsetR);
 
     double dx = p1.x - p0.x;
     double dy = p1.y - p0.y;
@@ -424,18 +431,15 @@ class OffsetSegmentGenerator
         break;
       case BufferParameters.CAP_SQUARE:
         // add a square defined by extensions of the offset segment endpoints
-        Coordinate squareCapSideOffset = new Coordinate();
-        squareCapSideOffset.x = Math.abs(distance) * Math.cos(angle);
-        squareCapSideOffset.y = Math.abs(distance) * Math.sin(angle);
-
-        Coordinate squareCapLOffset = new Coordinate(
-            offsetL.p1.x + squareCapSideOffset.x,
-            offsetL.p1.y + squareCapSideOffset.y);
-        Coordinate squareCapROffset = new Coordinate(
-            offsetR.p1.x + squareCapSideOffset.x,
-            offsetR.p1.y + squareCapSideOffset.y);
-        segList.addPt(squareCapLOffset);
-        segList.addPt(squareCapROffset);
+        double squareCapSideOffsetX = Math.abs(distance) * Math.cos(angle);
+        double squareCapSideOffsetY = Math.abs(distance) * Math.sin(angle);
+
+        segList.addPt(
+            offsetL.p1.x + squareCapSideOffsetX,
+            offsetL.p1.y + squareCapSideOffsetY);
+        segList.addPt(
+            offsetR.p1.x + squareCapSideOffsetX,
+            offsetR.p1.y + squareCapSideOffsetY);
         break;
 
     }
@@ -599,12 +603,10 @@ class OffsetSegmentGenerator
      // choose angle increment so that each segment has equal length
     double angleInc = totalAngle / nSegs;
 
-    Coordinate pt = new Coordinate();
     for (int i = 0; i < nSegs; i++) {
       double angle = startAngle + directionFactor * i * angleInc;
-      pt.x = p.x + radius * Math.cos(angle);
-      pt.y = p.y + radius * Math.sin(angle);
-      segList.addPt(pt);
+      segList.addPt(p.x + radius * Math.cos(angle),
+          p.y + radius * Math.sin(angle));
     }
   }
 
@@ -614,8 +616,7 @@ class OffsetSegmentGenerator
   public void createCircle(Coordinate p)
   {
     // add start point
-    Coordinate pt = new Coordinate(p.x + distance, p.y);
-    segList.addPt(pt);
+    segList.addPt(p.x + distance, p.y);
     addDirectedFillet(p, 0.0, 2.0 * Math.PI, -1, distance);
     segList.closeRing();
   }
@@ -625,10 +626,10 @@ class OffsetSegmentGenerator
    */
   public void createSquare(Coordinate p)
   {
-    segList.addPt(new Coordinate(p.x + distance, p.y + distance));
-    segList.addPt(new Coordinate(p.x + distance, p.y - distance));
-    segList.addPt(new Coordinate(p.x - distance, p.y - distance));
-    segList.addPt(new Coordinate(p.x - distance, p.y + distance));
+    segList.addPt(p.x + distance, p.y + distance);
+    segList.addPt(p.x + distance, p.y - distance);
+    segList.addPt(p.x - distance, p.y - distance);
+    segList.addPt(p.x - distance, p.y + distance);
     segList.closeRing();
   }
 }
@@ -11,8 +11,6 @@
  */
 package org.locationtech.jts.operation.buffer;
 
-import java.util.ArrayList;
-
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.LineString;
@@ -22,16 +20,26 @@ import org.locationtech.jts.geom.PrecisionModel;
  * A dynamic list of the vertices in a constructed offset curve.
  * Automatically removes adjacent vertices
  * which are closer than a given tolerance.
+ * <p>
+ * The vertices are stored as XYZ ordinate triples in a growable
+ * array, which is retained when the string is {@link #reset()},
+ * so that building many curves does not allocate
+ * an object per vertex.
  * 
  * @author Martin Davis
  *
  */
 class OffsetSegmentString 
 {
-  private static final Coordinate[] COORDINATE_ARRAY_TYPE = new Coordinate[0];
+  private static final int INIT_CAPACITY = 64;
 
-  private ArrayList ptList;
+  /**
+   * The ordinates of the vertices, stored as x, y, z triples.
+   */
+  private double[] ords = new double[3 * INIT_CAPACITY];
+  private int size = 0;
   private PrecisionModel precisionModel = null;
+  private boolean isFloating = true;
   
   /**
    * The distance below which two adjacent points on the curve 
@@ -42,12 +50,12 @@ class OffsetSegmentString
 
   public OffsetSegmentString()
   {
-  	ptList = new ArrayList();
   }
   
   public void setPrecisionModel(PrecisionModel precisionModel)
   {
   	this.precisionModel = precisionModel;
+  	isFloating = precisionModel.getType() == PrecisionModel.FLOATING;
   }
   
   public void setMinimumVertexDistance(double minimimVertexDistance)
@@ -55,15 +63,64 @@ class OffsetSegmentString
   	this.minimimVertexDistance = minimimVertexDistance;
   }
   
+  /**
+   * Removes all vertices, retaining the allocated storage.
+   */
+  public void reset()
+  {
+    size = 0;
+  }
+  
+  /**
+   * Gets the number of vertices in the string.
+   * 
+   * @return the number of vertices
+   */
+  public int size()
+  {
+    return size;
+  }
+  
   public void addPt(Coordinate pt)
   {
-    Coordinate bufPt = new Coordinate(pt);
-    precisionModel.makePrecise(bufPt);
+    addPt(pt.x, pt.y, pt.getZ());
+  }
+  
+  /**
+   * Adds a vertex with no Z value.
+   * 
+   * @param x the X ordinate
+   * @param y the Y ordinate
+   */
+  public void addPt(double x, double y)
+  {
+    addPt(x, y, Coordinate.NULL_ORDINATE);
+  }
+  
+  private void addPt(double x, double y, double z)
+  {
+    if (! isFloating) {
+      x = precisionModel.makePrecise(x);
+      y = precisionModel.makePrecise(y);
+    }
     // don't add duplicate (or near-duplicate) points
-    if (isRedundant(bufPt))
+    if (isRedundant(x, y))
         return;
-    ptList.add(bufPt);
-//System.out.println(bufPt);
+    append(x, y, z);
+  }
+  
+  private void append(double x, double y, double z)
+  {
+    int i = 3 * size;
+    if (i + 3 > ords.length) {
+      double[] newOrds = new double[2 * ords.length];
+      System.arraycopy(ords, 0, newOrds, 0, i);
+      ords = newOrds;
+    }
+    ords[i] = x;
+    ords[i + 1] = y;
+    ords[i + 2] = z;
+    size++;
   }
   
   public void addPts(Coordinate[] pt, boolean isForward)
@@ -85,15 +142,18 @@ class OffsetSegmentString
    * relative to the previous
    * point in the list (up to tolerance).
    * 
-   * @param pt
+   * @param x the X ordinate of the point
+   * @param y the Y ordinate of the point
    * @return true if the point is redundant
    */
-  private boolean isRedundant(Coordinate pt)
+  private boolean isRedundant(double x, double y)
   {
-    if (ptList.size() < 1)
+    if (size < 1)
     	return false;
-    Coordinate lastPt = (Coordinate) ptList.get(ptList.size() - 1);
-    double ptDist = pt.distance(lastPt);
+    int last = 3 * (size - 1);
+    double dx = x - ords[last];
+    double dy = y - ords[last + 1];
+    double ptDist = Math.sqrt(dx * dx + dy * dy);
     if (ptDist < minimimVertexDistance)
     	return true;
     return false;
@@ -101,11 +161,10 @@ class OffsetSegmentString
   
   public void closeRing()
   {
-    if (ptList.size() < 1) return;
-    Coordinate startPt = new Coordinate((Coordinate) ptList.get(0));
-    Coordinate lastPt = (Coordinate) ptList.get(ptList.size() - 1);
-    if (startPt.equals(lastPt)) return;
-    ptList.add(startPt);
+    if (size < 1) return;
+    int last = 3 * (size - 1);
+    if (ords[0] == ords[last] && ords[1] == ords[last + 1]) return;
+    append(ords[0], ords[1], ords[2]);
   }
 
   public void reverse()
@@ -115,15 +174,10 @@ class OffsetSegmentString
   
   public Coordinate[] getCoordinates()
   {
-    /*
-     // check that points are a ring - add the startpoint again if they are not
-   if (ptList.size() > 1) {
-      Coordinate start  = (Coordinate) ptList.get(0);
-      Coordinate end    = (Coordinate) ptList.get(ptList.size() - 1);
-      if (! start.equals(end) ) addPt(start);
+    Coordinate[] coord = new Coordinate[size];
+    for (int i = 0; i < size; i++) {
+      coord[i] = new Coordinate(ords[3 * i], ords[3 * i + 1], ords[3 * i + 2]);
     }
-    */
-    Coordinate[] coord = (Coordinate[]) ptList.toArray(COORDINATE_ARRAY_TYPE);
     return coord;
   }
 
@@ -0,0 +1,712 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.distance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
+import org.locationtech.jts.algorithm.locate.PointOnGeometryLocator;
+import org.locationtech.jts.algorithm.locate.SimplePointInAreaLocator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Dimension;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryComponentFilter;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygonal;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.ItemVisitor;
+import org.locationtech.jts.index.strtree.AbstractNode;
+import org.locationtech.jts.index.strtree.Boundable;
+import org.locationtech.jts.index.strtree.ItemBoundable;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.locationtech.jts.shape.fractal.HilbertCode;
+import org.locationtech.jts.util.ParallelMap;
+
+/**
+ * Computes distance joins between a set of query geometries
+ * and a set of feature geometries.
+ * The supported joins are:
+ * <ul>
+ * <li>{@link #nearest(Geometry[], int[], double[])} finds the nearest feature to each query
+ * <li>{@link #withinDistance(Geometry[], double)} finds all features within a distance of each query
+ * <li>{@link #distanceMatrix(Geometry[])} computes the distance from every query to every feature
+ * </ul>
+ * Distances are the same as {@link Geometry#distance(Geometry)}
+ * (i.e. they are zero if a geometry lies inside an area of the other).
+ * <p>
+ * The facets (segments and points) of the features are indexed in an {@link STRtree},
+ * which is created once and shared by all queries.
+ * The queries are sorted along a Hilbert curve,
+ * and processed in batches of spatially close queries.
+ * The nearest-feature search for a query is a best-first traversal of the index,
+ * which reuses the search queue of the batch,
+ * and uses the distance to the nearest feature of the previous query
+ * as the initial bound.
+ * The batches are processed in parallel,
+ * using the number of threads set by {@link #setNumThreads(int)}.
+ * The results are returned in primitive arrays, in the order of the queries.
+ * <p>
+ * Empty features are never returned as the nearest feature.
+ * Ties between features at the same distance are resolved arbitrarily.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Martin Davis
+ *
+ * @see IndexedFacetDistance
+ */
+public class NearestFeatureJoin
+{
+  /**
+   * The number of queries processed as a batch
+   */
+  private static final int BATCH_SIZE = 256;
+
+  // 6 seems to be a good facet sequence size
+  private static final int FACET_SEQUENCE_SIZE = 6;
+
+  private static final int STR_TREE_NODE_CAPACITY = 4;
+
+  private static final int HILBERT_LEVEL = 12;
+
+  private final Geometry[] features;
+  private final STRtree facetTree;
+  private final STRtree areaTree;
+  private final PointOnGeometryLocator[] areaLocators;
+  private int numThreads = ParallelMap.defaultNumThreads();
+  // create lazily, since they are only needed for the distance matrix
+  private PreparedGeometry[] preparedFeatures = null;
+
+  /**
+   * Creates a new join for a set of feature geometries.
+   *
+   * @param features the features to join to
+   */
+  public NearestFeatureJoin(Geometry[] features)
+  {
+    this.features = features;
+    facetTree = new STRtree(STR_TREE_NODE_CAPACITY);
+    areaTree = new STRtree(STR_TREE_NODE_CAPACITY);
+    areaLocators = new PointOnGeometryLocator[features.length];
+    for (int i = 0; i < features.length; i++) {
+      Geometry feature = features[i];
+      if (feature.isEmpty()) continue;
+      addFacetSequences(feature, i);
+      if (feature.getDimension() == Dimension.A) {
+        areaTree.insert(feature.getEnvelopeInternal(), Integer.valueOf(i));
+        if (feature instanceof Polygonal)
+          areaLocators[i] = new IndexedPointInAreaLocator(feature);
+      }
+    }
+    facetTree.build();
+    areaTree.build();
+  }
+
+  /**
+   * Sets the number of threads used to process the queries.
+   * The default is the number of available processors.
+   *
+   * @param numThreads the number of threads to use
+   * @throws IllegalArgumentException if the number of threads is less than 1
+   */
+  public void setNumThreads(int numThreads)
+  {
+    if (numThreads < 1)
+      throw new IllegalArgumentException("Number of threads must be >= 1");
+    this.numThreads = numThreads;
+  }
+
+  /**
+   * Finds the nearest feature to each query geometry.
+   * If a query is empty, or there are no non-empty features,
+   * the feature index is -1 and the distance is NaN.
+   *
+   * @param queries the query geometries
+   * @param featureIndex an array to receive the index of the nearest feature to each query
+   * @param distance an array to receive the distance to the nearest feature, or null
+   * @throws IllegalArgumentException if an array is shorter than the queries
+   */
+  public void nearest(Geometry[] queries, final int[] featureIndex, final double[] distance)
+  {
+    if (featureIndex.length < queries.length
+        || (distance != null && distance.length < queries.length))
+      throw new IllegalArgumentException("Result arrays must be at least as long as the queries");
+
+    final Geometry[] qs = queries;
+    processBatches(queries, new Function<int[], Object>() {
+      public Object apply(int[] batch) {
+        Searcher searcher = new Searcher();
+        for (int k = 0; k < batch.length; k++) {
+          int q = batch[k];
+          featureIndex[q] = searcher.nearest(qs[q]);
+          if (distance != null)
+            distance[q] = searcher.getDistance();
+        }
+        return null;
+      }
+    });
+  }
+
+  /**
+   * Finds the features within a given distance of each query geometry.
+   * The result pairs are ordered by query index and then by feature index.
+   *
+   * @param queries the query geometries
+   * @param maxDistance the distance limit
+   * @return the pairs of queries and features which are within the distance
+   */
+  public WithinDistanceResult withinDistance(final Geometry[] queries, final double maxDistance)
+  {
+    List<Object> batchResults = processBatches(queries, new Function<int[], Object>() {
+      public Object apply(int[] batch) {
+        Searcher searcher = new Searcher();
+        BatchPairs pairs = new BatchPairs(batch);
+        for (int k = 0; k < batch.length; k++) {
+          searcher.withinDistance(queries[batch[k]], maxDistance, pairs);
+          pairs.endQuery(k);
+        }
+        return pairs;
+      }
+    });
+
+    // assemble the pairs in query order
+    int[] count = new int[queries.length];
+    for (Object obj : batchResults) {
+      BatchPairs pairs = (BatchPairs) obj;
+      for (int k = 0; k < pairs.queries.length; k++) {
+        count[pairs.queries[k]] = pairs.end[k] - pairs.start(k);
+      }
+    }
+    int[] offset = new int[queries.length + 1];
+    for (int q = 0; q < queries.length; q++) {
+      offset[q + 1] = offset[q] + count[q];
+    }
+    int n = offset[queries.length];
+    int[] queryIndex = new int[n];
+    int[] featureIndex = new int[n];
+    double[] distance = new double[n];
+    for (Object obj : batchResults) {
+      BatchPairs pairs = (BatchPairs) obj;
+      for (int k = 0; k < pairs.queries.length; k++) {
+        int q = pairs.queries[k];
+        int start = pairs.start(k);
+        int len = pairs.end[k] - start;
+        Arrays.fill(queryIndex, offset[q], offset[q] + len, q);
+        System.arraycopy(pairs.feature, start, featureIndex, offset[q], len);
+        System.arraycopy(pairs.distance, start, distance, offset[q], len);
+      }
+    }
+    return new WithinDistanceResult(queryIndex, featureIndex, distance);
+  }
+
+  /**
+   * Computes the distances between every query geometry and every feature.
+   * The distances for empty geometries are 0, as for {@link Geometry#distance(Geometry)}.
+   *
+   * @param queries the query geometries
+   * @return an array of the distances, indexed by query and then feature
+   */
+  public double[][] distanceMatrix(Geometry[] queries)
+  {
+    final PreparedGeometry[] prepFeatures = getPreparedFeatures();
+    List<Geometry> queryList = Arrays.asList(queries);
+    List<double[]> rows = ParallelMap.map(queryList, new Function<Geometry, double[]>() {
+      public double[] apply(Geometry query) {
+        double[] row = new double[prepFeatures.length];
+        for (int i = 0; i < prepFeatures.length; i++) {
+          row[i] = prepFeatures[i].distance(query);
+        }
+        return row;
+      }
+    }, numThreads);
+    return rows.toArray(new double[queries.length][]);
+  }
+
+  private synchronized PreparedGeometry[] getPreparedFeatures()
+  {
+    if (preparedFeatures == null) {
+      preparedFeatures = new PreparedGeometry[features.length];
+      for (int i = 0; i < features.length; i++) {
+        preparedFeatures[i] = PreparedGeometryFactory.prepare(features[i]);
+      }
+    }
+    return preparedFeatures;
+  }
+
+  /**
+   * Sorts the queries along a Hilbert curve,
+   * and applies a function to batches of them in parallel.
+   *
+   * @param queries the query geometries
+   * @param fn the function to apply to each batch of query indexes
+   * @return the results of the function for each batch
+   */
+  private List<Object> processBatches(Geometry[] queries, Function<int[], Object> fn)
+  {
+    int[] order = hilbertOrder(queries);
+    List<int[]> batches = new ArrayList<int[]>();
+    for (int start = 0; start < order.length; start += BATCH_SIZE) {
+      int end = Math.min(order.length, start + BATCH_SIZE);
+      batches.add(Arrays.copyOfRange(order, start, end));
+    }
+    return ParallelMap.map(batches, fn, numThreads);
+  }
+
+  /**
+   * Computes an ordering of the queries along a Hilbert curve
+   * covering the extent of their envelopes.
+   *
+   * @param queries the query geometries
+   * @return the query indexes in Hilbert order
+   */
+  private static int[] hilbertOrder(Geometry[] queries)
+  {
+    int n = queries.length;
+    Envelope extent = new Envelope();
+    for (int i = 0; i < n; i++) {
+      extent.expandToInclude(queries[i].getEnvelopeInternal());
+    }
+    int side = (1 << HILBERT_LEVEL) - 1;
+    double scaleX = extent.getWidth() > 0 ? side / extent.getWidth() : 0;
+    double scaleY = extent.getHeight() > 0 ? side / extent.getHeight() : 0;
+    // sort keys holding the Hilbert code in the high bits and the index in the low bits
+    long[] keys = new long[n];
+    for (int i = 0; i < n; i++) {
+      Envelope env = queries[i].getEnvelopeInternal();
+      int code = 0;
+      if (! env.isNull()) {
+        int x = (int) ((env.centre().x - extent.getMinX()) * scaleX);
+        int y = (int) ((env.centre().y - extent.getMinY()) * scaleY);
+        code = HilbertCode.encode(HILBERT_LEVEL, x, y);
+      }
+      keys[i] = ((long) code << 32) | i;
+    }
+    Arrays.sort(keys);
+    int[] order = new int[n];
+    for (int i = 0; i < n; i++) {
+      order[i] = (int) keys[i];
+    }
+    return order;
+  }
+
+  private void addFacetSequences(Geometry feature, final int index)
+  {
+    feature.apply(new GeometryComponentFilter() {
+      public void filter(Geometry geom) {
+        CoordinateSequence seq = null;
+        if (geom instanceof LineString) {
+          seq = ((LineString) geom).getCoordinateSequence();
+        }
+        else if (geom instanceof Point) {
+          seq = ((Point) geom).getCoordinateSequence();
+        }
+        if (seq == null || seq.size() == 0) return;
+        int size = seq.size();
+        int i = 0;
+        while (i <= size - 1) {
+          int end = i + FACET_SEQUENCE_SIZE + 1;
+          // if only one point remains after this section, include it in this section
+          if (end >= size - 1)
+            end = size;
+          FeatureFacetSequence facets = new FeatureFacetSequence(seq, i, end, index);
+          facetTree.insert(facets.getEnvelope(), facets);
+          i = i + FACET_SEQUENCE_SIZE;
+        }
+      }
+    });
+  }
+
+  /**
+   * Tests whether a point lies in an area of a feature.
+   */
+  private boolean isInFeatureArea(Coordinate p, int index)
+  {
+    PointOnGeometryLocator locator = areaLocators[index];
+    if (locator != null)
+      return locator.locate(p) != Location.EXTERIOR;
+    return SimplePointInAreaLocator.locate(p, features[index]) != Location.EXTERIOR;
+  }
+
+  /**
+   * A facet sequence of a feature.
+   */
+  private static class FeatureFacetSequence extends FacetSequence
+  {
+    final int featureIndex;
+
+    FeatureFacetSequence(CoordinateSequence pts, int start, int end, int featureIndex)
+    {
+      super(pts, start, end);
+      this.featureIndex = featureIndex;
+    }
+  }
+
+  /**
+   * The results of a batch of within-distance queries.
+   */
+  private static class BatchPairs
+  {
+    final int[] queries;
+    final int[] end;
+    int[] feature = new int[16];
+    double[] distance = new double[16];
+    int size = 0;
+
+    BatchPairs(int[] queries)
+    {
+      this.queries = queries;
+      end = new int[queries.length];
+    }
+
+    int start(int k)
+    {
+      return k == 0 ? 0 : end[k - 1];
+    }
+
+    void add(int featureIndex, double dist)
+    {
+      if (size == feature.length) {
+        feature = Arrays.copyOf(feature, 2 * size);
+        distance = Arrays.copyOf(distance, 2 * size);
+      }
+      feature[size] = featureIndex;
+      distance[size] = dist;
+      size++;
+    }
+
+    /**
+     * Ends the pairs for a query,
+     * sorting them by feature and keeping the minimum distance for each feature.
+     */
+    void endQuery(int k)
+    {
+      int start = start(k);
+      // insertion sort, since the number of pairs per query is usually small
+      for (int i = start + 1; i < size; i++) {
+        int f = feature[i];
+        double d = distance[i];
+        int j = i - 1;
+        while (j >= start && feature[j] > f) {
+          feature[j + 1] = feature[j];
+          distance[j + 1] = distance[j];
+          j--;
+        }
+        feature[j + 1] = f;
+        distance[j + 1] = d;
+      }
+      int n = start;
+      for (int i = start; i < size; i++) {
+        if (n > start && feature[n - 1] == feature[i]) {
+          if (distance[i] < distance[n - 1])
+            distance[n - 1] = distance[i];
+          continue;
+        }
+        feature[n] = feature[i];
+        distance[n] = distance[i];
+        n++;
+      }
+      size = n;
+      end[k] = n;
+    }
+  }
+
+  /**
+   * Performs searches for the queries in a batch,
+   * reusing the search queue and the previous nearest facet.
+   * Instances are used by a single thread.
+   */
+  private class Searcher
+  {
+    private double[] heapKey = new double[64];
+    private Object[] heapNode = new Object[64];
+    private int heapSize = 0;
+    private FeatureFacetSequence prevNearest = null;
+    private List<FacetSequence> queryFacets = new ArrayList<FacetSequence>();
+    private Envelope queryEnv;
+    private double nearestDist;
+
+    /**
+     * Finds the nearest feature to a query.
+     *
+     * @param query the query geometry
+     * @return the index of the nearest feature, or -1
+     */
+    int nearest(Geometry query)
+    {
+      nearestDist = Double.NaN;
+      if (query.isEmpty() || facetTree.isEmpty())
+        return -1;
+      setQuery(query);
+
+      double best = Double.POSITIVE_INFINITY;
+      FeatureFacetSequence bestFacets = null;
+      // the nearest facet of the previous query provides a good initial bound
+      if (prevNearest != null) {
+        best = queryDistance(prevNearest);
+        bestFacets = prevNearest;
+      }
+
+      heapSize = 0;
+      push(facetTree.getRoot(), 0.0);
+      while (heapSize > 0 && best > 0.0) {
+        double key = heapKey[0];
+        AbstractNode node = (AbstractNode) pop();
+        if (key >= best) break;
+        List children = node.getChildBoundables();
+        for (int i = 0; i < children.size(); i++) {
+          Boundable child = (Boundable) children.get(i);
+          double d = ((Envelope) child.getBounds()).distance(queryEnv);
+          if (d >= best) continue;
+          if (child instanceof AbstractNode) {
+            push(child, d);
+          }
+          else {
+            FeatureFacetSequence facets = (FeatureFacetSequence) ((ItemBoundable) child).getItem();
+            double dist = queryDistance(facets);
+            if (dist < best) {
+              best = dist;
+              bestFacets = facets;
+            }
+          }
+        }
+      }
+      prevNearest = bestFacets;
+      int nearest = bestFacets.featureIndex;
+      if (best > 0.0) {
+        int inside = findContaining(query);
+        if (inside >= 0) {
+          nearest = inside;
+          best = 0.0;
+        }
+      }
+      nearestDist = best;
+      return nearest;
+    }
+
+    /**
+     * Gets the distance found by the last nearest search.
+     *
+     * @return the distance to the nearest feature, or NaN
+     */
+    double getDistance()
+    {
+      return nearestDist;
+    }
+
+    /**
+     * Finds the features within a distance of a query.
+     *
+     * @param query the query geometry
+     * @param maxDistance the distance limit
+     * @param pairs the pairs to add the features to
+     */
+    void withinDistance(final Geometry query, final double maxDistance, final BatchPairs pairs)
+    {
+      if (query.isEmpty() || facetTree.isEmpty())
+        return;
+      setQuery(query);
+      final boolean isQueryArea = query.getDimension() == Dimension.A;
+      Envelope searchEnv = new Envelope(queryEnv);
+      searchEnv.expandBy(maxDistance);
+      facetTree.query(searchEnv, new ItemVisitor() {
+        public void visitItem(Object item) {
+          FeatureFacetSequence facets = (FeatureFacetSequence) item;
+          if (isQueryArea && isInArea(facets.getCoordinate(0), query)) {
+            pairs.add(facets.featureIndex, 0.0);
+            return;
+          }
+          double dist = queryDistance(facets);
+          if (dist <= maxDistance)
+            pairs.add(facets.featureIndex, dist);
+        }
+      });
+      if (! areaTree.isEmpty()) {
+        areaTree.query(queryEnv, new ItemVisitor() {
+          public void visitItem(Object item) {
+            int index = ((Integer) item).intValue();
+            if (isQueryInFeatureArea(index))
+              pairs.add(index, 0.0);
+          }
+        });
+      }
+    }
+
+    private void setQuery(Geometry query)
+    {
+      queryEnv = query.getEnvelopeInternal();
+      queryFacets.clear();
+      query.apply(new GeometryComponentFilter() {
+        public void filter(Geometry geom) {
+          if (geom instanceof LineString || geom instanceof Point) {
+            CoordinateSequence seq = geom instanceof LineString
+                ? ((LineString) geom).getCoordinateSequence()
+                : ((Point) geom).getCoordinateSequence();
+            if (seq.size() > 0)
+              queryFacets.add(new FacetSequence(seq, 0, seq.size()));
+          }
+        }
+      });
+    }
+
+    private double queryDistance(FacetSequence facets)
+    {
+      double min = Double.POSITIVE_INFINITY;
+      for (int i = 0; i < queryFacets.size(); i++) {
+        double d = queryFacets.get(i).distance(facets);
+        if (d < min) min = d;
+      }
+      return min;
+    }
+
+    /**
+     * Finds a feature which lies inside the query,
+     * or has an area containing part of the query.
+     *
+     * @return the index of the feature, or -1
+     */
+    private int findContaining(final Geometry query)
+    {
+      final int[] found = new int[] { -1 };
+      if (! areaTree.isEmpty()) {
+        areaTree.query(queryEnv, new ItemVisitor() {
+          public void visitItem(Object item) {
+            int index = ((Integer) item).intValue();
+            if (found[0] < 0 && isQueryInFeatureArea(index))
+              found[0] = index;
+          }
+        });
+      }
+      if (found[0] < 0 && query.getDimension() == Dimension.A) {
+        facetTree.query(queryEnv, new ItemVisitor() {
+          public void visitItem(Object item) {
+            FeatureFacetSequence facets = (FeatureFacetSequence) item;
+            if (found[0] < 0 && isInArea(facets.getCoordinate(0), query))
+              found[0] = facets.featureIndex;
+          }
+        });
+      }
+      return found[0];
+    }
+
+    private boolean isQueryInFeatureArea(int index)
+    {
+      for (int i = 0; i < queryFacets.size(); i++) {
+        if (isInFeatureArea(queryFacets.get(i).getCoordinate(0), index))
+          return true;
+      }
+      return false;
+    }
+
+    private boolean isInArea(Coordinate p, Geometry query)
+    {
+      return SimplePointInAreaLocator.locate(p, query) != Location.EXTERIOR;
+    }
+
+    private void push(Object node, double key)
+    {
+      if (heapSize == heapKey.length) {
+        heapKey = Arrays.copyOf(heapKey, 2 * heapSize);
+        heapNode = Arrays.copyOf(heapNode, 2 * heapSize);
+      }
+      int i = heapSize++;
+      while (i > 0) {
+        int parent = (i - 1) / 2;
+        if (heapKey[parent] <= key) break;
+        heapKey[i] = heapKey[parent];
+        heapNode[i] = heapNode[parent];
+        i = parent;
+      }
+      heapKey[i] = key;
+      heapNode[i] = node;
+    }
+
+    private Object pop()
+    {
+      Object top = heapNode[0];
+      heapSize--;
+      double key = heapKey[heapSize];
+      Object node = heapNode[heapSize];
+      heapNode[heapSize] = null;
+      int i = 0;
+      while (true) {
+        int child = 2 * i + 1;
+        if (child >= heapSize) break;
+        if (child + 1 < heapSize && heapKey[child + 1] < heapKey[child])
+          child++;
+        if (key <= heapKey[child]) break;
+        heapKey[i] = heapKey[child];
+        heapNode[i] = heapNode[child];
+        i = child;
+      }
+      if (heapSize > 0) {
+        heapKey[i] = key;
+        heapNode[i] = node;
+      }
+      return top;
+    }
+  }
+
+  /**
+   * The result of a within-distance join.
+   * The pairs of query and feature indexes are stored in parallel arrays,
+   * ordered by query index and then by feature index.
+   */
+  public static class WithinDistanceResult
+  {
+    private final int[] queryIndex;
+    private final int[] featureIndex;
+    private final double[] distance;
+
+    WithinDistanceResult(int[] queryIndex, int[] featureIndex, double[] distance)
+    {
+      this.queryIndex = queryIndex;
+      this.featureIndex = featureIndex;
+      this.distance = distance;
+    }
+
+    /**
+     * Gets the number of query-feature pairs.
+     *
+     * @return the number of pairs
+     */
+    public int size() { return queryIndex.length; }
+
+    /**
+     * Gets the query indexes of the pairs.
+     *
+     * @return an array of query indexes
+     */
+    public int[] getQueryIndex() { return queryIndex; }
+
+    /**
+     * Gets the feature indexes of the pairs.
+     *
+     * @return an array of feature indexes
+     */
+    public int[] getFeatureIndex() { return featureIndex; }
+
+    /**
+     * Gets the distances between the query and feature of the pairs.
+     *
+     * @return an array of distances
+     */
+    public double[] getDistance() { return distance; }
+  }
+}
@@ -0,0 +1,522 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.relate;
+
+import java.util.List;
+
+import org.locationtech.jts.algorithm.BoundaryNodeRule;
+import org.locationtech.jts.algorithm.LineIntersector;
+import org.locationtech.jts.algorithm.RobustLineIntersector;
+import org.locationtech.jts.algorithm.locate.PointOnGeometryLocator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Dimension;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.IntersectionMatrix;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.noding.SegmentIntersector;
+import org.locationtech.jts.noding.SegmentSetMutualIntersector;
+import org.locationtech.jts.noding.SegmentString;
+
+/**
+ * Evaluates a spatial predicate expressed as DE-9IM patterns
+ * (a {@link RelatePredicate}) for two geometries,
+ * computing only as much of the topological relationship
+ * as is needed to determine the result.
+ * <p>
+ * Unlike {@link RelateOp}, which builds and labels full topology graphs
+ * before the intersection matrix can be tested,
+ * this class maintains bounds on the entries of the matrix,
+ * and refines them in stages of increasing cost:
+ * <ol>
+ * <li>the dimensions of the geometries and their boundaries,
+ * and their envelopes
+ * <li>the locations of points and vertices in point and polygonal geometries
+ * (using indexed point-in-area tests)
+ * <li>the intersections between the linework of the geometries
+ * (using a monotone chain index)
+ * </ol>
+ * Evaluation stops as soon as the bounds determine the predicate value.
+ * For example, <code>intersects</code> stops at the first
+ * intersection found, and <code>contains</code> stops at
+ * the first vertex found in the exterior of the containing geometry.
+ * If the linework of the geometries does not intersect
+ * the intersection matrix is fully determined by the point locations.
+ * Otherwise, if the predicate is still not determined
+ * the full matrix is computed using {@link RelateOp}.
+ * <p>
+ * An instance of this class is created for a fixed geometry A,
+ * and caches the structures computed for it.
+ * This provides a prepared mode for efficiently evaluating
+ * predicates for many geometries against a single geometry.
+ * Instances are thread-safe.
+ * <p>
+ * GeometryCollections, empty geometries and lineal geometries which are not simple
+ * (or contain zero-length lines) are evaluated using {@link RelateOp},
+ * so the result always agrees with the intersection matrix it computes.
+ * Polygonal inputs are assumed to be valid.
+ *
+ * @author Martin Davis
+ *
+ * @see RelatePredicate
+ */
+public class PredicateRelateOp
+{
+  /**
+   * Tests whether the intersection matrix of two geometries
+   * matches a DE-9IM pattern.
+   *
+   * @param a a geometry
+   * @param b a geometry
+   * @param pattern the DE-9IM pattern to match
+   * @return true if the intersection matrix matches the pattern
+   */
+  public static boolean relate(Geometry a, Geometry b, String pattern) {
+    return relate(a, b, RelatePredicate.matches(pattern));
+  }
+
+  /**
+   * Evaluates a predicate for two geometries.
+   *
+   * @param a a geometry
+   * @param b a geometry
+   * @param predicate the predicate to evaluate
+   * @return the value of the predicate
+   */
+  public static boolean relate(Geometry a, Geometry b, RelatePredicate predicate) {
+    PredicateRelateOp op = new PredicateRelateOp(a);
+    return op.evaluate(b, predicate);
+  }
+
+  private final RelateGeometry geomA;
+  private final BoundaryNodeRule boundaryNodeRule;
+
+  /**
+   * Creates an evaluator for a geometry A,
+   * using the default (OGC SFS) Boundary Node Rule.
+   *
+   * @param a the geometry to evaluate predicates against
+   */
+  public PredicateRelateOp(Geometry a) {
+    this(a, BoundaryNodeRule.OGC_SFS_BOUNDARY_RULE);
+  }
+
+  /**
+   * Creates an evaluator for a geometry A,
+   * using a specified Boundary Node Rule.
+   *
+   * @param a the geometry to evaluate predicates against
+   * @param boundaryNodeRule the Boundary Node Rule to use
+   */
+  public PredicateRelateOp(Geometry a, BoundaryNodeRule boundaryNodeRule) {
+    this.geomA = new RelateGeometry(a, boundaryNodeRule);
+    this.boundaryNodeRule = boundaryNodeRule;
+  }
+
+  /**
+   * Creates an evaluator for a geometry A,
+   * using a point locator and segment intersector
+   * which have already been created for it
+   * (for example by a {@link org.locationtech.jts.geom.prep.PreparedGeometry}).
+   * The default (OGC SFS) Boundary Node Rule is used.
+   *
+   * @param a the geometry to evaluate predicates against
+   * @param locator a locator for a polygonal geometry A, or null to create one if required
+   * @param segIntersector an intersector for the linework of A, or null to create one if required
+   */
+  public PredicateRelateOp(Geometry a, PointOnGeometryLocator locator, SegmentSetMutualIntersector segIntersector) {
+    this.boundaryNodeRule = BoundaryNodeRule.OGC_SFS_BOUNDARY_RULE;
+    this.geomA = new RelateGeometry(a, boundaryNodeRule, locator, segIntersector);
+  }
+
+  /**
+   * Gets the geometry predicates are evaluated against.
+   *
+   * @return geometry A
+   */
+  public Geometry getGeometry() {
+    return geomA.getGeometry();
+  }
+
+  /**
+   * Tests whether the intersection matrix of geometry A and a geometry B
+   * matches a DE-9IM pattern.
+   *
+   * @param b a geometry
+   * @param pattern the DE-9IM pattern to match
+   * @return true if the intersection matrix matches the pattern
+   */
+  public boolean matches(Geometry b, String pattern) {
+    return evaluate(b, RelatePredicate.matches(pattern));
+  }
+
+  /**
+   * Evaluates a predicate for geometry A and a geometry B.
+   *
+   * @param b a geometry
+   * @param predicate the predicate to evaluate
+   * @return the value of the predicate
+   */
+  public boolean evaluate(Geometry b, RelatePredicate predicate) {
+    RelateGeometry geomB = new RelateGeometry(b, boundaryNodeRule);
+    String[] patterns = predicate.getPatterns(geomA.getDimension(), geomB.getDimension());
+    if (patterns.length == 0)
+      return false;
+    Evaluation eval = new Evaluation(geomA, geomB, patterns);
+    return eval.compute();
+  }
+
+  /**
+   * The state of evaluating a predicate for a pair of geometries.
+   */
+  private class Evaluation {
+    private final RelateGeometry geomA;
+    private final RelateGeometry geomB;
+    private final String[] patterns;
+    private final RelateBounds bounds = new RelateBounds();
+    private int result = RelateBounds.UNKNOWN;
+
+    Evaluation(RelateGeometry geomA, RelateGeometry geomB, String[] patterns) {
+      this.geomA = geomA;
+      this.geomB = geomB;
+      this.patterns = patterns;
+    }
+
+    boolean compute() {
+      if (! geomA.isSupported() || ! geomB.isSupported()
+          || geomA.isEmpty() || geomB.isEmpty()) {
+        return computeFull();
+      }
+      computeDimensionBounds();
+      if (isDetermined())
+        return isTrue();
+      if (! geomA.getEnvelope().intersects(geomB.getEnvelope())) {
+        computeDisjoint();
+        return isTrue();
+      }
+      computeEnvelopeBounds();
+      if (isDetermined())
+        return isTrue();
+
+      if (geomA.isPuntal() || geomB.isPuntal()) {
+        if (! computePuntal()) {
+          bounds.complete();
+          isDetermined();
+        }
+        return isTrue();
+      }
+
+      if (geomA.isPolygonal() && locateVertices(geomB, geomA, false))
+        return isTrue();
+      if (geomB.isPolygonal() && locateVertices(geomA, geomB, true))
+        return isTrue();
+
+      LineworkIntersector intersector = new LineworkIntersector();
+      geomA.getSegmentIntersector().process(geomB.getSegmentStrings(), intersector);
+      if (isDetermined())
+        return isTrue();
+      if (! intersector.hasIntersection()) {
+        computeNoLineworkIntersection();
+        isDetermined();
+        return isTrue();
+      }
+      return computeFull();
+    }
+
+    /**
+     * Tests whether the predicate value is determined by the current bounds.
+     *
+     * @return true if the predicate value is known
+     */
+    private boolean isDetermined() {
+      if (bounds.isChanged()) {
+        result = bounds.evaluate(patterns);
+      }
+      return result != RelateBounds.UNKNOWN;
+    }
+
+    private boolean isTrue() {
+      return result == RelateBounds.TRUE;
+    }
+
+    private boolean computeFull() {
+      IntersectionMatrix im = RelateOp.relate(geomA.getGeometry(), geomB.getGeometry(), boundaryNodeRule);
+      bounds.setExact(im);
+      isDetermined();
+      return isTrue();
+    }
+
+    /**
+     * Computes bounds determined by the dimensions of the geometries.
+     * An entry cannot have a dimension larger than
+     * the dimension of either of the parts it relates.
+     * A part of one geometry cannot be covered by a geometry
+     * of lower dimension, so it intersects the exterior of that geometry.
+     */
+    private void computeDimensionBounds() {
+      for (int i = 0; i < 3; i++) {
+        for (int j = 0; j < 3; j++) {
+          bounds.setAtMost(i, j, Math.min(geomA.getDimension(i), geomB.getDimension(j)));
+        }
+      }
+      for (int loc = Location.INTERIOR; loc <= Location.BOUNDARY; loc++) {
+        int dimA = geomA.getDimension(loc);
+        if (dimA > geomB.getDimension())
+          bounds.setAtLeast(loc, Location.EXTERIOR, dimA);
+        int dimB = geomB.getDimension(loc);
+        if (dimB > geomA.getDimension())
+          bounds.setAtLeast(Location.EXTERIOR, loc, dimB);
+      }
+    }
+
+    /**
+     * Computes the full matrix for geometries with disjoint envelopes.
+     */
+    private void computeDisjoint() {
+      addExterior(geomA, true);
+      addExterior(geomB, false);
+      bounds.complete();
+      isDetermined();
+    }
+
+    /**
+     * Computes bounds determined by the envelopes.
+     * If the envelope of one geometry is not covered by the envelope of the other,
+     * some of the geometry lies in the exterior of the other.
+     */
+    private void computeEnvelopeBounds() {
+      Envelope envA = geomA.getEnvelope();
+      Envelope envB = geomB.getEnvelope();
+      if (! envB.covers(envA)) {
+        bounds.setAtLeast(Location.INTERIOR, Location.EXTERIOR, geomA.getDimension());
+        if (geomA.isPolygonal())
+          bounds.setAtLeast(Location.BOUNDARY, Location.EXTERIOR, Dimension.L);
+      }
+      if (! envA.covers(envB)) {
+        bounds.setAtLeast(Location.EXTERIOR, Location.INTERIOR, geomB.getDimension());
+        if (geomB.isPolygonal())
+          bounds.setAtLeast(Location.EXTERIOR, Location.BOUNDARY, Dimension.L);
+      }
+    }
+
+    /**
+     * Locates the points of puntal inputs in the other geometry,
+     * and the points of the other geometry which can lie in the exterior
+     * of the puntal input but are not determined by dimension.
+     * This determines the full matrix.
+     *
+     * @return true if the predicate was determined before all points were located
+     */
+    private boolean computePuntal() {
+      if (geomA.isPuntal()) {
+        if (locatePoints(geomA, geomB, true)) return true;
+        if (locateBoundaryPoints(geomB, geomA, false)) return true;
+      }
+      if (geomB.isPuntal()) {
+        if (locatePoints(geomB, geomA, false)) return true;
+        if (locateBoundaryPoints(geomA, geomB, true)) return true;
+      }
+      return false;
+    }
+
+    private boolean locatePoints(RelateGeometry source, RelateGeometry target, boolean isSourceA) {
+      for (Coordinate p : source.getPoints()) {
+        addLocation(source, target, isSourceA, p, Location.INTERIOR, false);
+        if (isDetermined()) return true;
+      }
+      return false;
+    }
+
+    private boolean locateBoundaryPoints(RelateGeometry source, RelateGeometry target, boolean isSourceA) {
+      if (source.isPuntal())
+        return locatePoints(source, target, isSourceA);
+      if (! source.isLineal())
+        return false;
+      for (Coordinate p : source.getBoundaryPoints()) {
+        addLocation(source, target, isSourceA, p, Location.BOUNDARY, false);
+        if (isDetermined()) return true;
+      }
+      return false;
+    }
+
+    /**
+     * Locates vertices of a source geometry in a polygonal target geometry.
+     * The vertices of B are all located, since they determine
+     * the relationship of each component of B to A.
+     * For A (which may be large and is intended to be prepared)
+     * only one representative vertex per ring is located,
+     * as well as the endpoints of lines.
+     * This is sufficient to determine the location of the components of A
+     * if the linework of the geometries does not intersect.
+     *
+     * @return true if the predicate was determined
+     */
+    private boolean locateVertices(RelateGeometry source, RelateGeometry target, boolean isSourceA) {
+      boolean isAll = ! isSourceA;
+      List<SegmentString> segStrings = source.getSegmentStrings();
+      for (SegmentString ss : segStrings) {
+        Coordinate[] pts = ss.getCoordinates();
+        boolean isNonDegenerate = isNonDegenerate(pts);
+        if (isAll) {
+          Coordinate prev = null;
+          for (Coordinate p : pts) {
+            if (prev != null && p.equals2D(prev)) continue;
+            prev = p;
+            addLocation(source, target, isSourceA, p, source.locateOnGeometry(p), isNonDegenerate);
+            if (isDetermined()) return true;
+          }
+        }
+        else {
+          Coordinate p0 = pts[0];
+          addLocation(source, target, isSourceA, p0, source.locateOnGeometry(p0), isNonDegenerate);
+          if (source.isLineal()) {
+            Coordinate pn = pts[pts.length - 1];
+            addLocation(source, target, isSourceA, pn, source.locateOnGeometry(pn), isNonDegenerate);
+          }
+          if (isDetermined()) return true;
+        }
+      }
+      return false;
+    }
+
+    private boolean isNonDegenerate(Coordinate[] pts) {
+      for (int i = 1; i < pts.length; i++) {
+        if (! pts[i].equals2D(pts[0])) return true;
+      }
+      return false;
+    }
+
+    /**
+     * Adds the bounds determined by the location of a point of a source geometry
+     * in a target geometry.
+     * If the point lies in an open region of the target
+     * (its exterior, or the interior of a polygonal geometry)
+     * then that region also contains the parts of the source
+     * around the point.
+     *
+     * @param isSourceA true if the source is geometry A
+     * @param p the point
+     * @param locSource the location of the point in the source
+     * @param isNonDegenerate true if the point is on a line with non-zero length
+     */
+    private void addLocation(RelateGeometry source, RelateGeometry target, boolean isSourceA,
+        Coordinate p, int locSource, boolean isNonDegenerate) {
+      int locTarget = target.locate(p);
+      setAtLeast(isSourceA, locSource, locTarget, Dimension.P);
+
+      boolean isOpen = locTarget == Location.EXTERIOR
+          || (locTarget == Location.INTERIOR && target.isPolygonal());
+      if (! isOpen)
+        return;
+      setAtLeast(isSourceA, Location.EXTERIOR, locTarget, Dimension.A);
+      if (source.isPolygonal()) {
+        setAtLeast(isSourceA, Location.INTERIOR, locTarget, Dimension.A);
+        setAtLeast(isSourceA, Location.BOUNDARY, locTarget, Dimension.L);
+      }
+      else if (source.isLineal() && isNonDegenerate) {
+        setAtLeast(isSourceA, Location.INTERIOR, locTarget, Dimension.L);
+      }
+    }
+
+    private void setAtLeast(boolean isSourceA, int locSource, int locTarget, int dim) {
+      if (isSourceA)
+        bounds.setAtLeast(locSource, locTarget, dim);
+      else
+        bounds.setAtLeast(locTarget, locSource, dim);
+    }
+
+    /**
+     * Adds the bounds for a geometry which lies
+     * entirely in the exterior of the other.
+     */
+    private void addExterior(RelateGeometry geom, boolean isA) {
+      setAtLeast(isA, Location.INTERIOR, Location.EXTERIOR, geom.getDimension());
+      int bdyDim = geom.getBoundaryDimension();
+      if (bdyDim >= Dimension.P)
+        setAtLeast(isA, Location.BOUNDARY, Location.EXTERIOR, bdyDim);
+    }
+
+    /**
+     * Completes the matrix when the linework of the geometries does not intersect.
+     * Each component of one geometry then lies wholly in the interior
+     * or the exterior of the other.
+     * For a polygonal geometry this is determined by the located vertices.
+     * A geometry which is not polygonal has no interior which the linework
+     * of the other geometry can lie in, so the linework lies in its exterior.
+     */
+    private void computeNoLineworkIntersection() {
+      if (geomB.isLineal())
+        addExterior(geomA, true);
+      if (geomA.isLineal())
+        addExterior(geomB, false);
+      bounds.complete();
+    }
+
+    /**
+     * Records the intersections between the linework of the geometries,
+     * stopping when the predicate is determined.
+     */
+    private class LineworkIntersector implements SegmentIntersector {
+      private final LineIntersector li = new RobustLineIntersector();
+      private boolean hasIntersection = false;
+
+      boolean hasIntersection() {
+        return hasIntersection;
+      }
+
+      public void processIntersections(SegmentString e0, int segIndex0, SegmentString e1, int segIndex1) {
+        // the query segments are from B
+        if (e0.getData() == geomB) {
+          SegmentString tmp = e0;
+          e0 = e1;
+          e1 = tmp;
+          int tmpIndex = segIndex0;
+          segIndex0 = segIndex1;
+          segIndex1 = tmpIndex;
+        }
+        Coordinate a0 = e0.getCoordinate(segIndex0);
+        Coordinate a1 = e0.getCoordinate(segIndex0 + 1);
+        Coordinate b0 = e1.getCoordinate(segIndex1);
+        Coordinate b1 = e1.getCoordinate(segIndex1 + 1);
+        // repeated points are not topologically significant,
+        // and their intersections are found by the adjacent segments
+        if (a0.equals2D(a1) || b0.equals2D(b1))
+          return;
+        li.computeIntersection(a0, a1, b0, b1);
+        if (! li.hasIntersection())
+          return;
+        hasIntersection = true;
+
+        if (li.isProper()) {
+          int locA = geomA.locateInSegment(a0, a1);
+          int locB = geomB.locateInSegment(b0, b1);
+          if (locA != Location.NONE && locB != Location.NONE)
+            bounds.setAtLeast(locA, locB, Dimension.P);
+          return;
+        }
+        // non-proper intersection points are input vertices, so are exact
+        for (int i = 0; i < li.getIntersectionNum(); i++) {
+          Coordinate p = li.getIntersection(i);
+          bounds.setAtLeast(geomA.locateOnGeometry(p), geomB.locateOnGeometry(p), Dimension.P);
+        }
+        if (li.getIntersectionNum() == 2) {
+          // collinear segments overlap in a line
+          bounds.setAtLeast(geomA.getLineworkLocation(), geomB.getLineworkLocation(), Dimension.L);
+        }
+      }
+
+      public boolean isDone() {
+        return isDetermined();
+      }
+    }
+  }
+}
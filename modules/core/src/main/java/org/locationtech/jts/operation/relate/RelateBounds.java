@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.relate;
+
+import org.locationtech.jts.geom.Dimension;
+import org.locationtech.jts.geom.IntersectionMatrix;
+import org.locationtech.jts.geom.Location;
+
+/**
+ * Records lower and upper bounds for the entries of
+ * a DE-9IM intersection matrix which is being computed incrementally,
+ * and evaluates DE-9IM patterns against them.
+ * A pattern can be evaluated as soon as the bounds
+ * determine whether it matches,
+ * even if the exact matrix values are not yet known.
+ *
+ * @author Martin Davis
+ */
+class RelateBounds
+{
+  static final int FALSE = 0;
+  static final int TRUE = 1;
+  static final int UNKNOWN = 2;
+
+  /**
+   * Checks that a string is a valid DE-9IM pattern.
+   *
+   * @param pattern the pattern to check
+   * @throws IllegalArgumentException if the pattern is not valid
+   */
+  static void checkPattern(String pattern) {
+    if (pattern.length() != 9) {
+      throw new IllegalArgumentException("Should be length 9: " + pattern);
+    }
+    for (int i = 0; i < 9; i++) {
+      Dimension.toDimensionValue(pattern.charAt(i));
+    }
+  }
+
+  private final int[][] lower = new int[3][3];
+  private final int[][] upper = new int[3][3];
+  private boolean isChanged = true;
+
+  /**
+   * Creates bounds allowing all possible matrix values,
+   * apart from the Exterior/Exterior entry which is always 2.
+   */
+  RelateBounds() {
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < 3; j++) {
+        lower[i][j] = Dimension.FALSE;
+        upper[i][j] = Dimension.A;
+      }
+    }
+    lower[Location.EXTERIOR][Location.EXTERIOR] = Dimension.A;
+  }
+
+  /**
+   * Sets the bounds to the exact values of an intersection matrix.
+   *
+   * @param im the intersection matrix
+   */
+  void setExact(IntersectionMatrix im) {
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < 3; j++) {
+        lower[i][j] = im.get(i, j);
+        upper[i][j] = im.get(i, j);
+      }
+    }
+    isChanged = true;
+  }
+
+  /**
+   * Records that an entry has at least a given dimension.
+   *
+   * @param locA the location in geometry A
+   * @param locB the location in geometry B
+   * @param dim the minimum dimension of the entry
+   */
+  void setAtLeast(int locA, int locB, int dim) {
+    if (dim <= lower[locA][locB])
+      return;
+    lower[locA][locB] = dim;
+    // only occurs for invalid input
+    if (dim > upper[locA][locB])
+      upper[locA][locB] = dim;
+    isChanged = true;
+  }
+
+  /**
+   * Records that an entry has at most a given dimension.
+   *
+   * @param locA the location in geometry A
+   * @param locB the location in geometry B
+   * @param dim the maximum dimension of the entry
+   */
+  void setAtMost(int locA, int locB, int dim) {
+    if (dim >= upper[locA][locB] || dim < lower[locA][locB])
+      return;
+    upper[locA][locB] = dim;
+    isChanged = true;
+  }
+
+  /**
+   * Records that the lower bounds are the exact matrix values.
+   * This is the case when all intersections between
+   * the geometries have been recorded.
+   */
+  void complete() {
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < 3; j++) {
+        upper[i][j] = lower[i][j];
+      }
+    }
+    isChanged = true;
+  }
+
+  /**
+   * Gets the lower bound for an entry.
+   *
+   * @param locA the location in geometry A
+   * @param locB the location in geometry B
+   * @return the lower bound for the entry
+   */
+  int getLower(int locA, int locB) {
+    return lower[locA][locB];
+  }
+
+  /**
+   * Gets the upper bound for an entry.
+   *
+   * @param locA the location in geometry A
+   * @param locB the location in geometry B
+   * @return the upper bound for the entry
+   */
+  int getUpper(int locA, int locB) {
+    return upper[locA][locB];
+  }
+
+  /**
+   * Tests whether the bounds have changed since the last evaluation.
+   *
+   * @return true if the bounds have changed
+   */
+  boolean isChanged() {
+    return isChanged;
+  }
+
+  /**
+   * Evaluates a set of patterns against the current bounds.
+   * The result is {@link #TRUE} if any pattern is known to match,
+   * {@link #FALSE} if all patterns are known not to match,
+   * and {@link #UNKNOWN} otherwise.
+   *
+   * @param patterns the patterns to evaluate
+   * @return the evaluation result
+   */
+  int evaluate(String[] patterns) {
+    isChanged = false;
+    int result = FALSE;
+    for (String pattern : patterns) {
+      int patternResult = evaluate(pattern);
+      if (patternResult == TRUE)
+        return TRUE;
+      if (patternResult == UNKNOWN)
+        result = UNKNOWN;
+    }
+    return result;
+  }
+
+  private int evaluate(String pattern) {
+    int result = TRUE;
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < 3; j++) {
+        int entryResult = evaluate(lower[i][j], upper[i][j], pattern.charAt(3 * i + j));
+        if (entryResult == FALSE)
+          return FALSE;
+        if (entryResult == UNKNOWN)
+          result = UNKNOWN;
+      }
+    }
+    return result;
+  }
+
+  private static int evaluate(int lower, int upper, char symbol) {
+    int required = Dimension.toDimensionValue(symbol);
+    switch (required) {
+    case Dimension.DONTCARE:
+      return TRUE;
+    case Dimension.TRUE:
+      if (lower >= Dimension.P) return TRUE;
+      if (upper == Dimension.FALSE) return FALSE;
+      return UNKNOWN;
+    case Dimension.FALSE:
+      if (upper == Dimension.FALSE) return TRUE;
+      if (lower >= Dimension.P) return FALSE;
+      return UNKNOWN;
+    }
+    if (lower > required || upper < required) return FALSE;
+    if (lower == required && upper == required) return TRUE;
+    return UNKNOWN;
+  }
+
+  public String toString() {
+    StringBuilder buf = new StringBuilder();
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < 3; j++) {
+        buf.append(Dimension.toDimensionSymbol(lower[i][j]));
+        buf.append(Dimension.toDimensionSymbol(upper[i][j]));
+        buf.append(j < 2 ? " " : (i < 2 ? " / " : ""));
+      }
+    }
+    return buf.toString();
+  }
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.relate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.locationtech.jts.algorithm.BoundaryNodeRule;
+import org.locationtech.jts.algorithm.Orientation;
+import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
+import org.locationtech.jts.algorithm.locate.PointOnGeometryLocator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Dimension;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineSegment;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Lineal;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygonal;
+import org.locationtech.jts.geom.Puntal;
+import org.locationtech.jts.geom.util.LinearComponentExtracter;
+import org.locationtech.jts.index.ItemVisitor;
+import org.locationtech.jts.index.chain.MonotoneChain;
+import org.locationtech.jts.index.chain.MonotoneChainSelectAction;
+import org.locationtech.jts.index.kdtree.KdNode;
+import org.locationtech.jts.index.kdtree.KdTree;
+import org.locationtech.jts.noding.BasicSegmentString;
+import org.locationtech.jts.noding.MCIndexSegmentSetMutualIntersector;
+import org.locationtech.jts.noding.SegmentSetMutualIntersector;
+import org.locationtech.jts.noding.SegmentString;
+import org.locationtech.jts.operation.valid.IsSimpleOp;
+
+/**
+ * An input geometry for {@link PredicateRelateOp},
+ * with the structures used to evaluate its topology
+ * (point locators, segment strings and a monotone chain index).
+ * The locator and segment intersector can be supplied
+ * (e.g. to reuse the structures of a prepared geometry).
+ * Structures are created lazily, and are cached
+ * so they can be reused for repeated evaluations.
+ * <p>
+ * Only homogeneous geometries are supported
+ * (i.e. not {@link org.locationtech.jts.geom.GeometryCollection}s),
+ * and lineal geometries must be simple.
+ * Polygonal geometries are assumed to be valid.
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @author Martin Davis
+ */
+class RelateGeometry
+{
+  private final Geometry geom;
+  private final BoundaryNodeRule boundaryRule;
+  private final Envelope env;
+  private final int dim;
+  private final boolean isEmpty;
+
+  private Boolean isSimpleLinework;
+  private Set<Coordinate> boundaryPts;
+  private KdTree boundaryIndex;
+  private Set<Coordinate> pointSet;
+  private List<Coordinate> points;
+  private PointOnGeometryLocator areaLocator;
+  private List<SegmentString> segStrings;
+  private SegmentSetMutualIntersector segIntersector;
+  private MCIndexSegmentSetMutualIntersector chainIndex;
+
+  RelateGeometry(Geometry geom, BoundaryNodeRule boundaryRule) {
+    this(geom, boundaryRule, null, null);
+  }
+
+  /**
+   * Creates a geometry using a point locator and segment intersector
+   * which have already been created for it.
+   *
+   * @param geom the geometry
+   * @param boundaryRule the boundary node rule
+   * @param areaLocator a locator for a polygonal geometry, or null
+   * @param segIntersector an intersector indexing the linework of the geometry, or null
+   */
+  RelateGeometry(Geometry geom, BoundaryNodeRule boundaryRule,
+      PointOnGeometryLocator areaLocator, SegmentSetMutualIntersector segIntersector) {
+    this.geom = geom;
+    this.boundaryRule = boundaryRule;
+    this.env = geom.getEnvelopeInternal();
+    this.dim = geom.getDimension();
+    this.isEmpty = geom.isEmpty();
+    this.areaLocator = areaLocator;
+    this.segIntersector = segIntersector;
+    if (segIntersector instanceof MCIndexSegmentSetMutualIntersector)
+      chainIndex = (MCIndexSegmentSetMutualIntersector) segIntersector;
+  }
+
+  Geometry getGeometry() {
+    return geom;
+  }
+
+  Envelope getEnvelope() {
+    return env;
+  }
+
+  int getDimension() {
+    return dim;
+  }
+
+  boolean isEmpty() {
+    return isEmpty;
+  }
+
+  /**
+   * Tests whether the geometry can be evaluated by the short-circuiting engine.
+   * Lineal geometries which self-intersect or have zero-length components
+   * are not supported, since their topology is only computed correctly
+   * by noding the linework in {@link RelateOp}.
+   *
+   * @return true if the geometry is homogeneous, and simple if lineal
+   */
+  boolean isSupported() {
+    if (isLineal())
+      return isSimpleLinework();
+    return isPuntal() || isPolygonal();
+  }
+
+  private synchronized boolean isSimpleLinework() {
+    if (isSimpleLinework == null) {
+      isSimpleLinework = ! hasZeroLengthLine()
+          && new IsSimpleOp(geom, boundaryRule).isSimple();
+    }
+    return isSimpleLinework;
+  }
+
+  private boolean hasZeroLengthLine() {
+    for (int i = 0; i < geom.getNumGeometries(); i++) {
+      LineString line = (LineString) geom.getGeometryN(i);
+      if (! line.isEmpty() && line.getLength() == 0.0)
+        return true;
+    }
+    return false;
+  }
+
+  boolean isPuntal() {
+    return geom instanceof Puntal;
+  }
+
+  boolean isLineal() {
+    return geom instanceof Lineal;
+  }
+
+  boolean isPolygonal() {
+    return geom instanceof Polygonal;
+  }
+
+  /**
+   * Gets the dimension of a topological part of the geometry.
+   *
+   * @param loc a location (interior, boundary or exterior)
+   * @return the dimension of the part
+   */
+  int getDimension(int loc) {
+    switch (loc) {
+    case Location.INTERIOR: return dim;
+    case Location.BOUNDARY: return getBoundaryDimension();
+    }
+    return Dimension.A;
+  }
+
+  /**
+   * Gets the dimension of the boundary of the geometry,
+   * as determined by the boundary node rule.
+   *
+   * @return the boundary dimension
+   */
+  int getBoundaryDimension() {
+    if (isPolygonal()) return Dimension.L;
+    if (isLineal() && ! getBoundaryPoints().isEmpty()) return Dimension.P;
+    return Dimension.FALSE;
+  }
+
+  /**
+   * Gets the location in this geometry of the points on its linework
+   * which are not vertices.
+   *
+   * @return the location of the linework
+   */
+  int getLineworkLocation() {
+    return isPolygonal() ? Location.BOUNDARY : Location.INTERIOR;
+  }
+
+  /**
+   * Locates a point which lies on the linework of this geometry
+   * (or is one of the points of a puntal geometry).
+   *
+   * @param p a point on the geometry
+   * @return the location of the point
+   */
+  int locateOnGeometry(Coordinate p) {
+    if (isLineal() && getBoundaryPoints().contains(p))
+      return Location.BOUNDARY;
+    return getLineworkLocation();
+  }
+
+  /**
+   * Locates a point which lies in the interior of a segment of this geometry,
+   * if this can be determined.
+   * The point itself may not be known exactly.
+   * For a lineal geometry the location is not known
+   * if the segment contains a boundary point.
+   *
+   * @param p0 the start point of the segment
+   * @param p1 the end point of the segment
+   * @return the location of the point, or {@link Location#NONE} if it is not known
+   */
+  int locateInSegment(Coordinate p0, Coordinate p1) {
+    if (isLineal() && hasBoundaryPointOnSegment(p0, p1))
+      return Location.NONE;
+    return getLineworkLocation();
+  }
+
+  /**
+   * Determines the location of an arbitrary point in this geometry.
+   *
+   * @param p the point to locate
+   * @return the location of the point
+   */
+  int locate(Coordinate p) {
+    if (! env.intersects(p))
+      return Location.EXTERIOR;
+    if (isPolygonal())
+      return getAreaLocator().locate(p);
+    if (isPuntal())
+      return getPointSet().contains(p) ? Location.INTERIOR : Location.EXTERIOR;
+    if (getBoundaryPoints().contains(p))
+      return Location.BOUNDARY;
+    return isOnLinework(p) ? Location.INTERIOR : Location.EXTERIOR;
+  }
+
+  /**
+   * Gets the points of a puntal geometry.
+   *
+   * @return the list of points
+   */
+  synchronized List<Coordinate> getPoints() {
+    if (points == null) {
+      points = new ArrayList<Coordinate>();
+      for (int i = 0; i < geom.getNumGeometries(); i++) {
+        Point pt = (Point) geom.getGeometryN(i);
+        if (! pt.isEmpty())
+          points.add(pt.getCoordinate());
+      }
+    }
+    return points;
+  }
+
+  private synchronized Set<Coordinate> getPointSet() {
+    if (pointSet == null) {
+      pointSet = new HashSet<Coordinate>(getPoints());
+    }
+    return pointSet;
+  }
+
+  /**
+   * Gets the boundary points of a lineal geometry,
+   * as determined by the boundary node rule.
+   *
+   * @return the set of boundary points
+   */
+  synchronized Set<Coordinate> getBoundaryPoints() {
+    if (boundaryPts == null) {
+      boundaryPts = computeBoundaryPoints();
+    }
+    return boundaryPts;
+  }
+
+  private Set<Coordinate> computeBoundaryPoints() {
+    Set<Coordinate> bdyPts = new HashSet<Coordinate>();
+    if (! isLineal())
+      return bdyPts;
+    Map<Coordinate, Integer> endpointCount = new HashMap<Coordinate, Integer>();
+    for (int i = 0; i < geom.getNumGeometries(); i++) {
+      LineString line = (LineString) geom.getGeometryN(i);
+      if (line.isEmpty()) continue;
+      addEndpoint(endpointCount, line.getCoordinateN(0));
+      addEndpoint(endpointCount, line.getCoordinateN(line.getNumPoints() - 1));
+    }
+    for (Map.Entry<Coordinate, Integer> entry : endpointCount.entrySet()) {
+      if (boundaryRule.isInBoundary(entry.getValue()))
+        bdyPts.add(entry.getKey());
+    }
+    return bdyPts;
+  }
+
+  private static void addEndpoint(Map<Coordinate, Integer> endpointCount, Coordinate p) {
+    Integer count = endpointCount.get(p);
+    endpointCount.put(p, count == null ? 1 : count + 1);
+  }
+
+  private synchronized KdTree getBoundaryIndex() {
+    if (boundaryIndex == null) {
+      boundaryIndex = new KdTree();
+      for (Coordinate p : getBoundaryPoints()) {
+        boundaryIndex.insert(p);
+      }
+    }
+    return boundaryIndex;
+  }
+
+  private boolean hasBoundaryPointOnSegment(Coordinate p0, Coordinate p1) {
+    if (getBoundaryPoints().isEmpty())
+      return false;
+    List nodes = getBoundaryIndex().query(new Envelope(p0, p1));
+    for (Iterator i = nodes.iterator(); i.hasNext(); ) {
+      KdNode node = (KdNode) i.next();
+      if (isOnSegment(node.getCoordinate(), p0, p1))
+        return true;
+    }
+    return false;
+  }
+
+  private synchronized PointOnGeometryLocator getAreaLocator() {
+    if (areaLocator == null) {
+      areaLocator = new IndexedPointInAreaLocator(geom);
+    }
+    return areaLocator;
+  }
+
+  /**
+   * Gets the linework of the geometry as {@link SegmentString}s,
+   * with this object as the data value.
+   * Empty components are omitted.
+   *
+   * @return the list of segment strings
+   */
+  synchronized List<SegmentString> getSegmentStrings() {
+    if (segStrings == null) {
+      segStrings = new ArrayList<SegmentString>();
+      List lines = LinearComponentExtracter.getLines(geom);
+      for (Iterator i = lines.iterator(); i.hasNext(); ) {
+        LineString line = (LineString) i.next();
+        if (line.isEmpty()) continue;
+        segStrings.add(new BasicSegmentString(line.getCoordinates(), this));
+      }
+    }
+    return segStrings;
+  }
+
+  /**
+   * Gets an intersector indexing the linework of this geometry.
+   *
+   * @return the segment set intersector
+   */
+  synchronized SegmentSetMutualIntersector getSegmentIntersector() {
+    if (segIntersector == null) {
+      segIntersector = getChainIndex();
+    }
+    return segIntersector;
+  }
+
+  private synchronized MCIndexSegmentSetMutualIntersector getChainIndex() {
+    if (chainIndex == null) {
+      chainIndex = new MCIndexSegmentSetMutualIntersector(getSegmentStrings());
+    }
+    return chainIndex;
+  }
+
+  private boolean isOnLinework(final Coordinate p) {
+    final Envelope queryEnv = new Envelope(p);
+    final boolean[] isOn = new boolean[1];
+    final MonotoneChainSelectAction selectAction = new MonotoneChainSelectAction() {
+      public void select(LineSegment seg) {
+        if (isOnSegment(p, seg.p0, seg.p1))
+          isOn[0] = true;
+      }
+    };
+    getChainIndex().getIndex().query(queryEnv, new ItemVisitor() {
+      public void visitItem(Object item) {
+        if (! isOn[0])
+          ((MonotoneChain) item).select(queryEnv, selectAction);
+      }
+    });
+    return isOn[0];
+  }
+
+  private static boolean isOnSegment(Coordinate p, Coordinate p0, Coordinate p1) {
+    return Envelope.intersects(p0, p1, p)
+        && Orientation.index(p0, p1, p) == Orientation.COLLINEAR;
+  }
+}
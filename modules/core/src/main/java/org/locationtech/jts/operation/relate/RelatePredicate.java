@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.relate;
+
+import org.locationtech.jts.geom.Dimension;
+
+/**
+ * A spatial predicate expressed as a set of DE-9IM patterns,
+ * evaluated by {@link PredicateRelateOp}.
+ * The predicate is satisfied if the intersection matrix
+ * of the input geometries matches <i>any</i> of the patterns.
+ * The patterns may depend on the dimensions of the inputs
+ * (e.g. for {@link #crosses()} and {@link #overlaps()}).
+ * <p>
+ * The named predicates have the same semantics as the
+ * corresponding methods of {@link org.locationtech.jts.geom.IntersectionMatrix}.
+ *
+ * @author Martin Davis
+ *
+ * @see PredicateRelateOp
+ */
+public abstract class RelatePredicate
+{
+  private static final String[] NONE = new String[0];
+
+  /**
+   * Creates a predicate which tests whether the intersection matrix
+   * matches a DE-9IM pattern.
+   *
+   * @param pattern a DE-9IM pattern
+   * @return the predicate
+   * @throws IllegalArgumentException if the pattern is not valid
+   */
+  public static RelatePredicate matches(String pattern) {
+    return new PatternPredicate(pattern);
+  }
+
+  /**
+   * Creates a predicate which tests whether geometries intersect.
+   *
+   * @return the predicate
+   */
+  public static RelatePredicate intersects() {
+    return new PatternPredicate("T********", "*T*******", "***T*****", "****T****");
+  }
+
+  /**
+   * Creates a predicate which tests whether geometries are disjoint.
+   *
+   * @return the predicate
+   */
+  public static RelatePredicate disjoint() {
+    return new PatternPredicate("FF*FF****");
+  }
+
+  /**
+   * Creates a predicate which tests whether geometry A contains geometry B.
+   *
+   * @return the predicate
+   */
+  public static RelatePredicate contains() {
+    return new PatternPredicate("T*****FF*");
+  }
+
+  /**
+   * Creates a predicate which tests whether geometry A is within geometry B.
+   *
+   * @return the predicate
+   */
+  public static RelatePredicate within() {
+    return new PatternPredicate("T*F**F***");
+  }
+
+  /**
+   * Creates a predicate which tests whether geometry A covers geometry B.
+   *
+   * @return the predicate
+   */
+  public static RelatePredicate covers() {
+    return new PatternPredicate("T*****FF*", "*T****FF*", "***T**FF*", "****T*FF*");
+  }
+
+  /**
+   * Creates a predicate which tests whether geometry A is covered by geometry B.
+   *
+   * @return the predicate
+   */
+  public static RelatePredicate coveredBy() {
+    return new PatternPredicate("T*F**F***", "*TF**F***", "**FT*F***", "**F*TF***");
+  }
+
+  /**
+   * Creates a predicate which tests whether geometries touch.
+   *
+   * @return the predicate
+   */
+  public static RelatePredicate touches() {
+    return new RelatePredicate() {
+      public String[] getPatterns(int dimA, int dimB) {
+        if (dimA == Dimension.P && dimB == Dimension.P)
+          return NONE;
+        return new String[] { "FT*******", "F**T*****", "F***T****" };
+      }
+    };
+  }
+
+  /**
+   * Creates a predicate which tests whether geometries cross.
+   *
+   * @return the predicate
+   */
+  public static RelatePredicate crosses() {
+    return new RelatePredicate() {
+      public String[] getPatterns(int dimA, int dimB) {
+        if (dimA == Dimension.L && dimB == Dimension.L)
+          return new String[] { "0********" };
+        if (dimA < dimB && dimA >= Dimension.P && dimB <= Dimension.A)
+          return new String[] { "T*T******" };
+        if (dimA > dimB && dimB >= Dimension.P && dimA <= Dimension.A)
+          return new String[] { "T*****T**" };
+        return NONE;
+      }
+    };
+  }
+
+  /**
+   * Creates a predicate which tests whether geometries overlap.
+   *
+   * @return the predicate
+   */
+  public static RelatePredicate overlaps() {
+    return new RelatePredicate() {
+      public String[] getPatterns(int dimA, int dimB) {
+        if (dimA == Dimension.L && dimB == Dimension.L)
+          return new String[] { "1*T***T**" };
+        if (dimA == dimB && (dimA == Dimension.P || dimA == Dimension.A))
+          return new String[] { "T*T***T**" };
+        return NONE;
+      }
+    };
+  }
+
+  /**
+   * Creates a predicate which tests whether geometries are topologically equal.
+   *
+   * @return the predicate
+   */
+  public static RelatePredicate equalsTopo() {
+    return new RelatePredicate() {
+      public String[] getPatterns(int dimA, int dimB) {
+        if (dimA != dimB)
+          return NONE;
+        return new String[] { "T*F**FFF*" };
+      }
+    };
+  }
+
+  /**
+   * Gets the DE-9IM patterns for the predicate,
+   * for inputs of given dimensions.
+   * The predicate is satisfied if any pattern matches.
+   * If no patterns are returned the predicate is always false.
+   *
+   * @param dimA the dimension of geometry A
+   * @param dimB the dimension of geometry B
+   * @return the patterns for the predicate
+   */
+  public abstract String[] getPatterns(int dimA, int dimB);
+
+  private static class PatternPredicate extends RelatePredicate {
+    private final String[] patterns;
+
+    PatternPredicate(String... patterns) {
+      for (String pattern : patterns) {
+        RelateBounds.checkPattern(pattern);
+      }
+      this.patterns = patterns;
+    }
+
+    public String[] getPatterns(int dimA, int dimB) {
+      return patterns;
+    }
+  }
+}
@@ -0,0 +1,866 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.valid;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.locationtech.jts.algorithm.LineIntersector;
+import org.locationtech.jts.algorithm.Orientation;
+import org.locationtech.jts.algorithm.RayCrossingCounter;
+import org.locationtech.jts.algorithm.RobustLineIntersector;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateArrays;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.index.quadtree.Quadtree;
+
+/**
+ * Validates a {@link Polygon} which is edited by moving its vertices,
+ * revalidating only the parts of the polygon affected by each edit.
+ * This is much faster than using {@link IsValidOp} after every edit
+ * for polygons with many vertices
+ * (e.g. for interactive editing).
+ * <p>
+ * The validator keeps its own copy of the polygon rings,
+ * a dynamic index of the ring segments,
+ * the invalid intersections and ring touches between segments,
+ * and the ring containment status of the holes.
+ * When vertices are moved using {@link #setVertices(int, int, Coordinate[])}
+ * only the segments containing or adjacent to the changed vertices
+ * are checked for intersections,
+ * and only holes which were changed or which lie in the changed area
+ * are rechecked for being outside the shell or nested.
+ * The validity of the edited polygon is computed when
+ * {@link #isValid()} or {@link #getValidationError()} is called,
+ * and is the same as computed by {@link IsValidOp}.
+ * <p>
+ * Rings are indexed with the shell as ring 0,
+ * and hole <code>i</code> as ring <code>i + 1</code>.
+ * Edits do not change the number of vertices in a ring.
+ * Since rings are closed, setting the first vertex of a ring
+ * also sets the last vertex, and vice-versa.
+ * <p>
+ * Only the OGC validity semantics are supported
+ * (i.e. rings may not self-touch).
+ * If the polygon has more than one invalidity
+ * the reported error may differ from the one reported by {@link IsValidOp}.
+ * <p>
+ * Instances of this class are not thread-safe.
+ *
+ * <pre>
+ * IncrementalIsValidOp validOp = new IncrementalIsValidOp(poly);
+ * ...
+ * validOp.setVertex(0, 42, new Coordinate(x, y));
+ * if (! validOp.isValid()) {
+ *   TopologyValidationError err = validOp.getValidationError();
+ *   ...
+ * }
+ * </pre>
+ *
+ * @author Martin Davis
+ *
+ * @see IsValidOp
+ */
+public class IncrementalIsValidOp {
+
+  private static final int MIN_SIZE_RING = 4;
+
+  private GeometryFactory geomFact;
+
+  /**
+   * The ring vertices, with the shell as ring 0
+   */
+  private Coordinate[][] rings;
+  private RingSegment[][] ringSegs;
+  private Envelope[] ringEnv;
+  private int[] numInvalidCoord;
+  private int[] numRepeatedPts;
+
+  private Quadtree segIndex = new Quadtree();
+  private Quadtree holeIndex = new Quadtree();
+  private LineIntersector li = new RobustLineIntersector();
+
+  private Set<SegmentIntersection> invalidIntersections = new LinkedHashSet<SegmentIntersection>();
+  private Set<SegmentIntersection> touches = new LinkedHashSet<SegmentIntersection>();
+
+  private boolean[] isHoleOutside;
+  private boolean[] isHoleNested;
+  private int numHolesOutside = 0;
+  private int numHolesNested = 0;
+  private boolean[] isHoleDirty;
+  private List<Integer> dirtyHoles = new ArrayList<Integer>();
+  /**
+   * The area changed since the hole containment was last computed,
+   * or null if there are no changes
+   */
+  private Envelope dirtyEnv = null;
+
+  private int editStamp = 0;
+  private boolean isEvaluated = false;
+  private TopologyValidationError validErr = null;
+
+  /**
+   * Creates a new validator for a polygon.
+   * The polygon is copied, so it is not modified by edits.
+   *
+   * @param poly the polygon to validate
+   */
+  public IncrementalIsValidOp(Polygon poly) {
+    geomFact = poly.getFactory();
+    int numRings = poly.isEmpty() ? 0 : poly.getNumInteriorRing() + 1;
+    rings = new Coordinate[numRings][];
+    ringSegs = new RingSegment[numRings][];
+    ringEnv = new Envelope[numRings];
+    numInvalidCoord = new int[numRings];
+    numRepeatedPts = new int[numRings];
+    isHoleOutside = new boolean[numRings];
+    isHoleNested = new boolean[numRings];
+    isHoleDirty = new boolean[numRings];
+
+    editStamp++;
+    int segId = 0;
+    for (int r = 0; r < numRings; r++) {
+      LinearRing ring = r == 0 ? poly.getExteriorRing() : poly.getInteriorRingN(r - 1);
+      Coordinate[] pts = CoordinateArrays.copyDeep(ring.getCoordinates());
+      rings[r] = pts;
+      int numSegs = pts.length == 0 ? 0 : pts.length - 1;
+      RingSegment[] segs = new RingSegment[numSegs];
+      for (int i = 0; i < numSegs; i++) {
+        if (! IsValidOp.isValid(pts[i]))
+          numInvalidCoord[r]++;
+        RingSegment seg = new RingSegment(r, i, segId++);
+        seg.stamp = editStamp;
+        segs[i] = seg;
+        updateSegment(seg);
+      }
+      ringSegs[r] = segs;
+      ringEnv[r] = computeEnvelope(pts);
+      if (r > 0 && numSegs > 0) {
+        insertHole(r);
+        markHoleDirty(r);
+      }
+    }
+    for (int r = 0; r < numRings; r++) {
+      for (RingSegment seg : ringSegs[r]) {
+        findIntersections(seg);
+      }
+    }
+  }
+
+  /**
+   * Gets the current edited polygon.
+   *
+   * @return the edited polygon
+   */
+  public Polygon getPolygon() {
+    if (rings.length == 0)
+      return geomFact.createPolygon();
+    LinearRing shell = geomFact.createLinearRing(CoordinateArrays.copyDeep(rings[0]));
+    LinearRing[] holes = new LinearRing[rings.length - 1];
+    for (int i = 0; i < holes.length; i++) {
+      holes[i] = geomFact.createLinearRing(CoordinateArrays.copyDeep(rings[i + 1]));
+    }
+    return geomFact.createPolygon(shell, holes);
+  }
+
+  /**
+   * Moves a vertex of the polygon.
+   *
+   * @param ringIndex the index of the ring (0 for the shell, i + 1 for hole i)
+   * @param vertexIndex the index of the vertex in the ring
+   * @param pt the new location of the vertex
+   *
+   * @throws IllegalArgumentException if the vertex does not exist
+   */
+  public void setVertex(int ringIndex, int vertexIndex, Coordinate pt) {
+    setVertices(ringIndex, vertexIndex, new Coordinate[] { pt });
+  }
+
+  /**
+   * Moves a range of consecutive vertices of the polygon.
+   * If the range includes both the first and last vertex of the ring
+   * their new locations must be equal.
+   *
+   * @param ringIndex the index of the ring (0 for the shell, i + 1 for hole i)
+   * @param startIndex the index of the first vertex to move
+   * @param pts the new locations of the vertices
+   *
+   * @throws IllegalArgumentException if the vertices do not exist
+   */
+  public void setVertices(int ringIndex, int startIndex, Coordinate[] pts) {
+    if (ringIndex < 0 || ringIndex >= rings.length)
+      throw new IllegalArgumentException("Invalid ring index: " + ringIndex);
+    Coordinate[] ring = rings[ringIndex];
+    int n = ring.length;
+    if (startIndex < 0 || startIndex + pts.length > n)
+      throw new IllegalArgumentException("Invalid vertex range: " + startIndex
+          + " to " + (startIndex + pts.length - 1));
+    if (pts.length == 0) return;
+    if (startIndex == 0 && pts.length == n && ! pts[0].equals2D(pts[n - 1]))
+      throw new IllegalArgumentException("Ring start and end vertices are not equal");
+
+    /**
+     * Vertices are indexed cyclically over the ring segments,
+     * so the last vertex is the same as the first
+     */
+    int numSegs = n - 1;
+    int start = startIndex % numSegs;
+    int numChanged = Math.min(pts.length, numSegs);
+    Coordinate[] oldPts = new Coordinate[numChanged];
+    for (int i = 0; i < numChanged; i++) {
+      oldPts[i] = ring[(start + i) % numSegs];
+    }
+    for (int i = 0; i < pts.length; i++) {
+      int v = (startIndex + i) % numSegs;
+      ring[v] = pts[i].copy();
+      if (v == 0)
+        ring[n - 1] = pts[i].copy();
+    }
+    for (int i = 0; i < numChanged; i++) {
+      if (! IsValidOp.isValid(oldPts[i])) numInvalidCoord[ringIndex]--;
+      if (! IsValidOp.isValid(ring[(start + i) % numSegs])) numInvalidCoord[ringIndex]++;
+    }
+    updateRingEnvelope(ringIndex, oldPts, start);
+    updateSegments(ringIndex, start, oldPts);
+
+    if (ringIndex > 0)
+      markHoleDirty(ringIndex);
+    isEvaluated = false;
+  }
+
+  /**
+   * Tests whether the edited polygon is valid.
+   *
+   * @return true if the polygon is valid
+   */
+  public boolean isValid() {
+    evaluate();
+    return validErr == null;
+  }
+
+  /**
+   * Computes the validity of the edited polygon,
+   * and if it is not valid returns the reason for the invalidity.
+   *
+   * @return the validation error, or null if the polygon is valid
+   */
+  public TopologyValidationError getValidationError() {
+    evaluate();
+    return validErr;
+  }
+
+  //==================================================================
+  // Edit processing
+  //==================================================================
+
+  /**
+   * Updates the segments affected by a change to a range of vertices.
+   * These are the segments containing a changed vertex,
+   * as well as their neighbours whose adjacency or previous vertex
+   * may change due to repeated points being created or removed.
+   *
+   * @param r the ring index
+   * @param start the cyclic index of the first changed vertex
+   * @param oldPts the previous locations of the changed vertices
+   */
+  private void updateSegments(int r, int start, Coordinate[] oldPts) {
+    Coordinate[] ring = rings[r];
+    RingSegment[] segs = ringSegs[r];
+    int numSegs = segs.length;
+    int numChanged = oldPts.length;
+
+    int first = 0;
+    int numAffected = numSegs;
+    if (numChanged < numSegs) {
+      // the segments containing a changed vertex
+      first = prevIndex(start, numSegs);
+      int last = (start + numChanged - 1) % numSegs;
+      numAffected = numChanged + 1;
+      while (numAffected < numSegs && isRepeatedEither(ring, first, start, oldPts)) {
+        first = prevIndex(first, numSegs);
+        numAffected++;
+      }
+      while (numAffected < numSegs && isRepeatedEither(ring, last, start, oldPts)) {
+        last = nextIndex(last, numSegs);
+        numAffected++;
+      }
+      /**
+       * Segments after the last changed one have it as their previous vertex,
+       * up to the next non-degenerate segment
+       */
+      do {
+        last = nextIndex(last, numSegs);
+        numAffected++;
+      } while (numAffected < numSegs && isRepeatedEither(ring, last, start, oldPts));
+      if (numAffected >= numSegs) {
+        first = 0;
+        numAffected = numSegs;
+      }
+    }
+
+    editStamp++;
+    for (int i = 0; i < numAffected; i++) {
+      RingSegment seg = segs[(first + i) % numSegs];
+      seg.stamp = editStamp;
+      if (seg.env != null) {
+        expandDirtyEnv(seg.env);
+        segIndex.remove(seg.env, seg);
+      }
+      clearIntersections(seg);
+      if (seg.isRepeated)
+        numRepeatedPts[r]--;
+    }
+    for (int i = 0; i < numAffected; i++) {
+      RingSegment seg = segs[(first + i) % numSegs];
+      updateSegment(seg);
+      if (seg.env != null)
+        expandDirtyEnv(seg.env);
+    }
+    for (int i = 0; i < numAffected; i++) {
+      findIntersections(segs[(first + i) % numSegs]);
+    }
+  }
+
+  /**
+   * Tests whether a segment has repeated endpoints
+   * either before or after the edit.
+   */
+  private static boolean isRepeatedEither(Coordinate[] ring, int segIndex, int start, Coordinate[] oldPts) {
+    int numSegs = ring.length - 1;
+    int next = nextIndex(segIndex, numSegs);
+    if (ring[segIndex].equals2D(ring[next]))
+      return true;
+    return oldVertex(ring, segIndex, start, oldPts).equals2D(oldVertex(ring, next, start, oldPts));
+  }
+
+  private static Coordinate oldVertex(Coordinate[] ring, int index, int start, Coordinate[] oldPts) {
+    int numSegs = ring.length - 1;
+    int offset = (index - start + numSegs) % numSegs;
+    if (offset < oldPts.length)
+      return oldPts[offset];
+    return ring[index];
+  }
+
+  /**
+   * Updates the state of a segment from the current ring vertices,
+   * and adds it to the segment index if it can intersect other segments.
+   */
+  private void updateSegment(RingSegment seg) {
+    Coordinate p0 = rings[seg.ring][seg.index];
+    Coordinate p1 = rings[seg.ring][seg.index + 1];
+    seg.isRepeated = p0.equals2D(p1);
+    if (seg.isRepeated)
+      numRepeatedPts[seg.ring]++;
+    seg.env = null;
+    if (seg.isRepeated || ! IsValidOp.isValid(p0) || ! IsValidOp.isValid(p1))
+      return;
+    seg.env = new Envelope(p0, p1);
+    segIndex.insert(seg.env, seg);
+  }
+
+  private void updateRingEnvelope(int r, Coordinate[] oldPts, int start) {
+    Envelope oldEnv = ringEnv[r];
+    Envelope env = null;
+    for (Coordinate p : oldPts) {
+      if (! IsValidOp.isValid(p) || isOnBoundary(oldEnv, p)) {
+        env = computeEnvelope(rings[r]);
+        break;
+      }
+    }
+    if (env == null) {
+      env = new Envelope(oldEnv);
+      int numSegs = rings[r].length - 1;
+      for (int i = 0; i < oldPts.length; i++) {
+        Coordinate p = rings[r][(start + i) % numSegs];
+        if (IsValidOp.isValid(p))
+          env.expandToInclude(p);
+      }
+    }
+    if (r > 0 && ! oldEnv.isNull())
+      holeIndex.remove(oldEnv, r);
+    ringEnv[r] = env;
+    if (r > 0)
+      insertHole(r);
+  }
+
+  private void insertHole(int r) {
+    if (! ringEnv[r].isNull())
+      holeIndex.insert(ringEnv[r], r);
+  }
+
+  private static boolean isOnBoundary(Envelope env, Coordinate p) {
+    return p.x == env.getMinX() || p.x == env.getMaxX()
+        || p.y == env.getMinY() || p.y == env.getMaxY();
+  }
+
+  private static Envelope computeEnvelope(Coordinate[] pts) {
+    Envelope env = new Envelope();
+    for (Coordinate p : pts) {
+      if (IsValidOp.isValid(p))
+        env.expandToInclude(p);
+    }
+    return env;
+  }
+
+  private void expandDirtyEnv(Envelope env) {
+    if (dirtyEnv == null)
+      dirtyEnv = new Envelope(env);
+    else
+      dirtyEnv.expandToInclude(env);
+  }
+
+  private void markHoleDirty(int r) {
+    if (isHoleDirty[r]) return;
+    isHoleDirty[r] = true;
+    dirtyHoles.add(r);
+  }
+
+  //==================================================================
+  // Segment intersections
+  //==================================================================
+
+  /**
+   * Finds the invalid intersections and ring touches between a segment
+   * and the indexed segments.
+   * Each pair of segments updated by the same edit is only checked once.
+   */
+  private void findIntersections(RingSegment seg) {
+    if (seg.env == null) return;
+    List candidates = segIndex.query(seg.env);
+    for (Object o : candidates) {
+      RingSegment other = (RingSegment) o;
+      if (other == seg) continue;
+      if (other.stamp == seg.stamp && other.id < seg.id) continue;
+      if (! seg.env.intersects(other.env)) continue;
+      SegmentIntersection segInt = findIntersection(seg, other);
+      if (segInt == null) continue;
+      seg.addIntersection(segInt);
+      other.addIntersection(segInt);
+      if (segInt.isTouch())
+        touches.add(segInt);
+      else
+        invalidIntersections.add(segInt);
+    }
+  }
+
+  private void clearIntersections(RingSegment seg) {
+    if (seg.intersections == null) return;
+    for (SegmentIntersection segInt : seg.intersections) {
+      RingSegment other = segInt.seg0 == seg ? segInt.seg1 : segInt.seg0;
+      other.intersections.remove(segInt);
+      if (segInt.isTouch())
+        touches.remove(segInt);
+      else
+        invalidIntersections.remove(segInt);
+    }
+    seg.intersections = null;
+  }
+
+  /**
+   * Finds an invalid intersection or a ring touch between two segments.
+   * This is the same as the test in {@link PolygonIntersectionAnalyzer},
+   * with repeated points being skipped.
+   *
+   * @return the intersection, or null if the segments do not intersect invalidly or touch
+   */
+  private SegmentIntersection findIntersection(RingSegment seg0, RingSegment seg1) {
+    Coordinate p00 = rings[seg0.ring][seg0.index];
+    Coordinate p01 = rings[seg0.ring][seg0.index + 1];
+    Coordinate p10 = rings[seg1.ring][seg1.index];
+    Coordinate p11 = rings[seg1.ring][seg1.index + 1];
+
+    li.computeIntersection(p00, p01, p10, p11);
+    if (! li.hasIntersection())
+      return null;
+
+    /**
+     * Collinear intersections by definition contain an interior intersection.
+     */
+    if (li.isProper() || li.getIntersectionNum() >= 2) {
+      return new SegmentIntersection(seg0, seg1,
+          TopologyValidationError.SELF_INTERSECTION, li.getIntersection(0).copy());
+    }
+
+    Coordinate intPt = li.getIntersection(0);
+    boolean isSameRing = seg0.ring == seg1.ring;
+    if (isSameRing && isAdjacent(seg0, seg1))
+      return null;
+    // rings may not self-intersect under OGC semantics
+    if (isSameRing) {
+      return new SegmentIntersection(seg0, seg1,
+          TopologyValidationError.RING_SELF_INTERSECTION, intPt.copy());
+    }
+
+    /**
+     * Intersections at segment end vertices are detected
+     * at the start vertex of the following segments.
+     */
+    if (intPt.equals2D(p01) || intPt.equals2D(p11))
+      return null;
+
+    Coordinate e00 = p00;
+    Coordinate e01 = p01;
+    if (intPt.equals2D(p00)) {
+      e00 = prevVertex(seg0);
+      e01 = p01;
+    }
+    Coordinate e10 = p10;
+    Coordinate e11 = p11;
+    if (intPt.equals2D(p10)) {
+      e10 = prevVertex(seg1);
+      e11 = p11;
+    }
+    /**
+     * A ring spike has zero-length node edges.
+     * It is always reported as a collinear intersection
+     * of the adjacent spike segments, so can be skipped here.
+     */
+    if (e00.equals2D(e01) || e10.equals2D(e11))
+      return null;
+    if (PolygonNode.isCrossing(intPt, e00, e01, e10, e11)) {
+      return new SegmentIntersection(seg0, seg1,
+          TopologyValidationError.SELF_INTERSECTION, intPt.copy());
+    }
+    return new SegmentIntersection(seg0, seg1, SegmentIntersection.TOUCH, intPt.copy());
+  }
+
+  /**
+   * Tests if two segments of the same ring are adjacent,
+   * ignoring repeated points.
+   */
+  private boolean isAdjacent(RingSegment seg0, RingSegment seg1) {
+    return nextSegmentIndex(seg0) == seg1.index
+        || nextSegmentIndex(seg1) == seg0.index;
+  }
+
+  private int nextSegmentIndex(RingSegment seg) {
+    RingSegment[] segs = ringSegs[seg.ring];
+    int index = seg.index;
+    for (int i = 0; i < segs.length; i++) {
+      index = nextIndex(index, segs.length);
+      if (! segs[index].isRepeated)
+        return index;
+    }
+    return seg.index;
+  }
+
+  /**
+   * Gets the ring vertex before the start of a segment,
+   * ignoring repeated points.
+   */
+  private Coordinate prevVertex(RingSegment seg) {
+    RingSegment[] segs = ringSegs[seg.ring];
+    int index = seg.index;
+    for (int i = 0; i < segs.length; i++) {
+      index = prevIndex(index, segs.length);
+      if (! segs[index].isRepeated)
+        return rings[seg.ring][index];
+    }
+    return rings[seg.ring][seg.index];
+  }
+
+  private static int nextIndex(int index, int size) {
+    return index + 1 >= size ? 0 : index + 1;
+  }
+
+  private static int prevIndex(int index, int size) {
+    return index == 0 ? size - 1 : index - 1;
+  }
+
+  //==================================================================
+  // Validation
+  //==================================================================
+
+  private void evaluate() {
+    if (isEvaluated) return;
+    validErr = computeValidationError();
+    isEvaluated = true;
+  }
+
+  /**
+   * Computes the validation error for the polygon,
+   * checking the same conditions in the same order as {@link IsValidOp}.
+   */
+  private TopologyValidationError computeValidationError() {
+    for (int r = 0; r < rings.length; r++) {
+      if (numInvalidCoord[r] == 0) continue;
+      for (Coordinate p : rings[r]) {
+        if (! IsValidOp.isValid(p))
+          return new TopologyValidationError(TopologyValidationError.INVALID_COORDINATE, p.copy());
+      }
+    }
+    for (int r = 0; r < rings.length; r++) {
+      if (rings[r].length == 0) continue;
+      if (rings[r].length - numRepeatedPts[r] < MIN_SIZE_RING)
+        return new TopologyValidationError(TopologyValidationError.TOO_FEW_POINTS, rings[r][0].copy());
+    }
+    if (! invalidIntersections.isEmpty()) {
+      SegmentIntersection segInt = invalidIntersections.iterator().next();
+      return new TopologyValidationError(segInt.code, segInt.pt.copy());
+    }
+
+    updateHoleContainment();
+    if (numHolesOutside > 0) {
+      return new TopologyValidationError(TopologyValidationError.HOLE_OUTSIDE_SHELL,
+          rings[firstHole(isHoleOutside)][0].copy());
+    }
+    if (numHolesNested > 0) {
+      return new TopologyValidationError(TopologyValidationError.NESTED_HOLES,
+          rings[firstHole(isHoleNested)][0].copy());
+    }
+
+    Coordinate disconnectPt = findDisconnection();
+    if (disconnectPt != null)
+      return new TopologyValidationError(TopologyValidationError.DISCONNECTED_INTERIOR, disconnectPt.copy());
+    return null;
+  }
+
+  private static int firstHole(boolean[] holeFlags) {
+    for (int r = 1; r < holeFlags.length; r++) {
+      if (holeFlags[r]) return r;
+    }
+    return -1;
+  }
+
+  /**
+   * Recomputes whether holes lie outside the shell or inside another hole,
+   * for the holes which were edited or which lie in the area
+   * changed since the previous computation.
+   * Holes which do not intersect the changed area
+   * have the same containment as before.
+   */
+  private void updateHoleContainment() {
+    if (dirtyEnv != null) {
+      List candidates = holeIndex.query(dirtyEnv);
+      for (Object o : candidates) {
+        int r = (Integer) o;
+        if (ringEnv[r].intersects(dirtyEnv))
+          markHoleDirty(r);
+      }
+      dirtyEnv = null;
+    }
+    for (int r : dirtyHoles) {
+      isHoleDirty[r] = false;
+      if (rings[r].length == 0) continue;
+
+      boolean isOutside = isHoleOutsideShell(r);
+      if (isOutside != isHoleOutside[r])
+        numHolesOutside += isOutside ? 1 : -1;
+      isHoleOutside[r] = isOutside;
+
+      boolean isNested = isHoleNested(r);
+      if (isNested != isHoleNested[r])
+        numHolesNested += isNested ? 1 : -1;
+      isHoleNested[r] = isNested;
+    }
+    dirtyHoles.clear();
+  }
+
+  private boolean isHoleOutsideShell(int hole) {
+    if (! ringEnv[0].covers(ringEnv[hole]))
+      return true;
+    Coordinate[] holePts = rings[hole];
+    return ! isSegmentInRing(holePts[0], nextDistinctVertex(holePts), 0);
+  }
+
+  private boolean isHoleNested(int hole) {
+    Coordinate[] holePts = rings[hole];
+    Coordinate holePt1 = nextDistinctVertex(holePts);
+    List candidates = holeIndex.query(ringEnv[hole]);
+    for (Object o : candidates) {
+      int r = (Integer) o;
+      if (r == hole) continue;
+      if (! ringEnv[r].covers(ringEnv[hole])) continue;
+      if (isSegmentInRing(holePts[0], holePt1, r))
+        return true;
+    }
+    return false;
+  }
+
+  /**
+   * Gets the first vertex of a ring which is different to the start vertex,
+   * so that the first ring segment is not degenerate.
+   */
+  private static Coordinate nextDistinctVertex(Coordinate[] pts) {
+    for (int i = 1; i < pts.length; i++) {
+      if (! pts[i].equals2D(pts[0]))
+        return pts[i];
+    }
+    return pts[1];
+  }
+
+  /**
+   * Tests whether a segment p0-p1 is inside a ring,
+   * using the segment index to locate p0.
+   *
+   * @see PolygonTopologyAnalyzer#isSegmentInRing(Coordinate, Coordinate, LinearRing)
+   */
+  private boolean isSegmentInRing(Coordinate p0, Coordinate p1, int r) {
+    int loc = locateInRing(p0, r);
+    if (loc == Location.EXTERIOR) return false;
+    if (loc == Location.INTERIOR) return true;
+    return isIncidentSegmentInRing(p0, p1, r);
+  }
+
+  /**
+   * Tests whether a segment p0-p1 with p0 on a ring is inside the ring,
+   * by checking its position relative to the ring corner at p0.
+   * This is the same as
+   * {@link PolygonTopologyAnalyzer#isIncidentSegmentInRing(Coordinate, Coordinate, Coordinate[])},
+   * with repeated points being skipped.
+   */
+  private boolean isIncidentSegmentInRing(Coordinate p0, Coordinate p1, int r) {
+    RingSegment seg = findIncidentSegment(p0, r);
+    Coordinate rPrev = rings[r][seg.index];
+    Coordinate rNext = rings[r][seg.index + 1];
+    if (p0.equals2D(rPrev)) {
+      rPrev = prevVertex(seg);
+    }
+    boolean isInteriorOnRight = ! Orientation.isCCW(rings[r]);
+    if (! isInteriorOnRight) {
+      Coordinate temp = rPrev;
+      rPrev = rNext;
+      rNext = temp;
+    }
+    return PolygonNode.isInteriorSegment(p0, rPrev, rNext, p1);
+  }
+
+  /**
+   * Finds the ring segment which contains a point on a ring.
+   * If the point is a ring vertex the segment starting at it is returned.
+   */
+  private RingSegment findIncidentSegment(Coordinate p, int r) {
+    List candidates = segIndex.query(new Envelope(p));
+    for (Object o : candidates) {
+      RingSegment seg = (RingSegment) o;
+      if (seg.ring != r) continue;
+      Coordinate p1 = rings[r][seg.index + 1];
+      li.computeIntersection(p, rings[r][seg.index], p1);
+      if (li.hasIntersection()) {
+        if (p.equals2D(p1))
+          return ringSegs[r][nextSegmentIndex(seg)];
+        return seg;
+      }
+    }
+    throw new IllegalArgumentException("Segment vertex does not intersect ring");
+  }
+
+  /**
+   * Locates a point in a ring by counting the crossings
+   * of the ring segments intersecting a ray from the point.
+   */
+  private int locateInRing(Coordinate p, int r) {
+    RayCrossingCounter rcc = new RayCrossingCounter(p);
+    Envelope rayEnv = new Envelope(p.x, Double.MAX_VALUE, p.y, p.y);
+    List candidates = segIndex.query(rayEnv);
+    for (Object o : candidates) {
+      RingSegment seg = (RingSegment) o;
+      if (seg.ring != r) continue;
+      if (! seg.env.intersects(rayEnv)) continue;
+      rcc.countSegment(rings[r][seg.index], rings[r][seg.index + 1]);
+      if (rcc.isOnSegment())
+        break;
+    }
+    return rcc.getLocation();
+  }
+
+  /**
+   * Finds a point where the polygon interior is disconnected
+   * by the touches between rings.
+   *
+   * @return a disconnection point, or null if the interior is connected
+   */
+  private Coordinate findDisconnection() {
+    if (touches.isEmpty())
+      return null;
+    Map<Integer, PolygonRing> polyRings = new HashMap<Integer, PolygonRing>();
+    PolygonRing shell = new PolygonRing(geomFact.createLinearRing(rings[0]));
+    polyRings.put(0, shell);
+    for (SegmentIntersection touch : touches) {
+      PolygonRing ring0 = getPolygonRing(touch.seg0.ring, shell, polyRings);
+      PolygonRing ring1 = getPolygonRing(touch.seg1.ring, shell, polyRings);
+      if (PolygonRing.addTouch(ring0, ring1, touch.pt))
+        return touch.pt;
+    }
+    return PolygonRing.findHoleCycleLocation(new ArrayList<PolygonRing>(polyRings.values()));
+  }
+
+  private PolygonRing getPolygonRing(int r, PolygonRing shell, Map<Integer, PolygonRing> polyRings) {
+    PolygonRing polyRing = polyRings.get(r);
+    if (polyRing == null) {
+      polyRing = new PolygonRing(geomFact.createLinearRing(rings[r]), r - 1, shell);
+      polyRings.put(r, polyRing);
+    }
+    return polyRing;
+  }
+
+  /**
+   * A segment of a polygon ring,
+   * with the invalid intersections and touches it participates in.
+   */
+  private static class RingSegment {
+    final int ring;
+    final int index;
+    final int id;
+    /**
+     * The segment envelope, or null if the segment is not indexed
+     * because it has repeated or invalid endpoints
+     */
+    Envelope env = null;
+    boolean isRepeated = false;
+    int stamp = 0;
+    List<SegmentIntersection> intersections = null;
+
+    RingSegment(int ring, int index, int id) {
+      this.ring = ring;
+      this.index = index;
+      this.id = id;
+    }
+
+    void addIntersection(SegmentIntersection segInt) {
+      if (intersections == null)
+        intersections = new ArrayList<SegmentIntersection>(2);
+      intersections.add(segInt);
+    }
+  }
+
+  /**
+   * An invalid intersection or a touch between two ring segments.
+   */
+  private static class SegmentIntersection {
+    static final int TOUCH = -1;
+
+    final RingSegment seg0;
+    final RingSegment seg1;
+    final int code;
+    final Coordinate pt;
+
+    SegmentIntersection(RingSegment seg0, RingSegment seg1, int code, Coordinate pt) {
+      this.seg0 = seg0;
+      this.seg1 = seg1;
+      this.code = code;
+      this.pt = pt;
+    }
+
+    boolean isTouch() {
+      return code == TOUCH;
+    }
+  }
+}
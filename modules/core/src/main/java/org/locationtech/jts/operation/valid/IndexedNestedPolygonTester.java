@@ -11,7 +11,10 @@
  */
 package org.locationtech.jts.operation.valid;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
 import org.locationtech.jts.geom.Coordinate;
@@ -22,6 +25,7 @@ import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.index.SpatialIndex;
 import org.locationtech.jts.index.strtree.STRtree;
+import org.locationtech.jts.util.ParallelMap;
 
 /**
  * Tests whether a MultiPolygon has any element polygon
@@ -30,6 +34,8 @@ import org.locationtech.jts.index.strtree.STRtree;
  * <p>
  * The logic assumes that the polygons do not overlap and have no collinear segments
  * (so they are properly nested, and there are no duplicate rings).
+ * <p>
+ * The polygons can be tested using multiple threads.
  */
 class IndexedNestedPolygonTester
 {
@@ -37,25 +43,35 @@ class IndexedNestedPolygonTester
   private SpatialIndex index;
   private IndexedPointInAreaLocator[] locators;
   private Coordinate nestedPt;
+  private int numThreads = 1;
 
   public IndexedNestedPolygonTester(MultiPolygon multiPoly)
+  {
+    this(multiPoly, 1);
+  }
+
+  public IndexedNestedPolygonTester(MultiPolygon multiPoly, int numThreads)
   {
     this.multiPoly = multiPoly;
+    this.numThreads = numThreads;
     loadIndex();
   }
 
   private void loadIndex()
   {
-    index = new STRtree();
+    STRtree tree = new STRtree();
 
     for (int i = 0; i < multiPoly.getNumGeometries(); i++) {
       Polygon poly = (Polygon) multiPoly.getGeometryN(i);
       Envelope env = poly.getEnvelopeInternal();
-      index.insert(env, i);
+      tree.insert(env, i);
     }
+    // build before querying concurrently
+    tree.build();
+    index = tree;
   }
 
-  private IndexedPointInAreaLocator getLocator(int polyIndex) {
+  private synchronized IndexedPointInAreaLocator getLocator(int polyIndex) {
     if (locators == null) {
       locators = new IndexedPointInAreaLocator[multiPoly.getNumGeometries()];
     }
@@ -82,30 +98,78 @@ class IndexedNestedPolygonTester
    */
   public boolean isNested()
   {
+    if (numThreads > 1)
+      return isNestedParallel();
+    
     for (int i = 0; i < multiPoly.getNumGeometries(); i++) {
       Polygon poly = (Polygon) multiPoly.getGeometryN(i);
-      LinearRing shell = poly.getExteriorRing();
-      
-      List<Integer> results = index.query(poly.getEnvelopeInternal());
-      for (Integer polyIndex : results) {
-        Polygon possibleOuterPoly = (Polygon) multiPoly.getGeometryN(polyIndex);
-        
-        if (poly == possibleOuterPoly)
-          continue;
-        /**
-         * If polygon is not fully covered by candidate polygon it cannot be nested
-         */
-        if (! possibleOuterPoly.getEnvelopeInternal().covers( poly.getEnvelopeInternal()) )
-          continue;
-        
-        nestedPt = findNestedPoint(shell, possibleOuterPoly, getLocator(polyIndex));
-        if (nestedPt != null)
-          return true;
+      nestedPt = findNestedPoint(poly);
+      if (nestedPt != null)
+        return true;
+    }
+    return false;
+  }
+  
+  /**
+   * Tests the polygons using multiple threads.
+   * The remaining polygons are skipped as soon as a nested polygon is found.
+   * 
+   * @return true if some polygon is nested
+   */
+  private boolean isNestedParallel()
+  {
+    List<Polygon> polys = new ArrayList<Polygon>();
+    for (int i = 0; i < multiPoly.getNumGeometries(); i++) {
+      polys.add((Polygon) multiPoly.getGeometryN(i));
+    }
+    final AtomicBoolean isFound = new AtomicBoolean(false);
+    List<Coordinate> results = ParallelMap.map(polys, new Function<Polygon, Coordinate>() {
+      public Coordinate apply(Polygon poly) {
+        if (isFound.get()) return null;
+        Coordinate pt = findNestedPoint(poly);
+        if (pt != null)
+          isFound.set(true);
+        return pt;
+      }
+    }, numThreads);
+    for (Coordinate pt : results) {
+      if (pt != null) {
+        nestedPt = pt;
+        return true;
       }
     }
     return false;
   }
   
+  /**
+   * Finds a point of a polygon which is nested inside another polygon, if any.
+   * 
+   * @param poly the polygon to test
+   * @return a nested point, or null if the polygon is not nested
+   */
+  private Coordinate findNestedPoint(Polygon poly)
+  {
+    LinearRing shell = poly.getExteriorRing();
+    
+    List<Integer> results = index.query(poly.getEnvelopeInternal());
+    for (Integer polyIndex : results) {
+      Polygon possibleOuterPoly = (Polygon) multiPoly.getGeometryN(polyIndex);
+      
+      if (poly == possibleOuterPoly)
+        continue;
+      /**
+       * If polygon is not fully covered by candidate polygon it cannot be nested
+       */
+      if (! possibleOuterPoly.getEnvelopeInternal().covers( poly.getEnvelopeInternal()) )
+        continue;
+      
+      Coordinate pt = findNestedPoint(shell, possibleOuterPoly, getLocator(polyIndex));
+      if (pt != null)
+        return pt;
+    }
+    return null;
+  }
+  
   private Coordinate findNestedPoint(LinearRing shell, 
       Polygon possibleOuterPoly, IndexedPointInAreaLocator locator) 
   {    
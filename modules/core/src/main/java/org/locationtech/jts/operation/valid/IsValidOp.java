@@ -11,6 +11,11 @@
  */
 package org.locationtech.jts.operation.valid;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryCollection;
@@ -20,11 +25,22 @@ import org.locationtech.jts.geom.MultiPoint;
 import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.util.ParallelMap;
 
 /**
  * Implements the algorithms required to compute the <code>isValid()</code> method
  * for {@link Geometry}s.
  * See the documentation for the various geometry types for a specification of validity.
+ * <p>
+ * Validation stops as soon as an error is found.
+ * The validation of a {@link MultiPolygon} can use multiple threads
+ * (see {@link #setNumThreads(int)}).
+ * In this case the ring checks and hole checks of the element polygons,
+ * the ring intersection analysis and the nested shell check 
+ * are each performed concurrently,
+ * and the remaining work is skipped as soon as any thread finds an error.
+ * If a geometry has several errors, the one reported 
+ * may differ from that found by a single thread.
  *
  * @version 1.7
  */
@@ -71,6 +87,8 @@ public class IsValidOp
    */
   private boolean isInvertedRingValid = false;
   
+  private int numThreads = 1;
+  
   private TopologyValidationError validErr;
 
   /**
@@ -117,6 +135,21 @@ public class IsValidOp
     isInvertedRingValid = isValid;
   }
 
+  /**
+   * Sets the number of threads used to validate a {@link MultiPolygon}.
+   * The default is 1, which validates in the calling thread.
+   * Using more threads is beneficial for MultiPolygons with many elements.
+   *
+   * @param numThreads the number of threads to use
+   * @throws IllegalArgumentException if the number of threads is less than 1
+   */
+  public void setNumThreads(int numThreads)
+  {
+    if (numThreads < 1)
+      throw new IllegalArgumentException("Number of threads must be >= 1");
+    this.numThreads = numThreads;
+  }
+
   /**
    * Tests the validity of the input geometry.
    * 
@@ -260,6 +293,9 @@ public class IsValidOp
    */
   private boolean isValid(MultiPolygon g)
   {
+    if (numThreads > 1 && g.getNumGeometries() > 1)
+      return isValidParallel(g);
+    
     for (int i = 0; i < g.getNumGeometries(); i++) {
       Polygon p = (Polygon) g.getGeometryN(i);
       checkCoordinateInvalid(p);
@@ -295,6 +331,97 @@ public class IsValidOp
     return true;
   }
 
+  /**
+   * Tests validity of a MultiPolygon using multiple threads.
+   * The checks are the same as for a single thread,
+   * but the checks of the element polygons are performed concurrently.
+   * 
+   * @param g the MultiPolygon to test
+   * @return true if the geometry is valid
+   */
+  private boolean isValidParallel(MultiPolygon g)
+  {
+    List<Polygon> polys = new ArrayList<Polygon>();
+    for (int i = 0; i < g.getNumGeometries(); i++) {
+      polys.add((Polygon) g.getGeometryN(i));
+    }
+    
+    checkPolygonsParallel(polys, true);
+    if (hasInvalidError()) return false;
+    
+    PolygonTopologyAnalyzer areaAnalyzer = new PolygonTopologyAnalyzer(g, isInvertedRingValid, numThreads);
+    
+    checkAreaIntersections(areaAnalyzer);
+    if (hasInvalidError()) return false;
+    
+    checkPolygonsParallel(polys, false);
+    if (hasInvalidError()) return false;
+    
+    IndexedNestedPolygonTester nestedTester = new IndexedNestedPolygonTester(g, numThreads);
+    if ( nestedTester.isNested() ) {
+      logInvalid(TopologyValidationError.NESTED_SHELLS,
+                            nestedTester.getNestedPoint());
+      return false;
+    }
+    
+    checkInteriorDisconnected(areaAnalyzer);
+    if (hasInvalidError()) return false;
+
+    return true;
+  }
+  
+  /**
+   * Checks the element polygons of a MultiPolygon concurrently,
+   * using a separate validator for each polygon.
+   * The remaining polygons are skipped as soon as an error is found.
+   * 
+   * @param polys the polygons to check
+   * @param isRingCheck true to check the ring structure, 
+   *     false to check the hole positions
+   */
+  private void checkPolygonsParallel(List<Polygon> polys, final boolean isRingCheck)
+  {
+    final AtomicBoolean isDone = new AtomicBoolean(false);
+    List<TopologyValidationError> errs = ParallelMap.map(polys, 
+        new Function<Polygon, TopologyValidationError>() {
+      public TopologyValidationError apply(Polygon p) {
+        if (isDone.get()) return null;
+        IsValidOp op = new IsValidOp(p);
+        if (isRingCheck) {
+          op.checkRings(p);
+        }
+        else {
+          op.checkHoles(p);
+        }
+        if (op.validErr != null)
+          isDone.set(true);
+        return op.validErr;
+      }
+    }, numThreads);
+    for (TopologyValidationError err : errs) {
+      if (err != null) {
+        validErr = err;
+        return;
+      }
+    }
+  }
+  
+  private void checkRings(Polygon p)
+  {
+    checkCoordinateInvalid(p);
+    if (hasInvalidError()) return;
+    checkRingsNotClosed(p);
+    if (hasInvalidError()) return;
+    checkRingsTooFewPoints(p);
+  }
+  
+  private void checkHoles(Polygon p)
+  {
+    checkHolesOutsideShell(p);
+    if (hasInvalidError()) return;
+    checkHolesNested(p);
+  }
+
   /**
    * Tests validity of a GeometryCollection.
    * 
@@ -13,6 +13,8 @@ package org.locationtech.jts.operation.valid;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 import org.locationtech.jts.algorithm.LineIntersector;
 import org.locationtech.jts.algorithm.Orientation;
@@ -23,10 +25,16 @@ import org.locationtech.jts.geom.CoordinateArrays;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.LinearRing;
 import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.index.chain.MonotoneChain;
+import org.locationtech.jts.index.chain.MonotoneChainBuilder;
+import org.locationtech.jts.index.chain.MonotoneChainOverlapAction;
+import org.locationtech.jts.index.strtree.STRtree;
 import org.locationtech.jts.noding.BasicSegmentString;
 import org.locationtech.jts.noding.MCIndexNoder;
 import org.locationtech.jts.noding.SegmentString;
+import org.locationtech.jts.util.ParallelMap;
 
 /**
  * Analyzes the topology of polygonal geometry
@@ -151,6 +159,7 @@ class PolygonTopologyAnalyzer {
   }
   
   private boolean isInvertedRingValid;
+  private int numThreads = 1;
   
   private PolygonIntersectionAnalyzer intFinder;
   private List<PolygonRing> polyRings = null;
@@ -163,7 +172,20 @@ class PolygonTopologyAnalyzer {
    * @param isInvertedRingValid a flag indicating whether inverted rings are allowed
    */
   public PolygonTopologyAnalyzer(Geometry geom, boolean isInvertedRingValid) {
+    this(geom, isInvertedRingValid, 1);
+  }
+
+  /**
+   * Creates a new analyzer for a {@link Polygon} or {@link MultiPolygon},
+   * using multiple threads to find the intersections of a {@link MultiPolygon}.
+   * 
+   * @param geom a Polygon or MultiPolygon
+   * @param isInvertedRingValid a flag indicating whether inverted rings are allowed
+   * @param numThreads the number of threads to use
+   */
+  public PolygonTopologyAnalyzer(Geometry geom, boolean isInvertedRingValid, int numThreads) {
     this.isInvertedRingValid = isInvertedRingValid;
+    this.numThreads = numThreads;
     analyze(geom);
   }
 
@@ -256,9 +278,17 @@ class PolygonTopologyAnalyzer {
   private void analyze(Geometry geom) {
     if (geom.isEmpty()) 
       return;
-    List<SegmentString> segStrings = createSegmentStrings(geom, isInvertedRingValid);
+    boolean isParallel = numThreads > 1 
+        && geom instanceof MultiPolygon && geom.getNumGeometries() > 1;
+    List<Integer> polyEnds = isParallel ? new ArrayList<Integer>() : null;
+    List<SegmentString> segStrings = createSegmentStrings(geom, isInvertedRingValid, polyEnds);
     polyRings = getPolygonRings(segStrings);
-    intFinder = analyzeIntersections(segStrings);
+    if (isParallel) {
+      intFinder = analyzeIntersectionsParallel(segStrings, polyEnds);
+    }
+    else {
+      intFinder = analyzeIntersections(segStrings);
+    }
     
     if (intFinder.hasDoubleTouch()) {
       disconnectionPt = intFinder.getDoubleTouchLocation();
@@ -275,7 +305,85 @@ class PolygonTopologyAnalyzer {
     return segInt;
   }
 
-  private static List<SegmentString> createSegmentStrings(Geometry geom, boolean isInvertedRingValid) {
+  /**
+   * Finds the intersections between the rings using multiple threads.
+   * The monotone chains of all rings are indexed in a single tree,
+   * and the chains of each polygon are queried against it by a single task.
+   * Each pair of chains is processed by the task for the polygon
+   * containing the chain with the lower id.
+   * Since touches are only recorded for rings in the same polygon,
+   * each {@link PolygonRing} is updated by only one thread.
+   * As soon as any task finds an invalid intersection
+   * or a double touch the remaining tasks are skipped.
+   * 
+   * @param segStrings the ring segment strings
+   * @param polyEnds the end index of the segment strings for each polygon
+   * @return an analyzer containing the result of the analysis
+   */
+  private PolygonIntersectionAnalyzer analyzeIntersectionsParallel(List<SegmentString> segStrings, 
+      List<Integer> polyEnds)
+  {
+    final STRtree index = new STRtree();
+    List<List<MonotoneChain>> polyChains = new ArrayList<List<MonotoneChain>>();
+    int id = 0;
+    int start = 0;
+    for (int end : polyEnds) {
+      List<MonotoneChain> chains = new ArrayList<MonotoneChain>();
+      for (int i = start; i < end; i++) {
+        SegmentString ss = segStrings.get(i);
+        List<MonotoneChain> ssChains = MonotoneChainBuilder.getChains(ss.getCoordinates(), ss);
+        for (MonotoneChain mc : ssChains) {
+          mc.setId(id++);
+          index.insert(mc.getEnvelope(), mc);
+          chains.add(mc);
+        }
+      }
+      polyChains.add(chains);
+      start = end;
+    }
+    // build before querying concurrently
+    index.build();
+    
+    final AtomicBoolean isDone = new AtomicBoolean(false);
+    List<PolygonIntersectionAnalyzer> results = ParallelMap.map(polyChains, 
+        new Function<List<MonotoneChain>, PolygonIntersectionAnalyzer>() {
+      public PolygonIntersectionAnalyzer apply(List<MonotoneChain> chains) {
+        if (isDone.get()) return null;
+        PolygonIntersectionAnalyzer segInt = new PolygonIntersectionAnalyzer(isInvertedRingValid);
+        MonotoneChainOverlapAction overlapAction = new MCIndexNoder.SegmentOverlapAction(segInt);
+        for (MonotoneChain queryChain : chains) {
+          if (isDone.get()) return null;
+          List<MonotoneChain> overlapChains = index.query(queryChain.getEnvelope());
+          for (MonotoneChain testChain : overlapChains) {
+            if (testChain.getId() > queryChain.getId()) {
+              queryChain.computeOverlaps(testChain, overlapAction);
+            }
+            if (segInt.isDone()) {
+              isDone.set(true);
+              return segInt;
+            }
+          }
+        }
+        return null;
+      }
+    }, numThreads);
+    
+    for (PolygonIntersectionAnalyzer result : results) {
+      if (result != null) return result;
+    }
+    return new PolygonIntersectionAnalyzer(isInvertedRingValid);
+  }
+
+  /**
+   * Creates the segment strings for the rings of a polygonal geometry.
+   * 
+   * @param geom a polygonal geometry or ring
+   * @param isInvertedRingValid a flag indicating whether inverted rings are allowed
+   * @param polyEnds a list to receive the end index of the segment strings for each polygon, or null
+   * @return the ring segment strings
+   */
+  private static List<SegmentString> createSegmentStrings(Geometry geom, boolean isInvertedRingValid,
+      List<Integer> polyEnds) {
     List<SegmentString> segStrings = new ArrayList<SegmentString>();
     if (geom instanceof LinearRing) {
       LinearRing ring = (LinearRing) geom;
@@ -300,6 +408,9 @@ class PolygonTopologyAnalyzer {
         PolygonRing holeRing = new PolygonRing(hole, j, shellRing);
         segStrings.add( createSegString(hole, holeRing));
       }
+      if (polyEnds != null) {
+        polyEnds.add(segStrings.size());
+      }
     }
     return segStrings;
   }
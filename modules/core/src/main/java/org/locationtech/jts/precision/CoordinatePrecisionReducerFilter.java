@@ -31,6 +31,11 @@ import org.locationtech.jts.geom.PrecisionModel;
 public class CoordinatePrecisionReducerFilter
 	implements CoordinateSequenceFilter
 {
+  /**
+   * The number of ordinate values processed at a time by the bulk filter
+   */
+  private static final int BLOCK_SIZE = 256;
+
 	private PrecisionModel precModel;
 	
 	/**
@@ -51,6 +56,26 @@ public class CoordinatePrecisionReducerFilter
 		seq.setOrdinate(i, 0, precModel.makePrecise(seq.getOrdinate(i, 0)));
 		seq.setOrdinate(i, 1, precModel.makePrecise(seq.getOrdinate(i, 1)));
 	}
+
+  /**
+   * Rounds all the Coordinates in the sequence to match the PrecisionModel,
+   * processing each ordinate in blocks.
+   */
+  public void filter(CoordinateSequence seq)
+  {
+    int size = seq.size();
+    double[] block = new double[Math.min(size, BLOCK_SIZE)];
+    for (int ordIndex = 0; ordIndex < 2; ordIndex++) {
+      for (int start = 0; start < size; start += BLOCK_SIZE) {
+        int n = Math.min(BLOCK_SIZE, size - start);
+        seq.getOrdinates(ordIndex, start, block, 0, n);
+        for (int i = 0; i < n; i++) {
+          block[i] = precModel.makePrecise(block[i]);
+        }
+        seq.setOrdinates(ordIndex, start, block, 0, n);
+      }
+    }
+  }
   
 	/**
 	 * Always runs over all geometry components.
@@ -90,6 +90,7 @@ public class GeometryPrecisionReducer
   private boolean removeCollapsed = true;
   private boolean changePrecisionModel = false;
   private boolean isPointwise = false;
+  private int numThreads = 1;
 
   public GeometryPrecisionReducer(PrecisionModel pm)
   {
@@ -139,6 +140,23 @@ public class GeometryPrecisionReducer
     this.isPointwise = isPointwise;
   }
 
+  /**
+   * Sets the number of threads used to reduce the elements of collections.
+   * Polygonal geometries are reduced as a whole,
+   * so this only benefits collections of points or lines,
+   * or heterogeneous collections.
+   * The default is 1.
+   *
+   * @param numThreads the number of threads to use
+   * @throws IllegalArgumentException if the number of threads is less than 1
+   */
+  public void setNumThreads(int numThreads)
+  {
+    if (numThreads < 1)
+      throw new IllegalArgumentException("Number of threads must be >= 1");
+    this.numThreads = numThreads;
+  }
+
   /**
    * Reduces the precision of a geometry, 
    * according to the specified strategy of this reducer.
@@ -151,10 +169,14 @@ public class GeometryPrecisionReducer
   {
     Geometry reduced;
     if (isPointwise) {
-      reduced = PointwisePrecisionReducerTransformer.reduce(geom, targetPM);
+      PointwisePrecisionReducerTransformer trans = new PointwisePrecisionReducerTransformer(targetPM);
+      trans.setNumThreads(numThreads);
+      reduced = trans.transform(geom);
     }
     else {
-      reduced = PrecisionReducerTransformer.reduce(geom, targetPM, removeCollapsed);
+      PrecisionReducerTransformer trans = new PrecisionReducerTransformer(targetPM, removeCollapsed);
+      trans.setNumThreads(numThreads);
+      reduced = trans.transform(geom);
     }
     
     // TODO: incorporate this in the Transformer above
@@ -195,7 +217,8 @@ public class GeometryPrecisionReducer
     GeometryFactory newFactory 
   	= new GeometryFactory(pm, 
   			inputFactory.getSRID(),
-  			inputFactory.getCoordinateSequenceFactory());
+  			inputFactory.getCoordinateSequenceFactory(),
+  			inputFactory.isPropertyCacheEnabled());
     return newFactory;
   }
   
@@ -20,6 +20,7 @@ import org.locationtech.jts.geom.LineString;
 import org.locationtech.jts.geom.LinearRing;
 import org.locationtech.jts.geom.Polygonal;
 import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.CoordinateArraySequenceFactory;
 import org.locationtech.jts.geom.util.GeometryEditor;
 
 /**
@@ -96,7 +97,9 @@ public class SimpleGeometryPrecisionReducer
   {
     GeometryEditor geomEdit;
     if (changePrecisionModel) {
-      GeometryFactory newFactory = new GeometryFactory(newPrecisionModel, geom.getFactory().getSRID());
+      GeometryFactory geomFactory = geom.getFactory();
+      GeometryFactory newFactory = new GeometryFactory(newPrecisionModel, geomFactory.getSRID(),
+          CoordinateArraySequenceFactory.instance(), geomFactory.isPropertyCacheEnabled());
       geomEdit = new GeometryEditor(newFactory);
     }
     else
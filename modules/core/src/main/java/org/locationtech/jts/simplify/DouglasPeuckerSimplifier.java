@@ -64,6 +64,7 @@ public class DouglasPeuckerSimplifier
   private Geometry inputGeom;
   private double distanceTolerance;
   private boolean isEnsureValidTopology = true;
+  private int numThreads = 1;
   
   /**
    * Creates a simplifier for a given geometry.
@@ -108,6 +109,20 @@ public class DouglasPeuckerSimplifier
   	this.isEnsureValidTopology = isEnsureValidTopology;
   }
   
+  /**
+   * Sets the number of threads used to simplify the elements of collections.
+   * The default is 1.
+   *
+   * @param numThreads the number of threads to use
+   * @throws IllegalArgumentException if the number of threads is less than 1
+   */
+  public void setNumThreads(int numThreads)
+  {
+    if (numThreads < 1)
+      throw new IllegalArgumentException("Number of threads must be >= 1");
+    this.numThreads = numThreads;
+  }
+
   /**
    * Gets the simplified geometry.
    * 
@@ -118,7 +133,9 @@ public class DouglasPeuckerSimplifier
     // empty input produces an empty result
     if (inputGeom.isEmpty()) return inputGeom.copy();
     
-    return (new DPTransformer(isEnsureValidTopology, distanceTolerance)).transform(inputGeom);
+    DPTransformer transformer = new DPTransformer(isEnsureValidTopology, distanceTolerance);
+    transformer.setNumThreads(numThreads);
+    return transformer.transform(inputGeom);
   }
 
 static class DPTransformer
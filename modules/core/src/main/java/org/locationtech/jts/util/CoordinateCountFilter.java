@@ -15,6 +15,9 @@ package org.locationtech.jts.util;
 
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.CoordinateFilter;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFilter;
+import org.locationtech.jts.geom.Geometry;
 
 /**
  *  A {@link CoordinateFilter} that counts the total number of coordinates
@@ -23,6 +26,34 @@ import org.locationtech.jts.geom.CoordinateFilter;
  *@version 1.7
  */
 public class CoordinateCountFilter implements CoordinateFilter {
+
+  /**
+   * Counts the total number of coordinates in a geometry.
+   * This counts the size of each coordinate sequence in bulk,
+   * without accessing the coordinates.
+   *
+   * @param geom the geometry to count
+   * @return the number of coordinates in the geometry
+   */
+  public static int count(Geometry geom) {
+    final int[] count = new int[1];
+    geom.apply(new CoordinateSequenceFilter() {
+      public void filter(CoordinateSequence seq) {
+        count[0] += seq.size();
+      }
+      public void filter(CoordinateSequence seq, int i) {
+        count[0]++;
+      }
+      public boolean isDone() {
+        return false;
+      }
+      public boolean isGeometryChanged() {
+        return false;
+      }
+    });
+    return count[0];
+  }
+
   private int n = 0;
 
   public CoordinateCountFilter() { }
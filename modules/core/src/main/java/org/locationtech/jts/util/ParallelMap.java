@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Applies a function to each item of a collection using multiple threads,
+ * returning the results in the same order as the items.
+ * <p>
+ * The items are divided into contiguous chunks,
+ * several per thread to balance uneven workloads,
+ * which are processed by a fixed-size thread pool
+ * created for the duration of the call.
+ * If the number of threads is 1 (or there are too few items to be worth dividing)
+ * the function is applied in the calling thread.
+ * <p>
+ * The function must be safe to call concurrently.
+ * If the function throws an exception for any item,
+ * the remaining chunks are cancelled and the exception is rethrown
+ * (unchecked exceptions are rethrown unchanged).
+ *
+ * @author Martin Davis
+ */
+public class ParallelMap
+{
+  /**
+   * The number of chunks created per thread
+   */
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  /**
+   * Gets the default number of threads to use,
+   * which is the number of available processors.
+   *
+   * @return the default number of threads
+   */
+  public static int defaultNumThreads()
+  {
+    return Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * Applies a function to each item of a collection,
+   * using the default number of threads.
+   *
+   * @param items the items to process
+   * @param fn the function to apply
+   * @return a list of the results, in the order of the items
+   */
+  public static <T, R> List<R> map(Collection<? extends T> items, Function<? super T, ? extends R> fn)
+  {
+    return map(items, fn, defaultNumThreads());
+  }
+
+  /**
+   * Applies a function to each item of a collection,
+   * using a given number of threads.
+   *
+   * @param items the items to process
+   * @param fn the function to apply
+   * @param numThreads the number of threads to use
+   * @return a list of the results, in the order of the items
+   * @throws IllegalArgumentException if the number of threads is less than 1
+   */
+  public static <T, R> List<R> map(Collection<? extends T> items, Function<? super T, ? extends R> fn,
+      int numThreads)
+  {
+    if (numThreads < 1)
+      throw new IllegalArgumentException("Number of threads must be >= 1");
+    // items are accessed by index, so ensure this is efficient
+    List<? extends T> list = items instanceof List && items instanceof RandomAccess ? (List<? extends T>) items : new ArrayList<T>(items);
+    int n = list.size();
+    if (numThreads == 1 || n < 2) {
+      List<R> result = new ArrayList<R>(n);
+      for (T item : list) {
+        result.add(fn.apply(item));
+      }
+      return result;
+    }
+    @SuppressWarnings("unchecked")
+    final R[] result = (R[]) new Object[n];
+    int numChunks = Math.min(n, numThreads * CHUNKS_PER_THREAD);
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(numThreads, numChunks));
+    try {
+      List<Future<?>> futures = new ArrayList<Future<?>>(numChunks);
+      for (int c = 0; c < numChunks; c++) {
+        final int start = (int) ((long) n * c / numChunks);
+        final int end = (int) ((long) n * (c + 1) / numChunks);
+        futures.add(executor.submit(new Runnable() {
+          public void run() {
+            for (int i = start; i < end; i++) {
+              result[i] = fn.apply(list.get(i));
+            }
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        await(future);
+      }
+    }
+    finally {
+      executor.shutdownNow();
+    }
+    return new ArrayList<R>(Arrays.asList(result));
+  }
+
+  private static void await(Future<?> future)
+  {
+    try {
+      future.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+    catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException)
+        throw (RuntimeException) cause;
+      if (cause instanceof Error)
+        throw (Error) cause;
+      throw new RuntimeException(cause);
+    }
+  }
+}
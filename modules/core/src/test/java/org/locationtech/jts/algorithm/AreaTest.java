@@ -13,7 +13,11 @@ package org.locationtech.jts.algorithm;
 
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
+import org.locationtech.jts.geom.util.SineStarFactory;
 
 import junit.textui.TestRunner;
 import test.jts.GeometryTestCase;
@@ -37,6 +41,16 @@ public class AreaTest extends GeometryTestCase {
     checkAreaOfRingSigned("LINEARRING (100 200, 100 100, 200 100, 200 200, 100 200)", -10000.0);
   }
   
+  public void testAreaLargeRing() {
+    // ring longer than the block size used for sequence access
+    SineStarFactory fact = new SineStarFactory(
+        new GeometryFactory(PackedCoordinateSequenceFactory.DOUBLE_FACTORY));
+    fact.setNumPoints(1000);
+    LinearRing ring = ((Polygon) fact.createSineStar()).getExteriorRing();
+    assertEquals(Area.ofRingSigned(ring.getCoordinates()), 
+        Area.ofRingSigned(ring.getCoordinateSequence()));
+  }
+  
   void checkAreaOfRing(String wkt, double expectedArea) {
     LinearRing ring = (LinearRing) read(wkt);
     
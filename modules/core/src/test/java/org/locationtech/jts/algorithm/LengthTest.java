@@ -13,6 +13,7 @@ package org.locationtech.jts.algorithm;
 
 import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
 
 import junit.textui.TestRunner;
 import test.jts.GeometryTestCase;
@@ -28,6 +29,17 @@ public class LengthTest extends GeometryTestCase {
     checkLengthOfLine("LINESTRING (100 200, 200 200, 200 100, 100 100, 100 200)", 400.0);
   }
   
+  public void testLengthLongLine() {
+    // line longer than the block size used for sequence access
+    CoordinateSequence pts = PackedCoordinateSequenceFactory.DOUBLE_FACTORY.create(1000, 2);
+    for (int i = 0; i < pts.size(); i++) {
+      pts.setOrdinate(i, 0, 3 * i);
+      pts.setOrdinate(i, 1, 4 * (i % 2));
+    }
+    // each segment has length 5
+    assertEquals(5.0 * 999, Length.ofLine(pts));
+  }
+  
   void checkLengthOfLine(String wkt, double expectedLen) {
     LineString ring = (LineString) read(wkt);
 
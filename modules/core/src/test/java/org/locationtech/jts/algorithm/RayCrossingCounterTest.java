@@ -14,8 +14,12 @@ package org.locationtech.jts.algorithm;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
 import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
+import org.locationtech.jts.geom.util.SineStarFactory;
 import org.locationtech.jts.io.WKTReader;
 
 import junit.textui.TestRunner;
@@ -55,4 +59,20 @@ public class RayCrossingCounterTest extends AbstractPointInRingTest {
     assertEquals(Location.INTERIOR, RayCrossingCounter.locatePointInRing(new Coordinate(5.0, 2.0), cs));
   }
 
+  public void testLargeRingSequence()
+  {
+    // ring longer than the block size used for sequence access
+    SineStarFactory fact = new SineStarFactory(
+        new GeometryFactory(PackedCoordinateSequenceFactory.DOUBLE_FACTORY));
+    fact.setNumPoints(1000);
+    LinearRing ring = ((Polygon) fact.createSineStar()).getExteriorRing();
+    Coordinate[] pts = ring.getCoordinates();
+    for (int i = 0; i < pts.length; i += 7) {
+      Coordinate p = new Coordinate(pts[i].x * 0.99 + 0.5, pts[i].y * 0.99);
+      assertEquals(RayCrossingCounter.locatePointInRing(p, pts), 
+          RayCrossingCounter.locatePointInRing(p, ring.getCoordinateSequence()));
+    }
+    assertEquals(Location.BOUNDARY, RayCrossingCounter.locatePointInRing(pts[600], ring.getCoordinateSequence()));
+  }
+
 }
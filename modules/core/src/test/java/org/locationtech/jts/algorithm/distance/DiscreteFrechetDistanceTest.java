@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.algorithm.distance;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+/**
+ * Tests {@link DiscreteFrechetDistance}.
+ *
+ * @author Martin Davis
+ */
+public class DiscreteFrechetDistanceTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(DiscreteFrechetDistanceTest.class);
+  }
+
+  public DiscreteFrechetDistanceTest(String name) {
+    super(name);
+  }
+
+  public void testIdentical() {
+    checkDistance("LINESTRING (0 0, 1 1, 2 0)", "LINESTRING (0 0, 1 1, 2 0)", 0.0);
+  }
+
+  public void testParallel() {
+    checkDistance("LINESTRING (0 0, 2 0, 4 0)", "LINESTRING (0 1, 2 1, 4 1)", 1.0);
+  }
+
+  public void testDifferentVertexCounts() {
+    checkDistance("LINESTRING (0 0, 4 0)", "LINESTRING (0 1, 1 1, 2 1, 3 1, 4 1)", Math.sqrt(5));
+  }
+
+  /**
+   * The Hausdorff distance is small,
+   * but the Fréchet distance is large because the lines run in opposite directions.
+   */
+  public void testReversed() {
+    checkDistance("LINESTRING (0 0, 10 0)", "LINESTRING (10 0, 0 0)", 10.0);
+  }
+
+  public void testOrderMatters() {
+    checkDistance("LINESTRING (0 0, 5 0, 10 0)", "LINESTRING (0 0, 5 5, 5 0, 10 0)", 5.0);
+    checkDistance("LINESTRING (0 0, 10 0, 0 0, 10 0)", "LINESTRING (0 0, 10 0)", 10.0);
+  }
+
+  public void testSinglePoint() {
+    checkDistance("POINT (0 0)", "LINESTRING (0 3, 4 0)", 4.0);
+  }
+
+  public void testEmpty() {
+    checkDistance("LINESTRING EMPTY", "LINESTRING (0 0, 2 0)", 0.0);
+  }
+
+  public void testCoordinates() {
+    DiscreteFrechetDistance dist = new DiscreteFrechetDistance(
+        read("LINESTRING (0 0, 10 0)"), read("LINESTRING (0 1, 5 3, 10 1)"));
+    assertEquals(Math.sqrt(34), dist.distance(), TOLERANCE);
+    Coordinate[] pts = dist.getCoordinates();
+    checkEqualXY(new Coordinate(0, 0), pts[0]);
+    checkEqualXY(new Coordinate(5, 3), pts[1]);
+  }
+
+  public void testWithinDistanceAgreesWithDistance() {
+    Geometry g0 = read("LINESTRING (0 0, 1 2, 3 1, 4 4, 6 3, 7 5, 9 2, 10 4)");
+    Geometry g1 = read("LINESTRING (0 1, 2 1, 2 3, 5 2, 6 5, 8 4, 10 3)");
+    double dist = DiscreteFrechetDistance.distance(g0, g1);
+    assertTrue(DiscreteFrechetDistance.isWithinDistance(g0, g1, dist));
+    assertFalse(DiscreteFrechetDistance.isWithinDistance(g0, g1, dist - 1e-9));
+    assertTrue(DiscreteFrechetDistance.isWithinDistance(g1, g0, dist));
+    assertFalse(DiscreteFrechetDistance.isWithinDistance(g1, g0, dist - 1e-9));
+  }
+
+  private static final double TOLERANCE = 0.00001;
+
+  private void checkDistance(String wkt1, String wkt2, double expectedDistance) {
+    Geometry g1 = read(wkt1);
+    Geometry g2 = read(wkt2);
+    assertEquals(expectedDistance, DiscreteFrechetDistance.distance(g1, g2), TOLERANCE);
+    assertEquals(expectedDistance, DiscreteFrechetDistance.distance(g2, g1), TOLERANCE);
+    assertTrue(DiscreteFrechetDistance.isWithinDistance(g1, g2, expectedDistance));
+    if (expectedDistance > 0)
+      assertFalse(DiscreteFrechetDistance.isWithinDistance(g1, g2, expectedDistance - 0.1));
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.algorithm.distance;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.util.SineStarFactory;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+/**
+ * Tests {@link IndexedHausdorffDistance}
+ * by comparing it to {@link DiscreteHausdorffDistance}.
+ *
+ * @author Martin Davis
+ */
+public class IndexedHausdorffDistanceTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(IndexedHausdorffDistanceTest.class);
+  }
+
+  public IndexedHausdorffDistanceTest(String name) {
+    super(name);
+  }
+
+  public void testLineSegments() {
+    checkDistance("LINESTRING (0 0, 2 1)", "LINESTRING (0 0, 2 0)", 1.0);
+  }
+
+  public void testLineSegments2() {
+    checkDistance("LINESTRING (0 0, 2 0)", "LINESTRING (0 1, 1 2, 2 1)", 2.0);
+  }
+
+  public void testLinePoints() {
+    checkDistance("LINESTRING (0 0, 2 0)", "MULTIPOINT (0 1, 1 0, 2 1)", 1.0);
+  }
+
+  public void testLinesShowingDiscretenessEffect() {
+    checkDistance("LINESTRING (130 0, 0 0, 0 150)", "LINESTRING (10 10, 10 150, 130 10)", 14.142135623730951);
+    checkDistance("LINESTRING (130 0, 0 0, 0 150)", "LINESTRING (10 10, 10 150, 130 10)", 0.5, 70.0);
+  }
+
+  public void testPolygons() {
+    checkDistance("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))",
+        "POLYGON ((2 2, 12 2, 12 12, 2 12, 2 2))", 2.8284271247461903);
+  }
+
+  public void testCollection() {
+    checkDistance("GEOMETRYCOLLECTION (POINT (0 0), LINESTRING (10 0, 10 10))",
+        "MULTIPOINT ((1 0), (10 5), (20 20))", 14.142135623730951);
+  }
+
+  public void testEmpty() {
+    checkDistance("LINESTRING EMPTY", "LINESTRING (0 0, 2 0)", 0.0);
+  }
+
+  public void testSineStars() {
+    Geometry g0 = createSineStar(new Coordinate(0, 0), 100, 2000);
+    Geometry g1 = createSineStar(new Coordinate(3, 1), 100, 1500);
+    double expected = DiscreteHausdorffDistance.distance(g0, g1);
+    checkDistance(g0, g1, expected);
+    expected = DiscreteHausdorffDistance.distance(g0, g1, 0.2);
+    assertEquals(expected, IndexedHausdorffDistance.distance(g0, g1, 0.2), TOLERANCE);
+  }
+
+  public void testOrientedDistance() {
+    Geometry g0 = read("LINESTRING (0 0, 10 0)");
+    Geometry g1 = read("LINESTRING (0 1, 5 5, 10 1)");
+    assertEquals(new DiscreteHausdorffDistance(g0, g1).orientedDistance(),
+        new IndexedHausdorffDistance(g0, g1).orientedDistance(), TOLERANCE);
+    assertEquals(new DiscreteHausdorffDistance(g1, g0).orientedDistance(),
+        new IndexedHausdorffDistance(g1, g0).orientedDistance(), TOLERANCE);
+  }
+
+  public void testCoordinates() {
+    IndexedHausdorffDistance dist = new IndexedHausdorffDistance(
+        read("LINESTRING (0 0, 2 0)"), read("LINESTRING (0 1, 1 2, 2 1)"));
+    dist.distance();
+    Coordinate[] pts = dist.getCoordinates();
+    assertEquals(2.0, pts[0].distance(pts[1]), TOLERANCE);
+    checkEqualXY(new Coordinate(1, 2), pts[1]);
+  }
+
+  private static final double TOLERANCE = 0.00001;
+
+  private void checkDistance(String wkt1, String wkt2, double expectedDistance) {
+    checkDistance(read(wkt1), read(wkt2), expectedDistance);
+  }
+
+  private void checkDistance(Geometry g1, Geometry g2, double expectedDistance) {
+    double distance = IndexedHausdorffDistance.distance(g1, g2);
+    assertEquals(expectedDistance, distance, TOLERANCE);
+    assertTrue(IndexedHausdorffDistance.isWithinDistance(g1, g2, expectedDistance));
+    assertTrue(IndexedHausdorffDistance.isWithinDistance(g1, g2, expectedDistance + 0.1));
+    if (expectedDistance > 0)
+      assertFalse(IndexedHausdorffDistance.isWithinDistance(g1, g2, expectedDistance - 0.1));
+  }
+
+  private void checkDistance(String wkt1, String wkt2, double densifyFrac, double expectedDistance) {
+    Geometry g1 = read(wkt1);
+    Geometry g2 = read(wkt2);
+    double distance = IndexedHausdorffDistance.distance(g1, g2, densifyFrac);
+    assertEquals(expectedDistance, distance, TOLERANCE);
+  }
+
+  private Geometry createSineStar(Coordinate origin, double size, int nPts) {
+    SineStarFactory gsf = new SineStarFactory(getGeometryFactory());
+    gsf.setCentre(origin);
+    gsf.setSize(size);
+    gsf.setNumPoints(nPts);
+    gsf.setArmLengthRatio(0.1);
+    gsf.setNumArms(20);
+    return gsf.createSineStar();
+  }
+}
@@ -90,6 +90,23 @@ public class DensifierTest extends GeometryTestCase {
   }
 
 
+  public void testParallel() {
+    checkDensifyParallel("MULTIPOLYGON (((10 30, 30 30, 30 10, 10 10, 10 30)), ((40 30, 60 30, 60 10, 40 10, 40 30)))", 
+        10, "MULTIPOLYGON (((10 10, 10 20, 10 30, 20 30, 30 30, 30 20, 30 10, 20 10, 10 10)), ((40 10, 40 20, 40 30, 50 30, 60 30, 60 20, 60 10, 50 10, 40 10)))");
+    checkDensifyParallel("GEOMETRYCOLLECTION (LINESTRING (0 0, 12 0, 22 0, 34 0), POINT (0 0), MULTILINESTRING ((0 0, 10 0), (0 10, 20 10)))", 
+        10, "GEOMETRYCOLLECTION (LINESTRING (0 0, 6 0, 12 0, 22 0, 28 0, 34 0), POINT (0 0), MULTILINESTRING ((0 0, 10 0), (0 10, 10 10, 20 10)))");
+  }
+
+  private void checkDensifyParallel(String wkt, double distanceTolerance, String wktExpected) {
+    Geometry geom = read(wkt);
+    Geometry expected = read(wktExpected);
+    Densifier den = new Densifier(geom);
+    den.setDistanceTolerance(distanceTolerance);
+    den.setNumThreads(4);
+    Geometry actual = den.getResultGeometry();
+    checkEqual(expected, actual, TOLERANCE);
+  }
+
   private void checkDensify(String wkt, double distanceTolerance, String wktExpected) {
     Geometry geom = read(wkt);
     Geometry expected = read(wktExpected);
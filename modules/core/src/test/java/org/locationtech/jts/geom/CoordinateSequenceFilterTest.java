@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geom;
+
+import org.locationtech.jts.util.CoordinateCountFilter;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+/**
+ * Tests the application of {@link CoordinateSequenceFilter}s to geometries.
+ *
+ * @author Martin Davis
+ */
+public class CoordinateSequenceFilterTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(CoordinateSequenceFilterTest.class);
+  }
+
+  public CoordinateSequenceFilterTest(String name) {
+    super(name);
+  }
+
+  public void testPerCoordinate() {
+    Geometry geom = read("GEOMETRYCOLLECTION (POINT (1 1), LINESTRING (0 0, 1 1, 2 2), POLYGON ((0 0, 10 0, 10 10, 0 0)))");
+    CountingFilter filter = new CountingFilter(Integer.MAX_VALUE);
+    geom.apply(filter);
+    assertEquals(8, filter.count);
+  }
+
+  public void testPerCoordinateDone() {
+    Geometry geom = read("GEOMETRYCOLLECTION (POINT (1 1), LINESTRING (0 0, 1 1, 2 2), POLYGON ((0 0, 10 0, 10 10, 0 0)))");
+    CountingFilter filter = new CountingFilter(3);
+    geom.apply(filter);
+    assertEquals(3, filter.count);
+  }
+
+  public void testBulk() {
+    Geometry geom = read("MULTIPOLYGON (((0 0, 10 0, 10 10, 0 0), (1 1, 2 1, 2 2, 1 1)), ((20 0, 30 0, 30 10, 20 0)))");
+    BulkFilter filter = new BulkFilter();
+    geom.apply(filter);
+    assertEquals(3, filter.numSequences);
+    assertEquals(0, filter.numCoordinates);
+  }
+
+  public void testBulkSkipsEmpty() {
+    Geometry geom = read("GEOMETRYCOLLECTION (POINT EMPTY, LINESTRING EMPTY, LINESTRING (0 0, 1 1))");
+    BulkFilter filter = new BulkFilter();
+    geom.apply(filter);
+    assertEquals(1, filter.numSequences);
+  }
+
+  public void testCoordinateCount() {
+    checkCount("POINT EMPTY", 0);
+    checkCount("POINT (1 1)", 1);
+    checkCount("GEOMETRYCOLLECTION (POINT (1 1), LINESTRING (0 0, 1 1, 2 2), POLYGON ((0 0, 10 0, 10 10, 0 0), (1 1, 2 1, 2 2, 1 1)))", 12);
+  }
+
+  private void checkCount(String wkt, int expected) {
+    Geometry geom = read(wkt);
+    assertEquals(expected, CoordinateCountFilter.count(geom));
+    assertEquals(geom.getNumPoints(), CoordinateCountFilter.count(geom));
+  }
+
+  private static class CountingFilter implements CoordinateSequenceFilter {
+    private int limit;
+    int count = 0;
+
+    CountingFilter(int limit) {
+      this.limit = limit;
+    }
+    public void filter(CoordinateSequence seq, int i) {
+      count++;
+    }
+    public boolean isDone() {
+      return count >= limit;
+    }
+    public boolean isGeometryChanged() {
+      return false;
+    }
+  }
+
+  private static class BulkFilter implements CoordinateSequenceFilter {
+    int numSequences = 0;
+    int numCoordinates = 0;
+
+    public void filter(CoordinateSequence seq) {
+      numSequences++;
+    }
+    public void filter(CoordinateSequence seq, int i) {
+      numCoordinates++;
+    }
+    public boolean isDone() {
+      return false;
+    }
+    public boolean isGeometryChanged() {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geom;
+
+import junit.framework.TestCase;
+import junit.textui.TestRunner;
+
+/**
+ * Tests {@link Envelopes}.
+ */
+public class EnvelopesTest extends TestCase {
+
+  public static void main(String[] args) {
+    TestRunner.run(EnvelopesTest.class);
+  }
+
+  public EnvelopesTest(String name) {
+    super(name);
+  }
+
+  public void testNullSlot() {
+    double[] bounds = Envelopes.createArray(2);
+    assertTrue(Envelopes.isNull(bounds, 0));
+    assertTrue(Envelopes.isNull(bounds, Envelopes.SIZE));
+    assertEquals(0.0, Envelopes.area(bounds, 0));
+    assertTrue(Envelopes.init(new Envelope(1, 2, 3, 4), bounds, 0).isNull());
+    Envelopes.set(bounds, 0, new Envelope());
+    assertTrue(Envelopes.isNull(bounds, 0));
+  }
+
+  public void testExpand() {
+    double[] bounds = Envelopes.createArray(1);
+    Envelopes.expandToInclude(bounds, 0, 5, 10);
+    assertFalse(Envelopes.isNull(bounds, 0));
+    Envelopes.expandToInclude(bounds, 0, -1, 2, 3, 20);
+    assertEquals(new Envelope(-1, 5, 2, 20), Envelopes.init(new Envelope(), bounds, 0));
+    assertEquals(6.0 * 18.0, Envelopes.area(bounds, 0));
+  }
+
+  public void testIntersects() {
+    double[] bounds = new double[2 * Envelopes.SIZE];
+    Envelopes.set(bounds, 0, 0, 0, 10, 10);
+    Envelopes.set(bounds, Envelopes.SIZE, 10, 5, 20, 20);
+    assertTrue(Envelopes.intersects(bounds, 0, bounds, Envelopes.SIZE));
+    assertTrue(Envelopes.intersects(bounds, 0, new Envelope(10, 11, 10, 11)));
+    assertFalse(Envelopes.intersects(bounds, 0, new Envelope(10.1, 11, 0, 1)));
+    assertTrue(Envelopes.intersects(new Envelope(0, 1, 0, 1), new Envelope(1, 2, 1, 2)));
+    assertFalse(Envelopes.intersects(0, 0, 1, 1, 1.5, 0, 2, 1));
+    // null slots do not intersect anything
+    assertFalse(Envelopes.intersects(Envelopes.createArray(1), 0, new Envelope(0, 1, 0, 1)));
+  }
+
+  public void testCovers() {
+    double[] bounds = new double[Envelopes.SIZE];
+    Envelopes.set(bounds, 0, 0, 0, 10, 10);
+    assertTrue(Envelopes.covers(bounds, 0, 10, 0));
+    assertFalse(Envelopes.covers(bounds, 0, 10, 11));
+    assertTrue(Envelopes.covers(0, 0, 10, 10, 1, 1, 10, 10));
+    assertFalse(Envelopes.covers(0, 0, 10, 10, 1, 1, 11, 10));
+  }
+
+  public void testIntersection() {
+    double[] bounds = new double[3 * Envelopes.SIZE];
+    Envelopes.set(bounds, 0, 0, 0, 10, 10);
+    Envelopes.set(bounds, 4, 5, -5, 15, 5);
+    assertTrue(Envelopes.intersection(bounds, 0, bounds, 4, bounds, 8));
+    assertEquals(new Envelope(5, 10, 0, 5), Envelopes.init(new Envelope(), bounds, 8));
+
+    Envelopes.set(bounds, 4, 20, 20, 30, 30);
+    assertFalse(Envelopes.intersection(bounds, 0, bounds, 4, bounds, 0));
+    assertTrue(Envelopes.isNull(bounds, 0));
+  }
+
+  public void testDistance() {
+    Envelope env1 = new Envelope(0, 10, 0, 10);
+    Envelope env2 = new Envelope(13, 20, 14, 20);
+    double[] bounds = new double[Envelopes.SIZE];
+    Envelopes.set(bounds, 0, env1);
+    assertEquals(env1.distance(env2), Envelopes.distance(bounds, 0, env2));
+    assertEquals(5.0, Envelopes.distance(bounds, 0, env2));
+    assertEquals(0.0, Envelopes.distance(bounds, 0, new Envelope(5, 6, 5, 6)));
+  }
+}
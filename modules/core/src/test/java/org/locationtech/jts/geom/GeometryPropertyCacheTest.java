@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geom;
+
+import org.locationtech.jts.geom.impl.CoordinateArraySequenceFactory;
+import org.locationtech.jts.precision.GeometryPrecisionReducer;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+/**
+ * Tests caching of derived properties of geometries.
+ *
+ * @author Martin Davis
+ */
+public class GeometryPropertyCacheTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(GeometryPropertyCacheTest.class);
+  }
+
+  private GeometryFactory cachingFactory = new GeometryFactory(new PrecisionModel(), 0,
+      CoordinateArraySequenceFactory.instance(), true);
+
+  public GeometryPropertyCacheTest(String name) {
+    super(name);
+  }
+
+  public void testDefaultDisabled() {
+    assertFalse(new GeometryFactory().isPropertyCacheEnabled());
+    assertTrue(cachingFactory.isPropertyCacheEnabled());
+  }
+
+  public void testDerivedFactory() {
+    Geometry g = read(cachingFactory, "POLYGON ((0.1 0.1, 10.1 0.1, 10.1 10.1, 0.1 0.1))");
+    GeometryPrecisionReducer reducer = new GeometryPrecisionReducer(new PrecisionModel(1));
+    reducer.setChangePrecisionModel(true);
+    Geometry reduced = reducer.reduce(g);
+    assertTrue(reduced.getFactory().isPropertyCacheEnabled());
+    assertEquals(50.0, reduced.getArea());
+  }
+
+  public void testPolygon() {
+    checkProperties("POLYGON ((20 20, 40 20, 40 40, 20 40, 20 20), (25 35, 35 35, 35 25, 25 25, 25 35))");
+  }
+
+  public void testLine() {
+    checkProperties("LINESTRING (0 0, 100 100, 100 0, 0 100)");
+  }
+
+  public void testCollection() {
+    checkProperties("GEOMETRYCOLLECTION (POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0)), LINESTRING (20 20, 30 30), POINT (5 5))");
+  }
+
+  public void testInvalid() {
+    checkProperties("POLYGON ((0 0, 10 10, 10 0, 0 10, 0 0))");
+  }
+
+  public void testEmpty() {
+    checkProperties("POLYGON EMPTY");
+  }
+
+  public void testGeometryChanged() {
+    Geometry g = read(cachingFactory, "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))");
+    assertEquals(100.0, g.getArea());
+    assertEquals(40.0, g.getLength());
+    assertTrue(g.isValid());
+    checkEqualXY(new Coordinate(5, 5), g.getCentroid().getCoordinate());
+
+    // move a vertex to make polygon invalid
+    ((Polygon) g).getExteriorRing().getCoordinateSequence().setOrdinate(1, Coordinate.X, 0);
+    ((Polygon) g).getExteriorRing().getCoordinateSequence().setOrdinate(1, Coordinate.Y, 10);
+    ((Polygon) g).getExteriorRing().getCoordinateSequence().setOrdinate(2, Coordinate.X, 10);
+    ((Polygon) g).getExteriorRing().getCoordinateSequence().setOrdinate(2, Coordinate.Y, 0);
+    // cached values are unchanged until geometryChanged is called
+    assertEquals(100.0, g.getArea());
+    assertTrue(g.isValid());
+
+    g.geometryChanged();
+    checkCached(g, read("POLYGON ((0 0, 0 10, 10 0, 0 10, 0 0))"));
+    assertFalse(g.isValid());
+  }
+
+  public void testCentroidNotShared() {
+    Geometry g = read(cachingFactory, "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))");
+    Point cent = g.getCentroid();
+    cent.getCoordinateSequence().setOrdinate(0, Coordinate.X, 99);
+    checkEqualXY(new Coordinate(5, 5), g.getCentroid().getCoordinate());
+  }
+
+  public void testCopyAndClone() {
+    Geometry g = read(cachingFactory, "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))");
+    assertEquals(100.0, g.getArea());
+    Geometry copy = g.copy();
+    Geometry clone = (Geometry) g.clone();
+    // modify the original, which must not affect the copies
+    g.apply(new ScaleFilter());
+    g.geometryChanged();
+    assertEquals(400.0, g.getArea());
+    assertEquals(100.0, copy.getArea());
+    assertEquals(100.0, clone.getArea());
+  }
+
+  public void testSubclassOverride() {
+    GeometryFactory fact = cachingFactory;
+    LinearRing shell = fact.createLinearRing(
+        read("LINEARRING (0 0, 10 0, 10 10, 0 10, 0 0)").getCoordinates());
+    Polygon poly = new Polygon(shell, null, fact) {
+      public double getArea() {
+        return 2 * super.getArea();
+      }
+    };
+    assertEquals(200.0, poly.getArea());
+    assertEquals(200.0, poly.getArea());
+    assertEquals(200.0, fact.createGeometryCollection(new Geometry[] { poly }).getArea());
+  }
+
+  private static class ScaleFilter implements CoordinateFilter {
+    public void filter(Coordinate coord) {
+      coord.x *= 2;
+      coord.y *= 2;
+    }
+  }
+
+  private void checkProperties(String wkt) {
+    Geometry expected = read(wkt);
+    Geometry g = read(cachingFactory, wkt);
+    // check twice, to test both computed and cached values
+    checkCached(g, expected);
+    checkCached(g, expected);
+  }
+
+  private void checkCached(Geometry g, Geometry expected) {
+    assertEquals(expected.getArea(), g.getArea());
+    assertEquals(expected.getLength(), g.getLength());
+    assertEquals(expected.isValid(), g.isValid());
+    assertEquals(expected.isSimple(), g.isSimple());
+    checkEqual(expected.getCentroid(), g.getCentroid());
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geom.impl;
+
+import org.locationtech.jts.algorithm.locate.SimplePointInAreaLocator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFactory;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.WKTReader;
+
+import junit.textui.TestRunner;
+
+/**
+ * Test {@link ColumnarCoordinateSequence}
+ * using the {@link CoordinateSequenceTestBase}
+ */
+public class ColumnarCoordinateSequenceTest
+    extends CoordinateSequenceTestBase
+{
+  public static void main(String args[]) {
+    TestRunner.run(ColumnarCoordinateSequenceTest.class);
+  }
+
+  public ColumnarCoordinateSequenceTest(String name)
+  {
+    super(name);
+  }
+
+  @Override
+  CoordinateSequenceFactory getCSFactory() {
+    return ColumnarCoordinateSequenceFactory.instance();
+  }
+
+  public void testOrdinateArrays() {
+    double[] x = new double[] { 1, 2, 3 };
+    double[] y = new double[] { 4, 5, 6 };
+    ColumnarCoordinateSequence cs = new ColumnarCoordinateSequence(x, y);
+    assertEquals(3, cs.size());
+    assertEquals(2, cs.getDimension());
+    assertEquals(5.0, cs.getY(1));
+    assertSame(x, cs.getOrdinateArray(0));
+    cs.setOrdinate(2, 1, 66.0);
+    assertEquals(66.0, y[2]);
+    assertEquals(new Envelope(1, 3, 4, 66), cs.expandEnvelope(new Envelope()));
+  }
+
+  public void testMismatchedArrays() {
+    try {
+      new ColumnarCoordinateSequence(new double[3], new double[2]);
+      fail("expected IllegalArgumentException");
+    }
+    catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testGeometryFactory() throws Exception {
+    GeometryFactory geomFact = new GeometryFactory(ColumnarCoordinateSequenceFactory.instance());
+    Polygon poly = (Polygon) new WKTReader(geomFact).read(
+        "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0), (2 2, 2 4, 4 4, 4 2, 2 2))");
+    CoordinateSequence seq = poly.getExteriorRing().getCoordinateSequence();
+    assertTrue(seq instanceof ColumnarCoordinateSequence);
+    assertEquals(96.0, poly.getArea());
+    assertEquals(48.0, poly.getLength());
+    assertEquals(Location.INTERIOR, SimplePointInAreaLocator.locate(new Coordinate(5, 5), poly));
+    assertEquals(Location.EXTERIOR, SimplePointInAreaLocator.locate(new Coordinate(3, 3), poly));
+    assertTrue(poly.buffer(1).getFactory().getCoordinateSequenceFactory()
+        instanceof ColumnarCoordinateSequenceFactory);
+  }
+}
@@ -21,6 +21,7 @@ import java.io.ObjectOutputStream;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.CoordinateSequenceFactory;
+import org.locationtech.jts.geom.Envelope;
 
 import junit.framework.TestCase;
 import junit.textui.TestRunner;
@@ -99,6 +100,99 @@ public abstract class CoordinateSequenceTestBase
     assertTrue(isEqual(seq2, coords));
   }
 
+  public void testBulkGetXY()
+  {
+    CoordinateSequence seq = createSequence(SIZE, 3);
+    double[] xy = new double[2 * SIZE + 1];
+    seq.getXY(10, xy, 1, 20);
+    for (int i = 0; i < 20; i++) {
+      assertEquals(seq.getX(10 + i), xy[1 + 2 * i]);
+      assertEquals(seq.getY(10 + i), xy[2 + 2 * i]);
+    }
+  }
+
+  public void testBulkGetOrdinates()
+  {
+    CoordinateSequence seq = createSequence(SIZE, 3);
+    double[] z = new double[SIZE];
+    seq.getOrdinates(2, 0, z, 0, SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      assertEquals(seq.getOrdinate(i, 2), z[i]);
+    }
+  }
+
+  public void testBulkSet()
+  {
+    CoordinateSequence seq = getCSFactory().create(SIZE, 3);
+    double[] xy = new double[2 * SIZE];
+    double[] z = new double[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      xy[2 * i] = i;
+      xy[2 * i + 1] = 10 * i;
+      z[i] = 100 * i;
+    }
+    seq.setXY(0, xy, 0, SIZE);
+    seq.setOrdinates(2, 0, z, 0, SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      assertEquals((double) i, seq.getX(i));
+      assertEquals(10.0 * i, seq.getY(i));
+      assertEquals(100.0 * i, seq.getOrdinate(i, 2));
+      // coordinate access must reflect bulk changes
+      assertEquals(10.0 * i, seq.getCoordinate(i).y);
+    }
+  }
+
+  public void testExpandEnvelope()
+  {
+    CoordinateSequence seq = createSequence(SIZE, 2);
+    Envelope env = seq.expandEnvelope(new Envelope());
+    Envelope expected = new Envelope();
+    for (int i = 0; i < seq.size(); i++) {
+      expected.expandToInclude(seq.getX(i), seq.getY(i));
+    }
+    assertEquals(expected, env);
+  }
+
+  public void testExpandEnvelopeNaN()
+  {
+    // NaN first vertex into a null envelope
+    checkExpandEnvelope(new double[] { Double.NaN, 5, 1, 2, 3, 4 }, new Envelope());
+    // NaN vertex in the middle
+    checkExpandEnvelope(new double[] { 1, 2, Double.NaN, 5, 3, Double.NaN, 0, 1 }, new Envelope());
+    checkExpandEnvelope(new double[] { 1, 2, Double.NaN, 5, 3, 4 }, new Envelope(0, 2, 3, 4));
+    checkExpandEnvelope(new double[] { Double.NaN, Double.NaN }, new Envelope());
+  }
+
+  private void checkExpandEnvelope(double[] xy, Envelope env)
+  {
+    int size = xy.length / 2;
+    CoordinateSequence seq = getCSFactory().create(size, 2);
+    for (int i = 0; i < size; i++) {
+      seq.setOrdinate(i, 0, xy[2 * i]);
+      seq.setOrdinate(i, 1, xy[2 * i + 1]);
+    }
+    Envelope expected = new Envelope(env);
+    for (int i = 0; i < size; i++) {
+      expected.expandToInclude(seq.getX(i), seq.getY(i));
+    }
+    Envelope actual = seq.expandEnvelope(env);
+    assertTrue(isEqual(expected.getMinX(), actual.getMinX()));
+    assertTrue(isEqual(expected.getMaxX(), actual.getMaxX()));
+    assertTrue(isEqual(expected.getMinY(), actual.getMinY()));
+    assertTrue(isEqual(expected.getMaxY(), actual.getMaxY()));
+  }
+
+  CoordinateSequence createSequence(int size, int dim)
+  {
+    CoordinateSequence seq = getCSFactory().create(size, dim);
+    for (int i = 0; i < size; i++) {
+      for (int j = 0; j < dim; j++) {
+        seq.setOrdinate(i, j, (i % 7) * 10 + j - i);
+      }
+    }
+    return seq;
+  }
+
   public void testSerializable() throws IOException, ClassNotFoundException {
     Coordinate[] coords = createArray(SIZE);
     CoordinateSequence seq = getCSFactory().create(coords);
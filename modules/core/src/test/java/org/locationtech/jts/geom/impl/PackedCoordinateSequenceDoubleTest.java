@@ -12,6 +12,8 @@
 
 package org.locationtech.jts.geom.impl;
 
+import java.nio.DoubleBuffer;
+
 import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.CoordinateSequenceFactory;
 
@@ -39,6 +41,17 @@ public class PackedCoordinateSequenceDoubleTest
     return PackedCoordinateSequenceFactory.DOUBLE_FACTORY;
   }
 
+  public void testOrdinateBuffer() {
+    CoordinateSequence cs = PackedCoordinateSequenceFactory.DOUBLE_FACTORY
+            .create(new double[]{0.0,1.0,2.0,3.0,4.0,5.0}, 3);
+    DoubleBuffer buf = cs.getOrdinateBuffer();
+    assertTrue(buf.isReadOnly());
+    assertEquals(6, buf.remaining());
+    assertEquals(4.0, buf.get(4));
+    cs.setOrdinate(1, 1, 44.0);
+    assertEquals(44.0, buf.get(4));
+  }
+
   public void test3dCoordinateSequence() {
     CoordinateSequence cs = new PackedCoordinateSequenceFactory(PackedCoordinateSequenceFactory.DOUBLE)
             .create(new double[]{0.0,1.0,2.0,3.0,4.0,5.0}, 3);
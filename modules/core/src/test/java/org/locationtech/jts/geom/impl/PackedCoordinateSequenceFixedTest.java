@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geom.impl;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFactory;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.WKTReader;
+
+import junit.textui.TestRunner;
+
+/**
+ * Test {@link PackedCoordinateSequence.Fixed}
+ * using the {@link CoordinateSequenceTestBase}
+ */
+public class PackedCoordinateSequenceFixedTest
+    extends CoordinateSequenceTestBase
+{
+  private static final PrecisionModel PM = new PrecisionModel(1000);
+
+  public static void main(String args[]) {
+    TestRunner.run(PackedCoordinateSequenceFixedTest.class);
+  }
+
+  public PackedCoordinateSequenceFixedTest(String name)
+  {
+    super(name);
+  }
+
+  @Override
+  CoordinateSequenceFactory getCSFactory() {
+    return new PackedCoordinateSequenceFactory(PM);
+  }
+
+  public void testFactoryType() {
+    assertEquals(PackedCoordinateSequenceFactory.FIXED, new PackedCoordinateSequenceFactory(PM).getType());
+    assertEquals(PackedCoordinateSequenceFactory.FLOAT, 
+        new PackedCoordinateSequenceFactory(new PrecisionModel(PrecisionModel.FLOATING_SINGLE)).getType());
+    assertEquals(PackedCoordinateSequenceFactory.DOUBLE, 
+        new PackedCoordinateSequenceFactory(new PrecisionModel()).getType());
+  }
+
+  public void testRounding() {
+    CoordinateSequence seq = getCSFactory().create(1, 2);
+    seq.setOrdinate(0, 0, 1.23456);
+    seq.setOrdinate(0, 1, -7.8915);
+    assertEquals(PM.makePrecise(1.23456), seq.getX(0));
+    assertEquals(PM.makePrecise(-7.8915), seq.getY(0));
+  }
+
+  public void testNaN() {
+    CoordinateSequence seq = getCSFactory().create(new Coordinate[] { new Coordinate(1, 2) });
+    assertEquals(3, seq.getDimension());
+    assertTrue(Double.isNaN(seq.getZ(0)));
+    assertEquals(new Envelope(1, 1, 2, 2), seq.expandEnvelope(new Envelope()));
+  }
+
+  public void testOutOfRange() {
+    CoordinateSequence seq = getCSFactory().create(1, 2);
+    try {
+      seq.setOrdinate(0, 0, 1e10);
+      fail("expected IllegalArgumentException");
+    }
+    catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testTypeConstructorNonDouble() {
+    // types other than DOUBLE build float sequences, as before FIXED was added
+    int[] types = new int[] { PackedCoordinateSequenceFactory.FIXED, 5 };
+    for (int i = 0; i < types.length; i++) {
+      PackedCoordinateSequenceFactory fact = new PackedCoordinateSequenceFactory(types[i]);
+      assertEquals(types[i], fact.getType());
+      assertTrue(fact.create(2, 2) instanceof PackedCoordinateSequence.Float);
+    }
+  }
+
+  public void testGeometryOperations() throws Exception {
+    GeometryFactory geomFact = new GeometryFactory(PM, 0, new PackedCoordinateSequenceFactory(PM));
+    WKTReader reader = new WKTReader(geomFact);
+    Polygon poly = (Polygon) reader.read("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))");
+    assertTrue(poly.getExteriorRing().getCoordinateSequence() instanceof PackedCoordinateSequence.Fixed);
+    Geometry other = reader.read("POLYGON ((5 5, 15 5, 15 15, 5 15, 5 5))");
+    assertTrue(poly.intersects(other));
+    Geometry result = poly.intersection(other);
+    assertEquals(25.0, result.getArea());
+    assertTrue(result.getFactory().getCoordinateSequenceFactory() instanceof PackedCoordinateSequenceFactory);
+  }
+}
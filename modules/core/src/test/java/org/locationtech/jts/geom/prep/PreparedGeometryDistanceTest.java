@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geom.prep;
+
+import org.locationtech.jts.geom.Geometry;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+/**
+ * Tests {@link PreparedGeometry#distance(Geometry)}
+ * and {@link PreparedGeometry#isWithinDistance(Geometry, double)}
+ * by comparing them to the {@link Geometry} methods.
+ *
+ * @author Martin Davis
+ */
+public class PreparedGeometryDistanceTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(PreparedGeometryDistanceTest.class);
+  }
+
+  public PreparedGeometryDistanceTest(String name) {
+    super(name);
+  }
+
+  public void testPolygonPolygonDisjoint() {
+    checkDistance("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))",
+        "POLYGON ((20 0, 30 0, 30 10, 20 10, 20 0))", 10);
+  }
+
+  public void testPolygonLineInside() {
+    checkDistance("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))",
+        "LINESTRING (2 2, 8 8)", 0);
+  }
+
+  public void testLinePolygonInside() {
+    checkDistance("LINESTRING (2 2, 8 8)",
+        "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))", 0);
+  }
+
+  public void testPolygonPolygonInHole() {
+    checkDistance("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0), (2 2, 8 2, 8 8, 2 8, 2 2))",
+        "POLYGON ((4 4, 6 4, 6 6, 4 6, 4 4))", 2);
+  }
+
+  public void testPolygonPointInside() {
+    checkDistance("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))", "POINT (5 5)", 0);
+  }
+
+  public void testMultiPolygonPoint() {
+    checkDistance("MULTIPOLYGON (((0 0, 10 0, 10 10, 0 10, 0 0)), ((20 0, 30 0, 30 10, 20 10, 20 0)))",
+        "POINT (15 15)", Math.sqrt(50));
+  }
+
+  public void testLineLine() {
+    checkDistance("LINESTRING (0 0, 10 0, 10 10)", "LINESTRING (5 5, 5 20)", 5);
+  }
+
+  public void testPointMultiPoint() {
+    checkDistance("POINT (0 0)", "MULTIPOINT ((3 4), (10 10))", 5);
+  }
+
+  public void testCollectionOverlappingPolygons() {
+    checkDistance("GEOMETRYCOLLECTION (POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0)), POLYGON ((5 5, 15 5, 15 15, 5 15, 5 5)))",
+        "POINT (7 7)", 0);
+  }
+
+  public void testCollectionArgument() {
+    checkDistance("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))",
+        "GEOMETRYCOLLECTION (POINT (20 5), LINESTRING (5 20, 5 30))", 10);
+  }
+
+  public void testEmpty() {
+    checkDistance("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))", "POINT EMPTY", 0);
+    checkDistance("LINESTRING EMPTY", "POINT (1 1)", 0);
+  }
+
+  private void checkDistance(String wktA, String wktB, double expectedDist) {
+    Geometry a = read(wktA);
+    Geometry b = read(wktB);
+    PreparedGeometry prep = PreparedGeometryFactory.prepare(a);
+
+    double dist = prep.distance(b);
+    assertEquals(expectedDist, dist, 1e-10);
+    assertEquals(a.distance(b), dist, 1e-10);
+
+    checkWithinDistance(prep, b, expectedDist);
+    checkWithinDistance(prep, b, expectedDist + 0.1);
+    if (expectedDist > 0.1)
+      checkWithinDistance(prep, b, expectedDist - 0.1);
+  }
+
+  private void checkWithinDistance(PreparedGeometry prep, Geometry b, double distance) {
+    assertEquals(prep.getGeometry().isWithinDistance(b, distance),
+        prep.isWithinDistance(b, distance));
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geom.prep;
+
+import org.locationtech.jts.geom.Geometry;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+/**
+ * Tests the {@link PreparedGeometry} predicates evaluated by the relate evaluator
+ * (touches, crosses, overlaps, within and coveredBy)
+ * by comparing them to the {@link Geometry} methods.
+ *
+ * @author Martin Davis
+ */
+public class PreparedGeometryRelateTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(PreparedGeometryRelateTest.class);
+  }
+
+  public PreparedGeometryRelateTest(String name) {
+    super(name);
+  }
+
+  public void testLineCrossesNonSimpleMultiLine() {
+    checkPredicates("LINESTRING (3 4, 2 1)",
+        "MULTILINESTRING ((2 1, 3 4, 4 2, 2 3), (3 0, 4 4))");
+  }
+
+  public void testSelfIntersectingLine() {
+    checkPredicates("LINESTRING (0 0, 10 10, 10 0, 0 10)", "LINESTRING (0 5, 10 5)");
+    checkPredicates("LINESTRING (0 0, 10 0, 5 0, 5 5)", "LINESTRING (2 0, 8 0)");
+  }
+
+  public void testLinePolygon() {
+    checkPredicates("LINESTRING (0 0, 10 0, 10 10, 5 0, 5 -5)",
+        "POLYGON ((0 -2, 8 -2, 8 2, 0 2, 0 -2))");
+    checkPredicates("LINESTRING (2 2, 8 8)", "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))");
+  }
+
+  public void testLines() {
+    checkPredicates("LINESTRING (0 0, 10 10)", "LINESTRING (0 10, 10 0)");
+    checkPredicates("MULTILINESTRING ((0 5, 5 5), (5 5, 5 10))", "LINESTRING (5 5, 10 5)");
+  }
+
+  private void checkPredicates(String wktA, String wktB) {
+    Geometry a = read(wktA);
+    Geometry b = read(wktB);
+    checkPrepared(a, b);
+    checkPrepared(b, a);
+  }
+
+  private void checkPrepared(Geometry a, Geometry b) {
+    PreparedGeometry prepA = PreparedGeometryFactory.prepare(a);
+    String msg = a + " / " + b;
+    assertEquals(msg, a.touches(b), prepA.touches(b));
+    assertEquals(msg, a.crosses(b), prepA.crosses(b));
+    assertEquals(msg, a.overlaps(b), prepA.overlaps(b));
+    assertEquals(msg, a.within(b), prepA.within(b));
+    assertEquals(msg, a.coveredBy(b), prepA.coveredBy(b));
+  }
+}
@@ -22,7 +22,8 @@ import junit.textui.TestRunner;
  * correctness of 
  * {@link PreparedPolygon#contains(Geometry)}
  * and {@link PreparedPolygon#intersects(Geometry)}
- * operations.
+ * operations,
+ * and of the predicates evaluated by the relate evaluator.
  * 
  * @author Owner
  *
@@ -52,6 +53,7 @@ public class PreparedPolygonPredicateStressTest extends TestCase
   	public boolean checkResult(Geometry target, Geometry test) {
   		if (! checkIntersects(target, test)) return false;
   		if (! checkContains(target, test)) return false;
+  		if (! checkRelatePredicates(target, test)) return false;
   		return true;
   	}
   }
@@ -86,4 +88,17 @@ public class PreparedPolygonPredicateStressTest extends TestCase
 	return true;
   } 
 
+  public boolean checkRelatePredicates(Geometry target, Geometry test) 
+  {
+    PreparedGeometryFactory pgFact = new PreparedGeometryFactory();
+    PreparedGeometry prepGeom = pgFact.create(target);
+
+    if (prepGeom.touches(test) != target.touches(test)) return false;
+    if (prepGeom.crosses(test) != target.crosses(test)) return false;
+    if (prepGeom.overlaps(test) != target.overlaps(test)) return false;
+    if (prepGeom.within(test) != target.within(test)) return false;
+    if (prepGeom.coveredBy(test) != target.coveredBy(test)) return false;
+    return true;
+  } 
+
 }
@@ -13,9 +13,16 @@
 package org.locationtech.jts.geom.util;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequences;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
 import org.locationtech.jts.io.ParseException;
 import org.locationtech.jts.io.WKTReader;
 
@@ -218,6 +225,66 @@ public class AffineTransformationTest
     checkTransformation(t0, t1);
   }
   
+  public void testTransformSequence()
+  {
+    AffineTransformation t = AffineTransformation.rotationInstance(0.3, 5, 7);
+    t.scale(2, 3);
+    CoordinateSequence seq = createSequence(1000, 3);
+    CoordinateSequence expected = seq.copy();
+    for (int i = 0; i < expected.size(); i++) {
+      t.transform(expected, i);
+    }
+    t.transform(seq);
+    assertTrue(CoordinateSequences.isEqual(expected, seq));
+    assertEquals(3.0, seq.getZ(3));
+  }
+
+  public void testTransformGeometryBulk()
+      throws ParseException
+  {
+    AffineTransformation t = AffineTransformation.translationInstance(10, 20);
+    Geometry geom = rdr.read("GEOMETRYCOLLECTION (POINT (1 1), POLYGON ((0 0, 100 0, 100 100, 0 100, 0 0), (10 10, 20 10, 20 20, 10 10)))");
+    Geometry result = t.transform(geom);
+    assertTrue(result.equalsExact(rdr.read("GEOMETRYCOLLECTION (POINT (11 21), POLYGON ((10 20, 110 20, 110 120, 10 120, 10 20), (20 30, 30 30, 30 40, 20 30)))")));
+    assertEquals(new Envelope(10, 110, 20, 120), result.getEnvelopeInternal());
+    // input is unchanged
+    assertEquals(new Envelope(0, 100, 0, 100), geom.getEnvelopeInternal());
+  }
+
+  public void testTransformArrayOverlapping()
+  {
+    AffineTransformation t = AffineTransformation.translationInstance(1, 2);
+    double[] pts = new double[] { 0, 0, 10, 10, 20, 20, 0, 0 };
+    t.transform(pts, 0, pts, 2, 3);
+    assertTrue(Arrays.equals(new double[] { 0, 0, 1, 2, 11, 12, 21, 22 }, pts));
+  }
+
+  public void testTransformCollection()
+      throws ParseException
+  {
+    AffineTransformation t = AffineTransformation.scaleInstance(2, 2);
+    List<Geometry> geoms = new ArrayList<Geometry>();
+    for (int i = 0; i < 100; i++) {
+      geoms.add(rdr.read("LINESTRING (" + i + " 0, 0 " + i + ")"));
+    }
+    List<Geometry> result = t.transform(geoms, 4);
+    assertEquals(geoms.size(), result.size());
+    for (int i = 0; i < geoms.size(); i++) {
+      assertTrue(t.transform(geoms.get(i)).equalsExact(result.get(i)));
+    }
+  }
+
+  private static CoordinateSequence createSequence(int size, int dim)
+  {
+    CoordinateSequence seq = PackedCoordinateSequenceFactory.DOUBLE_FACTORY.create(size, dim);
+    for (int i = 0; i < size; i++) {
+      seq.setOrdinate(i, 0, i);
+      seq.setOrdinate(i, 1, i % 13);
+      seq.setOrdinate(i, 2, i);
+    }
+    return seq;
+  }
+
   /**
    * Checks that a transformation produces the expected result
    * @param x the input pt x
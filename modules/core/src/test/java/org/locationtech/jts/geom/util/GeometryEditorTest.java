@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geom.util;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+public class GeometryEditorTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(GeometryEditorTest.class);
+  }
+
+  public GeometryEditorTest(String name) {
+    super(name);
+  }
+
+  public void testShift() {
+    checkShift(1, "MULTIPOLYGON (((0 0, 10 0, 10 10, 0 10, 0 0)), ((20 0, 30 0, 30 10, 20 0)))",
+        "MULTIPOLYGON (((1 1, 11 1, 11 11, 1 11, 1 1)), ((21 1, 31 1, 31 11, 21 1)))");
+  }
+
+  public void testShiftParallel() {
+    checkShift(4, "MULTIPOLYGON (((0 0, 10 0, 10 10, 0 10, 0 0)), ((20 0, 30 0, 30 10, 20 0)))",
+        "MULTIPOLYGON (((1 1, 11 1, 11 11, 1 11, 1 1)), ((21 1, 31 1, 31 11, 21 1)))");
+    checkShift(4, "GEOMETRYCOLLECTION (POINT (0 0), MULTILINESTRING ((0 0, 1 1), (2 2, 3 3)), POLYGON EMPTY)",
+        "GEOMETRYCOLLECTION (POINT (1 1), MULTILINESTRING ((1 1, 2 2), (3 3, 4 4)))");
+  }
+
+  public void testDeleteParallel() {
+    Geometry geom = read("MULTILINESTRING ((0 0, 1 1), (0 0, 1 1, 2 2), (5 5, 6 6), (0 0, 1 1, 2 2, 3 3))");
+    GeometryEditor editor = new GeometryEditor();
+    editor.setNumThreads(4);
+    // remove lines with 2 points
+    Geometry actual = editor.edit(geom, new GeometryEditor.GeometryEditorOperation() {
+      public Geometry edit(Geometry geometry, GeometryFactory factory) {
+        if (geometry instanceof LineString && geometry.getNumPoints() == 2)
+          return null;
+        return geometry;
+      }
+    });
+    checkEqual(read("MULTILINESTRING ((0 0, 1 1, 2 2), (0 0, 1 1, 2 2, 3 3))"), actual);
+  }
+
+  private void checkShift(int numThreads, String wkt, String wktExpected) {
+    Geometry geom = read(wkt);
+    GeometryEditor editor = new GeometryEditor();
+    editor.setNumThreads(numThreads);
+    Geometry actual = editor.edit(geom, new GeometryEditor.CoordinateOperation() {
+      public Coordinate[] edit(Coordinate[] coordinates, Geometry geometry) {
+        Coordinate[] shifted = new Coordinate[coordinates.length];
+        for (int i = 0; i < coordinates.length; i++) {
+          shifted[i] = new Coordinate(coordinates[i].x + 1, coordinates[i].y + 1);
+        }
+        return shifted;
+      }
+    });
+    checkEqual(read(wktExpected), actual);
+  }
+}
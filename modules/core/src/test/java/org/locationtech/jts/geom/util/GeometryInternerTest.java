@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.geom.util;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateArrays;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.impl.CoordinateArraySequenceFactory;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+public class GeometryInternerTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(GeometryInternerTest.class);
+  }
+
+  public GeometryInternerTest(String name) {
+    super(name);
+  }
+
+  public void testSequence() {
+    GeometryInterner interner = new GeometryInterner();
+    CoordinateSequence seq1 = sequence(new double[] { 0, 0, 1, 1, 2, 0 });
+    CoordinateSequence seq2 = sequence(new double[] { 0, 0, 1, 1, 2, 0 });
+    CoordinateSequence seq3 = sequence(new double[] { 0, 0, 1, 1, 2, 1 });
+    assertSame(seq1, interner.intern(seq1));
+    assertSame(seq1, interner.intern(seq2));
+    assertSame(seq3, interner.intern(seq3));
+    assertEquals(2, interner.getNumSequences());
+  }
+
+  public void testSequenceDimension() {
+    GeometryInterner interner = new GeometryInterner();
+    CoordinateSequence seqXY = new PackedCoordinateSequence.Double(new double[] { 0, 0, 1, 1 }, 2, 0);
+    CoordinateSequence seqXYZ = new PackedCoordinateSequence.Double(new double[] { 0, 0, 0, 1, 1, 0 }, 3, 0);
+    CoordinateSequence seqXYM = new PackedCoordinateSequence.Double(new double[] { 0, 0, 0, 1, 1, 0 }, 3, 1);
+    assertSame(seqXY, interner.intern(seqXY));
+    assertSame(seqXYZ, interner.intern(seqXYZ));
+    assertSame(seqXYM, interner.intern(seqXYM));
+  }
+
+  public void testSequenceNaN() {
+    GeometryInterner interner = new GeometryInterner();
+    CoordinateSequence seq1 = sequence(new double[] { 0, Double.NaN });
+    CoordinateSequence seq2 = sequence(new double[] { 0, Double.NaN });
+    assertSame(seq1, interner.intern(seq1));
+    assertSame(seq1, interner.intern(seq2));
+  }
+
+  public void testGeometry() {
+    GeometryInterner interner = new GeometryInterner();
+    Geometry g1 = read("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))");
+    Geometry g2 = read("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))");
+    Geometry g3 = read("LINESTRING (0 0, 10 0, 10 10, 0 10, 0 0)");
+    assertSame(g1, interner.intern(g1));
+    assertSame(g1, interner.intern(g2));
+    assertSame(g3, interner.intern(g3));
+    assertEquals(2, interner.getNumGeometries());
+  }
+
+  public void testGeometrySRID() {
+    GeometryInterner interner = new GeometryInterner();
+    Geometry g1 = read("POINT (1 1)");
+    Geometry g2 = read("POINT (1 1)");
+    g2.setSRID(4326);
+    assertSame(g1, interner.intern(g1));
+    assertSame(g2, interner.intern(g2));
+  }
+
+  public void testGeometryUserData() {
+    GeometryInterner interner = new GeometryInterner();
+    Geometry g1 = read("POINT (1 1)");
+    Geometry g2 = read("POINT (1 1)");
+    g2.setUserData("data");
+    assertSame(g1, interner.intern(g1));
+    assertSame(g2, interner.intern(g2));
+    assertEquals(1, interner.getNumGeometries());
+  }
+
+  public void testWeakEviction() throws InterruptedException {
+    GeometryInterner interner = new GeometryInterner();
+    interner.intern(sequence(new double[] { 0, 0, 1, 1 }));
+    for (int i = 0; i < 50 && interner.getNumSequences() > 0; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertEquals(0, interner.getNumSequences());
+  }
+
+  public void testFactory() {
+    InterningCoordinateSequenceFactory csFactory = new InterningCoordinateSequenceFactory(
+        CoordinateArraySequenceFactory.instance());
+    GeometryFactory geomFact = new GeometryFactory(csFactory);
+    Coordinate[] pts = read("LINESTRING (0 0, 10 0, 10 10, 0 10, 0 0)").getCoordinates();
+    Polygon poly1 = geomFact.createPolygon(CoordinateArrays.copyDeep(pts));
+    Polygon poly2 = geomFact.createPolygon(CoordinateArrays.copyDeep(pts));
+    assertNotSame(poly1, poly2);
+    assertSame(poly1.getExteriorRing().getCoordinateSequence(),
+        poly2.getExteriorRing().getCoordinateSequence());
+    assertEquals(1, csFactory.getInterner().getNumSequences());
+  }
+
+  public void testFactoryCreateGeometryIsCopy() {
+    InterningCoordinateSequenceFactory csFactory = new InterningCoordinateSequenceFactory(
+        CoordinateArraySequenceFactory.instance());
+    GeometryFactory geomFact = new GeometryFactory(csFactory);
+    Polygon poly = geomFact.createPolygon(
+        read("LINESTRING (0 0, 10 0, 10 10, 0 10, 0 0)").getCoordinates());
+    Polygon copy = (Polygon) geomFact.createGeometry(poly);
+    checkEqualExact(poly, copy);
+    assertNotSame(poly.getExteriorRing().getCoordinateSequence(),
+        copy.getExteriorRing().getCoordinateSequence());
+    copy.getExteriorRing().getCoordinateSequence().setOrdinate(1, 0, 20);
+    assertEquals(10.0, poly.getExteriorRing().getCoordinateSequence().getX(1));
+  }
+
+  public void testFactoryCallerArrayModified() {
+    InterningCoordinateSequenceFactory csFactory = new InterningCoordinateSequenceFactory(
+        CoordinateArraySequenceFactory.instance());
+    GeometryFactory geomFact = new GeometryFactory(csFactory);
+    Coordinate[] pts = read("LINESTRING (0 0, 10 0, 10 10, 0 10, 0 0)").getCoordinates();
+    Polygon poly1 = geomFact.createPolygon(pts);
+    // reusing the array must not change the pooled sequence
+    pts[1].x = 20;
+    pts[2] = new Coordinate(20, 10);
+    assertEquals(10.0, poly1.getExteriorRing().getCoordinateSequence().getX(1));
+    Polygon poly2 = geomFact.createPolygon(
+        read("LINESTRING (0 0, 10 0, 10 10, 0 10, 0 0)").getCoordinates());
+    assertSame(poly1.getExteriorRing().getCoordinateSequence(),
+        poly2.getExteriorRing().getCoordinateSequence());
+  }
+
+  public void testInternSequences() {
+    GeometryInterner interner = new GeometryInterner();
+    Geometry g1 = read("MULTIPOLYGON (((0 0, 10 0, 10 10, 0 10, 0 0)), ((20 0, 30 0, 30 10, 20 10, 20 0)))");
+    Geometry g2 = read("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))");
+    g1.setUserData("data");
+    Geometry ig1 = interner.internSequences(g1);
+    Geometry ig2 = interner.internSequences(g2);
+    checkEqualExact(g1, ig1);
+    checkEqualExact(g2, ig2);
+    assertEquals("data", ig1.getUserData());
+    assertSame(((Polygon) ig1.getGeometryN(0)).getExteriorRing().getCoordinateSequence(),
+        ((Polygon) ig2).getExteriorRing().getCoordinateSequence());
+    assertEquals(2, interner.getNumSequences());
+  }
+
+  private static CoordinateSequence sequence(double[] ords) {
+    return new PackedCoordinateSequenceFactory().create(ords, 2);
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.impl.CoordinateArraySequenceFactory;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+public class CoordinateTextParserTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(CoordinateTextParserTest.class);
+  }
+
+  public CoordinateTextParserTest(String name) {
+    super(name);
+  }
+
+  public void testNumbers() throws ParseException {
+    checkNumber("0");
+    checkNumber("-0.0");
+    checkNumber("1.5");
+    checkNumber("+42");
+    checkNumber("-123.456789");
+    checkNumber(".25");
+    checkNumber("7.");
+    checkNumber("1e10");
+    checkNumber("1.25E-7");
+    checkNumber("0.1");
+    checkNumber("0.3");
+    checkNumber("123456789012345678901234567890");
+    checkNumber("1.7976931348623157E308");
+    checkNumber("4.9e-324");
+    checkNumber("0.000000000000000000000000001");
+    checkNumber("NaN");
+    checkNumber("Infinity");
+  }
+
+  public void testInvalidNumber() {
+    try {
+      CoordinateTextParser.parseNumber("1.2.3".toCharArray(), 5);
+      fail("expected ParseException");
+    }
+    catch (ParseException expected) {
+    }
+  }
+
+  public void testTuples() throws ParseException {
+    checkParse("1,2 3,4", 2, new double[] { 1, 2, 3, 4 });
+    checkParse("  1 , 2   3 ,4  ", 2, new double[] { 1, 2, 3, 4 });
+    checkParse("1,2,3\n4,5,6", 3, new double[] { 1, 2, 3, 4, 5, 6 });
+    checkParse("", 2, new double[0]);
+  }
+
+  public void testSplitText() throws ParseException {
+    CoordinateTextParser parser = new CoordinateTextParser();
+    char[] text = "10.5,20.25 30,40".toCharArray();
+    parser.parse(text, 0, 3);
+    parser.parse(text, 3, 9);
+    parser.parse(text, 12, text.length - 12);
+    checkSequence(parser, 2, new double[] { 10.5, 20.25, 30, 40 });
+  }
+
+  public void testSeparators() throws ParseException {
+    CoordinateTextParser parser = new CoordinateTextParser();
+    parser.setSeparators(';', '|', ',');
+    parser.parse("1,5;2|3;4,25");
+    checkSequence(parser, 2, new double[] { 1.5, 2, 3, 4.25 });
+  }
+
+  public void testReset() throws ParseException {
+    CoordinateTextParser parser = new CoordinateTextParser();
+    parser.parse("1,2,3 4,5,6");
+    assertEquals(2, parser.size());
+    parser.reset();
+    parser.parse("7,8");
+    checkSequence(parser, 2, new double[] { 7, 8 });
+  }
+
+  private void checkNumber(String s) throws ParseException {
+    double expected = Double.parseDouble(s);
+    double actual = CoordinateTextParser.parseNumber(s.toCharArray(), s.length());
+    assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual));
+  }
+
+  private void checkParse(String text, int dim, double[] expected) throws ParseException {
+    CoordinateTextParser parser = new CoordinateTextParser();
+    parser.parse(text);
+    checkSequence(parser, dim, expected);
+  }
+
+  private void checkSequence(CoordinateTextParser parser, int dim, double[] expected) throws ParseException {
+    CoordinateSequence seq = parser.getCoordinateSequence(CoordinateArraySequenceFactory.instance(), null);
+    assertEquals(expected.length / dim, seq.size());
+    assertEquals(dim, seq.getDimension());
+    for (int i = 0; i < seq.size(); i++) {
+      for (int j = 0; j < dim; j++) {
+        assertEquals(expected[i * dim + j], seq.getOrdinate(i, j), 0);
+      }
+    }
+  }
+}
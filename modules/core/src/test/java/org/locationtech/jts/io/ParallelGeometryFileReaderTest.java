@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+public class ParallelGeometryFileReaderTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(ParallelGeometryFileReaderTest.class);
+  }
+
+  private static final GeometryFactory geomFact = new GeometryFactory();
+
+  public ParallelGeometryFileReaderTest(String name) {
+    super(name);
+  }
+
+  public void testWKTOrdered() throws Exception {
+    List<Geometry> expected = createPoints(1000);
+    String text = toWKT(expected, "\n");
+    checkRead(expected, readWKT(text, 64, true, 0, -1));
+  }
+
+  public void testWKTUnordered() throws Exception {
+    List<Geometry> expected = createPoints(1000);
+    String text = toWKT(expected, "\n");
+    List<Geometry> result = readWKT(text, 64, false, 0, -1);
+    sortByX(result);
+    checkRead(expected, result);
+  }
+
+  public void testWKTMultiLine() throws Exception {
+    String text = "POLYGON ((0 0, 10 0,\n 10 10, 0 0))\nPOINT\n(1 2)\n"
+        + "LINESTRING EMPTY  POINT (3 4)\r\n\n"
+        + "MULTIPOINT ((1 1),\n(2 2))\n";
+    List<Geometry> result = readWKT(text, 8, true, 0, -1);
+    checkRead(readAll("POLYGON ((0 0, 10 0, 10 10, 0 0))", "POINT (1 2)",
+        "LINESTRING EMPTY", "POINT (3 4)", "MULTIPOINT ((1 1), (2 2))"), result);
+  }
+
+  public void testWKTOffsetLimit() throws Exception {
+    List<Geometry> points = createPoints(1000);
+    String text = toWKT(points, "\n");
+    checkRead(points.subList(100, 150), readWKT(text, 64, true, 100, 50));
+    checkRead(points.subList(990, 1000), readWKT(text, 64, true, 990, 50));
+  }
+
+  public void testWKTOffsetUnordered() throws Exception {
+    String text = toWKT(createPoints(100), "\n");
+    try {
+      readWKT(text, 64, false, 10, -1);
+      fail("expected IllegalStateException");
+    }
+    catch (IllegalStateException expected) {
+    }
+  }
+
+  public void testWKBHex() throws Exception {
+    List<Geometry> expected = createPoints(500);
+    WKBWriter writer = new WKBWriter();
+    StringBuilder sb = new StringBuilder();
+    for (Geometry g : expected) {
+      sb.append(WKBWriter.toHex(writer.write(g))).append("\n");
+    }
+    ParallelGeometryFileReader reader = new ParallelGeometryFileReader(
+        new StringReader(sb.toString()), ParallelGeometryFileReader.FORMAT_WKB_HEX, geomFact);
+    reader.setChunkSize(100);
+    reader.setNumThreads(3);
+    checkRead(expected, reader.read());
+  }
+
+  public void testConsumer() throws Exception {
+    List<Geometry> expected = createPoints(100);
+    ParallelGeometryFileReader reader = new ParallelGeometryFileReader(
+        new StringReader(toWKT(expected, "\n")), ParallelGeometryFileReader.FORMAT_WKT, geomFact);
+    reader.setChunkSize(50);
+    final int[] count = new int[1];
+    reader.read(g -> count[0]++);
+    assertEquals(100, count[0]);
+  }
+
+  public void testParseError() throws Exception {
+    String text = toWKT(createPoints(100), "\n") + "POINT (1 x)\n" + toWKT(createPoints(100), "\n");
+    try {
+      readWKT(text, 64, true, 0, -1);
+      fail("expected ParseException");
+    }
+    catch (ParseException expected) {
+    }
+  }
+
+  private List<Geometry> readWKT(String text, int chunkSize, boolean isOrdered, int offset, int limit) throws Exception {
+    ParallelGeometryFileReader reader = new ParallelGeometryFileReader(
+        new StringReader(text), ParallelGeometryFileReader.FORMAT_WKT, geomFact);
+    reader.setChunkSize(chunkSize);
+    reader.setNumThreads(4);
+    reader.setOrdered(isOrdered);
+    reader.setOffset(offset);
+    reader.setLimit(limit);
+    return reader.read();
+  }
+
+  private void checkRead(List<Geometry> expected, List<Geometry> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      checkEqual(expected.get(i), actual.get(i));
+    }
+  }
+
+  private List<Geometry> readAll(String... wkts) {
+    List<Geometry> geoms = new ArrayList<Geometry>();
+    for (String wkt : wkts) {
+      geoms.add(read(wkt));
+    }
+    return geoms;
+  }
+
+  private static List<Geometry> createPoints(int n) {
+    List<Geometry> geoms = new ArrayList<Geometry>();
+    for (int i = 0; i < n; i++) {
+      geoms.add(geomFact.createPoint(new Coordinate(i, 2 * i)));
+    }
+    return geoms;
+  }
+
+  private static String toWKT(List<Geometry> geoms, String separator) {
+    StringBuilder sb = new StringBuilder();
+    for (Geometry g : geoms) {
+      sb.append(g.toText()).append(separator);
+    }
+    return sb.toString();
+  }
+
+  private static void sortByX(List<Geometry> geoms) {
+    Collections.sort(geoms, new Comparator<Geometry>() {
+      public int compare(Geometry g1, Geometry g2) {
+        return Double.compare(g1.getCoordinate().x, g2.getCoordinate().x);
+      }
+    });
+  }
+}
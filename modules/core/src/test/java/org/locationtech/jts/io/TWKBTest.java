@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.EnumSet;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.util.SineStarFactory;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+/**
+ * Tests for reading and writing TWKB.
+ *
+ * @author Martin Davis
+ *
+ */
+public class TWKBTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(TWKBTest.class);
+  }
+
+  public TWKBTest(String name) {
+    super(name);
+  }
+
+  public void testPointEncoding() throws Exception {
+    checkEncoding("POINT (1 2)", new TWKBWriter(), "01000204");
+  }
+
+  public void testLineStringEncoding() throws Exception {
+    checkEncoding("LINESTRING (1 1, 5 5)", new TWKBWriter(), "02000202020808");
+  }
+
+  public void testLineStringBBoxEncoding() throws Exception {
+    TWKBWriter writer = new TWKBWriter();
+    writer.setIncludeBBox(true);
+    checkEncoding("LINESTRING (1 1, 5 5)", writer, "0201020802080202020808");
+  }
+
+  public void testPoint() throws Exception {
+    checkRoundTrip("POINT (1.5 -2.25)", 2);
+  }
+
+  public void testPointEmpty() throws Exception {
+    checkRoundTrip("POINT EMPTY", 0);
+  }
+
+  public void testLineString() throws Exception {
+    checkRoundTrip("LINESTRING (10.1 20.2, 30.3 40.4, -50.5 -60.6)", 1);
+  }
+
+  public void testLineStringEmpty() throws Exception {
+    checkRoundTrip("LINESTRING EMPTY", 0);
+  }
+
+  public void testPolygon() throws Exception {
+    checkRoundTrip("POLYGON ((0 0, 100 0, 100 100, 0 100, 0 0), (1 1, 1 10, 10 10, 10 1, 1 1))", 0);
+  }
+
+  public void testPolygonEmpty() throws Exception {
+    checkRoundTrip("POLYGON EMPTY", 0);
+  }
+
+  public void testMultiPoint() throws Exception {
+    checkRoundTrip("MULTIPOINT ((0 0), (1.25 4.5), (100 200))", 2);
+  }
+
+  public void testMultiLineString() throws Exception {
+    checkRoundTrip("MULTILINESTRING ((0 0, 1 10), (10 10, 20 30), (123 123, 456 789))", 0);
+  }
+
+  public void testMultiPolygon() throws Exception {
+    checkRoundTrip("MULTIPOLYGON (((0 0, 100 0, 100 100, 0 100, 0 0), (1 1, 1 10, 10 10, 10 1, 1 1)), ((200 200, 200 250, 250 250, 250 200, 200 200)))", 0);
+  }
+
+  public void testMultiPolygonEmpty() throws Exception {
+    checkRoundTrip("MULTIPOLYGON EMPTY", 0);
+  }
+
+  public void testGeometryCollection() throws Exception {
+    checkRoundTrip("GEOMETRYCOLLECTION (POINT (1 1), LINESTRING (0 0, 10 10), POLYGON EMPTY, POLYGON ((0 0, 100 0, 100 100, 0 100, 0 0)))", 0);
+  }
+
+  public void testNestedGeometryCollection() throws Exception {
+    checkRoundTrip("GEOMETRYCOLLECTION (POINT (1 1), GEOMETRYCOLLECTION (LINESTRING (0 0, 10 10), POINT (5 5)))", 0);
+  }
+
+  public void testNegativePrecision() throws Exception {
+    TWKBWriter writer = new TWKBWriter(-2);
+    Geometry geom = read("LINESTRING (1234 5678, 12345 -678)");
+    Geometry result = new TWKBReader().read(writer.write(geom));
+    checkEqual(read("LINESTRING (1200 5700, 12300 -700)"), result);
+  }
+
+  public void testRounding() throws Exception {
+    TWKBWriter writer = new TWKBWriter(1);
+    Geometry geom = read("LINESTRING (1.26 2.24, 3.05 -4.06)");
+    Geometry result = new TWKBReader().read(writer.write(geom));
+    checkEqual(read("LINESTRING (1.3 2.2, 3.1 -4.1)"), result);
+  }
+
+  public void testXYZ() throws Exception {
+    TWKBWriter writer = new TWKBWriter(1);
+    writer.setIncludeZ(true, 2);
+    WKTReader rdr = getWKTReader(EnumSet.of(Ordinate.X, Ordinate.Y, Ordinate.Z));
+    Geometry geom = rdr.read("LINESTRING Z (1.5 2.5 3.25, 4.5 5.5 6.75)");
+    TWKBReader reader = new TWKBReader(geom.getFactory());
+    Geometry result = reader.read(writer.write(geom));
+    checkEqualXYZ(geom, result);
+  }
+
+  public void testXYM() throws Exception {
+    TWKBWriter writer = new TWKBWriter(1);
+    writer.setIncludeM(true, 1);
+    WKTReader rdr = getWKTReader(EnumSet.of(Ordinate.X, Ordinate.Y, Ordinate.M));
+    Geometry geom = rdr.read("LINESTRING M (1.5 2.5 3.5, 4.5 5.5 6.5)");
+    byte[] twkb = writer.write(geom);
+    TWKBHeader header = new TWKBReader().readHeader(twkb);
+    assertFalse(header.hasZ());
+    assertTrue(header.hasM());
+
+    TWKBReader reader = new TWKBReader(geom.getFactory());
+    Geometry result = reader.read(twkb);
+    assertEquals(6.5, ((LineString) result).getCoordinateSequence().getM(1), 0);
+  }
+
+  public void testHeader() throws Exception {
+    TWKBWriter writer = new TWKBWriter(2);
+    writer.setIncludeBBox(true);
+    writer.setIncludeSize(true);
+    Geometry geom = read("MULTILINESTRING ((0.5 1.25, 10 -10.75), (3 4, -20.5 30))");
+    byte[] twkb = writer.write(geom);
+
+    TWKBHeader header = new TWKBReader().readHeader(twkb);
+    assertEquals(TWKBConstants.twkbMultiLineString, header.getGeometryType());
+    assertEquals(2, header.getXYPrecision());
+    assertFalse(header.isEmpty());
+    assertTrue(header.hasBBox());
+    assertEquals(new Envelope(-20.5, 10, -10.75, 30), header.getEnvelope());
+    // type, metadata and size fields are 1 byte each here
+    assertEquals(twkb.length - 3, header.getSize());
+
+    checkEqual(geom, new TWKBReader().read(twkb));
+  }
+
+  public void testHeaderEmpty() throws Exception {
+    TWKBWriter writer = new TWKBWriter();
+    writer.setIncludeBBox(true);
+    TWKBHeader header = new TWKBReader().readHeader(writer.write(read("POLYGON EMPTY")));
+    assertEquals(TWKBConstants.twkbPolygon, header.getGeometryType());
+    assertTrue(header.isEmpty());
+    assertNull(header.getEnvelope());
+  }
+
+  public void testCollectionBBox() throws Exception {
+    TWKBWriter writer = new TWKBWriter();
+    writer.setIncludeBBox(true);
+    byte[] twkb = writer.write(read("GEOMETRYCOLLECTION (POINT (1 1), LINESTRING (-5 0, 10 10))"));
+    TWKBHeader header = new TWKBReader().readHeader(twkb);
+    assertEquals(new Envelope(-5, 10, 0, 10), header.getEnvelope());
+  }
+
+  public void testStream() throws Exception {
+    TWKBWriter writer = new TWKBWriter(3);
+    Geometry geom1 = read("POLYGON ((0 0, 100 0, 100 100, 0 100, 0 0))");
+    Geometry geom2 = read("POINT (1.125 2.5)");
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    OutStream os = new OutputStreamOutStream(bos);
+    writer.write(geom1, os);
+    writer.write(geom2, os);
+
+    InStream is = new InputStreamInStream(new ByteArrayInputStream(bos.toByteArray()));
+    TWKBReader reader = new TWKBReader();
+    checkEqual(geom1, reader.read(is));
+    checkEqual(geom2, reader.read(is));
+  }
+
+  public void testTruncated() throws Exception {
+    byte[] twkb = new TWKBWriter().write(read("LINESTRING (1 1, 5 5, 10 10)"));
+    byte[] truncated = new byte[twkb.length - 1];
+    System.arraycopy(twkb, 0, truncated, 0, truncated.length);
+    try {
+      new TWKBReader().read(truncated);
+      fail("expected ParseException");
+    }
+    catch (ParseException expected) {
+    }
+  }
+
+  public void testExcessiveCount() throws Exception {
+    try {
+      // LineString with numPoints = 2^28
+      new TWKBReader().read(WKBReader.hexToBytes("020080808080010202"));
+      fail("expected ParseException");
+    }
+    catch (ParseException expected) {
+    }
+  }
+
+  public void testSmallerThanWKB() throws Exception {
+    SineStarFactory fact = new SineStarFactory();
+    fact.setSize(1000);
+    fact.setNumPoints(1000);
+    Geometry geom = fact.createSineStar();
+    int twkbLen = new TWKBWriter(2).write(geom).length;
+    int wkbLen = new WKBWriter().write(geom).length;
+    assertTrue(twkbLen * 3 < wkbLen);
+  }
+
+  private void checkEncoding(String wkt, TWKBWriter writer, String expectedHex) {
+    Geometry geom = read(wkt);
+    assertEquals(expectedHex, WKBWriter.toHex(writer.write(geom)));
+  }
+
+  private void checkRoundTrip(String wkt, int precision) throws ParseException {
+    Geometry geom = read(wkt);
+    TWKBWriter writer = new TWKBWriter(precision);
+    checkEqual(geom, new TWKBReader().read(writer.write(geom)));
+
+    writer.setIncludeBBox(true);
+    writer.setIncludeSize(true);
+    checkEqual(geom, new TWKBReader().read(writer.write(geom)));
+  }
+}
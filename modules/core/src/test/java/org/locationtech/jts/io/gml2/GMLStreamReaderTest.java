@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io.gml2;
+
+import java.io.StringReader;
+import java.util.List;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.ParseException;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+public class GMLStreamReaderTest extends GeometryTestCase {
+  private static final int DEFAULT_SRID = 9876;
+  private static final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), DEFAULT_SRID);
+
+  public static void main(String args[]) {
+    TestRunner.run(GMLStreamReaderTest.class);
+  }
+
+  public GMLStreamReaderTest(String name) { super(name); }
+
+  public void testPoint() throws ParseException {
+    checkRead("<gml:Point>"
+        + "    <gml:coordinates>45.67,88.56</gml:coordinates>"
+        + " </gml:Point>",
+        "POINT (45.67 88.56)");
+  }
+
+  public void testPointCoord() throws ParseException {
+    checkRead("<gml:Point>"
+        + "    <gml:coord><gml:X>45.67</gml:X><gml:Y>88.56</gml:Y></gml:coord>"
+        + " </gml:Point>",
+        "POINT (45.67 88.56)");
+  }
+
+  public void testPointWithCoordSepMultiSpaceBoth() throws ParseException {
+    checkRead("<gml:Point>"
+        + "    <gml:coordinates>45.67   ,   88.56</gml:coordinates>"
+        + " </gml:Point>",
+        "POINT (45.67 88.56)");
+  }
+
+  public void testPointSRID() throws ParseException {
+    checkRead("<gml:Point srsName='urn:ogc:def:crs:EPSG::4326'>"
+        + "    <gml:coordinates>45.67,88.56</gml:coordinates>"
+        + " </gml:Point>",
+        "POINT (45.67 88.56)", 4326);
+  }
+
+  public void testLineStringWithManySpaces() throws ParseException {
+    checkRead("<gml:LineString>"
+        + "    <gml:coordinates>45.67,   88.56    55.56,89.44</gml:coordinates>"
+        + " </gml:LineString >",
+        "LINESTRING (45.67 88.56, 55.56 89.44)");
+  }
+
+  public void testLineStringSeparators() throws ParseException {
+    checkRead("<gml:LineString>"
+        + "    <gml:coordinates cs=';' ts='|' decimal=','>45,67;88,56|55,56;89,44</gml:coordinates>"
+        + " </gml:LineString >",
+        "LINESTRING (45.67 88.56, 55.56 89.44)");
+  }
+
+  public void testPolygon() throws ParseException {
+    checkRead("<gml:Polygon>"
+        + " <gml:outerBoundaryIs><gml:LinearRing>"
+        + "   <gml:coordinates>0,0 0,10 10,10 10,0 0,0</gml:coordinates>"
+        + " </gml:LinearRing></gml:outerBoundaryIs>"
+        + " <gml:innerBoundaryIs><gml:LinearRing>"
+        + "   <gml:coordinates>1,1 1,2 2,2 2,1 1,1</gml:coordinates>"
+        + " </gml:LinearRing></gml:innerBoundaryIs>"
+        + "</gml:Polygon>",
+        "POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0), (1 1, 1 2, 2 2, 2 1, 1 1))");
+  }
+
+  public void testMultiPolygon() throws ParseException {
+    checkRead("<gml:MultiPolygon><gml:polygonMember><gml:Polygon>"
+        + " <gml:outerBoundaryIs><gml:LinearRing>"
+        + "   <gml:coordinates>0,0 0,10 10,10 10,0 0,0</gml:coordinates>"
+        + " </gml:LinearRing></gml:outerBoundaryIs>"
+        + "</gml:Polygon></gml:polygonMember>"
+        + "<gml:polygonMember><gml:Polygon>"
+        + " <gml:outerBoundaryIs><gml:LinearRing>"
+        + "   <gml:coordinates>20,20 20,30 30,30 30,20 20,20</gml:coordinates>"
+        + " </gml:LinearRing></gml:outerBoundaryIs>"
+        + "</gml:Polygon></gml:polygonMember></gml:MultiPolygon>",
+        "MULTIPOLYGON (((0 0, 0 10, 10 10, 10 0, 0 0)), ((20 20, 20 30, 30 30, 30 20, 20 20)))");
+  }
+
+  public void testMultiGeometry() throws ParseException {
+    checkRead("<gml:MultiGeometry>"
+        + "<gml:geometryMember><gml:Point><gml:coordinates>1,1</gml:coordinates></gml:Point></gml:geometryMember>"
+        + "<gml:geometryMember><gml:LineString><gml:coordinates>0,0 5,5</gml:coordinates></gml:LineString></gml:geometryMember>"
+        + "</gml:MultiGeometry>",
+        "GEOMETRYCOLLECTION (POINT (1 1), LINESTRING (0 0, 5 5))");
+  }
+
+  public void testSequence() throws ParseException {
+    String gml = "<FeatureCollection>"
+        + "<featureMember><Feature><name>a</name><geom><gml:Point><gml:coordinates>1,1</gml:coordinates></gml:Point></geom></Feature></featureMember>"
+        + "<featureMember><Feature><name>b</name><geom><gml:LineString><gml:coordinates>0,0 5,5</gml:coordinates></gml:LineString></geom></Feature></featureMember>"
+        + "</FeatureCollection>";
+    GMLStreamReader reader = new GMLStreamReader(new StringReader(gml), geometryFactory);
+    List<Geometry> geoms = reader.readAll();
+    reader.close();
+    assertEquals(2, geoms.size());
+    checkEqual(read("POINT (1 1)"), geoms.get(0));
+    checkEqual(read("LINESTRING (0 0, 5 5)"), geoms.get(1));
+  }
+
+  public void testSameAsGMLReader() throws Exception {
+    String gml = "<gml:LineString srsName='EPSG:4326'>"
+        + "<gml:coordinates>1.5,2.25,3 4e2,-5.125,6</gml:coordinates>"
+        + "</gml:LineString>";
+    Geometry expected = new GMLReader().read(gml, geometryFactory);
+    Geometry actual = new GMLStreamReader(new StringReader(gml), geometryFactory).read();
+    checkEqualXYZ(expected, actual);
+    assertEquals(expected.getSRID(), actual.getSRID());
+  }
+
+  public void testMissingCoordinates() {
+    try {
+      new GMLStreamReader(new StringReader("<gml:LineString></gml:LineString>"), geometryFactory).read();
+      fail("expected ParseException");
+    }
+    catch (ParseException expected) {
+    }
+  }
+
+  private void checkRead(String gml, String wktExpected) throws ParseException {
+    checkRead(gml, wktExpected, DEFAULT_SRID);
+  }
+
+  private void checkRead(String gml, String wktExpected, int srid) throws ParseException {
+    GMLStreamReader reader = new GMLStreamReader(new StringReader(gml), geometryFactory);
+    Geometry g = reader.read();
+    assertNull(reader.read());
+    checkEqual(read(wktExpected), g);
+    assertEquals("SRID incorrect - ", srid, g.getSRID());
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io.kml;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.ParseException;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+public class KMLStreamReaderTest extends GeometryTestCase {
+    public static void main(String args[]) {
+        TestRunner.run(KMLStreamReaderTest.class);
+    }
+
+    private static final Collection<String> ATTRIBUTES = Arrays.asList("altitudeMode", "tesselate", "extrude");
+
+    public KMLStreamReaderTest(String name) {
+        super(name);
+    }
+
+    public void testPoint() throws ParseException {
+        Geometry geom = readOne("<Point><altitudeMode>absolute</altitudeMode><coordinates>1.0,1.0</coordinates></Point>");
+        checkEqual(read("POINT (1 1)"), geom);
+        assertEquals("absolute", ((Map<?, ?>) geom.getUserData()).get("altitudeMode"));
+    }
+
+    public void testPolygon() throws ParseException {
+        checkRead("<Polygon>" +
+                        "   <altitudeMode>relativeToGround</altitudeMode>" +
+                        "   <outerBoundaryIs>" +
+                        "       <LinearRing><coordinates>1.0,1.0 1.0,10.0 10.0,10.0 10.0,1.0 1.0,1.0</coordinates></LinearRing>" +
+                        "   </outerBoundaryIs>" +
+                        "   <innerBoundaryIs>" +
+                        "       <LinearRing><coordinates>2.0,2.0 2.0,3.0 3.0,3.0 3.0,2.0 2.0,2.0</coordinates></LinearRing>" +
+                        "   </innerBoundaryIs>" +
+                        "   <innerBoundaryIs>" +
+                        "       <LinearRing><coordinates>6.0,6.0 6.0,7.0 7.0,7.0 7.0,6.0 6.0,6.0</coordinates></LinearRing>" +
+                        "   </innerBoundaryIs>" +
+                        "</Polygon>",
+                "POLYGON ((1 1, 1 10, 10 10, 10 1, 1 1), (2 2, 2 3, 3 3, 3 2, 2 2), (6 6, 6 7, 7 7, 7 6, 6 6))");
+    }
+
+    public void testMultiGeometry() throws ParseException {
+        checkRead("<MultiGeometry>" +
+                        "   <Point><coordinates>1.0,1.0</coordinates></Point>" +
+                        "   <LineString><coordinates>1.0,1.0 2.0,2.0</coordinates></LineString>" +
+                        "</MultiGeometry>",
+                "GEOMETRYCOLLECTION (POINT (1 1), LINESTRING (1 1, 2 2))");
+    }
+
+    public void testMultiGeometryWithAllPoints() throws ParseException {
+        checkRead("<MultiGeometry>" +
+                        "   <Point><coordinates>1.0,1.0</coordinates></Point>" +
+                        "   <Point><coordinates>2.0,2.0</coordinates></Point>" +
+                        "</MultiGeometry>",
+                "MULTIPOINT ((1 1), (2 2))");
+    }
+
+    public void testZ() throws ParseException {
+        Geometry geom = readOne("<Point><coordinates>1.0,1.0,50.0</coordinates></Point>");
+        assertEquals(50.0, geom.getCoordinate().getZ(), 0);
+    }
+
+    public void testPrecisionAndSRID() throws ParseException {
+        GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(1000.0), 4326);
+        String kml = "<Point><coordinates>1.385093,1.436456</coordinates></Point>";
+        Geometry geom = new KMLStreamReader(new StringReader(kml), geometryFactory, null).read();
+        assertEquals(4326, geom.getSRID());
+        assertEquals("POINT (1.385 1.436)", geom.toText());
+    }
+
+    public void testDocument() throws ParseException {
+        String kml = "<?xml version='1.0' encoding='UTF-8'?>" +
+                "<kml xmlns='http://www.opengis.net/kml/2.2'><Document>" +
+                "<Placemark><name>a</name><Point><coordinates>1,2</coordinates></Point></Placemark>" +
+                "<Placemark><name>b</name><LineString><coordinates>\n  1,2\n  3,4\n</coordinates></LineString></Placemark>" +
+                "</Document></kml>";
+        KMLStreamReader reader = new KMLStreamReader(new ByteArrayInputStream(kml.getBytes(StandardCharsets.UTF_8)));
+        List<Geometry> geoms = reader.readAll();
+        reader.close();
+        assertEquals(2, geoms.size());
+        checkEqual(read("POINT (1 2)"), geoms.get(0));
+        checkEqual(read("LINESTRING (1 2, 3 4)"), geoms.get(1));
+    }
+
+    public void testCoordinatesErrors() {
+        checkExceptionThrown("<Point></Point>");
+        checkExceptionThrown("<Point><coordinates></coordinates></Point>");
+        checkExceptionThrown("<Point><coordinates>1.0</coordinates></Point>");
+        checkExceptionThrown("<Point><coordinates>1.0,x</coordinates></Point>");
+        checkExceptionThrown("<Polygon></Polygon>");
+        checkExceptionThrown("<Polygon><outerBoundaryIs><LinearRing></LinearRing></outerBoundaryIs></Polygon>");
+    }
+
+    private void checkExceptionThrown(String kml) {
+        try {
+            readOne(kml);
+            fail("ParseException must be thrown for " + kml);
+        } catch (ParseException expected) {
+        }
+    }
+
+    private void checkRead(String kml, String expectedWKT) throws ParseException {
+        checkEqual(read(expectedWKT), readOne(kml));
+    }
+
+    private Geometry readOne(String kml) throws ParseException {
+        KMLStreamReader reader = new KMLStreamReader(new StringReader(kml), new GeometryFactory(), ATTRIBUTES);
+        Geometry geom = reader.read();
+        assertNull(reader.read());
+        return geom;
+    }
+}
@@ -14,6 +14,7 @@ package org.locationtech.jts.linearref;
 
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
 
 /**
  * Tests the {@link LocationIndexedLine} class
@@ -47,6 +48,34 @@ public class LocationIndexedLineTest
         "MULTILINESTRING ((10 10, 10 10), (20 20, 25 25))");
   }
 
+  public void testVertexSubline()
+      throws Exception
+  {
+    runExtractLine("LINESTRING (0 0, 10 0, 10 10, 20 10, 20 20)",
+                   new LinearLocation(0, 1, 0.0),
+                   new LinearLocation(0, 3, 1.0),
+        "LINESTRING (10 0, 10 10, 20 10, 20 20)");
+    runExtractLine("LINESTRING (0 0, 10 0, 10 10, 20 10, 20 20)",
+                   new LinearLocation(0, 3, 0.0),
+                   new LinearLocation(0, 0, 1.0),
+        "LINESTRING (20 10, 10 10, 10 0)");
+  }
+
+  public void testVertexSublineNotShared()
+      throws Exception
+  {
+    LineString line = (LineString) read("LINESTRING (0 0, 10 0, 10 10, 20 10, 20 20)");
+    LocationIndexedLine lil = new LocationIndexedLine(line);
+    LineString result = (LineString) lil.extractLine(new LinearLocation(0, 1, 0.0), new LinearLocation(0, 3, 0.0));
+    checkExpected(result, "LINESTRING (10 0, 10 10, 20 10)");
+    assertEquals(line.getCoordinateSequence().getClass(), result.getCoordinateSequence().getClass());
+    // modifying the parent line must not affect the subline
+    line.getCoordinateSequence().setOrdinate(2, 0, 100);
+    line.geometryChanged();
+    checkExpected(result, "LINESTRING (10 0, 10 10, 20 10)");
+    assertEquals(20.0, result.getEnvelopeInternal().getMaxX());
+  }
+
   private void runExtractLine(String wkt,
                                LinearLocation start, LinearLocation end, String expected)
   {
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.buffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.util.SineStarFactory;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+/**
+ * Tests {@link BufferOp} using multiple threads,
+ * by comparing the result to the single-threaded buffer.
+ *
+ * @author Martin Davis
+ */
+public class BufferParallelTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(BufferParallelTest.class);
+  }
+
+  public BufferParallelTest(String name) {
+    super(name);
+  }
+
+  public void testMultiPolygon() {
+    Geometry geom = createStarGrid(6, 6);
+    checkBuffer(geom, 1.0);
+    checkBuffer(geom, 5.0);
+    checkBuffer(createStarGrid(3, 3), 50.0);
+  }
+
+  public void testMultiLineString() {
+    checkBuffer(read("MULTILINESTRING ((0 0, 10 10), (0 10, 10 0), (20 0, 20 10), (30 0, 40 10), (100 100, 110 100))"), 2.0);
+  }
+
+  public void testGeometryCollection() {
+    checkBuffer(read("GEOMETRYCOLLECTION (POINT (0 0), LINESTRING (5 0, 20 0), POLYGON ((10 10, 20 10, 20 20, 10 20, 10 10)), MULTIPOINT ((50 50), (52 50)), POLYGON EMPTY)"), 3.0);
+  }
+
+  public void testNegativeDistance() {
+    checkBuffer(createStarGrid(5, 5), -1.0);
+  }
+
+  public void testZeroDistance() {
+    checkBuffer(read("MULTIPOLYGON (((0 0, 10 0, 10 10, 0 10, 0 0)), ((5 5, 15 5, 15 15, 5 15, 5 5)))"), 0.0);
+  }
+
+  public void testEmpty() {
+    Geometry geom = read("MULTIPOLYGON EMPTY");
+    BufferOp op = new BufferOp(geom);
+    op.setNumThreads(4);
+    assertTrue(op.getResultGeometry(1.0).isEmpty());
+  }
+
+  public void testSetNumThreadsInvalid() {
+    try {
+      new BufferOp(read("POINT (0 0)")).setNumThreads(0);
+      fail("expected IllegalArgumentException");
+    }
+    catch (IllegalArgumentException expected) {
+    }
+  }
+
+  private void checkBuffer(Geometry geom, double distance) {
+    Geometry expected = BufferOp.bufferOp(geom, distance);
+    for (int numThreads = 2; numThreads <= 8; numThreads *= 2) {
+      BufferOp op = new BufferOp(geom);
+      op.setNumThreads(numThreads);
+      Geometry actual = op.getResultGeometry(distance);
+      assertTrue(actual.isValid());
+      assertEquals(expected.getNumGeometries(), actual.getNumGeometries());
+      double tolerance = 1e-6 * Math.max(1.0, expected.getArea());
+      assertEquals(expected.getArea(), actual.getArea(), tolerance);
+      assertTrue(expected.symDifference(actual).getArea() <= tolerance);
+    }
+  }
+
+  private Geometry createStarGrid(int nx, int ny) {
+    SineStarFactory gsf = new SineStarFactory(getGeometryFactory());
+    gsf.setSize(20);
+    gsf.setNumPoints(100);
+    List<Geometry> stars = new ArrayList<Geometry>();
+    for (int i = 0; i < nx; i++) {
+      for (int j = 0; j < ny; j++) {
+        gsf.setCentre(new Coordinate(25 * i, 25 * j));
+        stars.add(gsf.createSineStar());
+      }
+    }
+    return getGeometryFactory().buildGeometry(stars);
+  }
+}
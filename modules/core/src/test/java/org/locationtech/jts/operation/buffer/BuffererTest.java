@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.buffer;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+/**
+ * Tests {@link Bufferer}, by checking that the result
+ * is the same as computed by {@link BufferOp}.
+ *
+ * @author Martin Davis
+ */
+public class BuffererTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(BuffererTest.class);
+  }
+
+  public BuffererTest(String name) {
+    super(name);
+  }
+
+  public void testPoint() {
+    checkAllStyles("POINT (10 20)", 5);
+    checkAllStyles("POINT (10 20)", 0.001);
+    checkAllStyles("POINT (-123.456 49.123)", 1e-5);
+  }
+
+  public void testPointNonPositiveDistance() {
+    checkAllStyles("POINT (10 20)", 0);
+    checkAllStyles("POINT (10 20)", -5);
+  }
+
+  public void testPointQuadrantSegments() {
+    checkBuffer(new BufferParameters(1), "POINT (10 20)", 5);
+    checkBuffer(new BufferParameters(53), "POINT (100 100)", 80);
+    checkBuffer(new BufferParameters(129), "POINT (100 100)", 80);
+  }
+
+  public void testPointSmallDistance() {
+    checkAllStyles("POINT (1000000000 20)", 1e-9);
+  }
+
+  public void testTwoPointLine() {
+    checkAllStyles("LINESTRING (10 20, 30 50)", 5);
+    checkAllStyles("LINESTRING (10 20, 10 50)", 100);
+    checkAllStyles("LINESTRING (10 20, 10.0000001 20)", 5);
+  }
+
+  public void testTwoPointLineNonPositiveDistance() {
+    checkAllStyles("LINESTRING (10 20, 30 50)", 0);
+    checkAllStyles("LINESTRING (10 20, 30 50)", -5);
+  }
+
+  public void testLineRepeatedPoints() {
+    checkAllStyles("LINESTRING (10 20, 10 20)", 5);
+    checkAllStyles("LINESTRING (10 20, 10 20, 30 50)", 5);
+  }
+
+  public void testLine() {
+    checkAllStyles("LINESTRING (10 20, 30 50, 60 10, 0 0)", 5);
+  }
+
+  public void testSingleSided() {
+    BufferParameters bufParams = new BufferParameters();
+    bufParams.setSingleSided(true);
+    checkBuffer(bufParams, "LINESTRING (10 20, 30 50)", 5);
+    checkBuffer(bufParams, "LINESTRING (10 20, 30 50)", -5);
+    checkBuffer(bufParams, "POINT (10 20)", 5);
+  }
+
+  public void testPolygon() {
+    checkAllStyles("POLYGON ((10 10, 10 30, 30 30, 30 10, 10 10), (15 15, 25 15, 25 25, 15 25, 15 15))", 2);
+    checkAllStyles("POLYGON ((10 10, 10 30, 30 30, 30 10, 10 10), (15 15, 25 15, 25 25, 15 25, 15 15))", -2);
+  }
+
+  public void testCollections() {
+    checkAllStyles("MULTIPOINT ((10 10), (12 10), (50 50))", 3);
+    checkAllStyles("MULTILINESTRING ((10 10, 20 20), (10 20, 20 10))", 3);
+    checkAllStyles("GEOMETRYCOLLECTION (POINT (0 0), LINESTRING (5 0, 20 0))", 3);
+  }
+
+  public void testEmpty() {
+    checkAllStyles("POINT EMPTY", 5);
+    checkAllStyles("LINESTRING EMPTY", 5);
+    checkAllStyles("POLYGON EMPTY", 5);
+  }
+
+  public void testFixedPrecision() {
+    GeometryFactory fixedFact = new GeometryFactory(new PrecisionModel(10));
+    Bufferer bufferer = new Bufferer();
+    checkEqualExact(BufferOp.bufferOp(fixedFact.createPoint(read("POINT (10 20)").getCoordinate()), 5),
+        bufferer.buffer(fixedFact.createPoint(read("POINT (10 20)").getCoordinate()), 5));
+    Geometry line = fixedFact.createGeometry(read("LINESTRING (10 20, 30 50)"));
+    checkEqualExact(BufferOp.bufferOp(line, 5), bufferer.buffer(line, 5));
+  }
+
+  public void testReuse() {
+    Bufferer bufferer = new Bufferer();
+    String[] wkts = new String[] { "POINT (10 20)", "LINESTRING (10 20, 30 50)",
+        "POLYGON ((10 10, 10 30, 30 30, 30 10, 10 10))", "LINESTRING (0 0, 100 0)" };
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < wkts.length; j++) {
+        Geometry geom = read(wkts[j]);
+        double distance = 1 + i + j;
+        checkEqualExact(BufferOp.bufferOp(geom, distance), bufferer.buffer(geom, distance));
+      }
+    }
+  }
+
+  public void testParametersCopied() {
+    BufferParameters bufParams = new BufferParameters();
+    Bufferer bufferer = new Bufferer(bufParams);
+    bufParams.setEndCapStyle(BufferParameters.CAP_FLAT);
+    Geometry geom = read("LINESTRING (10 20, 30 50)");
+    checkEqualExact(BufferOp.bufferOp(geom, 5), bufferer.buffer(geom, 5));
+  }
+
+  private void checkAllStyles(String wkt, double distance) {
+    for (int cap = 1; cap <= 3; cap++) {
+      for (int join = 1; join <= 3; join++) {
+        checkBuffer(new BufferParameters(8, cap, join, BufferParameters.DEFAULT_MITRE_LIMIT), wkt, distance);
+      }
+    }
+  }
+
+  private void checkBuffer(BufferParameters bufParams, String wkt, double distance) {
+    Geometry geom = read(wkt);
+    Geometry expected = BufferOp.bufferOp(geom, distance, bufParams);
+    Geometry actual = new Bufferer(bufParams).buffer(geom, distance);
+    assertEquals(expected.getGeometryType(), actual.getGeometryType());
+    checkEqualExact(expected, actual);
+  }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.distance;
+
+import java.util.Random;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+/**
+ * Tests {@link NearestFeatureJoin}
+ * by comparing it to {@link Geometry#distance(Geometry)}.
+ *
+ * @author Martin Davis
+ */
+public class NearestFeatureJoinTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(NearestFeatureJoinTest.class);
+  }
+
+  public NearestFeatureJoinTest(String name) {
+    super(name);
+  }
+
+  private static final double TOLERANCE = 0.00001;
+
+  private static final String[] FEATURES = new String[] {
+      "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))",
+      "LINESTRING (20 0, 30 10)",
+      "POINT (50 50)",
+      "POLYGON ((40 0, 60 0, 60 20, 40 20, 40 0), (45 5, 55 5, 55 15, 45 15, 45 5))",
+      "POINT EMPTY"
+  };
+
+  public void testNearestPoints() {
+    checkNearest(FEATURES, new String[] {
+        "POINT (5 5)",
+        "POINT (15 5)",
+        "POINT (50 40)",
+        "POINT (50 10)",
+        "POINT (100 100)"
+    });
+  }
+
+  public void testNearestInside() {
+    int[] index = nearest(FEATURES, new String[] { "POINT (5 5)" });
+    assertEquals(0, index[0]);
+  }
+
+  public void testNearestInHole() {
+    int[] index = nearest(FEATURES, new String[] { "POINT (50 10)" });
+    assertEquals(3, index[0]);
+  }
+
+  public void testNearestQueryContainsFeature() {
+    int[] index = nearest(FEATURES, new String[] { "POLYGON ((45 45, 55 45, 55 55, 45 55, 45 45))" });
+    assertEquals(2, index[0]);
+  }
+
+  public void testNearestLines() {
+    checkNearest(FEATURES, new String[] {
+        "LINESTRING (12 5, 18 5)",
+        "LINESTRING (25 0, 25 20)",
+        "MULTILINESTRING ((70 70, 80 80), (5 20, 5 30))"
+    });
+  }
+
+  public void testNearestEmptyQuery() {
+    NearestFeatureJoin join = new NearestFeatureJoin(readArray(FEATURES));
+    int[] index = new int[1];
+    double[] dist = new double[1];
+    join.nearest(readArray(new String[] { "LINESTRING EMPTY" }), index, dist);
+    assertEquals(-1, index[0]);
+    assertTrue(Double.isNaN(dist[0]));
+  }
+
+  public void testNearestNoFeatures() {
+    NearestFeatureJoin join = new NearestFeatureJoin(readArray(new String[] { "POINT EMPTY" }));
+    int[] index = new int[1];
+    join.nearest(readArray(new String[] { "POINT (1 1)" }), index, null);
+    assertEquals(-1, index[0]);
+  }
+
+  public void testNearestArraySize() {
+    NearestFeatureJoin join = new NearestFeatureJoin(readArray(FEATURES));
+    try {
+      join.nearest(readArray(new String[] { "POINT (1 1)", "POINT (2 2)" }), new int[1], null);
+      fail("expected IllegalArgumentException");
+    }
+    catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testWithinDistance() {
+    checkWithinDistance(FEATURES, new String[] {
+        "POINT (5 5)",
+        "POINT (15 5)",
+        "POINT (50 10)",
+        "POLYGON ((45 45, 55 45, 55 55, 45 55, 45 45))",
+        "LINESTRING EMPTY",
+        "LINESTRING (12 5, 38 5)"
+    }, 6.0);
+  }
+
+  public void testRandom() {
+    Geometry[] features = randomFeatures(300, 1);
+    Geometry[] queries = randomFeatures(2000, 2);
+    checkNearest(features, queries, 1);
+    checkNearest(features, queries, 4);
+    checkWithinDistance(features, queries, 5.0);
+  }
+
+  public void testThreadsAgree() {
+    Geometry[] features = randomFeatures(300, 3);
+    Geometry[] queries = randomFeatures(2000, 4);
+    NearestFeatureJoin join = new NearestFeatureJoin(features);
+    join.setNumThreads(1);
+    int[] index1 = new int[queries.length];
+    double[] dist1 = new double[queries.length];
+    join.nearest(queries, index1, dist1);
+    join.setNumThreads(8);
+    int[] index8 = new int[queries.length];
+    double[] dist8 = new double[queries.length];
+    join.nearest(queries, index8, dist8);
+    for (int i = 0; i < queries.length; i++) {
+      assertEquals(index1[i], index8[i]);
+      assertEquals(dist1[i], dist8[i], 0.0);
+    }
+  }
+
+  public void testDistanceMatrix() {
+    Geometry[] features = readArray(FEATURES);
+    Geometry[] queries = readArray(new String[] {
+        "POINT (5 5)",
+        "LINESTRING (12 5, 38 5)",
+        "POLYGON ((45 45, 55 45, 55 55, 45 55, 45 45))"
+    });
+    double[][] matrix = new NearestFeatureJoin(features).distanceMatrix(queries);
+    assertEquals(queries.length, matrix.length);
+    for (int q = 0; q < queries.length; q++) {
+      assertEquals(features.length, matrix[q].length);
+      for (int f = 0; f < features.length; f++) {
+        assertEquals(features[f].distance(queries[q]), matrix[q][f], TOLERANCE);
+      }
+    }
+  }
+
+  public void testSetNumThreadsInvalid() {
+    try {
+      new NearestFeatureJoin(readArray(FEATURES)).setNumThreads(0);
+      fail("expected IllegalArgumentException");
+    }
+    catch (IllegalArgumentException expected) {
+    }
+  }
+
+  private int[] nearest(String[] featureWKT, String[] queryWKT) {
+    Geometry[] queries = readArray(queryWKT);
+    int[] index = new int[queries.length];
+    new NearestFeatureJoin(readArray(featureWKT)).nearest(queries, index, null);
+    return index;
+  }
+
+  private void checkNearest(String[] featureWKT, String[] queryWKT) {
+    checkNearest(readArray(featureWKT), readArray(queryWKT), 2);
+  }
+
+  private void checkNearest(Geometry[] features, Geometry[] queries, int numThreads) {
+    NearestFeatureJoin join = new NearestFeatureJoin(features);
+    join.setNumThreads(numThreads);
+    int[] index = new int[queries.length];
+    double[] dist = new double[queries.length];
+    join.nearest(queries, index, dist);
+    for (int q = 0; q < queries.length; q++) {
+      double expected = bruteForceNearestDistance(features, queries[q]);
+      assertEquals(expected, dist[q], TOLERANCE);
+      assertEquals(expected, features[index[q]].distance(queries[q]), TOLERANCE);
+    }
+  }
+
+  private static double bruteForceNearestDistance(Geometry[] features, Geometry query) {
+    double min = Double.POSITIVE_INFINITY;
+    for (int i = 0; i < features.length; i++) {
+      if (features[i].isEmpty()) continue;
+      min = Math.min(min, features[i].distance(query));
+    }
+    return min;
+  }
+
+  private void checkWithinDistance(String[] featureWKT, String[] queryWKT, double maxDistance) {
+    checkWithinDistance(readArray(featureWKT), readArray(queryWKT), maxDistance);
+  }
+
+  private void checkWithinDistance(Geometry[] features, Geometry[] queries, double maxDistance) {
+    NearestFeatureJoin.WithinDistanceResult result
+        = new NearestFeatureJoin(features).withinDistance(queries, maxDistance);
+    int[] queryIndex = result.getQueryIndex();
+    int[] featureIndex = result.getFeatureIndex();
+    double[] dist = result.getDistance();
+    int k = 0;
+    for (int q = 0; q < queries.length; q++) {
+      for (int f = 0; f < features.length; f++) {
+        if (features[f].isEmpty() || queries[q].isEmpty()) continue;
+        double expected = features[f].distance(queries[q]);
+        if (expected > maxDistance) continue;
+        assertTrue(k < result.size());
+        assertEquals(q, queryIndex[k]);
+        assertEquals(f, featureIndex[k]);
+        assertEquals(expected, dist[k], TOLERANCE);
+        k++;
+      }
+    }
+    assertEquals(k, result.size());
+  }
+
+  private Geometry[] readArray(String[] wkt) {
+    Geometry[] geoms = new Geometry[wkt.length];
+    for (int i = 0; i < wkt.length; i++) {
+      geoms[i] = read(wkt[i]);
+    }
+    return geoms;
+  }
+
+  /**
+   * Creates a mix of random points, lines and boxes.
+   */
+  private Geometry[] randomFeatures(int n, long seed) {
+    GeometryFactory fact = getGeometryFactory();
+    Random rnd = new Random(seed);
+    Geometry[] geoms = new Geometry[n];
+    for (int i = 0; i < n; i++) {
+      double x = 1000 * rnd.nextDouble();
+      double y = 1000 * rnd.nextDouble();
+      double size = 20 * rnd.nextDouble();
+      switch (i % 3) {
+      case 0:
+        geoms[i] = fact.createPoint(new Coordinate(x, y));
+        break;
+      case 1:
+        geoms[i] = fact.createLineString(new Coordinate[] {
+            new Coordinate(x, y), new Coordinate(x + size, y + size / 2),
+            new Coordinate(x + size / 2, y + size) });
+        break;
+      default:
+        geoms[i] = fact.toGeometry(new Envelope(x, x + size, y, y + size));
+      }
+    }
+    return geoms;
+  }
+}
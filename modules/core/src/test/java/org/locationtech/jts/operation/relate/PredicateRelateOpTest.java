@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.relate;
+
+import org.locationtech.jts.algorithm.BoundaryNodeRule;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.IntersectionMatrix;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+/**
+ * Tests {@link PredicateRelateOp} by comparing it to {@link RelateOp}.
+ *
+ * @author Martin Davis
+ */
+public class PredicateRelateOpTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(PredicateRelateOpTest.class);
+  }
+
+  private static final String[] WKT = new String[] {
+    "POINT (5 5)",
+    "POINT (0 0)",
+    "POINT (20 20)",
+    "MULTIPOINT ((5 5), (30 30))",
+    "MULTIPOINT ((0 0), (10 10))",
+    "LINESTRING (0 0, 10 10)",
+    "LINESTRING (2 2, 8 8)",
+    "LINESTRING (0 0, 10 0)",
+    "LINESTRING (-5 5, 15 5)",
+    "LINESTRING (2 2, 4 2, 4 4, 2 4, 2 2)",
+    "LINESTRING (5 5, 5 20)",
+    "MULTILINESTRING ((0 5, 5 5), (5 5, 5 10))",
+    "MULTILINESTRING ((0 5, 5 5), (5 0, 5 10))",
+    "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))",
+    "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0), (3 3, 7 3, 7 7, 3 7, 3 3))",
+    "POLYGON ((4 4, 6 4, 6 6, 4 6, 4 4))",
+    "POLYGON ((10 0, 20 0, 20 10, 10 10, 10 0))",
+    "POLYGON ((5 5, 15 5, 15 15, 5 15, 5 5))",
+    "POLYGON ((-2 4, 12 4, 12 6, -2 6, -2 4))",
+    "POLYGON ((30 30, 40 30, 40 40, 30 40, 30 30))",
+    "MULTIPOLYGON (((0 0, 2 0, 2 2, 0 2, 0 0)), ((8 8, 12 8, 12 12, 8 12, 8 8)))",
+    "MULTIPOLYGON (((1 1, 2 1, 2 2, 1 2, 1 1)), ((20 20, 22 20, 22 22, 20 22, 20 20)))",
+    "POLYGON EMPTY",
+    "LINESTRING EMPTY"
+  };
+
+  public PredicateRelateOpTest(String name) {
+    super(name);
+  }
+
+  public void testPatternsAllPairs() {
+    Geometry[] geoms = readAll();
+    for (int i = 0; i < geoms.length; i++) {
+      PredicateRelateOp op = new PredicateRelateOp(geoms[i]);
+      for (int j = 0; j < geoms.length; j++) {
+        checkPatterns(op, geoms[i], geoms[j]);
+      }
+    }
+  }
+
+  public void testPredicatesAllPairs() {
+    Geometry[] geoms = readAll();
+    for (int i = 0; i < geoms.length; i++) {
+      PredicateRelateOp op = new PredicateRelateOp(geoms[i]);
+      for (int j = 0; j < geoms.length; j++) {
+        checkPredicates(op, geoms[i], geoms[j]);
+      }
+    }
+  }
+
+  public void testPolygonContainsLine() {
+    checkRelate("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))", "LINESTRING (2 2, 8 8)", "T*****FF*", true);
+  }
+
+  public void testPolygonContainsLineInHole() {
+    checkRelate("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0), (3 3, 7 3, 7 7, 3 7, 3 3))",
+        "LINESTRING (4 4, 6 6)", "T*****FF*", false);
+  }
+
+  public void testCrossingPolygonsOverlap() {
+    checkRelate("POLYGON ((4 -2, 6 -2, 6 12, 4 12, 4 -2))", "POLYGON ((-2 4, 12 4, 12 6, -2 6, -2 4))",
+        "T*T***T**", true);
+  }
+
+  public void testTouchingLinesEndpointRule() {
+    String a = "MULTILINESTRING ((0 0, 1 1), (1 1, 2 2))";
+    String b = "POINT (1 1)";
+    checkRelate(a, b, "0F1FF0FF2", true);
+    Geometry ga = read(a);
+    Geometry gb = read(b);
+    PredicateRelateOp op = new PredicateRelateOp(ga, BoundaryNodeRule.ENDPOINT_BOUNDARY_RULE);
+    assertTrue(op.matches(gb, "FF*0*****"));
+  }
+
+  public void testSelfIntersectingLine() {
+    checkMatrix("LINESTRING (3 4, 2 1)",
+        "MULTILINESTRING ((2 1, 3 4, 4 2, 2 3), (3 0, 4 4))");
+    checkMatrix("LINESTRING (0 0, 10 10, 10 0, 0 10)", "LINESTRING (0 5, 10 5)");
+    checkMatrix("LINESTRING (0 0, 10 0, 10 10, 5 0, 5 -5)", "POLYGON ((0 -2, 8 -2, 8 2, 0 2, 0 -2))");
+    checkMatrix("LINESTRING (0 0, 10 0, 5 0, 5 5)", "LINESTRING (2 0, 8 0)");
+  }
+
+  public void testMultiLineOverlappingComponents() {
+    checkMatrix("MULTILINESTRING ((0 0, 10 0), (5 0, 15 0))", "LINESTRING (2 0, 8 0)");
+    checkMatrix("MULTILINESTRING ((0 0, 10 0), (5 -5, 5 5))", "POINT (5 0)");
+    checkMatrix("MULTILINESTRING ((0 0, 10 0), (5 -5, 5 5))", "MULTILINESTRING ((0 0, 10 0), (5 -5, 5 5))");
+  }
+
+  public void testRepeatedPoints() {
+    checkMatrix("LINESTRING (0 0, 5 0, 5 0, 10 0)", "POLYGON ((5 0, 8 0, 8 3, 5 3, 5 0))");
+    checkMatrix("LINESTRING (2 0, 2 0)", "POLYGON ((0 0, 0 3, 3 4, 0 0))");
+    checkMatrix("MULTILINESTRING ((0 4, 0 4), (4 1, 2 2, 4 0))", "POLYGON ((0 4, 1 4, 1 7, 0 7, 0 4))");
+  }
+
+  public void testInvalidPattern() {
+    try {
+      RelatePredicate.matches("T*F");
+      fail("expected IllegalArgumentException");
+    }
+    catch (IllegalArgumentException ex) {
+      // expected
+    }
+  }
+
+  private void checkRelate(String wktA, String wktB, String pattern, boolean expected) {
+    Geometry a = read(wktA);
+    Geometry b = read(wktB);
+    assertEquals(expected, RelateOp.relate(a, b).matches(pattern));
+    assertEquals(expected, PredicateRelateOp.relate(a, b, pattern));
+  }
+
+  /**
+   * Checks that the result agrees with the matrix computed by {@link Geometry#relate(Geometry)}
+   * in both directions.
+   */
+  private void checkMatrix(String wktA, String wktB) {
+    Geometry a = read(wktA);
+    Geometry b = read(wktB);
+    assertTrue(message(a, b, "relate"), new PredicateRelateOp(a).matches(b, a.relate(b).toString()));
+    checkPatterns(new PredicateRelateOp(a), a, b);
+    checkPredicates(new PredicateRelateOp(a), a, b);
+    checkPatterns(new PredicateRelateOp(b), b, a);
+    checkPredicates(new PredicateRelateOp(b), b, a);
+  }
+
+  /**
+   * Checks that the exact matrix matches,
+   * and that every matrix differing in one entry does not.
+   */
+  private void checkPatterns(PredicateRelateOp op, Geometry a, Geometry b) {
+    IntersectionMatrix im = RelateOp.relate(a, b);
+    String imStr = im.toString();
+    assertTrue(message(a, b, imStr), op.matches(b, imStr));
+    String symbols = "F012";
+    for (int i = 0; i < 9; i++) {
+      for (int k = 0; k < symbols.length(); k++) {
+        char sym = symbols.charAt(k);
+        if (sym == imStr.charAt(i)) continue;
+        String pattern = imStr.substring(0, i) + sym + imStr.substring(i + 1);
+        assertFalse(message(a, b, pattern), op.matches(b, pattern));
+      }
+    }
+  }
+
+  private void checkPredicates(PredicateRelateOp op, Geometry a, Geometry b) {
+    IntersectionMatrix im = RelateOp.relate(a, b);
+    int dimA = a.getDimension();
+    int dimB = b.getDimension();
+    String msg = message(a, b, im.toString());
+    assertEquals(msg, im.isIntersects(), op.evaluate(b, RelatePredicate.intersects()));
+    assertEquals(msg, im.isDisjoint(), op.evaluate(b, RelatePredicate.disjoint()));
+    assertEquals(msg, im.isContains(), op.evaluate(b, RelatePredicate.contains()));
+    assertEquals(msg, im.isWithin(), op.evaluate(b, RelatePredicate.within()));
+    assertEquals(msg, im.isCovers(), op.evaluate(b, RelatePredicate.covers()));
+    assertEquals(msg, im.isCoveredBy(), op.evaluate(b, RelatePredicate.coveredBy()));
+    assertEquals(msg, im.isTouches(dimA, dimB), op.evaluate(b, RelatePredicate.touches()));
+    assertEquals(msg, im.isCrosses(dimA, dimB), op.evaluate(b, RelatePredicate.crosses()));
+    assertEquals(msg, im.isOverlaps(dimA, dimB), op.evaluate(b, RelatePredicate.overlaps()));
+    assertEquals(msg, im.isEquals(dimA, dimB), op.evaluate(b, RelatePredicate.equalsTopo()));
+  }
+
+  private static String message(Geometry a, Geometry b, String pattern) {
+    return a + " / " + b + " : " + pattern;
+  }
+
+  private Geometry[] readAll() {
+    Geometry[] geoms = new Geometry[WKT.length];
+    for (int i = 0; i < WKT.length; i++) {
+      geoms[i] = read(WKT[i]);
+    }
+    return geoms;
+  }
+}
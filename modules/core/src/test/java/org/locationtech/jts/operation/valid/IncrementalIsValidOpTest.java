@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.valid;
+
+import java.util.Random;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Polygon;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+/**
+ * Tests {@link IncrementalIsValidOp},
+ * by checking that the validity after vertex edits
+ * is the same as computed by {@link IsValidOp}.
+ *
+ * @author Martin Davis
+ */
+public class IncrementalIsValidOpTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(IncrementalIsValidOpTest.class);
+  }
+
+  public IncrementalIsValidOpTest(String name) {
+    super(name);
+  }
+
+  private static final String SQUARE_WITH_HOLES =
+      "POLYGON ((0 0, 0 100, 100 100, 100 0, 0 0), (10 10, 10 20, 20 20, 20 10, 10 10), (50 50, 50 70, 70 70, 70 50, 50 50))";
+
+  public void testValid() {
+    checkEdit(SQUARE_WITH_HOLES, 0, 1, 0, 90, -1);
+    checkEdit(SQUARE_WITH_HOLES, 1, 2, 25, 25, -1);
+  }
+
+  public void testSelfIntersection() {
+    checkEdit(SQUARE_WITH_HOLES, 0, 1, 150, 50, TopologyValidationError.SELF_INTERSECTION);
+  }
+
+  public void testRingSelfIntersection() {
+    checkEdit("POLYGON ((0 0, 0 100, 50 50, 100 100, 100 0, 0 0))", 0, 2, 50, 0,
+        TopologyValidationError.RING_SELF_INTERSECTION);
+  }
+
+  public void testHoleCrossesShell() {
+    checkEdit(SQUARE_WITH_HOLES, 1, 2, 120, 20, TopologyValidationError.SELF_INTERSECTION);
+  }
+
+  public void testHolesCross() {
+    checkEdit(SQUARE_WITH_HOLES, 1, 2, 60, 60, TopologyValidationError.SELF_INTERSECTION);
+  }
+
+  public void testHoleTouchesShell() {
+    checkEdit(SQUARE_WITH_HOLES, 1, 0, 0, 0, -1);
+  }
+
+  public void testHoleTouchesShellTwice() {
+    IncrementalIsValidOp validOp = new IncrementalIsValidOp((Polygon) read(SQUARE_WITH_HOLES));
+    validOp.setVertex(1, 0, new Coordinate(0, 10));
+    checkValid(validOp, -1);
+    validOp.setVertex(1, 1, new Coordinate(0, 20));
+    checkValid(validOp, TopologyValidationError.SELF_INTERSECTION);
+    validOp.setVertex(1, 1, new Coordinate(10, 20));
+    validOp.setVertices(1, 2, new Coordinate[] { new Coordinate(0, 30), new Coordinate(20, 20) });
+    checkValid(validOp, TopologyValidationError.DISCONNECTED_INTERIOR);
+    validOp.setVertex(1, 2, new Coordinate(10, 30));
+    checkValid(validOp, -1);
+  }
+
+  public void testHoleCycle() {
+    IncrementalIsValidOp validOp = new IncrementalIsValidOp((Polygon) read(
+        "POLYGON ((0 0, 0 100, 100 100, 100 0, 0 0), (0 50, 50 90, 90 50, 50 20, 0 50), (20 10, 30 10, 25 15, 20 10))"));
+    checkValid(validOp, -1);
+    validOp.setVertices(2, 0, new Coordinate[] {
+        new Coordinate(0, 0), new Coordinate(50, 20), new Coordinate(5, 30), new Coordinate(0, 0) });
+    checkValid(validOp, TopologyValidationError.DISCONNECTED_INTERIOR);
+    validOp.setVertex(2, 0, new Coordinate(10, 5));
+    checkValid(validOp, -1);
+  }
+
+  public void testHoleOutsideShell() {
+    IncrementalIsValidOp validOp = new IncrementalIsValidOp((Polygon) read(SQUARE_WITH_HOLES));
+    validOp.setVertices(2, 0, new Coordinate[] {
+        new Coordinate(150, 50), new Coordinate(150, 70), new Coordinate(170, 70),
+        new Coordinate(170, 50), new Coordinate(150, 50) });
+    checkValid(validOp, TopologyValidationError.HOLE_OUTSIDE_SHELL);
+  }
+
+  public void testShellMovedAwayFromHole() {
+    checkEdit("POLYGON ((0 0, 0 100, 100 100, 100 0, 0 0), (10 10, 10 20, 20 20, 20 10, 10 10))",
+        0, 0, 50, 50, TopologyValidationError.HOLE_OUTSIDE_SHELL);
+  }
+
+  public void testNestedHoles() {
+    IncrementalIsValidOp validOp = new IncrementalIsValidOp((Polygon) read(SQUARE_WITH_HOLES));
+    validOp.setVertices(1, 0, new Coordinate[] {
+        new Coordinate(55, 55), new Coordinate(55, 65), new Coordinate(65, 65),
+        new Coordinate(65, 55), new Coordinate(55, 55) });
+    checkValid(validOp, TopologyValidationError.NESTED_HOLES);
+    validOp.setVertex(2, 2, new Coordinate(60, 60));
+    checkValid(validOp, TopologyValidationError.SELF_INTERSECTION);
+  }
+
+  public void testTooFewPoints() {
+    IncrementalIsValidOp validOp = new IncrementalIsValidOp((Polygon) read(SQUARE_WITH_HOLES));
+    validOp.setVertex(1, 1, new Coordinate(10, 10));
+    checkValid(validOp, -1);
+    validOp.setVertex(1, 2, new Coordinate(10, 10));
+    checkValid(validOp, TopologyValidationError.TOO_FEW_POINTS);
+    validOp.setVertices(1, 1, new Coordinate[] { new Coordinate(10, 20), new Coordinate(20, 20) });
+    checkValid(validOp, -1);
+  }
+
+  public void testRepeatedPoints() {
+    checkEdit("POLYGON ((0 0, 0 100, 100 100, 100 100, 100 0, 0 0))", 0, 3, 100, 0, -1);
+    checkEdit("POLYGON ((0 0, 0 100, 50 50, 100 100, 100 0, 0 0))", 0, 2, 0, 100, -1);
+  }
+
+  public void testInvalidCoordinate() {
+    checkEdit(SQUARE_WITH_HOLES, 0, 1, Double.NaN, 50, TopologyValidationError.INVALID_COORDINATE);
+  }
+
+  public void testEditRingStart() {
+    IncrementalIsValidOp validOp = new IncrementalIsValidOp((Polygon) read(SQUARE_WITH_HOLES));
+    validOp.setVertex(0, 4, new Coordinate(-10, -10));
+    checkValid(validOp, -1);
+    Polygon poly = validOp.getPolygon();
+    checkEqualXY(new Coordinate(-10, -10), poly.getExteriorRing().getCoordinateN(0));
+  }
+
+  public void testInvalidVertexRange() {
+    IncrementalIsValidOp validOp = new IncrementalIsValidOp((Polygon) read(SQUARE_WITH_HOLES));
+    try {
+      validOp.setVertex(3, 0, new Coordinate(0, 0));
+      fail();
+    }
+    catch (IllegalArgumentException ex) {
+    }
+    try {
+      validOp.setVertex(0, 5, new Coordinate(0, 0));
+      fail();
+    }
+    catch (IllegalArgumentException ex) {
+    }
+  }
+
+  public void testRandomEdits() {
+    Random rnd = new Random(1);
+    IncrementalIsValidOp validOp = new IncrementalIsValidOp((Polygon) read(
+        "POLYGON ((0 0, 0 50, 0 100, 50 100, 100 100, 100 50, 100 0, 50 0, 0 0), (10 10, 10 20, 20 20, 20 10, 10 10), (50 50, 50 70, 60 80, 70 70, 70 50, 50 50), (30 80, 40 80, 40 70, 30 80))"));
+    for (int i = 0; i < 2000; i++) {
+      Polygon poly = validOp.getPolygon();
+      int ringIndex = rnd.nextInt(poly.getNumInteriorRing() + 1);
+      Coordinate[] pts = (ringIndex == 0 ? poly.getExteriorRing() : poly.getInteriorRingN(ringIndex - 1)).getCoordinates();
+      int index = rnd.nextInt(pts.length);
+      Coordinate orig = pts[index];
+      validOp.setVertex(ringIndex, index,
+          new Coordinate(orig.x + 10 * (rnd.nextInt(5) - 2), orig.y + 10 * (rnd.nextInt(5) - 2)));
+      assertEquals(IsValidOp.isValid(validOp.getPolygon()), validOp.isValid());
+      // keep the polygon mostly valid
+      if (rnd.nextInt(4) != 0)
+        validOp.setVertex(ringIndex, index, orig);
+    }
+  }
+
+  /**
+   * Checks the validity after moving a vertex,
+   * and that the polygon is valid again after moving it back.
+   */
+  private void checkEdit(String wkt, int ringIndex, int vertexIndex, double x, double y, int expectedErrType) {
+    Polygon poly = (Polygon) read(wkt);
+    IncrementalIsValidOp validOp = new IncrementalIsValidOp(poly);
+    checkValid(validOp, -1);
+    Coordinate orig = (ringIndex == 0 ? poly.getExteriorRing() : poly.getInteriorRingN(ringIndex - 1))
+        .getCoordinateN(vertexIndex);
+    validOp.setVertex(ringIndex, vertexIndex, new Coordinate(x, y));
+    checkValid(validOp, expectedErrType);
+    validOp.setVertex(ringIndex, vertexIndex, orig);
+    checkValid(validOp, -1);
+  }
+
+  private void checkValid(IncrementalIsValidOp validOp, int expectedErrType) {
+    TopologyValidationError expectedErr = new IsValidOp(validOp.getPolygon()).getValidationError();
+    TopologyValidationError err = validOp.getValidationError();
+    assertEquals(expectedErrType < 0, validOp.isValid());
+    if (expectedErrType < 0) {
+      assertNull(expectedErr);
+      assertNull(err);
+    }
+    else {
+      assertEquals(expectedErrType, expectedErr.getErrorType());
+      assertEquals(expectedErrType, err.getErrorType());
+    }
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.operation.valid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Polygon;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+/**
+ * Tests {@link IsValidOp} using multiple threads,
+ * by checking that MultiPolygons with many elements
+ * and a single error give the same result as a single thread.
+ *
+ * @author Martin Davis
+ */
+public class IsValidParallelTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(IsValidParallelTest.class);
+  }
+
+  public IsValidParallelTest(String name) {
+    super(name);
+  }
+
+  private static final int GRID_SIZE = 30;
+
+  public void testValid() {
+    checkParallel(createGrid(null), -1);
+  }
+
+  public void testValidWithTouchingHoles() {
+    checkParallel(createGrid("POLYGON ((1000 1000, 1010 1000, 1010 1010, 1000 1010, 1000 1000), (1000 1005, 1005 1002, 1005 1008, 1000 1005))"), -1);
+  }
+
+  public void testTooFewPoints() {
+    checkParallel(createGrid("POLYGON ((1000 1000, 1010 1000, 1010 1000, 1000 1000))"),
+        TopologyValidationError.TOO_FEW_POINTS);
+  }
+
+  public void testSelfIntersection() {
+    checkParallel(createGrid("POLYGON ((1000 1000, 1010 1010, 1010 1000, 1000 1010, 1000 1000))"),
+        TopologyValidationError.SELF_INTERSECTION);
+  }
+
+  public void testOverlappingElements() {
+    checkParallel(createGrid("POLYGON ((5 5, 25 5, 25 25, 5 25, 5 5))"),
+        TopologyValidationError.SELF_INTERSECTION);
+  }
+
+  public void testHoleOutsideShell() {
+    checkParallel(createGrid("POLYGON ((1000 1000, 1010 1000, 1010 1010, 1000 1010, 1000 1000), (1020 1020, 1030 1020, 1030 1030, 1020 1030, 1020 1020))"),
+        TopologyValidationError.HOLE_OUTSIDE_SHELL);
+  }
+
+  public void testNestedHoles() {
+    checkParallel(createGrid("POLYGON ((1000 1000, 1010 1000, 1010 1010, 1000 1010, 1000 1000), (1001 1001, 1009 1001, 1009 1009, 1001 1009, 1001 1001), (1002 1002, 1008 1002, 1008 1008, 1002 1008, 1002 1002))"),
+        TopologyValidationError.NESTED_HOLES);
+  }
+
+  public void testNestedShells() {
+    checkParallel(createGrid("POLYGON ((3 23, 7 23, 7 27, 3 27, 3 23))"),
+        TopologyValidationError.NESTED_SHELLS);
+  }
+
+  public void testDisconnectedInterior() {
+    checkParallel(createGrid("POLYGON ((1000 1000, 1010 1000, 1010 1010, 1000 1010, 1000 1000), (1000 1005, 1004 1003, 1005 1005, 1004 1007, 1000 1005), (1005 1005, 1006 1003, 1010 1005, 1006 1007, 1005 1005))"),
+        TopologyValidationError.DISCONNECTED_INTERIOR);
+  }
+
+  public void testSetNumThreadsInvalid() {
+    try {
+      new IsValidOp(createGrid(null)).setNumThreads(0);
+      fail("expected IllegalArgumentException");
+    }
+    catch (IllegalArgumentException expected) {
+    }
+  }
+
+  private void checkParallel(Geometry geom, int expectedErrType) {
+    TopologyValidationError serialErr = new IsValidOp(geom).getValidationError();
+    for (int numThreads = 2; numThreads <= 8; numThreads *= 2) {
+      IsValidOp op = new IsValidOp(geom);
+      op.setNumThreads(numThreads);
+      assertEquals(expectedErrType < 0, op.isValid());
+      TopologyValidationError err = op.getValidationError();
+      if (expectedErrType < 0) {
+        assertNull(serialErr);
+        assertNull(err);
+      }
+      else {
+        assertEquals(expectedErrType, serialErr.getErrorType());
+        assertEquals(expectedErrType, err.getErrorType());
+      }
+    }
+  }
+
+  /**
+   * Creates a MultiPolygon of a grid of squares,
+   * with holes in some of them,
+   * and an extra element polygon.
+   */
+  private MultiPolygon createGrid(String extraWKT) {
+    List<Polygon> polys = new ArrayList<Polygon>();
+    for (int i = 0; i < GRID_SIZE; i++) {
+      for (int j = 0; j < GRID_SIZE; j++) {
+        int x = 20 * i;
+        int y = 20 * j;
+        String shell = "(" + x + " " + y + ", " + (x + 10) + " " + y + ", " + (x + 10) + " " + (y + 10)
+            + ", " + x + " " + (y + 10) + ", " + x + " " + y + ")";
+        String hole = "";
+        if ((i + j) % 3 == 0) {
+          hole = ", (" + (x + 2) + " " + (y + 2) + ", " + (x + 2) + " " + (y + 8) + ", " + (x + 8) + " " + (y + 8)
+              + ", " + (x + 8) + " " + (y + 2) + ", " + (x + 2) + " " + (y + 2) + ")";
+        }
+        polys.add((Polygon) read("POLYGON (" + shell + hole + ")"));
+      }
+    }
+    if (extraWKT != null) {
+      polys.add(polys.size() / 2, (Polygon) read(extraWKT));
+    }
+    return getGeometryFactory().createMultiPolygon(polys.toArray(new Polygon[0]));
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.precision;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+
+import junit.textui.TestRunner;
+import test.jts.GeometryTestCase;
+
+public class CoordinatePrecisionReducerFilterTest extends GeometryTestCase {
+
+  public static void main(String args[]) {
+    TestRunner.run(CoordinatePrecisionReducerFilterTest.class);
+  }
+
+  public CoordinatePrecisionReducerFilterTest(String name) {
+    super(name);
+  }
+
+  public void testGeometry() {
+    Geometry geom = read("GEOMETRYCOLLECTION (POINT (1.1 1.6), LINESTRING (0.4 0.4, 1.5 1.5, 2.7 2.2), POLYGON ((0 0, 10.2 0, 10.2 9.9, 0 0)))");
+    Geometry expected = read("GEOMETRYCOLLECTION (POINT (1 2), LINESTRING (0 0, 2 2, 3 2), POLYGON ((0 0, 10 0, 10 10, 0 0)))");
+    geom.apply(new CoordinatePrecisionReducerFilter(new PrecisionModel(1)));
+    checkEqualExact(expected, geom);
+    // check that the envelope was updated
+    assertEquals(expected.getEnvelopeInternal(), geom.getEnvelopeInternal());
+  }
+
+  public void testBulkSameAsPerCoordinate() {
+    int size = 1000;
+    double[] ords = new double[3 * size];
+    for (int i = 0; i < ords.length; i++) {
+      ords[i] = i * 0.37;
+    }
+    CoordinateSequence seq = new PackedCoordinateSequence.Double(ords, 3, 0);
+    CoordinateSequence seqBulk = seq.copy();
+    CoordinatePrecisionReducerFilter filter = new CoordinatePrecisionReducerFilter(new PrecisionModel(10));
+    for (int i = 0; i < size; i++) {
+      filter.filter(seq, i);
+    }
+    filter.filter(seqBulk);
+    assertTrue(isEqual(seq, seqBulk));
+    // Z is not changed
+    assertEquals(2 * 0.37, seqBulk.getZ(0));
+  }
+}
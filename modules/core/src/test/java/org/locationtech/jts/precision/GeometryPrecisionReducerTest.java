@@ -179,6 +179,13 @@ public class GeometryPrecisionReducerTest
         "POLYGON ((10 10, 100 100, 200 10,   300 100, 400 10, 10 10))");
 	}
 
+  public void testCollectionParallel() throws Exception {
+    GeometryPrecisionReducer reducer = new GeometryPrecisionReducer(pmFixed1);
+    reducer.setNumThreads(4);
+    checkReduce(reducer, "GEOMETRYCOLLECTION (LINESTRING (0 0, 9.9 9.9), POLYGON (( 0 0, 0 1.4, 1.4 1.4, 1.4 0, 0 0 )), LINESTRING (0 0, 0.1 0.1), MULTIPOINT ((1.1 1.1), (2.2 2.2)))",
+        "GEOMETRYCOLLECTION (LINESTRING (0 0, 10 10), POLYGON (( 0 0, 0 1, 1 1, 1 0, 0 0 )), MULTIPOINT ((1 1), (2 2)))");
+  }
+
   //=======================================
   
   private void checkReducePointwise(String wkt, String wktExpected) {
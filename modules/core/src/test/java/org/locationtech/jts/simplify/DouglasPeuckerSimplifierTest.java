@@ -183,6 +183,22 @@ public class DouglasPeuckerSimplifierTest
         );
   }
   
+  public void testParallel() {
+    checkDPParallel("MULTIPOLYGON (((0 0, 5 0.1, 10 0, 10 10, 0 10, 0 0)), ((20 0, 25 0.1, 30 0, 30 10, 20 10, 20 0)), ((40 0, 45 0.1, 50 0, 50 10, 40 10, 40 0)), EMPTY)", 1);
+    checkDPParallel("MULTILINESTRING ((0 0, 5 0.1, 10 0), (20 0, 25 0.1, 30 0), (40 0, 45 0.1, 50 0))", 1);
+    checkDPParallel("GEOMETRYCOLLECTION (POLYGON ((0 0, 5 0.1, 10 0, 10 10, 0 10, 0 0)), MULTILINESTRING ((20 0, 25 0.1, 30 0), (40 0, 45 0.1, 50 0)), POINT (1 1))", 1);
+  }
+
+  private void checkDPParallel(String wkt, double tolerance) {
+    Geometry geom = read(wkt);
+    Geometry expected = DouglasPeuckerSimplifier.simplify(geom, tolerance);
+    DouglasPeuckerSimplifier simp = new DouglasPeuckerSimplifier(geom);
+    simp.setDistanceTolerance(tolerance);
+    simp.setNumThreads(4);
+    Geometry actual = simp.getResultGeometry();
+    checkEqualExact(expected, actual);
+  }
+
   private void checkDP(String wkt, double tolerance, String wktExpected) {
     Geometry geom = read(wkt);
     Geometry result = DouglasPeuckerSimplifier.simplify(geom, tolerance);
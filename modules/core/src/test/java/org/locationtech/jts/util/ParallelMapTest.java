@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.util;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Function;
+
+import junit.framework.TestCase;
+import junit.textui.TestRunner;
+
+/**
+ * Tests {@link ParallelMap}.
+ */
+public class ParallelMapTest extends TestCase
+{
+  public static void main(String args[]) {
+    TestRunner.run(ParallelMapTest.class);
+  }
+
+  private static final Function<Integer, Integer> SQUARE = new Function<Integer, Integer>() {
+    public Integer apply(Integer i) {
+      return i * i;
+    }
+  };
+
+  public ParallelMapTest(String name) { super(name); }
+
+  public void testOrder() {
+    checkMap(createList(1000), 4);
+  }
+
+  public void testSingleThread() {
+    checkMap(createList(100), 1);
+  }
+
+  public void testFewItems() {
+    checkMap(createList(3), 8);
+    checkMap(new ArrayList<Integer>(), 8);
+  }
+
+  public void testNonRandomAccess() {
+    checkMap(new LinkedList<Integer>(createList(100)), 3);
+  }
+
+  public void testException() {
+    try {
+      ParallelMap.map(createList(100), new Function<Integer, Integer>() {
+        public Integer apply(Integer i) {
+          if (i == 57) throw new IllegalStateException("test");
+          return i;
+        }
+      }, 4);
+      fail("expected IllegalStateException");
+    }
+    catch (IllegalStateException expected) {
+      assertEquals("test", expected.getMessage());
+    }
+  }
+
+  private void checkMap(List<Integer> items, int numThreads) {
+    List<Integer> result = ParallelMap.map(items, SQUARE, numThreads);
+    assertEquals(items.size(), result.size());
+    int i = 0;
+    for (Integer item : items) {
+      assertEquals(item * item, result.get(i++).intValue());
+    }
+  }
+
+  private static List<Integer> createList(int n) {
+    List<Integer> list = new ArrayList<Integer>();
+    for (int i = 0; i < n; i++) {
+      list.add(i);
+    }
+    return list;
+  }
+}
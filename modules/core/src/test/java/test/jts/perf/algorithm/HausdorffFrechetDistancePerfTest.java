@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package test.jts.perf.algorithm;
+
+import java.util.Random;
+
+import org.locationtech.jts.algorithm.distance.DiscreteFrechetDistance;
+import org.locationtech.jts.algorithm.distance.DiscreteHausdorffDistance;
+import org.locationtech.jts.algorithm.distance.IndexedHausdorffDistance;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import test.jts.perf.PerformanceTestCase;
+import test.jts.perf.PerformanceTestRunner;
+
+/**
+ * Compares the performance of {@link DiscreteHausdorffDistance}
+ * and {@link IndexedHausdorffDistance},
+ * and tests the performance of {@link DiscreteFrechetDistance},
+ * for pairs of similar tracks.
+ *
+ * @author Martin Davis
+ */
+public class HausdorffFrechetDistancePerfTest extends PerformanceTestCase {
+
+  private static final double WITHIN_DIST = 2.0;
+
+  public static void main(String args[]) {
+    PerformanceTestRunner.run(HausdorffFrechetDistancePerfTest.class);
+  }
+
+  private GeometryFactory factory = new GeometryFactory();
+  private Geometry track0;
+  private Geometry track1;
+  private int nPts;
+
+  public HausdorffFrechetDistancePerfTest(String name) {
+    super(name);
+    setRunSize(new int[] { 1000, 10000, 100000 });
+    setRunIterations(1);
+  }
+
+  public void startRun(int nPts) {
+    this.nPts = nPts;
+    track0 = createTrack(nPts, 1);
+    track1 = createTrack(nPts, 2);
+    System.out.println("\nRunning with # pts: " + nPts);
+  }
+
+  public void runDiscreteHausdorff() {
+    // too slow for large inputs
+    if (nPts > 10000) return;
+    System.out.println("DiscreteHausdorffDistance: " + DiscreteHausdorffDistance.distance(track0, track1));
+  }
+
+  public void runIndexedHausdorff() {
+    System.out.println("IndexedHausdorffDistance: " + IndexedHausdorffDistance.distance(track0, track1));
+  }
+
+  public void runIndexedHausdorffWithin() {
+    System.out.println("IndexedHausdorffDistance within " + WITHIN_DIST + ": "
+        + IndexedHausdorffDistance.isWithinDistance(track0, track1, WITHIN_DIST));
+  }
+
+  public void runFrechet() {
+    // O(n*m) time
+    if (nPts > 10000) return;
+    System.out.println("DiscreteFrechetDistance: " + DiscreteFrechetDistance.distance(track0, track1));
+  }
+
+  public void runFrechetWithin() {
+    System.out.println("DiscreteFrechetDistance within " + WITHIN_DIST + ": "
+        + DiscreteFrechetDistance.isWithinDistance(track0, track1, WITHIN_DIST));
+  }
+
+  /**
+   * Creates a sinuous track with random noise added to the vertices.
+   */
+  private Geometry createTrack(int nPts, long seed) {
+    Random rnd = new Random(seed);
+    Coordinate[] pts = new Coordinate[nPts];
+    for (int i = 0; i < nPts; i++) {
+      double x = i + rnd.nextDouble();
+      double y = 50 * Math.sin(i / 500.0) + rnd.nextDouble();
+      pts[i] = new Coordinate(x, y);
+    }
+    return factory.createLineString(pts);
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package test.jts.perf.geom;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFilter;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
+import org.locationtech.jts.geom.util.AffineTransformation;
+import org.locationtech.jts.geom.util.SineStarFactory;
+import org.locationtech.jts.precision.CoordinatePrecisionReducerFilter;
+
+import test.jts.perf.PerformanceTestCase;
+import test.jts.perf.PerformanceTestRunner;
+
+/**
+ * Compares the performance of applying {@link CoordinateSequenceFilter}s
+ * per-coordinate and in bulk.
+ * The per-coordinate path is forced by wrapping the filter
+ * in one which does not override {@link CoordinateSequenceFilter#filter(CoordinateSequence)}.
+ *
+ * @author Martin Davis
+ */
+public class CoordinateSequenceFilterPerfTest extends PerformanceTestCase {
+
+  private static final int NUM_ITER = 100;
+
+  public static void main(String args[]) {
+    PerformanceTestRunner.run(CoordinateSequenceFilterPerfTest.class);
+  }
+
+  private Geometry geom;
+
+  public CoordinateSequenceFilterPerfTest(String name) {
+    super(name);
+    setRunSize(new int[] { 1000, 100000 });
+    setRunIterations(5);
+  }
+
+  /**
+   * Applies several filter types, so that the per-coordinate call sites
+   * are megamorphic (as they are in applications using many filters).
+   */
+  public void setUp() {
+    Geometry warmup = new GeometryFactory().toGeometry(new Envelope(0, 1, 0, 1));
+    for (int i = 0; i < 10000; i++) {
+      warmup.apply(new PerCoordinateFilter(AffineTransformation.translationInstance(0, 0)));
+      warmup.apply(new PerCoordinateFilter(new CoordinatePrecisionReducerFilter(new PrecisionModel())));
+      warmup.apply(new PerCoordinateFilter(new ReadFilter()));
+      warmup.apply(new ReadFilter());
+    }
+  }
+
+  public void startRun(int npts) {
+    GeometryFactory factory = new GeometryFactory(PackedCoordinateSequenceFactory.DOUBLE_FACTORY);
+    SineStarFactory gsf = new SineStarFactory(factory);
+    gsf.setCentre(new Coordinate(0, 0));
+    gsf.setSize(1000);
+    gsf.setNumPoints(npts);
+    geom = gsf.createSineStar();
+    System.out.println("\nRunning with " + npts + " points");
+  }
+
+  public void runAffinePerCoordinate() {
+    AffineTransformation trans = AffineTransformation.rotationInstance(0.1);
+    applyFilter(new PerCoordinateFilter(trans));
+  }
+
+  public void runAffineBulk() {
+    applyFilter(AffineTransformation.rotationInstance(0.1));
+  }
+
+  public void runPrecisionPerCoordinate() {
+    applyFilter(new PerCoordinateFilter(new CoordinatePrecisionReducerFilter(new PrecisionModel(1000))));
+  }
+
+  public void runPrecisionBulk() {
+    applyFilter(new CoordinatePrecisionReducerFilter(new PrecisionModel(1000)));
+  }
+
+  private void applyFilter(CoordinateSequenceFilter filter) {
+    for (int i = 0; i < NUM_ITER; i++) {
+      geom.apply(filter);
+    }
+  }
+
+  private static class ReadFilter implements CoordinateSequenceFilter {
+    double sum = 0;
+    public void filter(CoordinateSequence seq, int i) {
+      sum += seq.getX(i);
+    }
+    public boolean isDone() {
+      return false;
+    }
+    public boolean isGeometryChanged() {
+      return false;
+    }
+  }
+
+  /**
+   * Applies a filter one coordinate at a time.
+   */
+  private static class PerCoordinateFilter implements CoordinateSequenceFilter {
+    private CoordinateSequenceFilter filter;
+
+    PerCoordinateFilter(CoordinateSequenceFilter filter) {
+      this.filter = filter;
+    }
+    public void filter(CoordinateSequence seq, int i) {
+      filter.filter(seq, i);
+    }
+    public boolean isDone() {
+      return filter.isDone();
+    }
+    public boolean isGeometryChanged() {
+      return filter.isGeometryChanged();
+    }
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package test.jts.perf.geom.prep;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.geom.util.SineStarFactory;
+
+import test.jts.perf.PerformanceTestCase;
+import test.jts.perf.PerformanceTestRunner;
+
+/**
+ * Compares the performance of the prepared
+ * <code>distance</code> and <code>isWithinDistance</code> methods
+ * to the original {@link Geometry} methods,
+ * for a polygon against a grid of points.
+ *
+ * @author Martin Davis
+ */
+public class PreparedGeometryDistancePerfTest extends PerformanceTestCase {
+
+  private static final int NUM_PTS_SIDE = 100;
+
+  public static void main(String args[]) {
+    PerformanceTestRunner.run(PreparedGeometryDistancePerfTest.class);
+  }
+
+  private GeometryFactory factory = new GeometryFactory();
+  private Geometry geom;
+  private List<Geometry> points;
+  private double withinDist;
+
+  public PreparedGeometryDistancePerfTest(String name) {
+    super(name);
+    setRunSize(new int[] { 100, 1000, 10000 });
+    setRunIterations(1);
+  }
+
+  public void startRun(int nPts) {
+    geom = createSineStar(new Coordinate(0, 0), 100, nPts);
+    Envelope env = geom.getEnvelopeInternal();
+    env.expandBy(env.getWidth() / 2);
+    points = createPoints(env, NUM_PTS_SIDE);
+    withinDist = env.getWidth() / 20;
+    System.out.println("\nRunning with # pts: " + nPts + "  # points: " + points.size());
+  }
+
+  public void runDistance() {
+    double sum = 0;
+    for (Geometry pt : points) {
+      sum += geom.distance(pt);
+    }
+    System.out.println("Geometry distance sum: " + sum);
+  }
+
+  public void runPreparedDistance() {
+    PreparedGeometry prep = PreparedGeometryFactory.prepare(geom);
+    double sum = 0;
+    for (Geometry pt : points) {
+      sum += prep.distance(pt);
+    }
+    System.out.println("Prepared distance sum: " + sum);
+  }
+
+  public void runWithinDistance() {
+    int count = 0;
+    for (Geometry pt : points) {
+      if (geom.isWithinDistance(pt, withinDist)) count++;
+    }
+    System.out.println("Geometry isWithinDistance: " + count);
+  }
+
+  public void runPreparedWithinDistance() {
+    PreparedGeometry prep = PreparedGeometryFactory.prepare(geom);
+    int count = 0;
+    for (Geometry pt : points) {
+      if (prep.isWithinDistance(pt, withinDist)) count++;
+    }
+    System.out.println("Prepared isWithinDistance: " + count);
+  }
+
+  private Geometry createSineStar(Coordinate origin, double size, int nPts) {
+    SineStarFactory gsf = new SineStarFactory(factory);
+    gsf.setCentre(origin);
+    gsf.setSize(size);
+    gsf.setNumPoints(nPts);
+    gsf.setArmLengthRatio(0.1);
+    gsf.setNumArms(50);
+    return gsf.createSineStar();
+  }
+
+  private List<Geometry> createPoints(Envelope env, int nPtsSide) {
+    double xInc = env.getWidth() / nPtsSide;
+    double yInc = env.getHeight() / nPtsSide;
+    List<Geometry> pts = new ArrayList<Geometry>();
+    for (int i = 0; i < nPtsSide; i++) {
+      for (int j = 0; j < nPtsSide; j++) {
+        Coordinate p = new Coordinate(
+            env.getMinX() + (i + 0.5) * xInc,
+            env.getMinY() + (j + 0.5) * yInc);
+        pts.add(factory.createPoint(p));
+      }
+    }
+    return pts;
+  }
+}
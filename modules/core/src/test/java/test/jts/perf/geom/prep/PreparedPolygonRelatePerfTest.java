@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package test.jts.perf.geom.prep;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.geom.util.SineStarFactory;
+import org.locationtech.jts.util.Stopwatch;
+
+/**
+ * Tests the performance of the prepared
+ * <code>touches</code>, <code>overlaps</code> and <code>within</code> predicates
+ * for a polygon against a grid of small polygons,
+ * compared to the original {@link Geometry} predicates.
+ *
+ * @author Martin Davis
+ *
+ */
+public class PreparedPolygonRelatePerfTest
+{
+  static final int MAX_ITER = 10;
+
+  static final int NUM_TESTS = 10000;
+  static final int NUM_TEST_PTS = 100;
+
+  static PrecisionModel pm = new PrecisionModel();
+  static GeometryFactory fact = new GeometryFactory(pm, 0);
+
+  public static void main(String[] args) {
+    PreparedPolygonRelatePerfTest test = new PreparedPolygonRelatePerfTest();
+    test.test();
+  }
+
+  public PreparedPolygonRelatePerfTest() {
+  }
+
+  public void test()
+  {
+    test(500);
+    test(1000);
+    test(2000);
+    test(4000);
+  }
+
+  public void test(int nPts)
+  {
+    Geometry target = createSineStar(new Coordinate(0, 0), 100, nPts);
+    List tests = createPolygons(target.getEnvelopeInternal(), NUM_TESTS, 1.0, NUM_TEST_PTS);
+
+    System.out.println();
+    System.out.println("AOI # pts: " + target.getNumPoints()
+        + "      # tests: " + tests.size()
+        + "   # pts in test: " + NUM_TEST_PTS
+        );
+    test(target, tests, "touches");
+    test(target, tests, "overlaps");
+    test(target, tests, "within");
+  }
+
+  Geometry createSineStar(Coordinate origin, double size, int nPts) {
+    SineStarFactory gsf = new SineStarFactory(fact);
+    gsf.setCentre(origin);
+    gsf.setSize(size);
+    gsf.setNumPoints(nPts);
+    gsf.setArmLengthRatio(0.1);
+    gsf.setNumArms(50);
+    return gsf.createSineStar();
+  }
+
+  List createPolygons(Envelope env, int nItems, double size, int nPts)
+  {
+    int nCells = (int) Math.sqrt(nItems);
+
+    List geoms = new ArrayList();
+    double width = env.getWidth();
+    double xInc = width / nCells;
+    double yInc = width / nCells;
+    for (int i = 0; i < nCells; i++) {
+      for (int j = 0; j < nCells; j++) {
+        Coordinate base = new Coordinate(
+            env.getMinX() + i * xInc,
+            env.getMinY() + j * yInc);
+        geoms.add(createSineStar(base, size, nPts));
+      }
+    }
+    return geoms;
+  }
+
+  public void test(Geometry g, List tests, String predicate)
+  {
+    Stopwatch sw = new Stopwatch();
+    int count = 0;
+    for (int i = 0; i < MAX_ITER; i++) {
+      count = testOriginal(g, tests, predicate);
+    }
+    System.out.println("Original " + predicate + " count = " + count
+        + "   Finished in " + sw.getTimeString());
+
+    sw.reset();
+    for (int i = 0; i < MAX_ITER; i++) {
+      count = testPrepGeomCached(g, tests, predicate);
+    }
+    System.out.println("Prepared " + predicate + " count = " + count
+        + "   Finished in " + sw.getTimeString());
+  }
+
+  public int testOriginal(Geometry g, List tests, String predicate)
+  {
+    int count = 0;
+    for (Iterator i = tests.iterator(); i.hasNext(); ) {
+      Geometry test = (Geometry) i.next();
+      if (evaluate(g, test, predicate))
+        count++;
+    }
+    return count;
+  }
+
+  public int testPrepGeomCached(Geometry g, List tests, String predicate)
+  {
+    PreparedGeometryFactory pgFact = new PreparedGeometryFactory();
+    PreparedGeometry prepGeom = pgFact.create(g);
+
+    int count = 0;
+    for (Iterator i = tests.iterator(); i.hasNext(); ) {
+      Geometry test = (Geometry) i.next();
+      if (evaluate(prepGeom, test, predicate))
+        count++;
+    }
+    return count;
+  }
+
+  private static boolean evaluate(Geometry g, Geometry test, String predicate) {
+    if (predicate.equals("touches")) return g.touches(test);
+    if (predicate.equals("overlaps")) return g.overlaps(test);
+    return g.within(test);
+  }
+
+  private static boolean evaluate(PreparedGeometry prepGeom, Geometry test, String predicate) {
+    if (predicate.equals("touches")) return prepGeom.touches(test);
+    if (predicate.equals("overlaps")) return prepGeom.overlaps(test);
+    return prepGeom.within(test);
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package test.jts.perf.geom.util;
+
+import org.locationtech.jts.densify.Densifier;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.util.SineStarFactory;
+import org.locationtech.jts.precision.GeometryPrecisionReducer;
+import org.locationtech.jts.simplify.DouglasPeuckerSimplifier;
+
+import test.jts.perf.PerformanceTestCase;
+import test.jts.perf.PerformanceTestRunner;
+
+/**
+ * Tests the scaling of transformers running with
+ * increasing numbers of threads
+ * on a MultiPolygon with many parts.
+ * The run size is the number of threads.
+ *
+ * @author Martin Davis
+ */
+public class ParallelTransformerPerfTest extends PerformanceTestCase {
+
+  private static final int NUM_PARTS = 20000;
+  private static final int NUM_PART_PTS = 200;
+
+  public static void main(String args[]) {
+    PerformanceTestRunner.run(ParallelTransformerPerfTest.class);
+  }
+
+  private GeometryFactory factory = new GeometryFactory();
+  private Geometry geom;
+  private int numThreads;
+
+  public ParallelTransformerPerfTest(String name) {
+    super(name);
+    setRunSize(new int[] { 1, 2, 4, 8 });
+    setRunIterations(1);
+  }
+
+  public void setUp() {
+    int side = (int) Math.sqrt(NUM_PARTS);
+    Polygon[] parts = new Polygon[side * side];
+    int n = 0;
+    for (int i = 0; i < side; i++) {
+      for (int j = 0; j < side; j++) {
+        parts[n++] = createPart(10 * i, 10 * j);
+      }
+    }
+    geom = factory.createMultiPolygon(parts);
+    System.out.println("MultiPolygon with " + parts.length + " parts, "
+        + geom.getNumPoints() + " points");
+  }
+
+  private Polygon createPart(double x, double y) {
+    SineStarFactory gsf = new SineStarFactory(factory);
+    gsf.setCentre(new Coordinate(x, y));
+    gsf.setSize(8);
+    gsf.setNumPoints(NUM_PART_PTS);
+    gsf.setArmLengthRatio(0.3);
+    gsf.setNumArms(5);
+    return (Polygon) gsf.createSineStar();
+  }
+
+  public void startRun(int numThreads) {
+    System.out.println("\nRunning with " + numThreads + " threads");
+    this.numThreads = numThreads;
+  }
+
+  public void runSimplify() {
+    DouglasPeuckerSimplifier simp = new DouglasPeuckerSimplifier(geom);
+    simp.setDistanceTolerance(0.1);
+    simp.setNumThreads(numThreads);
+    simp.getResultGeometry();
+  }
+
+  public void runDensify() {
+    Densifier den = new Densifier(geom);
+    den.setDistanceTolerance(0.1);
+    den.setNumThreads(numThreads);
+    den.getResultGeometry();
+  }
+
+  public void runPrecisionReducePointwise() {
+    GeometryPrecisionReducer reducer = new GeometryPrecisionReducer(new PrecisionModel(10));
+    reducer.setPointwise(true);
+    reducer.setNumThreads(numThreads);
+    reducer.reduce(geom);
+  }
+}
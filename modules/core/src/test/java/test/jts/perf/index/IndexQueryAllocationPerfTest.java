@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package test.jts.perf.index;
+
+import java.lang.management.ManagementFactory;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.SpatialIndex;
+import org.locationtech.jts.index.hprtree.HPRtree;
+import org.locationtech.jts.index.quadtree.Quadtree;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import test.jts.perf.PerformanceTestCase;
+import test.jts.perf.PerformanceTestRunner;
+
+/**
+ * Reports the memory allocated per visitor query by the spatial indexes.
+ * Visitor queries should not allocate any memory,
+ * so the reported values should be 0 (after warm-up).
+ * <p>
+ * Uses the HotSpot-specific thread allocation counter.
+ */
+public class IndexQueryAllocationPerfTest
+extends PerformanceTestCase {
+
+  private static final int ITEM_ENV_SIZE = 10;
+  private static final int QUERY_ENV_SIZE = 40;
+  private static final int NUM_QUERY_ROUNDS = 5;
+
+  public static void main(String args[]) {
+    PerformanceTestRunner.run(IndexQueryAllocationPerfTest.class);
+  }
+
+  private int side;
+
+  public IndexQueryAllocationPerfTest(String name) {
+    super(name);
+    setRunSize(new int[] { 10000 });
+    setRunIterations(1);
+  }
+
+  public void startRun(int size)
+  {
+    System.out.println("----- Tree size: " + size);
+    side = (int) Math.sqrt(size);
+  }
+
+  public void runHPRtree() {
+    checkAllocation("HPRtree", new HPRtree());
+  }
+
+  public void runSTRtree() {
+    checkAllocation("STRtree", new STRtree());
+  }
+
+  public void runQuadtree() {
+    checkAllocation("Quadtree", new Quadtree());
+  }
+
+  private void checkAllocation(String name, SpatialIndex index) {
+    for (int i = 0; i < side; i++) {
+      for (int j = 0; j < side; j++) {
+        index.insert(new Envelope(i, i + ITEM_ENV_SIZE, j, j + ITEM_ENV_SIZE), i + "-" + j);
+      }
+    }
+    Envelope[] queries = new Envelope[side * side];
+    for (int i = 0; i < side; i++) {
+      for (int j = 0; j < side; j++) {
+        queries[i * side + j] = new Envelope(i, i + QUERY_ENV_SIZE, j, j + QUERY_ENV_SIZE);
+      }
+    }
+    CountItemVisitor visitor = new CountItemVisitor();
+    long bytes = 0;
+    for (int round = 0; round < NUM_QUERY_ROUNDS; round++) {
+      long start = allocatedBytes();
+      for (Envelope query : queries) {
+        index.query(query, visitor);
+      }
+      bytes = allocatedBytes() - start;
+    }
+    System.out.println(name + ": bytes allocated per query = " + (double) bytes / queries.length
+        + "   (items found = " + visitor.count + ")");
+  }
+
+  private static long allocatedBytes() {
+    com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package test.jts.perf.operation.buffer;
+
+import java.util.Random;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.operation.buffer.BufferOp;
+import org.locationtech.jts.operation.buffer.BufferParameters;
+import org.locationtech.jts.operation.buffer.Bufferer;
+
+import test.jts.perf.PerformanceTestCase;
+import test.jts.perf.PerformanceTestRunner;
+
+/**
+ * Compares the performance of buffering many points and short lines
+ * using {@link BufferOp} and a {@link Bufferer}.
+ *
+ * @author Martin Davis
+ */
+public class BuffererPerfTest extends PerformanceTestCase {
+
+  private static final double DISTANCE = 5.0;
+
+  public static void main(String args[]) {
+    PerformanceTestRunner.run(BuffererPerfTest.class);
+  }
+
+  private GeometryFactory factory = new GeometryFactory();
+  private BufferParameters bufParams = new BufferParameters();
+  private Geometry[] points;
+  private Geometry[] lines;
+  private double expectedPointsArea;
+  private double expectedLinesArea;
+
+  public BuffererPerfTest(String name) {
+    super(name);
+    setRunSize(new int[] { 10000, 100000 });
+    setRunIterations(1);
+  }
+
+  public void startRun(int n) {
+    Random rnd = new Random(1);
+    points = new Geometry[n];
+    lines = new Geometry[n];
+    for (int i = 0; i < n; i++) {
+      Coordinate p = new Coordinate(10000 * rnd.nextDouble(), 10000 * rnd.nextDouble());
+      points[i] = factory.createPoint(p);
+      Coordinate p1 = new Coordinate(p.x + 50 * rnd.nextGaussian(), p.y + 50 * rnd.nextGaussian());
+      lines[i] = factory.createLineString(new Coordinate[] { p, p1 });
+    }
+    expectedPointsArea = -1;
+    expectedLinesArea = -1;
+    System.out.println("\nRunning with # geometries: " + n);
+  }
+
+  public void runPointsBufferOp() {
+    double area = 0;
+    for (int i = 0; i < points.length; i++) {
+      area += BufferOp.bufferOp(points[i], DISTANCE, bufParams).getArea();
+    }
+    expectedPointsArea = check(area, expectedPointsArea);
+  }
+
+  public void runPointsBufferer() {
+    Bufferer bufferer = new Bufferer(bufParams);
+    double area = 0;
+    for (int i = 0; i < points.length; i++) {
+      area += bufferer.buffer(points[i], DISTANCE).getArea();
+    }
+    expectedPointsArea = check(area, expectedPointsArea);
+  }
+
+  public void runLinesBufferOp() {
+    double area = 0;
+    for (int i = 0; i < lines.length; i++) {
+      area += BufferOp.bufferOp(lines[i], DISTANCE, bufParams).getArea();
+    }
+    expectedLinesArea = check(area, expectedLinesArea);
+  }
+
+  public void runLinesBufferer() {
+    Bufferer bufferer = new Bufferer(bufParams);
+    double area = 0;
+    for (int i = 0; i < lines.length; i++) {
+      area += bufferer.buffer(lines[i], DISTANCE).getArea();
+    }
+    expectedLinesArea = check(area, expectedLinesArea);
+  }
+
+  private static double check(double area, double expectedArea) {
+    if (expectedArea >= 0 && area != expectedArea)
+      throw new IllegalStateException("Area mismatch: expected " + expectedArea + " but was " + area);
+    return area;
+  }
+}
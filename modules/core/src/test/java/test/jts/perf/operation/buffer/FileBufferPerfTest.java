@@ -18,6 +18,7 @@ import java.util.List;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.operation.buffer.BufferOp;
 import org.locationtech.jts.io.WKTFileReader;
 import org.locationtech.jts.io.WKTReader;
 import org.locationtech.jts.util.Stopwatch;
@@ -70,6 +71,11 @@ public class FileBufferPerfTest
     runAll(polys, 10.0);
     runAll(polys, 100.0);
     runAll(polys, 1000.0);
+    
+    Geometry coll = fact.buildGeometry(polys);
+    runCollection(coll, 0.1);
+    runCollection(coll, 1.0);
+    runCollection(coll, 10.0);
   }
 
   void runAll(List polys, double distance)
@@ -84,4 +90,24 @@ public class FileBufferPerfTest
     System.out.println();
     System.out.println("   Time = " + sw.getTimeString());
   }
+
+  /**
+   * Compares buffering all geometries as a single collection 
+   * using one thread and all available threads.
+   */
+  void runCollection(Geometry coll, double distance)
+  {
+    System.out.println("Collection buffer - Geom count = " + coll.getNumGeometries() + "   distance = " + distance);
+    Stopwatch sw = new Stopwatch();
+    Geometry buf = BufferOp.bufferOp(coll, distance);
+    System.out.println("   Serial Time = " + sw.getTimeString());
+    
+    int numThreads = Runtime.getRuntime().availableProcessors();
+    sw = new Stopwatch();
+    BufferOp op = new BufferOp(coll);
+    op.setNumThreads(numThreads);
+    Geometry bufPar = op.getResultGeometry(distance);
+    System.out.println("   Parallel (" + numThreads + " threads) Time = " + sw.getTimeString());
+    System.out.println("   Area serial = " + buf.getArea() + "   parallel = " + bufPar.getArea());
+  }
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package test.jts.perf.operation.buffer;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateArrays;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.operation.buffer.BufferParameters;
+import org.locationtech.jts.operation.buffer.OffsetCurveBuilder;
+
+import test.jts.perf.PerformanceTestCase;
+import test.jts.perf.PerformanceTestRunner;
+
+/**
+ * Measures the time and memory allocated when generating
+ * offset curves and buffers for many short lines
+ * (similar to road centerlines).
+ * For the curve runs the allocation is also reported
+ * net of the returned curve coordinates,
+ * which is the working storage used by the curve generation.
+ * <p>
+ * The allocated memory is measured using the
+ * <code>com.sun.management.ThreadMXBean</code> extension,
+ * so this requires a HotSpot-based JVM.
+ *
+ * @author Martin Davis
+ */
+public class OffsetCurveAllocationPerfTest extends PerformanceTestCase {
+
+  private static final double DISTANCE = 5.0;
+
+  public static void main(String args[]) {
+    PerformanceTestRunner.run(OffsetCurveAllocationPerfTest.class);
+  }
+
+  private GeometryFactory factory = new GeometryFactory();
+  private Coordinate[][] lines;
+  private Geometry[] lineGeoms;
+
+  public OffsetCurveAllocationPerfTest(String name) {
+    super(name);
+    setRunSize(new int[] { 10000, 100000 });
+    setRunIterations(1);
+  }
+
+  public void startRun(int nLines) {
+    lines = createLines(nLines, 1);
+    lineGeoms = new Geometry[nLines];
+    for (int i = 0; i < nLines; i++) {
+      lineGeoms[i] = factory.createLineString(lines[i]);
+    }
+    System.out.println("\nRunning with # lines: " + nLines);
+  }
+
+  public void runLineCurve() {
+    long start = allocatedBytes();
+    OffsetCurveBuilder builder = new OffsetCurveBuilder(new PrecisionModel(), new BufferParameters());
+    Coordinate[][] curves = new Coordinate[lines.length][];
+    for (int i = 0; i < lines.length; i++) {
+      curves[i] = builder.getLineCurve(lines[i], DISTANCE);
+    }
+    reportCurves("Line curves", start, curves);
+  }
+
+  public void runOffsetCurve() {
+    long start = allocatedBytes();
+    OffsetCurveBuilder builder = new OffsetCurveBuilder(new PrecisionModel(), new BufferParameters());
+    Coordinate[][] curves = new Coordinate[lines.length][];
+    for (int i = 0; i < lines.length; i++) {
+      curves[i] = builder.getOffsetCurve(lines[i], DISTANCE);
+    }
+    reportCurves("Offset curves", start, curves);
+  }
+
+  public void runBuffer() {
+    long start = allocatedBytes();
+    int nPts = 0;
+    for (int i = 0; i < lineGeoms.length; i++) {
+      nPts += lineGeoms[i].buffer(DISTANCE).getNumPoints();
+    }
+    report("Buffers", start, nPts);
+  }
+
+  private void reportCurves(String name, long startBytes, Coordinate[][] curves) {
+    long bytes = allocatedBytes() - startBytes;
+    int nPts = 0;
+    for (int i = 0; i < curves.length; i++) {
+      nPts += curves[i].length;
+    }
+    // measure the size of the result curves by allocating copies of them
+    long copyStart = allocatedBytes();
+    Coordinate[][] copy = new Coordinate[curves.length][];
+    for (int i = 0; i < curves.length; i++) {
+      copy[i] = CoordinateArrays.copyDeep(curves[i]);
+    }
+    long outputBytes = allocatedBytes() - copyStart;
+    long workBytes = bytes - outputBytes;
+    System.out.println(name + ": allocated " + (bytes / 1024 / 1024) + " MB"
+        + ", output " + (outputBytes / 1024 / 1024) + " MB"
+        + ", working " + (workBytes / 1024 / 1024) + " MB  ("
+        + (workBytes / nPts) + " working bytes per output point,  "
+        + copy.length + " curves)");
+  }
+
+  private void report(String name, long startBytes, int nPts) {
+    long bytes = allocatedBytes() - startBytes;
+    System.out.println(name + ": allocated " + (bytes / 1024 / 1024) + " MB  ("
+        + (bytes / lines.length) + " bytes per line,  "
+        + (bytes / nPts) + " bytes per output point)");
+  }
+
+  private static long allocatedBytes() {
+    com.sun.management.ThreadMXBean bean
+      = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * Creates random-walk lines with a few vertices each.
+   */
+  private static Coordinate[][] createLines(int n, long seed) {
+    Random rnd = new Random(seed);
+    Coordinate[][] lines = new Coordinate[n][];
+    for (int i = 0; i < n; i++) {
+      int nPts = 2 + rnd.nextInt(20);
+      Coordinate[] pts = new Coordinate[nPts];
+      double x = 10000 * rnd.nextDouble();
+      double y = 10000 * rnd.nextDouble();
+      double angle = 2 * Math.PI * rnd.nextDouble();
+      for (int j = 0; j < nPts; j++) {
+        pts[j] = new Coordinate(x, y);
+        angle += 0.5 * rnd.nextGaussian();
+        double len = 10 + 40 * rnd.nextDouble();
+        x += len * Math.cos(angle);
+        y += len * Math.sin(angle);
+      }
+      lines[i] = pts;
+    }
+    return lines;
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package test.jts.perf.operation.distance;
+
+import java.util.Random;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.util.SineStarFactory;
+import org.locationtech.jts.index.strtree.GeometryItemDistance;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.locationtech.jts.operation.distance.NearestFeatureJoin;
+
+import test.jts.perf.PerformanceTestCase;
+import test.jts.perf.PerformanceTestRunner;
+
+/**
+ * Compares the performance of {@link NearestFeatureJoin}
+ * with querying {@link STRtree#nearestNeighbour(org.locationtech.jts.geom.Envelope, Object, org.locationtech.jts.index.strtree.ItemDistance)}
+ * for each query point.
+ *
+ * @author Martin Davis
+ */
+public class NearestFeatureJoinPerfTest extends PerformanceTestCase {
+
+  private static final int NUM_FEATURES = 2000;
+  private static final int FEATURE_PTS = 50;
+  private static final double EXTENT = 10000;
+
+  public static void main(String args[]) {
+    PerformanceTestRunner.run(NearestFeatureJoinPerfTest.class);
+  }
+
+  private GeometryFactory factory = new GeometryFactory();
+  private Geometry[] features;
+  private Geometry[] queries;
+  private double[] expectedDist;
+
+  public NearestFeatureJoinPerfTest(String name) {
+    super(name);
+    setRunSize(new int[] { 10000, 100000 });
+    setRunIterations(1);
+  }
+
+  public void setUp() {
+    features = createFeatures(NUM_FEATURES, 1);
+  }
+
+  public void startRun(int nQueries) {
+    queries = createPoints(nQueries, 2);
+    expectedDist = null;
+    System.out.println("\nRunning with # queries: " + nQueries);
+  }
+
+  public void runSTRtreeNearestNeighbour() {
+    STRtree tree = new STRtree();
+    for (int i = 0; i < features.length; i++) {
+      tree.insert(features[i].getEnvelopeInternal(), features[i]);
+    }
+    GeometryItemDistance itemDist = new GeometryItemDistance();
+    double[] dist = new double[queries.length];
+    for (int i = 0; i < queries.length; i++) {
+      Geometry nearest = (Geometry) tree.nearestNeighbour(queries[i].getEnvelopeInternal(), queries[i], itemDist);
+      dist[i] = nearest.distance(queries[i]);
+    }
+    check(dist);
+  }
+
+  public void runNearestFeatureJoinSingleThread() {
+    computeNearest(1);
+  }
+
+  public void runNearestFeatureJoin() {
+    computeNearest(Runtime.getRuntime().availableProcessors());
+  }
+
+  private void computeNearest(int numThreads) {
+    NearestFeatureJoin join = new NearestFeatureJoin(features);
+    join.setNumThreads(numThreads);
+    int[] index = new int[queries.length];
+    double[] dist = new double[queries.length];
+    join.nearest(queries, index, dist);
+    check(dist);
+  }
+
+  private void check(double[] dist) {
+    if (expectedDist == null) {
+      expectedDist = dist;
+      return;
+    }
+    for (int i = 0; i < dist.length; i++) {
+      if (Math.abs(dist[i] - expectedDist[i]) > 1e-9)
+        throw new IllegalStateException("Distance mismatch for query " + i);
+    }
+  }
+
+  private Geometry[] createFeatures(int n, long seed) {
+    Random rnd = new Random(seed);
+    Geometry[] geoms = new Geometry[n];
+    SineStarFactory gsf = new SineStarFactory(factory);
+    gsf.setSize(50);
+    gsf.setNumPoints(FEATURE_PTS);
+    for (int i = 0; i < n; i++) {
+      gsf.setCentre(new Coordinate(EXTENT * rnd.nextDouble(), EXTENT * rnd.nextDouble()));
+      geoms[i] = gsf.createSineStar();
+      if (i % 2 == 0)
+        geoms[i] = geoms[i].getBoundary();
+    }
+    return geoms;
+  }
+
+  private Geometry[] createPoints(int n, long seed) {
+    Random rnd = new Random(seed);
+    Geometry[] pts = new Geometry[n];
+    for (int i = 0; i < n; i++) {
+      pts[i] = factory.createPoint(new Coordinate(EXTENT * rnd.nextDouble(), EXTENT * rnd.nextDouble()));
+    }
+    return pts;
+  }
+}
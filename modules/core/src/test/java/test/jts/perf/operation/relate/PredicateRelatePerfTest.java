@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package test.jts.perf.operation.relate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.util.SineStarFactory;
+import org.locationtech.jts.operation.relate.PredicateRelateOp;
+import org.locationtech.jts.operation.relate.RelateOp;
+import org.locationtech.jts.operation.relate.RelatePredicate;
+
+import test.jts.perf.PerformanceTestCase;
+import test.jts.perf.PerformanceTestRunner;
+
+/**
+ * Compares the performance of evaluating predicates
+ * using {@link RelateOp} and the short-circuiting {@link PredicateRelateOp}
+ * (in prepared mode),
+ * for a polygon against a grid of small polygons.
+ *
+ * @author Martin Davis
+ */
+public class PredicateRelatePerfTest extends PerformanceTestCase {
+
+  private static final int NUM_TARGETS = 2500;
+  private static final int NUM_TARGET_PTS = 20;
+
+  public static void main(String args[]) {
+    PerformanceTestRunner.run(PredicateRelatePerfTest.class);
+  }
+
+  private GeometryFactory factory = new GeometryFactory();
+  private Geometry geom;
+  private List<Geometry> targets;
+
+  public PredicateRelatePerfTest(String name) {
+    super(name);
+    setRunSize(new int[] { 100, 1000, 10000 });
+    setRunIterations(1);
+  }
+
+  public void startRun(int nPts) {
+    geom = createSineStar(new Coordinate(0, 0), 100, nPts);
+    targets = createGrid(geom.getEnvelopeInternal(), NUM_TARGETS, NUM_TARGET_PTS);
+    System.out.println("\nRunning with # pts: " + nPts + "  # targets: " + targets.size());
+  }
+
+  public void runRelateOpIntersects() {
+    int count = 0;
+    for (Geometry target : targets) {
+      if (RelateOp.relate(geom, target).isIntersects()) count++;
+    }
+    System.out.println("RelateOp intersects: " + count);
+  }
+
+  public void runPredicateIntersects() {
+    checkPredicate("intersects", RelatePredicate.intersects());
+  }
+
+  public void runRelateOpContains() {
+    int count = 0;
+    for (Geometry target : targets) {
+      if (RelateOp.relate(geom, target).isContains()) count++;
+    }
+    System.out.println("RelateOp contains: " + count);
+  }
+
+  public void runPredicateContains() {
+    checkPredicate("contains", RelatePredicate.contains());
+  }
+
+  public void runRelateOpTouches() {
+    int count = 0;
+    for (Geometry target : targets) {
+      if (RelateOp.relate(geom, target).isTouches(geom.getDimension(), target.getDimension())) count++;
+    }
+    System.out.println("RelateOp touches: " + count);
+  }
+
+  public void runPredicateTouches() {
+    checkPredicate("touches", RelatePredicate.touches());
+  }
+
+  private void checkPredicate(String name, RelatePredicate predicate) {
+    PredicateRelateOp op = new PredicateRelateOp(geom);
+    int count = 0;
+    for (Geometry target : targets) {
+      if (op.evaluate(target, predicate)) count++;
+    }
+    System.out.println("PredicateRelateOp " + name + ": " + count);
+  }
+
+  private Geometry createSineStar(Coordinate origin, double size, int nPts) {
+    SineStarFactory gsf = new SineStarFactory(factory);
+    gsf.setCentre(origin);
+    gsf.setSize(size);
+    gsf.setNumPoints(nPts);
+    gsf.setArmLengthRatio(0.1);
+    gsf.setNumArms(50);
+    return gsf.createSineStar();
+  }
+
+  private List<Geometry> createGrid(Envelope env, int nItems, int nPts) {
+    int nCells = (int) Math.sqrt(nItems);
+    double cellSize = env.getWidth() / nCells;
+    List<Geometry> geoms = new ArrayList<Geometry>();
+    for (int i = 0; i < nCells; i++) {
+      for (int j = 0; j < nCells; j++) {
+        Coordinate base = new Coordinate(
+            env.getMinX() + (i + 0.5) * cellSize,
+            env.getMinY() + (j + 0.5) * cellSize);
+        geoms.add(createSineStar(base, cellSize * 0.8, nPts));
+      }
+    }
+    return geoms;
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package test.jts.perf.operation.valid;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.util.SineStarFactory;
+import org.locationtech.jts.operation.valid.IncrementalIsValidOp;
+import org.locationtech.jts.operation.valid.IsValidOp;
+
+import test.jts.perf.PerformanceTestCase;
+import test.jts.perf.PerformanceTestRunner;
+
+/**
+ * Compares the performance of validating a large polygon
+ * after each of a sequence of vertex moves
+ * using {@link IsValidOp} and {@link IncrementalIsValidOp}.
+ *
+ * @author Martin Davis
+ */
+public class IncrementalIsValidPerfTest extends PerformanceTestCase {
+
+  private static final int NUM_HOLES_SIDE = 10;
+  private static final int NUM_EDITS_ISVALIDOP = 10;
+  private static final int NUM_EDITS_INCREMENTAL = 10000;
+
+  public static void main(String args[]) {
+    PerformanceTestRunner.run(IncrementalIsValidPerfTest.class);
+  }
+
+  private GeometryFactory factory = new GeometryFactory();
+  private Polygon poly;
+
+  public IncrementalIsValidPerfTest(String name) {
+    super(name);
+    setRunSize(new int[] { 10_000, 100_000, 1000_000 });
+    setRunIterations(1);
+  }
+
+  public void startRun(int npts) {
+    SineStarFactory starFact = new SineStarFactory();
+    starFact.setCentre(new Coordinate(0, 0));
+    starFact.setSize(200);
+    starFact.setNumPoints(npts);
+    starFact.setArmLengthRatio(0.5);
+    starFact.setNumArms(20);
+    Polygon sineStar = (Polygon) starFact.createSineStar();
+    poly = factory.createPolygon(sineStar.getExteriorRing(), createHoles());
+    System.out.println("\nRunning with # pts " + poly.getNumPoints()
+        + ", # holes " + poly.getNumInteriorRing());
+  }
+
+  /**
+   * Creates a grid of small square holes around the centre of the star.
+   */
+  private LinearRing[] createHoles() {
+    LinearRing[] holes = new LinearRing[NUM_HOLES_SIDE * NUM_HOLES_SIDE];
+    for (int i = 0; i < holes.length; i++) {
+      double x = 2 * (i % NUM_HOLES_SIDE) - NUM_HOLES_SIDE;
+      double y = 2 * (i / NUM_HOLES_SIDE) - NUM_HOLES_SIDE;
+      holes[i] = factory.createLinearRing(new Coordinate[] {
+          new Coordinate(x, y), new Coordinate(x, y + 1), new Coordinate(x + 1, y + 1),
+          new Coordinate(x + 1, y), new Coordinate(x, y) });
+    }
+    return holes;
+  }
+
+  public void runIsValidOp() {
+    Coordinate[] shellPts = poly.getExteriorRing().getCoordinates();
+    LinearRing[] holes = new LinearRing[poly.getNumInteriorRing()];
+    for (int i = 0; i < holes.length; i++) {
+      holes[i] = poly.getInteriorRingN(i);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < NUM_EDITS_ISVALIDOP; i++) {
+      int index = editIndex(i, shellPts.length);
+      Coordinate orig = shellPts[index];
+      shellPts[index] = movedVertex(shellPts, index);
+      Polygon edited = factory.createPolygon(factory.createLinearRing(shellPts), holes);
+      checkValid(IsValidOp.isValid(edited));
+      shellPts[index] = orig;
+    }
+    report("IsValidOp", start, NUM_EDITS_ISVALIDOP);
+  }
+
+  public void runIncrementalIsValidOp() {
+    Coordinate[] shellPts = poly.getExteriorRing().getCoordinates();
+    long start = System.nanoTime();
+    IncrementalIsValidOp validOp = new IncrementalIsValidOp(poly);
+    checkValid(validOp.isValid());
+    System.out.println("IncrementalIsValidOp build: " + (System.nanoTime() - start) / 1000000 + " ms");
+
+    start = System.nanoTime();
+    for (int i = 0; i < NUM_EDITS_INCREMENTAL; i++) {
+      int index = editIndex(i, shellPts.length);
+      validOp.setVertex(0, index, movedVertex(shellPts, index));
+      checkValid(validOp.isValid());
+      validOp.setVertex(0, index, shellPts[index]);
+      checkValid(validOp.isValid());
+    }
+    report("IncrementalIsValidOp", start, 2 * NUM_EDITS_INCREMENTAL);
+  }
+
+  /**
+   * Gets the index of a vertex to edit, avoiding the ring endpoints.
+   */
+  private static int editIndex(int i, int numPts) {
+    return 1 + (int) ((i * 7919L) % (numPts - 2));
+  }
+
+  /**
+   * Moves a shell vertex halfway towards the midpoint of its neighbours,
+   * which keeps the polygon valid.
+   */
+  private static Coordinate movedVertex(Coordinate[] pts, int index) {
+    Coordinate prev = pts[index - 1];
+    Coordinate next = pts[index + 1];
+    Coordinate p = pts[index];
+    return new Coordinate(
+        (p.x + (prev.x + next.x) / 2) / 2,
+        (p.y + (prev.y + next.y) / 2) / 2);
+  }
+
+  private static void checkValid(boolean isValid) {
+    if (! isValid)
+      throw new IllegalStateException("Edited polygon is not valid");
+  }
+
+  private static void report(String name, long startNanos, int numEdits) {
+    double micros = (System.nanoTime() - startNanos) / 1000.0 / numEdits;
+    System.out.println(name + ": " + String.format("%.1f", micros) + " us per edit");
+  }
+}
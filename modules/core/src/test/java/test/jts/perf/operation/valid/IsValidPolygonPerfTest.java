@@ -13,13 +13,18 @@ package test.jts.perf.operation.valid;
 
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.operation.valid.IsValidOp;
 
 import test.jts.geom.TestShapeFactory;
 import test.jts.perf.PerformanceTestCase;
 import test.jts.perf.PerformanceTestRunner;
 
 /**
- * Used to test performance enhancement in IsValidOp.checkHolesInShell.
+ * Used to test performance enhancement in IsValidOp.checkHolesInShell,
+ * and the performance of validating MultiPolygons with many elements
+ * using multiple threads.
  * 
  * @author mdavis
  *
@@ -29,6 +34,8 @@ public class IsValidPolygonPerfTest extends PerformanceTestCase {
   
   static final int N_ITER = 10;
   
+  static final int MULTI_ELEMENT_PTS = 100;
+  
   public static void main(String args[]) {
     PerformanceTestRunner.run(IsValidPolygonPerfTest.class);
   }
@@ -41,10 +48,14 @@ public class IsValidPolygonPerfTest extends PerformanceTestCase {
   }
   
   Geometry geom;
+  Geometry multiPoly;
+  Geometry multiPolyInvalid;
   
   public void startRun(int npts)
   {
     geom = createSineStar(npts);
+    multiPoly = createMultiPolygon(npts, false);
+    multiPolyInvalid = createMultiPolygon(npts, true);
   }
  
   private Geometry createSineStar(int npts) {
@@ -54,8 +65,55 @@ public class IsValidPolygonPerfTest extends PerformanceTestCase {
   }
  
   
+  /**
+   * Creates a MultiPolygon of a grid of circles with a total of about npts points.
+   * If invalid, the first two elements overlap.
+   */
+  private Geometry createMultiPolygon(int npts, boolean isInvalid) {
+    int nElems = Math.max(2, npts / MULTI_ELEMENT_PTS);
+    int side = (int) Math.ceil(Math.sqrt(nElems));
+    Polygon[] polys = new Polygon[nElems];
+    for (int i = 0; i < nElems; i++) {
+      double x = 10 * (i % side);
+      double y = 10 * (i / side);
+      if (isInvalid && i == 1) x = 5;
+      polys[i] = TestShapeFactory.createCircle(new Coordinate(x, y), 8, MULTI_ELEMENT_PTS);
+    }
+    Geometry mp = new GeometryFactory().createMultiPolygon(polys);
+    if (! isInvalid)
+      System.out.println("MultiPolygon # elements " + nElems);
+    return mp;
+  }
+  
   public void runValidate()
   {
     geom.isValid();
   }
+  
+  public void runValidateMultiPolygon()
+  {
+    checkValid(multiPoly, 1, true);
+  }
+  
+  public void runValidateMultiPolygonParallel()
+  {
+    checkValid(multiPoly, Runtime.getRuntime().availableProcessors(), true);
+  }
+  
+  public void runValidateMultiPolygonInvalid()
+  {
+    checkValid(multiPolyInvalid, 1, false);
+  }
+  
+  public void runValidateMultiPolygonInvalidParallel()
+  {
+    checkValid(multiPolyInvalid, Runtime.getRuntime().availableProcessors(), false);
+  }
+  
+  private void checkValid(Geometry g, int numThreads, boolean isExpectedValid) {
+    IsValidOp op = new IsValidOp(g);
+    op.setNumThreads(numThreads);
+    if (op.isValid() != isExpectedValid)
+      throw new IllegalStateException("Unexpected validity result");
+  }
 }
@@ -0,0 +1,514 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package org.locationtech.jts.io.geojson;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.json.simple.JSONValue;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * Writes {@link Geometry}s in GeoJSON format directly to an {@link Appendable}
+ * or {@link OutputStream}.
+ * <p>
+ * Unlike {@link GeoJsonWriter}, this writer does not build an intermediate
+ * JSON object tree.  Ordinates are read from each {@link CoordinateSequence}
+ * and formatted straight into an internal character buffer,
+ * which is drained to the output after each top-level write.
+ * This makes it suitable for high-volume output,
+ * such as serving features from a tile or feature API.
+ * <p>
+ * Entire <code>FeatureCollection</code>s can be written in a streaming fashion
+ * using {@link #writeFeatureCollectionStart()},
+ * {@link #writeFeature(Geometry, Object, Map)}
+ * and {@link #writeFeatureCollectionEnd()}.
+ * Only the feature currently being written is held in memory.
+ * <p>
+ * Geometry output is the same as that of {@link GeoJsonWriter}
+ * with the same settings.
+ * Ordinates are rounded to the number of decimal places provided in the constructor.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author Martin Davis
+ *
+ * @see GeoJsonWriter
+ */
+public class GeoJsonStreamWriter {
+
+  /**
+   * The size of the internal buffer at which it is drained to the output.
+   */
+  private static final int DRAIN_SIZE = 8192;
+
+  /**
+   * Scaled ordinate values smaller than this are formatted directly
+   * from their integer representation.
+   * Larger values may not be exactly representable and are formatted
+   * via {@link Double#toString(double)}.
+   */
+  private static final double MAX_FAST_SCALED = 1e15;
+
+  private static final int MAX_FAST_DECIMALS = 15;
+
+  private static final double MIN_PLAIN_VALUE = 1e-3;
+  private static final double MAX_PLAIN_VALUE = 1e7;
+
+  private final Appendable out;
+  private final int decimals;
+  private final double scale;
+  private final long scaleLong;
+  private final boolean isFastFormat;
+
+  private boolean isEncodeCRS = true;
+  private boolean isForceCCW = false;
+
+  private final StringBuilder buf = new StringBuilder(DRAIN_SIZE + 1024);
+  private final char[] digits = new char[20];
+  private char[] drainChars = null;
+
+  private boolean isInFeatureCollection = false;
+  private boolean hasFeature = false;
+
+  /**
+   * Creates a writer which writes to an {@link Appendable}
+   * using 8 decimal places for ordinates.
+   *
+   * @param out the output to write to
+   */
+  public GeoJsonStreamWriter(Appendable out) {
+    this(out, 8);
+  }
+
+  /**
+   * Creates a writer which writes to an {@link Appendable}
+   * specifying the number of decimals to
+   * use when encoding floating point numbers.
+   *
+   * @param out the output to write to
+   * @param decimals the number of decimal places to output
+   */
+  public GeoJsonStreamWriter(Appendable out, int decimals) {
+    this.out = out;
+    this.decimals = decimals;
+    this.scale = Math.pow(10, decimals);
+    isFastFormat = decimals >= 0 && decimals <= MAX_FAST_DECIMALS;
+    scaleLong = isFastFormat ? (long) scale : 0;
+  }
+
+  /**
+   * Creates a writer which writes UTF-8 encoded output to an {@link OutputStream}
+   * using 8 decimal places for ordinates.
+   *
+   * @param os the stream to write to
+   */
+  public GeoJsonStreamWriter(OutputStream os) {
+    this(os, 8);
+  }
+
+  /**
+   * Creates a writer which writes UTF-8 encoded output to an {@link OutputStream}
+   * specifying the number of decimals to
+   * use when encoding floating point numbers.
+   *
+   * @param os the stream to write to
+   * @param decimals the number of decimal places to output
+   */
+  public GeoJsonStreamWriter(OutputStream os, int decimals) {
+    this(new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8)), decimals);
+  }
+
+  /**
+   * Sets whether the GeoJSON <code>crs</code> property should
+   * be output for geometries written with {@link #write(Geometry)}.
+   * The value of the property is taken from geometry SRID.
+   * The property is never output for the geometries of features.
+   *
+   * @param isEncodeCRS true if the crs property should be output
+   */
+  public void setEncodeCRS(boolean isEncodeCRS) {
+    this.isEncodeCRS = isEncodeCRS;
+  }
+
+  /**
+   * Sets whether polygons should be output following the counter-clockwise
+   * orientation (Right Hand Rule) defined in RFC7946.
+   *
+   * @param isForceCCW true if polygons should be output with counter-clockwise shells
+   */
+  public void setForceCCW(boolean isForceCCW) {
+    this.isForceCCW = isForceCCW;
+  }
+
+  /**
+   * Writes a {@link Geometry} in GeoJSON format.
+   *
+   * @param geometry the geometry to write
+   * @throws IOException if the output cannot be written
+   */
+  public void write(Geometry geometry) throws IOException {
+    writeGeometry(geometry, isEncodeCRS);
+    drain();
+  }
+
+  /**
+   * Starts writing a <code>FeatureCollection</code>.
+   * Features are written with {@link #writeFeature(Geometry, Object, Map)},
+   * and the collection is completed by {@link #writeFeatureCollectionEnd()}.
+   *
+   * @throws IOException if the output cannot be written
+   * @throws IllegalStateException if a feature collection is already being written
+   */
+  public void writeFeatureCollectionStart() throws IOException {
+    if (isInFeatureCollection)
+      throw new IllegalStateException("FeatureCollection has already been started");
+    isInFeatureCollection = true;
+    hasFeature = false;
+    buf.append("{\"").append(GeoJsonConstants.NAME_TYPE).append("\":\"")
+      .append(GeoJsonConstants.NAME_FEATURECOLLECTION).append("\",\"")
+      .append(GeoJsonConstants.NAME_FEATURES).append("\":[");
+  }
+
+  /**
+   * Writes a <code>Feature</code> with no id.
+   * If a feature collection has been started
+   * the feature is written as a member of it.
+   *
+   * @param geometry the feature geometry (may be null)
+   * @param properties the feature properties (may be null)
+   * @throws IOException if the output cannot be written
+   */
+  public void writeFeature(Geometry geometry, Map<String, ?> properties) throws IOException {
+    writeFeature(geometry, null, properties);
+  }
+
+  /**
+   * Writes a <code>Feature</code>.
+   * If a feature collection has been started
+   * the feature is written as a member of it.
+   * <p>
+   * Property values which are strings, numbers, booleans or null
+   * are written directly.  Other values are encoded using
+   * {@link JSONValue#toJSONString(Object)}.
+   *
+   * @param geometry the feature geometry (may be null)
+   * @param id the feature id (may be null)
+   * @param properties the feature properties (may be null)
+   * @throws IOException if the output cannot be written
+   */
+  public void writeFeature(Geometry geometry, Object id, Map<String, ?> properties) throws IOException {
+    if (isInFeatureCollection) {
+      if (hasFeature) buf.append(',');
+      hasFeature = true;
+    }
+    buf.append("{\"").append(GeoJsonConstants.NAME_TYPE).append("\":\"")
+      .append(GeoJsonConstants.NAME_FEATURE).append('"');
+    if (id != null) {
+      buf.append(",\"").append(GeoJsonConstants.NAME_ID).append("\":");
+      writeValue(id);
+    }
+    buf.append(",\"").append(GeoJsonConstants.NAME_GEOMETRY).append("\":");
+    if (geometry == null) {
+      buf.append("null");
+    }
+    else {
+      writeGeometry(geometry, false);
+    }
+    buf.append(",\"").append(GeoJsonConstants.NAME_PROPERTIES).append("\":");
+    writeProperties(properties);
+    buf.append('}');
+
+    if (! isInFeatureCollection || buf.length() >= DRAIN_SIZE) {
+      drain();
+    }
+  }
+
+  /**
+   * Completes writing a <code>FeatureCollection</code>.
+   *
+   * @throws IOException if the output cannot be written
+   * @throws IllegalStateException if no feature collection has been started
+   */
+  public void writeFeatureCollectionEnd() throws IOException {
+    if (! isInFeatureCollection)
+      throw new IllegalStateException("FeatureCollection has not been started");
+    buf.append("]}");
+    isInFeatureCollection = false;
+    drain();
+  }
+
+  /**
+   * Writes any buffered output and flushes the underlying output,
+   * if it is {@link Flushable}.
+   *
+   * @throws IOException if the output cannot be written
+   */
+  public void flush() throws IOException {
+    drain();
+    if (out instanceof Flushable) {
+      ((Flushable) out).flush();
+    }
+  }
+
+  private void drain() throws IOException {
+    int len = buf.length();
+    if (len == 0) return;
+    if (out instanceof Writer) {
+      if (drainChars == null || drainChars.length < len) {
+        drainChars = new char[Math.max(len, DRAIN_SIZE)];
+      }
+      buf.getChars(0, len, drainChars, 0);
+      ((Writer) out).write(drainChars, 0, len);
+    }
+    else {
+      out.append(buf);
+    }
+    buf.setLength(0);
+  }
+
+  private void writeGeometry(Geometry geometry, boolean encodeCRS) {
+    buf.append("{\"").append(GeoJsonConstants.NAME_TYPE).append("\":\"")
+      .append(geometry.getGeometryType()).append('"');
+
+    if (geometry instanceof GeometryCollection
+        && ! (geometry instanceof MultiPoint
+            || geometry instanceof MultiLineString
+            || geometry instanceof MultiPolygon)) {
+      buf.append(",\"").append(GeoJsonConstants.NAME_GEOMETRIES).append("\":[");
+      for (int i = 0; i < geometry.getNumGeometries(); i++) {
+        if (i > 0) buf.append(',');
+        writeGeometry(geometry.getGeometryN(i), false);
+      }
+      buf.append(']');
+    }
+    else {
+      buf.append(",\"").append(GeoJsonConstants.NAME_COORDINATES).append("\":");
+      writeCoordinates(geometry);
+    }
+
+    if (encodeCRS) {
+      buf.append(",\"").append(GeoJsonConstants.NAME_CRS).append("\":{\"")
+        .append(GeoJsonConstants.NAME_TYPE).append("\":\"")
+        .append(GeoJsonConstants.NAME_NAME).append("\",\"")
+        .append(GeoJsonConstants.NAME_PROPERTIES).append("\":{\"")
+        .append(GeoJsonConstants.NAME_NAME).append("\":\"")
+        .append(GeoJsonWriter.EPSG_PREFIX).append(geometry.getSRID()).append("\"}}");
+    }
+    buf.append('}');
+  }
+
+  private void writeCoordinates(Geometry geometry) {
+    if (geometry instanceof Point) {
+      writePoint((Point) geometry);
+    }
+    else if (geometry instanceof LineString) {
+      writePositions(((LineString) geometry).getCoordinateSequence());
+    }
+    else if (geometry instanceof Polygon) {
+      Polygon poly = (Polygon) geometry;
+      if (isForceCCW) {
+        poly = (Polygon) OrientationTransformer.transformCCW(poly);
+      }
+      writePolygonRings(poly);
+    }
+    else if (geometry instanceof MultiPoint) {
+      buf.append('[');
+      for (int i = 0; i < geometry.getNumGeometries(); i++) {
+        if (i > 0) buf.append(',');
+        writePoint((Point) geometry.getGeometryN(i));
+      }
+      buf.append(']');
+    }
+    else if (geometry instanceof MultiLineString) {
+      buf.append('[');
+      for (int i = 0; i < geometry.getNumGeometries(); i++) {
+        if (i > 0) buf.append(',');
+        writePositions(((LineString) geometry.getGeometryN(i)).getCoordinateSequence());
+      }
+      buf.append(']');
+    }
+    else if (geometry instanceof MultiPolygon) {
+      MultiPolygon multiPoly = (MultiPolygon) geometry;
+      if (isForceCCW) {
+        multiPoly = (MultiPolygon) OrientationTransformer.transformCCW(multiPoly);
+      }
+      buf.append('[');
+      for (int i = 0; i < multiPoly.getNumGeometries(); i++) {
+        if (i > 0) buf.append(',');
+        writePolygonRings((Polygon) multiPoly.getGeometryN(i));
+      }
+      buf.append(']');
+    }
+    else {
+      throw new IllegalArgumentException("Unable to encode geometry " + geometry.getGeometryType() );
+    }
+  }
+
+  private void writePoint(Point point) {
+    CoordinateSequence seq = point.getCoordinateSequence();
+    if (seq.size() == 0) {
+      buf.append("[]");
+    }
+    else {
+      writePosition(seq, 0);
+    }
+  }
+
+  private void writePolygonRings(Polygon poly) {
+    buf.append('[');
+    if (! poly.isEmpty()) {
+      writePositions(poly.getExteriorRing().getCoordinateSequence());
+      for (int i = 0; i < poly.getNumInteriorRing(); i++) {
+        buf.append(',');
+        writePositions(poly.getInteriorRingN(i).getCoordinateSequence());
+      }
+    }
+    buf.append(']');
+  }
+
+  private void writePositions(CoordinateSequence seq) {
+    buf.append('[');
+    int size = seq.size();
+    for (int i = 0; i < size; i++) {
+      if (i > 0) buf.append(',');
+      writePosition(seq, i);
+    }
+    buf.append(']');
+  }
+
+  private void writePosition(CoordinateSequence seq, int i) {
+    buf.append('[');
+    writeOrdinate(seq.getX(i));
+    buf.append(',');
+    writeOrdinate(seq.getY(i));
+    if (seq.hasZ()) {
+      double z = seq.getZ(i);
+      if (! Double.isNaN(z)) {
+        buf.append(',');
+        writeOrdinate(z);
+      }
+    }
+    buf.append(']');
+  }
+
+  /**
+   * Formats an ordinate value in the same way as {@link GeoJsonWriter}.
+   * Values which are rounded to a small enough integer multiple of the scale
+   * are written directly from their digits, avoiding creating a string.
+   *
+   * @param x the ordinate value
+   */
+  private void writeOrdinate(double x) {
+    if (Math.abs(x) >= MIN_PLAIN_VALUE && Math.abs(x) < MAX_PLAIN_VALUE) {
+      double scaled = Math.floor(x * scale + 0.5);
+      if (isFastFormat && Math.abs(scaled) < MAX_FAST_SCALED) {
+        writeScaled((long) scaled);
+        return;
+      }
+      double rx = scaled / scale;
+      long lx = (long) rx;
+      if (lx == rx) {
+        buf.append(lx);
+      }
+      else {
+        buf.append(rx);
+      }
+    }
+    else {
+      buf.append(x);
+    }
+  }
+
+  private void writeScaled(long n) {
+    if (n < 0) {
+      buf.append('-');
+      n = -n;
+    }
+    long intPart = n / scaleLong;
+    long fracPart = n - intPart * scaleLong;
+    buf.append(intPart);
+    if (fracPart == 0) return;
+
+    // fraction digits, zero-padded to the number of decimals
+    for (int i = decimals - 1; i >= 0; i--) {
+      digits[i] = (char) ('0' + (fracPart % 10));
+      fracPart /= 10;
+    }
+    int len = decimals;
+    while (digits[len - 1] == '0') {
+      len--;
+    }
+    buf.append('.').append(digits, 0, len);
+  }
+
+  private void writeProperties(Map<String, ?> properties) {
+    if (properties == null) {
+      buf.append("null");
+      return;
+    }
+    buf.append('{');
+    boolean isFirst = true;
+    for (Iterator<? extends Map.Entry<String, ?>> it = properties.entrySet().iterator(); it.hasNext(); ) {
+      Map.Entry<String, ?> entry = it.next();
+      if (! isFirst) buf.append(',');
+      isFirst = false;
+      writeString(String.valueOf(entry.getKey()));
+      buf.append(':');
+      writeValue(entry.getValue());
+    }
+    buf.append('}');
+  }
+
+  private void writeValue(Object value) {
+    if (value == null) {
+      buf.append("null");
+    }
+    else if (value instanceof String) {
+      writeString((String) value);
+    }
+    else if (value instanceof Double || value instanceof Float) {
+      double d = ((Number) value).doubleValue();
+      if (Double.isNaN(d) || Double.isInfinite(d)) {
+        buf.append("null");
+      }
+      else {
+        buf.append(value);
+      }
+    }
+    else if (value instanceof Number || value instanceof Boolean) {
+      buf.append(value);
+    }
+    else {
+      buf.append(JSONValue.toJSONString(value));
+    }
+  }
+
+  private void writeString(String s) {
+    buf.append('"').append(JSONValue.escape(s)).append('"');
+  }
+}
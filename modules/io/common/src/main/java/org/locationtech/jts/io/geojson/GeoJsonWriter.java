@@ -331,7 +331,7 @@ public class GeoJsonWriter {
   private String formatOrdinate(double x) {
     String result = null;
 
-    if (Math.abs(x) >= Math.pow(10, -3) && x < Math.pow(10, 7)) {
+    if (Math.abs(x) >= Math.pow(10, -3) && Math.abs(x) < Math.pow(10, 7)) {
       x = Math.floor(x * scale + 0.5) / scale;
       long lx = (long) x;
       if (lx == x) {
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.locationtech.jts.io.geojson;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ParseException;
+
+import test.jts.GeometryTestCase;
+
+
+public class GeoJsonStreamWriterTest extends GeometryTestCase {
+
+  public GeoJsonStreamWriterTest(String name) {
+    super(name);
+  }
+
+  public void testPoint() throws Exception {
+    checkSameAsWriter("POINT (1 2)");
+  }
+
+  public void testPointEmpty() throws Exception {
+    checkSameAsWriter("POINT EMPTY");
+  }
+
+  public void testPointZ() throws Exception {
+    checkSameAsWriter("POINT Z (1 2 3)");
+  }
+
+  public void testLineString() throws Exception {
+    checkSameAsWriter("LINESTRING (1 2, 10 20, 100 200)");
+  }
+
+  public void testLineStringEmpty() throws Exception {
+    checkSameAsWriter("LINESTRING EMPTY");
+  }
+
+  public void testPolygon() throws Exception {
+    checkSameAsWriter("POLYGON ((0 0, 100 0, 100 100, 0 100, 0 0))");
+  }
+
+  public void testPolygonEmpty() throws Exception {
+    checkSameAsWriter("POLYGON EMPTY");
+  }
+
+  public void testPolygonWithHole() throws Exception {
+    checkSameAsWriter("POLYGON ((0 0, 100 0, 100 100, 0 100, 0 0), (1 1, 1 10, 10 10, 10 1, 1 1) )");
+  }
+
+  public void testMultiPoint() throws Exception {
+    checkSameAsWriter("MULTIPOINT ((0 0), (1 4), (100 200))");
+  }
+
+  public void testMultiLineString() throws Exception {
+    checkSameAsWriter("MULTILINESTRING ((0 0, 1 10), (10 10, 20 30), (123 123, 456 789))");
+  }
+
+  public void testMultiPolygon() throws Exception {
+    checkSameAsWriter("MULTIPOLYGON ( ((0 0, 100 0, 100 100, 0 100, 0 0), (1 1, 1 10, 10 10, 10 1, 1 1) ), ((200 200, 200 250, 250 250, 250 200, 200 200)) )");
+  }
+
+  public void testMultiPolygonEmpty() throws Exception {
+    checkSameAsWriter("MULTIPOLYGON EMPTY");
+  }
+
+  public void testGeometryCollection() throws Exception {
+    checkSameAsWriter("GEOMETRYCOLLECTION ( POINT ( 1 1), LINESTRING (0 0, 10 10), POLYGON ((0 0, 100 0, 100 100, 0 100, 0 0)) )");
+  }
+
+  public void testGeometryCollectionEmpty() throws Exception {
+    checkSameAsWriter("GEOMETRYCOLLECTION EMPTY");
+  }
+
+  public void testFractionalOrdinates() throws Exception {
+    checkSameAsWriter("LINESTRING (1.5 -2.25, 0.123456789 -0.987654321, -1234567.12345678 0.001, 0.0009 -1.0E-5, 12345678.9 -12345678.9)");
+  }
+
+  public void testLargeOrdinates() throws Exception {
+    checkSameAsWriter("LINESTRING (-15000000.5 15000000.5, -15000000 15000000, -9999999.5 9999999.5)");
+    checkWrite("LINESTRING (-15000000.5 15000000.5, -15000000 15000000)", 8,
+        "{'type':'LineString','coordinates':[[-1.50000005E7,1.50000005E7],[-1.5E7,1.5E7]]}");
+  }
+
+  public void testDecimals() throws Exception {
+    checkWrite("LINESTRING (1.23456 -2.5, 0.0049 -0.006)", 2,
+        "{'type':'LineString','coordinates':[[1.23,-2.5],[0,-0.01]]}");
+  }
+
+  public void testCRS() throws Exception {
+    Geometry geom = read("POINT (1 2)");
+    geom.setSRID(1234);
+    StringBuilder sb = new StringBuilder();
+    GeoJsonStreamWriter writer = new GeoJsonStreamWriter(sb);
+    writer.write(geom);
+    assertEquals("{'type':'Point','coordinates':[1,2],'crs':{'type':'name','properties':{'name':'EPSG:1234'}}}",
+        sb.toString().replace('"', '\''));
+  }
+
+  public void testPolygonRightHandRule() throws Exception {
+    Geometry geom = read("POLYGON ((0 0, 0 100, 100 100, 100 0, 0 0))");
+    StringBuilder sb = new StringBuilder();
+    GeoJsonStreamWriter writer = new GeoJsonStreamWriter(sb);
+    writer.setEncodeCRS(false);
+    writer.setForceCCW(true);
+    writer.write(geom);
+    assertEquals("{'type':'Polygon','coordinates':[[[0.0,0.0],[100,0.0],[100,100],[0.0,100],[0.0,0.0]]]}",
+        sb.toString().replace('"', '\''));
+  }
+
+  public void testFeatureCollection() throws Exception {
+    StringWriter sw = new StringWriter();
+    GeoJsonStreamWriter writer = new GeoJsonStreamWriter(sw);
+    writer.writeFeatureCollectionStart();
+    Map<String, Object> props = new LinkedHashMap<String, Object>();
+    props.put("name", "a \"b\"");
+    props.put("count", 3);
+    props.put("flag", true);
+    props.put("none", null);
+    writer.writeFeature(read("POINT (1 2)"), "f1", props);
+    writer.writeFeature(read("LINESTRING (0 0, 1 1)"), null);
+    writer.writeFeature(null, 2, null);
+    writer.writeFeatureCollectionEnd();
+    writer.flush();
+    assertEquals("{'type':'FeatureCollection','features':["
+        + "{'type':'Feature','id':'f1','geometry':{'type':'Point','coordinates':[1,2]},"
+        + "'properties':{'name':'a \\'b\\'','count':3,'flag':true,'none':null}},"
+        + "{'type':'Feature','geometry':{'type':'LineString','coordinates':[[0.0,0.0],[1,1]]},'properties':null},"
+        + "{'type':'Feature','id':2,'geometry':null,'properties':null}"
+        + "]}",
+        sw.toString().replace('"', '\''));
+  }
+
+  public void testFeatureCollectionNotStarted() throws Exception {
+    GeoJsonStreamWriter writer = new GeoJsonStreamWriter(new StringBuilder());
+    try {
+      writer.writeFeatureCollectionEnd();
+      fail("expected IllegalStateException");
+    }
+    catch (IllegalStateException expected) {
+    }
+  }
+
+  public void testOutputStream() throws Exception {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    GeoJsonStreamWriter writer = new GeoJsonStreamWriter(os);
+    writer.setEncodeCRS(false);
+    writer.write(read("POINT (1 2)"));
+    writer.flush();
+    assertEquals("{\"type\":\"Point\",\"coordinates\":[1,2]}",
+        new String(os.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  private void checkSameAsWriter(String wkt) throws ParseException, IOException {
+    Geometry geom = read(wkt);
+    GeoJsonWriter geoJsonWriter = new GeoJsonWriter();
+    geoJsonWriter.setEncodeCRS(false);
+    String expected = geoJsonWriter.write(geom);
+
+    StringBuilder sb = new StringBuilder();
+    GeoJsonStreamWriter writer = new GeoJsonStreamWriter(sb);
+    writer.setEncodeCRS(false);
+    writer.write(geom);
+    assertEquals(expected, sb.toString());
+
+    if (geom.isEmpty()) return;
+    Geometry result = new GeoJsonReader().read(sb.toString());
+    checkEqual(geom, result, 1e-8);
+  }
+
+  private void checkWrite(String wkt, int decimals, String expected) throws ParseException, IOException {
+    Geometry geom = read(wkt);
+    StringBuilder sb = new StringBuilder();
+    GeoJsonStreamWriter writer = new GeoJsonStreamWriter(sb, decimals);
+    writer.setEncodeCRS(false);
+    writer.write(geom);
+    assertEquals(expected, sb.toString().replace('"', '\''));
+  }
+}
@@ -54,6 +54,11 @@ public class GeoJsonWriterTest extends GeometryTestCase {
         "{'type':'LineString','coordinates':[[1,2],[10,20],[100,200]]}");
   }
 
+  public void testLineStringLargeOrdinates() throws ParseException {
+    runTest("LINESTRING (-15000000 15000000, -9999999 9999999)",
+        "{'type':'LineString','coordinates':[[-1.5E7,1.5E7],[-9999999,9999999]]}");
+  }
+
   public void testLineStringEmpty() throws ParseException {
     runTest("LINESTRING EMPTY",
         "{'type':'LineString','coordinates':[]}"
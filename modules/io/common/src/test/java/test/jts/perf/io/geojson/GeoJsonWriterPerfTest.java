@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+package test.jts.perf.io.geojson;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.util.SineStarFactory;
+import org.locationtech.jts.io.geojson.GeoJsonStreamWriter;
+import org.locationtech.jts.io.geojson.GeoJsonWriter;
+
+import test.jts.perf.PerformanceTestCase;
+import test.jts.perf.PerformanceTestRunner;
+
+/**
+ * Compares the performance of {@link GeoJsonWriter}
+ * and {@link GeoJsonStreamWriter}.
+ *
+ * @author Martin Davis
+ *
+ */
+public class GeoJsonWriterPerfTest extends PerformanceTestCase {
+
+  private static final int NUM_GEOMS = 2000;
+
+  public static void main(String args[]) {
+    PerformanceTestRunner.run(GeoJsonWriterPerfTest.class);
+  }
+
+  private Geometry[] geoms;
+  private NullWriter out = new NullWriter();
+
+  public GeoJsonWriterPerfTest(String name) {
+    super(name);
+    setRunSize(new int[] { 10, 100, 1000, 10000 });
+    setRunIterations(1);
+  }
+
+  public void startRun(int npts)
+  {
+    System.out.println("\n-------  Writing " + NUM_GEOMS + " polygons with " + npts + " vertices");
+    geoms = new Geometry[NUM_GEOMS];
+    for (int i = 0; i < NUM_GEOMS; i++) {
+      SineStarFactory fact = new SineStarFactory();
+      fact.setCentre(new org.locationtech.jts.geom.Coordinate(i * 0.123456789, i * 0.987654321));
+      fact.setSize(100.0 + i);
+      fact.setNumPoints(npts);
+      geoms[i] = fact.createSineStar();
+    }
+  }
+
+  public void runGeoJsonWriter() throws IOException {
+    GeoJsonWriter writer = new GeoJsonWriter();
+    writer.setEncodeCRS(false);
+    for (Geometry g : geoms) {
+      writer.write(g, out);
+    }
+    System.out.println("Chars written: " + out.reset());
+  }
+
+  public void runGeoJsonStreamWriter() throws IOException {
+    GeoJsonStreamWriter writer = new GeoJsonStreamWriter(out);
+    writer.setEncodeCRS(false);
+    for (Geometry g : geoms) {
+      writer.write(g);
+    }
+    writer.flush();
+    System.out.println("Chars written: " + out.reset());
+  }
+
+  public void runGeoJsonStreamWriterFeatures() throws IOException {
+    GeoJsonStreamWriter writer = new GeoJsonStreamWriter(out);
+    writer.writeFeatureCollectionStart();
+    for (Geometry g : geoms) {
+      writer.writeFeature(g, null);
+    }
+    writer.writeFeatureCollectionEnd();
+    writer.flush();
+    System.out.println("Chars written: " + out.reset());
+  }
+
+  private static class NullWriter extends Writer {
+    private long count = 0;
+
+    public void write(char[] cbuf, int off, int len) {
+      count += len;
+    }
+
+    public void flush() { }
+
+    public void close() { }
+
+    long reset() {
+      long n = count;
+      count = 0;
+      return n;
+    }
+  }
+}
@@ -22,6 +22,7 @@ package org.locationtech.jts.io.oracle;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.locationtech.jts.algorithm.CGAlgorithms;
@@ -39,6 +40,7 @@ import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
 
 import oracle.sql.ARRAY;
 import oracle.sql.Datum;
@@ -80,6 +82,14 @@ import oracle.sql.STRUCT;
  * </ul>
  * The Geometry SRID field is populated from the input Geometry.
  * <p>
+ * Geometries can also be read directly from the values of the SDO_GEOMETRY attributes
+ * (as primitive arrays), either singly or in batches
+ * (see {@link #read(int[], int[], double[][], int[][], double[][])}).
+ * If the {@link GeometryFactory} uses a {@link PackedCoordinateSequenceFactory}
+ * and the output dimension matches the input dimension,
+ * the ordinates of each element are copied into the coordinate sequence in a single block,
+ * without creating any per-coordinate objects.
+ * <p>
  * To use this class a suitable Oracle JDBC JAR must be present in the classpath.
  * 
  * <h3>LIMITATIONS</h3>
@@ -181,6 +191,64 @@ public class OraReader
 		return geom;
 	}
 
+  /**
+   * Reads a {@link Geometry} from the values of the SDO_GEOMETRY attributes,
+   * as extracted from a JDBC result set.
+   * NULL numeric values in the point or ordinates arrays should be 
+   * represented as <code>Double.NaN</code>.
+   * A GTYPE of 0 represents a NULL SDO_GEOMETRY, for which null is returned.
+   * The SRID of the created geometry is set to be the same as the input SRID.
+   * 
+   * @param gType the SDO_GTYPE value
+   * @param srid the SDO_SRID value
+   * @param point the SDO_POINT ordinates, or null
+   * @param elemInfo the SDO_ELEM_INFO values, or null
+   * @param ordinates the SDO_ORDINATES values, or null
+   * @return the Geometry read, or null if the GTYPE is 0
+   * 
+   * @throws IllegalArgumentException if an unsupported geometry type or encoding error is found
+   */
+  public Geometry read(int gType, int srid, double[] point, int[] elemInfo, double[] ordinates)
+  {
+    if (gType == 0)
+      return null;
+    Geometry geom = read(new OraGeom(gType, srid, point, elemInfo, ordinates));
+    geom.setSRID(srid);
+    return geom;
+  }
+
+  /**
+   * Reads a batch of {@link Geometry}s from arrays of SDO_GEOMETRY attribute values.
+   * The attribute arrays are parallel, with one entry per geometry.
+   * The <code>points</code> array may be null if no geometry uses SDO_POINT.
+   * Entries with a GTYPE of 0 are read as null.
+   * 
+   * @param gTypes the SDO_GTYPE values
+   * @param srids the SDO_SRID values
+   * @param points the SDO_POINT ordinates, or null
+   * @param elemInfos the SDO_ELEM_INFO values
+   * @param ordinates the SDO_ORDINATES values
+   * @return an array of the geometries read
+   * 
+   * @throws IllegalArgumentException if the array lengths differ,
+   *   or if an unsupported geometry type or encoding error is found
+   *   
+   * @see #read(int, int, double[], int[], double[])
+   */
+  public Geometry[] read(int[] gTypes, int[] srids, double[][] points, int[][] elemInfos, double[][] ordinates)
+  {
+    int n = gTypes.length;
+    if (srids.length != n || elemInfos.length != n || ordinates.length != n
+        || (points != null && points.length != n))
+      throw new IllegalArgumentException("SDO_GEOMETRY attribute arrays must have the same length");
+    
+    Geometry[] geoms = new Geometry[n];
+    for (int i = 0; i < n; i++) {
+      geoms[i] = read(gTypes[i], srids[i], points == null ? null : points[i], elemInfos[i], ordinates[i]);
+    }
+    return geoms;
+  }
+
 	/**
    * Reads a {@link Geometry} from SDO_GEOMETRY attributes.
    *
@@ -559,6 +627,18 @@ public class OraReader
       }
       int nCoord = (ordDim == 0 ? 0 : (end - start) / ordDim);
 
+      if (csDim == ordDim && csFactory instanceof PackedCoordinateSequenceFactory) {
+        // packed layout matches SDO_ORDINATES, so copy the element ordinates as a block
+        int ordStart = start - 1;
+        int ordEnd = ordStart + nCoord * ordDim;
+        if (ordStart < 0 || ordEnd > ordinates.length)
+          throw new ArrayIndexOutOfBoundsException("Element ordinates [" + ordStart + ", " + ordEnd
+              + ") exceed ordinate array length " + ordinates.length);
+        double[] packed = Arrays.copyOfRange(ordinates, ordStart, ordEnd);
+        return ((PackedCoordinateSequenceFactory) csFactory).create(packed, ordDim, 
+            Math.max(0, ordDim - 3));
+      }
+      
       CoordinateSequence cs = csFactory.create(nCoord, csDim);
       int actualCSDim = cs.getDimension();
       int readDim = Math.min(actualCSDim, ordDim);
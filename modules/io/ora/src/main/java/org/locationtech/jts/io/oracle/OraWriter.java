@@ -25,6 +25,7 @@ import java.util.*;
 
 import org.locationtech.jts.algorithm.CGAlgorithms;
 import org.locationtech.jts.geom.*;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
 import org.locationtech.jts.util.Assert;
 
 
@@ -51,6 +52,13 @@ import oracle.sql.*;
  * Oracle cannot represent {@link MultiPolygon}s or {@link MultiLineString}s directly as elements
  * of a {@link GeometryCollection}. Instead, their components are written individually.
  * {@link MultiPoint}s are represented directly, however.
+ * <p>
+ * Geometries can also be written as the values of the SDO_GEOMETRY attributes
+ * (as primitive arrays), in batches
+ * (see {@link #write(Geometry[], int[], int[], double[][], int[][], double[][])}).
+ * These can be bound to JDBC statements without creating intermediate Oracle objects.
+ * Ordinates of {@link PackedCoordinateSequence.Double}s with the output dimension
+ * are copied as a block.
  * 
  * The dimension of the output <code>SDO_GEOMETRY</code> is determined as follows:
  * <ul>
@@ -300,6 +308,55 @@ public class OraWriter
     return OraUtil.toSTRUCT(sdoGeometryComponents, OraGeom.TYPE_GEOMETRY, connection);
   }
 
+  /**
+   * Converts a batch of {@link Geometry}s into the values of Oracle SDO_GEOMETRY attributes.
+   * The values for each geometry are written into the corresponding entries 
+   * of the supplied parallel arrays, which must be at least as long as the geometry array.
+   * The <code>points</code> entry is non-null only for geometries written
+   * using the SDO_POINT_TYPE representation;
+   * otherwise the <code>elemInfos</code> and <code>ordinates</code> entries are set.
+   * NULL ordinate values are represented as <code>Double.NaN</code>.
+   * <p>
+   * A null or empty Geometry is written as a NULL SDO_GEOMETRY,
+   * with a GTYPE of 0, a NULL SRID and null attribute arrays.
+   * 
+   * @param geoms the geometries to encode
+   * @param gTypes the array to receive the SDO_GTYPE values
+   * @param srids the array to receive the SDO_SRID values
+   * @param points the array to receive the SDO_POINT ordinates
+   * @param elemInfos the array to receive the SDO_ELEM_INFO values
+   * @param ordinates the array to receive the SDO_ORDINATES values
+   * 
+   * @throws IllegalArgumentException if an output array is too short, 
+   *   or a geometry cannot be encoded
+   */
+  public void write(Geometry[] geoms, int[] gTypes, int[] srids, double[][] points, 
+      int[][] elemInfos, double[][] ordinates)
+  {
+    int n = geoms.length;
+    if (gTypes.length < n || srids.length < n || points.length < n 
+        || elemInfos.length < n || ordinates.length < n)
+      throw new IllegalArgumentException("SDO_GEOMETRY attribute arrays are shorter than the geometry array");
+    
+    for (int i = 0; i < n; i++) {
+      Geometry geom = geoms[i];
+      if (geom == null || geom.isEmpty()) {
+        gTypes[i] = 0;
+        srids[i] = OraGeom.SRID_NULL;
+        points[i] = null;
+        elemInfos[i] = null;
+        ordinates[i] = null;
+        continue;
+      }
+      OraGeom oraGeom = createOraGeom(geom);
+      gTypes[i] = oraGeom.gType;
+      srids[i] = oraGeom.srid;
+      points[i] = oraGeom.point;
+      elemInfos[i] = oraGeom.elemInfo;
+      ordinates[i] = oraGeom.ordinates;
+    }
+  }
+
   /**
    * Writes a Geometry in Oracle SDO_GEOMETRY SQL literal format.
    * <p>
@@ -591,6 +648,12 @@ public class OraWriter
   private int writeOrds(CoordinateSequence seq, int dim, double[] ordData, int ordIndex)
   {
     int nCoord = seq.size();
+    if (seq instanceof PackedCoordinateSequence.Double && seq.getDimension() == dim) {
+      // packed layout matches SDO_ORDINATES, so copy as a block
+      double[] raw = ((PackedCoordinateSequence.Double) seq).getRawCoordinates();
+      System.arraycopy(raw, 0, ordData, ordIndex, nCoord * dim);
+      return ordIndex + nCoord * dim;
+    }
     for (int i = 0; i < nCoord; i++) {
       for (int id = 0; id < dim; id++) {
         ordData[ordIndex++] = seq.getOrdinate(i, id);
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2021 Martin Davis.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * and Eclipse Distribution License v. 1.0 which accompanies this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.locationtech.jts.io.oracle;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+/**
+ * Tests the batch array-based methods of {@link OraReader} and {@link OraWriter}
+ * without requiring an Oracle connection.
+ * 
+ * @author Martin Davis
+ *
+ */
+public class OraBatchTest extends BaseOraTestCase
+{
+
+  public static void main(String[] args) {
+    junit.textui.TestRunner.run(OraBatchTest.class);
+  }
+
+  GeometryFactory packedFactory = new GeometryFactory(PackedCoordinateSequenceFactory.DOUBLE_FACTORY);
+  WKTReader wktRdr = new WKTReader(packedFactory);
+  WKTReader xyRdr = new WKTReader();
+  
+  public OraBatchTest(String arg){
+    super(arg);
+  }
+
+  public void testReadBatch() throws Exception {
+    OraGeom line = MDSYS.SDO_GEOMETRY(2002,8307,NULL,MDSYS.SDO_ELEM_INFO_ARRAY(1,2,1),MDSYS.SDO_ORDINATE_ARRAY(0,0, 50,50, 100,0));
+    OraGeom point = MDSYS.SDO_GEOMETRY(3001,NULL,MDSYS.SDO_POINT_TYPE(50,50,100),NULL,NULL);
+    OraGeom poly = MDSYS.SDO_GEOMETRY(2003,NULL,NULL,MDSYS.SDO_ELEM_INFO_ARRAY(1,1003,1, 11,2003,1),
+        MDSYS.SDO_ORDINATE_ARRAY(0,0, 100,0, 100,100, 0,100, 0,0,  10,10, 10,20, 20,20, 20,10, 10,10));
+    
+    Geometry[] geoms = readBatch(new OraGeom[] { line, point, null, poly });
+    
+    checkValue("LINESTRING (0 0, 50 50, 100 0)", geoms[0]);
+    assertEquals(8307, geoms[0].getSRID());
+    assertTrue(((LineString) geoms[0]).getCoordinateSequence() instanceof PackedCoordinateSequence.Double);
+    checkValue("POINT (50 50 100)", geoms[1]);
+    assertNull(geoms[2]);
+    checkValue("POLYGON ((0 0, 100 0, 100 100, 0 100, 0 0), (10 10, 10 20, 20 20, 20 10, 10 10))", geoms[3]);
+  }
+
+  public void testReadBatchSetDimension() throws Exception {
+    OraGeom line = MDSYS.SDO_GEOMETRY(3002,NULL,NULL,MDSYS.SDO_ELEM_INFO_ARRAY(1,2,1),MDSYS.SDO_ORDINATE_ARRAY(0,0,1, 50,50,2));
+    OraReader reader = new OraReader(packedFactory);
+    reader.setDimension(2);
+    Geometry geom = reader.read(line.gType, line.srid, line.point, line.elemInfo, line.ordinates);
+    assertEquals(2, ((LineString) geom).getCoordinateSequence().getDimension());
+    checkValue("LINESTRING (0 0, 50 50)", geom);
+  }
+
+  public void testReadBatchLengthMismatch() {
+    try {
+      new OraReader().read(new int[2], new int[1], null, new int[2][], new double[2][]);
+      fail("expected IllegalArgumentException");
+    }
+    catch (IllegalArgumentException expected) {
+    }
+  }
+
+  public void testWriteBatch() throws Exception {
+    Geometry[] geoms = new Geometry[] {
+        packedFactory.createLineString(new PackedCoordinateSequence.Double(new double[] { 0,0, 50,50, 100,0 }, 2, 0)),
+        xyRdr.read("POINT (50 50)"),
+        null,
+        xyRdr.read("POLYGON ((0 0, 0 100, 100 100, 100 0, 0 0))"),
+        xyRdr.read("LINESTRING EMPTY"),
+    };
+    int n = geoms.length;
+    int[] gTypes = new int[n];
+    int[] srids = new int[n];
+    double[][] points = new double[n][];
+    int[][] elemInfos = new int[n][];
+    double[][] ordinates = new double[n][];
+    
+    OraWriter writer = new OraWriter();
+    writer.write(geoms, gTypes, srids, points, elemInfos, ordinates);
+    
+    assertEquals(2002, gTypes[0]);
+    assertTrue(new OraGeom(gTypes[0], srids[0], points[0], elemInfos[0], ordinates[0]).isEqual(
+        MDSYS.SDO_GEOMETRY(2002,NULL,NULL,MDSYS.SDO_ELEM_INFO_ARRAY(1,2,1),MDSYS.SDO_ORDINATE_ARRAY(0,0, 50,50, 100,0))));
+    assertNotNull(points[1]);
+    assertNull(elemInfos[1]);
+    assertEquals(0, gTypes[2]);
+    assertEquals(0, gTypes[4]);
+    // shell is written CCW
+    assertTrue(new OraGeom(gTypes[3], srids[3], points[3], elemInfos[3], ordinates[3]).isEqual(
+        MDSYS.SDO_GEOMETRY(2003,NULL,NULL,MDSYS.SDO_ELEM_INFO_ARRAY(1,1003,1),
+            MDSYS.SDO_ORDINATE_ARRAY(0,0, 100,0, 100,100, 0,100, 0,0))));
+    
+    // round trip
+    Geometry[] result = new OraReader(packedFactory).read(gTypes, srids, points, elemInfos, ordinates);
+    for (int i = 0; i < n; i++) {
+      if (geoms[i] == null || geoms[i].isEmpty()) {
+        assertNull(result[i]);
+      }
+      else {
+        assertTrue(geoms[i].equalsNorm(result[i]));
+      }
+    }
+  }
+
+  private Geometry[] readBatch(OraGeom[] oraGeoms)
+  {
+    int n = oraGeoms.length;
+    int[] gTypes = new int[n];
+    int[] srids = new int[n];
+    double[][] points = new double[n][];
+    int[][] elemInfos = new int[n][];
+    double[][] ordinates = new double[n][];
+    for (int i = 0; i < n; i++) {
+      OraGeom og = oraGeoms[i];
+      if (og == null) continue;
+      gTypes[i] = og.gType;
+      srids[i] = og.srid;
+      points[i] = og.point;
+      elemInfos[i] = og.elemInfo;
+      ordinates[i] = og.ordinates;
+    }
+    return new OraReader(packedFactory).read(gTypes, srids, points, elemInfos, ordinates);
+  }
+
+  private void checkValue(String wkt, Geometry actual)
+  {
+    Geometry expected = null;
+    try {
+      expected = wktRdr.read(wkt);
+    }
+    catch (ParseException e) {
+      throw new RuntimeException(e);
+    }
+    boolean isEqual = actual.equalsNorm(expected);
+    if (! isEqual) {
+      System.out.println("Expected " + expected + ", actual " + actual);
+    }
+    assertTrue(isEqual);
+  }
+}
@@ -61,6 +61,11 @@ implements GeometryOperation
   	if (opName.equals("contains")) return true;
   	if (opName.equals("containsProperly")) return true;
   	if (opName.equals("covers")) return true;
+  	if (opName.equals("coveredBy")) return true;
+  	if (opName.equals("crosses")) return true;
+  	if (opName.equals("overlaps")) return true;
+  	if (opName.equals("touches")) return true;
+  	if (opName.equals("within")) return true;
   	return false;
   }
   
@@ -97,6 +102,21 @@ implements GeometryOperation
     }
     if (opName.equals("covers")) {
       return new BooleanResult(PreparedGeometryOp.covers(geometry, g2));
+    }
+    if (opName.equals("coveredBy")) {
+      return new BooleanResult(PreparedGeometryOp.coveredBy(geometry, g2));
+    }
+    if (opName.equals("crosses")) {
+      return new BooleanResult(PreparedGeometryOp.crosses(geometry, g2));
+    }
+    if (opName.equals("overlaps")) {
+      return new BooleanResult(PreparedGeometryOp.overlaps(geometry, g2));
+    }
+    if (opName.equals("touches")) {
+      return new BooleanResult(PreparedGeometryOp.touches(geometry, g2));
+    }
+    if (opName.equals("within")) {
+      return new BooleanResult(PreparedGeometryOp.within(geometry, g2));
     }
   	return null;
 	}
@@ -122,6 +142,31 @@ implements GeometryOperation
     {
       PreparedGeometry prepGeom = PreparedGeometryFactory.prepare(g1);
       return prepGeom.covers(g2);
+    }
+    public static boolean coveredBy(Geometry g1, Geometry g2)
+    {
+      PreparedGeometry prepGeom = PreparedGeometryFactory.prepare(g1);
+      return prepGeom.coveredBy(g2);
+    }
+    public static boolean crosses(Geometry g1, Geometry g2)
+    {
+      PreparedGeometry prepGeom = PreparedGeometryFactory.prepare(g1);
+      return prepGeom.crosses(g2);
+    }
+    public static boolean overlaps(Geometry g1, Geometry g2)
+    {
+      PreparedGeometry prepGeom = PreparedGeometryFactory.prepare(g1);
+      return prepGeom.overlaps(g2);
+    }
+    public static boolean touches(Geometry g1, Geometry g2)
+    {
+      PreparedGeometry prepGeom = PreparedGeometryFactory.prepare(g1);
+      return prepGeom.touches(g2);
+    }
+    public static boolean within(Geometry g1, Geometry g2)
+    {
+      PreparedGeometry prepGeom = PreparedGeometryFactory.prepare(g1);
+      return prepGeom.within(g2);
     }
 	}
 }